@@ -0,0 +1,60 @@
+package com.autogentmcp.registry.spring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link AutogentMcpAutoConfiguration#postProcessAfterInitialization} across a whole
+ * synthetic context, i.e. the per-bean overhead the SDK adds to application startup.
+ * Tool metadata is cached per class, so this measures the steady state after the first
+ * bean of each class; {@link SchemaDeductionBenchmark} covers the uncached work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanScanBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int beanCount;
+
+    private AutogentMcpAutoConfiguration configuration;
+    private List<Object> beans;
+    private String[] beanNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beans = BenchmarkFixtures.beans(beanCount);
+        beanNames = new String[beanCount];
+        for (int i = 0; i < beanCount; i++) {
+            beanNames[i] = "bean" + i;
+        }
+        configuration = new AutogentMcpAutoConfiguration();
+        configuration.appKey = "benchmark-app";
+    }
+
+    @Benchmark
+    public int postProcessContext() {
+        // A fresh collector per context, as on every application start
+        configuration.endpointCollector.clear();
+        for (int i = 0; i < beanCount; i++) {
+            configuration.postProcessAfterInitialization(beans.get(i), beanNames[i]);
+        }
+        return configuration.endpointCollector.size();
+    }
+}
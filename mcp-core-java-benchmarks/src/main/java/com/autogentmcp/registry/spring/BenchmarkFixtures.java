@@ -0,0 +1,157 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic beans, DTOs and endpoint lists shared by the benchmarks. Shapes follow what
+ * typical tool controllers look like: a few path/query parameters and nested request bodies.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    // Roughly one bean in fifty declares tools, like a service with a handful of MCP controllers
+    static final int TOOL_BEAN_RATIO = 50;
+
+    public static class Address {
+        String street;
+        String city;
+        String postalCode;
+        String country;
+    }
+
+    public static class Customer {
+        String id;
+        String name;
+        String email;
+        Address billing;
+        List<String> tags;
+    }
+
+    public static class LineItem {
+        String sku;
+        int quantity;
+        BigDecimal unitPrice;
+        Map<String, String> options;
+    }
+
+    public static class OrderRequest {
+        String id;
+        Customer customer;
+        List<LineItem> items;
+        Address shipping;
+        Map<String, String> attributes;
+        Instant requestedAt;
+    }
+
+    public static class OrderResponse {
+        String id;
+        String status;
+        BigDecimal total;
+        Instant createdAt;
+        OrderRequest request;
+    }
+
+    static final Class<?>[] DTO_TYPES = {Address.class, Customer.class, LineItem.class, OrderRequest.class, OrderResponse.class};
+
+    public static class OrderTools {
+        @AutogentTool(name = "getOrder", uri = "/orders/{id}", description = "Fetch an order")
+        @GetMapping("/orders/{id}")
+        public OrderResponse getOrder(@PathVariable String id, @RequestParam(defaultValue = "false") boolean expand) {
+            return null;
+        }
+
+        @AutogentTool(name = "createOrder", uri = "/orders", description = "Create an order")
+        @PostMapping("/orders")
+        public OrderResponse createOrder(@RequestBody OrderRequest request) {
+            return null;
+        }
+
+        @AutogentTool(name = "searchOrders", uri = "/orders", method = "GET", description = "Search orders")
+        public List<OrderResponse> searchOrders(@RequestParam String customerId, @RequestParam(required = false) String status) {
+            return null;
+        }
+    }
+
+    public static class CustomerTools {
+        @AutogentTool(name = "getCustomer", uri = "/customers/{id}", description = "Fetch a customer")
+        @GetMapping("/customers/{id}")
+        public Customer getCustomer(@PathVariable String id) {
+            return null;
+        }
+
+        @AutogentTool(name = "updateCustomer", uri = "/customers/{id}", method = "PUT", description = "Update a customer")
+        public Customer updateCustomer(@PathVariable String id, @RequestBody Customer customer) {
+            return null;
+        }
+    }
+
+    public static class PlainService {
+        public String handle(String input) {
+            return input;
+        }
+    }
+
+    public static class PlainRepository {
+        public List<String> findAll() {
+            return null;
+        }
+    }
+
+    /**
+     * {@code count} beans; every {@link #TOOL_BEAN_RATIO}th one declares tools.
+     */
+    static List<Object> beans(int count) {
+        List<Object> beans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i % TOOL_BEAN_RATIO == 0) {
+                beans.add((i / TOOL_BEAN_RATIO) % 2 == 0 ? new OrderTools() : new CustomerTools());
+            } else {
+                beans.add(i % 2 == 0 ? new PlainService() : new PlainRepository());
+            }
+        }
+        return beans;
+    }
+
+    /**
+     * {@code count} distinct endpoints with deduced-style schemas, as sent to the registry.
+     */
+    static List<Map<String, Object>> endpoints(int count) {
+        Map<String, Object> requestBody = ToolMetadataResolver.deduceBodySchema(OrderRequest.class, true);
+        Map<String, Object> responseBody = ToolMetadataResolver.deduceBodySchema(OrderResponse.class, false);
+        List<Map<String, Object>> endpoints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> pathParams = new HashMap<>();
+            Map<String, Object> id = new HashMap<>();
+            id.put("type", "String");
+            id.put("required", true);
+            pathParams.put("id", id);
+
+            Map<String, Object> endpoint = new HashMap<>();
+            endpoint.put("name", "tool" + i);
+            endpoint.put("path", "/api/v1/resources/" + i + "/{id}");
+            endpoint.put("method", i % 3 == 0 ? "GET" : "POST");
+            endpoint.put("description", "Synthetic tool number " + i);
+            endpoint.put("isPublic", false);
+            endpoint.put("contentType", "application/json");
+            endpoint.put("pathParams", pathParams);
+            endpoint.put("requestBody", requestBody);
+            endpoint.put("responseBody", responseBody);
+            endpoints.add(endpoint);
+        }
+        return endpoints;
+    }
+}
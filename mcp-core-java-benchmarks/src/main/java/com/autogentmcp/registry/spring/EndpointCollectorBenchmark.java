@@ -0,0 +1,57 @@
+package com.autogentmcp.registry.spring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code EndpointCollector.add} with duplicate detection at scale. Every endpoint is offered
+ * twice (the second time as an equal but distinct map), as happens when the same tool class
+ * backs several beans.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndpointCollectorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int endpointCount;
+
+    private List<Map<String, Object>> offered;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> endpoints = BenchmarkFixtures.endpoints(endpointCount);
+        offered = new ArrayList<>(endpoints.size() * 2);
+        offered.addAll(endpoints);
+        for (Map<String, Object> endpoint : endpoints) {
+            offered.add(new HashMap<>(endpoint));
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> addWithDuplicates() {
+        AutogentMcpAutoConfiguration.EndpointCollector collector = new AutogentMcpAutoConfiguration.EndpointCollector();
+        for (Map<String, Object> endpoint : offered) {
+            collector.add(endpoint);
+        }
+        return collector.getAll();
+    }
+}
@@ -0,0 +1,96 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.EndpointManifest;
+import com.autogentmcp.registry.JsonEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of large endpoint manifests as {@code RegistryClient} sends them: the
+ * streamed batch entity (plain and gzip), the previous build-a-String approach for
+ * comparison, and the SHA-256 manifest fingerprint used by differential sync.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryPayloadBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int endpointCount;
+
+    private List<Map<String, Object>> endpoints;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Setup
+    public void setUp() {
+        endpoints = BenchmarkFixtures.endpoints(endpointCount);
+    }
+
+    // Stands in for the connection: consumes the bytes without keeping them
+    private static final class DiscardingOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        DiscardingOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+
+    @Benchmark
+    public long streamedBatch(Blackhole blackhole) throws IOException {
+        JsonEntity entity = JsonEntity.endpointsBatch("benchmark-app", "dev", endpoints);
+        entity.writeTo(new DiscardingOutputStream(blackhole));
+        return entity.getBytesWritten();
+    }
+
+    @Benchmark
+    public void streamedBatchGzip(Blackhole blackhole) throws IOException {
+        new GzipCompressingEntity(JsonEntity.endpointsBatch("benchmark-app", "dev", endpoints))
+                .writeTo(new DiscardingOutputStream(blackhole));
+    }
+
+    @Benchmark
+    public String stringBatch() throws IOException {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("app_key", "benchmark-app");
+        payload.put("environment", "dev");
+        payload.put("endpoints", endpoints);
+        return objectMapper.writeValueAsString(payload);
+    }
+
+    @Benchmark
+    public String manifestFingerprint() {
+        return EndpointManifest.of(endpoints).getFingerprint();
+    }
+}
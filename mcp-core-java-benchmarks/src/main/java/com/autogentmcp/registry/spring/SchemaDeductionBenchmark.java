@@ -0,0 +1,79 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uncached tool metadata work: request/response schema deduction for nested DTOs and full
+ * endpoint construction (parameter inspection plus schemas) for one tool method, with the
+ * legacy schemas and with a fresh JSON Schema generator per invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaDeductionBenchmark {
+
+    private final List<Method> toolMethods = new ArrayList<>();
+    private final List<AutogentTool> toolAnnotations = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (Class<?> type : new Class<?>[]{BenchmarkFixtures.OrderTools.class, BenchmarkFixtures.CustomerTools.class}) {
+            for (Method method : type.getDeclaredMethods()) {
+                AutogentTool tool = method.getAnnotation(AutogentTool.class);
+                if (tool != null) {
+                    toolMethods.add(method);
+                    toolAnnotations.add(tool);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void deduceRequestSchemas(Blackhole blackhole) {
+        for (Class<?> type : BenchmarkFixtures.DTO_TYPES) {
+            blackhole.consume(ToolMetadataResolver.deduceBodySchema(type, true));
+        }
+    }
+
+    @Benchmark
+    public void deduceResponseSchemas(Blackhole blackhole) {
+        for (Class<?> type : BenchmarkFixtures.DTO_TYPES) {
+            blackhole.consume(ToolMetadataResolver.deduceBodySchema(type, false));
+        }
+    }
+
+    @Benchmark
+    public void buildEndpoints(Blackhole blackhole) {
+        for (int i = 0; i < toolMethods.size(); i++) {
+            blackhole.consume(ToolMetadataResolver.buildEndpoint(toolMethods.get(i), toolAnnotations.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void buildJsonSchemaEndpoints(Blackhole blackhole) {
+        JsonSchemaGenerator schemas = new JsonSchemaGenerator();
+        for (int i = 0; i < toolMethods.size(); i++) {
+            blackhole.consume(ToolMetadataResolver.buildEndpoint(toolMethods.get(i), toolAnnotations.get(i), schemas));
+        }
+        blackhole.consume(schemas.getDefinitions());
+    }
+}
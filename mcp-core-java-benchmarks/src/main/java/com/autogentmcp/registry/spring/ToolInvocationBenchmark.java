@@ -0,0 +1,77 @@
+package com.autogentmcp.registry.spring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tool call with already-bound arguments: a direct call as the floor, {@code Method.invoke}
+ * as tool calls were dispatched before, and the two {@link ToolInvoker} flavours (the
+ * generated caller for public methods, the method handle for everything else).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolInvocationBenchmark {
+
+    public static class QuoteTools {
+        public long quote(String sku, int quantity, boolean express) {
+            return sku.length() * 100L + quantity + (express ? 1 : 0);
+        }
+
+        // Same body; package-private, so it is called through a method handle
+        long quoteInternal(String sku, int quantity, boolean express) {
+            return sku.length() * 100L + quantity + (express ? 1 : 0);
+        }
+    }
+
+    private QuoteTools tools;
+    private Object[] arguments;
+    private Method reflective;
+    private ToolInvoker generated;
+    private ToolInvoker handle;
+
+    @Setup
+    public void setUp() throws Exception {
+        tools = new QuoteTools();
+        arguments = new Object[]{"SKU-1234", 7, Boolean.TRUE};
+        reflective = QuoteTools.class.getMethod("quote", String.class, int.class, boolean.class);
+        reflective.setAccessible(true);
+        generated = ToolInvokers.compile(tools, reflective);
+        handle = ToolInvokers.compile(tools,
+                QuoteTools.class.getDeclaredMethod("quoteInternal", String.class, int.class, boolean.class));
+    }
+
+    @Benchmark
+    public long direct() {
+        return tools.quote((String) arguments[0], (Integer) arguments[1], (Boolean) arguments[2]);
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return reflective.invoke(tools, arguments);
+    }
+
+    @Benchmark
+    public Object generatedInvoker() throws Throwable {
+        return generated.invoke(arguments);
+    }
+
+    @Benchmark
+    public Object methodHandleInvoker() throws Throwable {
+        return handle.invoke(arguments);
+    }
+}
@@ -0,0 +1,363 @@
+package com.autogentmcp.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reads {@code @AutogentTool} and the Spring MVC mapping annotations at compile time and
+ * writes {@value #MANIFEST_LOCATION}, the same endpoint metadata the runtime would otherwise
+ * deduce by reflection. The SDK loads that manifest at startup instead of scanning beans.
+ * <p>
+ * Annotations are matched by name, so neither the SDK nor Spring has to be on the
+ * processor path. Deduction mirrors the runtime rules in {@code ToolMetadataResolver}.
+ */
+public class AutogentToolProcessor extends AbstractProcessor {
+
+    static final String MANIFEST_LOCATION = "META-INF/autogentmcp/endpoints.json";
+    // 2: tools declaring @AutogentTool(maxConcurrency) carry it next to their endpoint
+    static final int MANIFEST_VERSION = 2;
+
+    private static final String AUTOGENT_TOOL = "com.autogentmcp.registry.AutogentTool";
+    private static final String WEB = "org.springframework.web.bind.annotation.";
+    private static final String GET_MAPPING = WEB + "GetMapping";
+    private static final String POST_MAPPING = WEB + "PostMapping";
+    private static final String PUT_MAPPING = WEB + "PutMapping";
+    private static final String DELETE_MAPPING = WEB + "DeleteMapping";
+    private static final String PATCH_MAPPING = WEB + "PatchMapping";
+    private static final String REQUEST_MAPPING = WEB + "RequestMapping";
+    private static final String PATH_VARIABLE = WEB + "PathVariable";
+    private static final String REQUEST_PARAM = WEB + "RequestParam";
+    private static final String REQUEST_BODY = WEB + "RequestBody";
+    // Spring's ValueConstants.DEFAULT_NONE
+    private static final String DEFAULT_NONE = "\n\t\t\n\t\t\n\uE000\uE001\uE002\n\t\t\t\t\n";
+
+    // Accumulated across rounds, written once processing is over
+    private final Map<String, Map<String, Object>> tools = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(AUTOGENT_TOOL);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+                ExecutableElement method = (ExecutableElement) element;
+                TypeElement owner = (TypeElement) method.getEnclosingElement();
+                Map<String, Object> tool = new LinkedHashMap<>();
+                tool.put("declaringClass", processingEnv.getElementUtils().getBinaryName(owner).toString());
+                tool.put("methodName", method.getSimpleName().toString());
+                AnnotationMirror toolAnn = findAnnotation(method, AUTOGENT_TOOL);
+                tool.put("endpoint", buildEndpoint(method, toolAnn));
+                // Not part of the registered endpoint; tells the runtime which classes need a concurrency limiter
+                Object maxConcurrency = value(toolAnn, "maxConcurrency");
+                if (maxConcurrency instanceof Number && ((Number) maxConcurrency).intValue() > 0) {
+                    tool.put("maxConcurrency", ((Number) maxConcurrency).intValue());
+                }
+                tools.put(tool.get("declaringClass") + "#" + method.getSimpleName() + signature(method), tool);
+            }
+        }
+        if (roundEnv.processingOver() && !tools.isEmpty()) {
+            writeManifest();
+        }
+        return false;
+    }
+
+    private static String signature(ExecutableElement method) {
+        StringBuilder sb = new StringBuilder("(");
+        for (VariableElement p : method.getParameters()) {
+            sb.append(p.asType()).append(',');
+        }
+        return sb.append(')').toString();
+    }
+
+    private void writeManifest() {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("version", MANIFEST_VERSION);
+        manifest.put("tools", new ArrayList<>(tools.values()));
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", MANIFEST_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(JsonWriter.write(manifest));
+            }
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Wrote " + tools.size() + " @AutogentTool endpoints to " + MANIFEST_LOCATION);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + MANIFEST_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> buildEndpoint(ExecutableElement method, AnnotationMirror toolAnn) {
+        Map<String, Object> endpoint = new LinkedHashMap<>();
+        String name = stringValue(toolAnn, "name");
+        endpoint.put("name", name.isEmpty() ? method.getSimpleName().toString() : name);
+        endpoint.put("path", stringValue(toolAnn, "uri"));
+        endpoint.put("method", deduceHttpMethod(method, stringValue(toolAnn, "method")));
+        endpoint.put("description", stringValue(toolAnn, "description"));
+        endpoint.put("isPublic", Boolean.valueOf(String.valueOf(value(toolAnn, "isPublic"))));
+        endpoint.put("contentType", deduceContentType(method, stringValue(toolAnn, "contentType")));
+        putCachePolicy(endpoint, toolAnn);
+
+        Map<String, Object> pathParams = new TreeMap<>();
+        Map<String, Object> queryParams = new TreeMap<>();
+        Map<String, Object> requestBody = Collections.emptyMap();
+        for (VariableElement param : method.getParameters()) {
+            String paramType = simpleName(param.asType());
+            AnnotationMirror pathVar = findAnnotation(param, PATH_VARIABLE);
+            AnnotationMirror reqParam = findAnnotation(param, REQUEST_PARAM);
+            if (pathVar != null) {
+                Map<String, Object> info = new LinkedHashMap<>();
+                info.put("type", paramType);
+                info.put("required", Boolean.valueOf(String.valueOf(value(pathVar, "required"))));
+                pathParams.put(paramName(param, pathVar), info);
+            } else if (reqParam != null) {
+                Map<String, Object> info = new LinkedHashMap<>();
+                info.put("type", paramType);
+                info.put("required", Boolean.valueOf(String.valueOf(value(reqParam, "required"))));
+                String defaultValue = stringValue(reqParam, "defaultValue");
+                if (!DEFAULT_NONE.equals(defaultValue)) {
+                    info.put("defaultValue", defaultValue);
+                }
+                queryParams.put(paramName(param, reqParam), info);
+            } else if (findAnnotation(param, REQUEST_BODY) != null) {
+                requestBody = bodySchema(param.asType(), true);
+            }
+        }
+
+        // Raw overrides are kept as strings; the runtime loader parses JSON-looking ones like it does for reflection
+        putOverrideOrDeduced(endpoint, "pathParams", stringValue(toolAnn, "pathParams"), pathParams);
+        putOverrideOrDeduced(endpoint, "queryParams", stringValue(toolAnn, "queryParams"), queryParams);
+        putOverrideOrDeduced(endpoint, "requestBody", stringValue(toolAnn, "requestBody"), requestBody);
+
+        Map<String, Object> responseBody = bodySchema(method.getReturnType(), false);
+        if (!responseBody.isEmpty()) {
+            endpoint.put("responseBody", responseBody);
+        }
+        return endpoint;
+    }
+
+    // Same shape as the runtime: {"ttl": ms, "maxEntries": n, "keyParams": [...]} for tools with a cache TTL
+    private static void putCachePolicy(Map<String, Object> endpoint, AnnotationMirror toolAnn) {
+        Object ttl = value(toolAnn, "cacheTtl");
+        if (!(ttl instanceof Number) || ((Number) ttl).longValue() <= 0) {
+            return;
+        }
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("ttl", ((Number) ttl).longValue());
+        cache.put("maxEntries", value(toolAnn, "cacheMaxEntries"));
+        List<String> keyParams = enumValues(toolAnn, "cacheKey");
+        if (!keyParams.isEmpty()) {
+            cache.put("keyParams", keyParams);
+        }
+        endpoint.put("cache", cache);
+    }
+
+    private static void putOverrideOrDeduced(Map<String, Object> endpoint, String key, String override, Map<String, Object> deduced) {
+        if (!override.isEmpty()) {
+            endpoint.put(key, override);
+        } else if (!deduced.isEmpty()) {
+            endpoint.put(key, deduced);
+        }
+    }
+
+    private static String paramName(VariableElement param, AnnotationMirror ann) {
+        String name = stringValue(ann, "value");
+        if (name.isEmpty()) {
+            name = stringValue(ann, "name");
+        }
+        return name.isEmpty() ? param.getSimpleName().toString() : name;
+    }
+
+    private Map<String, Object> bodySchema(TypeMirror type, boolean request) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            type = processingEnv.getTypeUtils().erasure(type);
+        }
+        if (type.getKind() == TypeKind.VOID || "java.lang.Void".equals(qualifiedName(type))) {
+            return request ? schema : Collections.<String, Object>emptyMap();
+        }
+        String simpleName = simpleName(type);
+        if (isMap(type)) {
+            schema.put("type", "object");
+            schema.put("description", request ? "Generic object/map" : "Generic object/map response");
+        } else if (type.getKind().isPrimitive() || qualifiedName(type).startsWith("java.lang")) {
+            schema.put("type", simpleName);
+            schema.put("description", "Simple " + simpleName + (request ? " value" : " response"));
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            Map<String, Object> fields = new TreeMap<>();
+            TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+            for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    Map<String, Object> fieldInfo = new LinkedHashMap<>();
+                    fieldInfo.put("type", simpleName(field.asType()));
+                    if (request) {
+                        fieldInfo.put("required", Boolean.TRUE);
+                    }
+                    fields.put(field.getSimpleName().toString(), fieldInfo);
+                }
+            }
+            schema.put("type", "object");
+            schema.put("properties", fields);
+        } else {
+            // Arrays have no declared fields at runtime either
+            schema.put("type", "object");
+            schema.put("properties", Collections.emptyMap());
+        }
+        return schema;
+    }
+
+    private boolean isMap(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement map = processingEnv.getElementUtils().getTypeElement("java.util.Map");
+        return map != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(map.asType()));
+    }
+
+    private String qualifiedName(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+        }
+        return type.getKind().isPrimitive() ? simpleName(type) : "";
+    }
+
+    // Matches Class#getSimpleName(): erasure, no package, "[]" for arrays
+    static String simpleName(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return simpleName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                return ((DeclaredType) type).asElement().getSimpleName().toString();
+            case TYPEVAR:
+                return "Object";
+            default:
+                return type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID
+                        ? type.getKind().name().toLowerCase() : type.toString();
+        }
+    }
+
+    private static String deduceHttpMethod(ExecutableElement method, String declared) {
+        boolean methodOverridden = !declared.equals("POST");
+        if (!methodOverridden || declared.isEmpty()) {
+            if (findAnnotation(method, GET_MAPPING) != null) return "GET";
+            if (findAnnotation(method, POST_MAPPING) != null) return "POST";
+            if (findAnnotation(method, PUT_MAPPING) != null) return "PUT";
+            if (findAnnotation(method, DELETE_MAPPING) != null) return "DELETE";
+            if (findAnnotation(method, PATCH_MAPPING) != null) return "PATCH";
+            AnnotationMirror requestMapping = findAnnotation(method, REQUEST_MAPPING);
+            if (requestMapping != null) {
+                List<String> methods = enumValues(requestMapping, "method");
+                if (!methods.isEmpty()) return methods.get(0);
+            }
+        }
+        return declared;
+    }
+
+    private static String deduceContentType(ExecutableElement method, String declared) {
+        AnnotationMirror mapping = findAnnotation(method, POST_MAPPING);
+        if (mapping == null) mapping = findAnnotation(method, PUT_MAPPING);
+        if (mapping == null) mapping = findAnnotation(method, PATCH_MAPPING);
+        if (mapping == null) mapping = findAnnotation(method, REQUEST_MAPPING);
+        if (mapping != null) {
+            List<String> consumes = enumValues(mapping, "consumes");
+            if (!consumes.isEmpty() && !consumes.get(0).isEmpty()) {
+                return consumes.get(0);
+            }
+        }
+        return declared;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static Object value(AnnotationMirror mirror, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : withDefaults(mirror).entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(attribute)) {
+                return e.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String stringValue(AnnotationMirror mirror, String attribute) {
+        Object value = value(mirror, attribute);
+        if (value instanceof List) {
+            List<String> values = enumValues(mirror, attribute);
+            return values.isEmpty() ? "" : values.get(0);
+        }
+        return value == null ? "" : value.toString();
+    }
+
+    // String[] and enum[] attributes; a single enum constant is returned by its simple name
+    private static List<String> enumValues(AnnotationMirror mirror, String attribute) {
+        Object value = value(mirror, attribute);
+        Set<String> result = new LinkedHashSet<>();
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                Object v = ((AnnotationValue) item).getValue();
+                result.add(v instanceof VariableElement ? ((VariableElement) v).getSimpleName().toString() : String.valueOf(v));
+            }
+        } else if (value != null) {
+            result.add(value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : value.toString());
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static Map<? extends ExecutableElement, ? extends AnnotationValue> withDefaults(AnnotationMirror mirror) {
+        Map<ExecutableElement, AnnotationValue> values = new LinkedHashMap<>();
+        for (ExecutableElement attribute : ElementFilter.methodsIn(mirror.getAnnotationType().asElement().getEnclosedElements())) {
+            if (attribute.getDefaultValue() != null) {
+                values.put(attribute, attribute.getDefaultValue());
+            }
+        }
+        values.putAll(mirror.getElementValues());
+        return values;
+    }
+}
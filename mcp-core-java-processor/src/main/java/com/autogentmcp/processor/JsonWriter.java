@@ -0,0 +1,115 @@
+package com.autogentmcp.processor;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tiny JSON serializer for the manifest, so the processor needs nothing beyond the JDK
+ * on the annotation processor path. Handles maps, lists, strings, numbers and booleans.
+ */
+final class JsonWriter {
+
+    private JsonWriter() {
+    }
+
+    static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out, 0);
+        out.append('\n');
+        return out.toString();
+    }
+
+    private static void write(Object value, StringBuilder out, int indent) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String) {
+            writeString((String) value, out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map) {
+            writeObject((Map<?, ?>) value, out, indent);
+        } else if (value instanceof List) {
+            writeArray((List<?>) value, out, indent);
+        } else {
+            throw new IllegalArgumentException("Unsupported manifest value: " + value.getClass());
+        }
+    }
+
+    private static void writeObject(Map<?, ?> map, StringBuilder out, int indent) {
+        if (map.isEmpty()) {
+            out.append("{}");
+            return;
+        }
+        out.append("{\n");
+        Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<?, ?> entry = it.next();
+            indent(out, indent + 1);
+            writeString(String.valueOf(entry.getKey()), out);
+            out.append(": ");
+            write(entry.getValue(), out, indent + 1);
+            if (it.hasNext()) {
+                out.append(',');
+            }
+            out.append('\n');
+        }
+        indent(out, indent);
+        out.append('}');
+    }
+
+    private static void writeArray(List<?> list, StringBuilder out, int indent) {
+        if (list.isEmpty()) {
+            out.append("[]");
+            return;
+        }
+        out.append("[\n");
+        for (int i = 0; i < list.size(); i++) {
+            indent(out, indent + 1);
+            write(list.get(i), out, indent + 1);
+            if (i < list.size() - 1) {
+                out.append(',');
+            }
+            out.append('\n');
+        }
+        indent(out, indent);
+        out.append(']');
+    }
+
+    private static void indent(StringBuilder out, int indent) {
+        for (int i = 0; i < indent; i++) {
+            out.append("  ");
+        }
+    }
+
+    private static void writeString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
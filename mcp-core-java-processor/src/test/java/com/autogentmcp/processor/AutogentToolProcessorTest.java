@@ -0,0 +1,160 @@
+package com.autogentmcp.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutogentToolProcessorTest {
+
+    // Minimal stand-ins for the SDK and Spring annotations; the processor only matches names
+    private static final String[][] ANNOTATIONS = {
+        {"com.autogentmcp.registry.AutogentTool",
+            "package com.autogentmcp.registry; import java.lang.annotation.*;"
+            + "@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.METHOD) public @interface AutogentTool {"
+            + " String name() default \"\"; String uri(); String description() default \"\"; String pathParams() default \"\";"
+            + " String queryParams() default \"\"; String requestBody() default \"\"; String method() default \"POST\";"
+            + " boolean isPublic() default false; String contentType() default \"\"; long cacheTtl() default 0;"
+            + " int cacheMaxEntries() default 256; String[] cacheKey() default {}; int maxConcurrency() default 0; }"},
+        {"org.springframework.web.bind.annotation.GetMapping",
+            "package org.springframework.web.bind.annotation; public @interface GetMapping { String[] value() default {}; }"},
+        {"org.springframework.web.bind.annotation.PostMapping",
+            "package org.springframework.web.bind.annotation; public @interface PostMapping { String[] value() default {}; String[] consumes() default {}; }"},
+        {"org.springframework.web.bind.annotation.RequestMethod",
+            "package org.springframework.web.bind.annotation; public enum RequestMethod { GET, POST, PUT, PATCH, DELETE }"},
+        {"org.springframework.web.bind.annotation.RequestMapping",
+            "package org.springframework.web.bind.annotation; public @interface RequestMapping { String[] value() default {};"
+            + " RequestMethod[] method() default {}; String[] consumes() default {}; }"},
+        {"org.springframework.web.bind.annotation.PathVariable",
+            "package org.springframework.web.bind.annotation; public @interface PathVariable { String value() default \"\";"
+            + " String name() default \"\"; boolean required() default true; }"},
+        {"org.springframework.web.bind.annotation.RequestParam",
+            "package org.springframework.web.bind.annotation; public @interface RequestParam { String value() default \"\";"
+            + " String name() default \"\"; boolean required() default true;"
+            + " String defaultValue() default \"\\n\\t\\t\\n\\t\\t\\n\\uE000\\uE001\\uE002\\n\\t\\t\\t\\t\\n\"; }"},
+        {"org.springframework.web.bind.annotation.RequestBody",
+            "package org.springframework.web.bind.annotation; public @interface RequestBody { }"},
+    };
+
+    private static final String CONTROLLER =
+        "package demo;\n"
+        + "import com.autogentmcp.registry.AutogentTool;\n"
+        + "import org.springframework.web.bind.annotation.*;\n"
+        + "import java.util.Map;\n"
+        + "public class MathController {\n"
+        + "  public static class Order { private String id; private int[] lines; private static int COUNT; }\n"
+        + "  @AutogentTool(name = \"Add Numbers\", uri = \"/math/add/{a}/{b}\", description = \"Adds\", isPublic = true,"
+        + " cacheTtl = 60000, cacheKey = {\"a\", \"b\"})\n"
+        + "  @GetMapping(\"/math/add/{a}/{b}\")\n"
+        + "  public int add(@PathVariable int a, @PathVariable(\"b\") int b) { return a + b; }\n"
+        + "  @AutogentTool(uri = \"/orders\", maxConcurrency = 4)\n"
+        + "  @PostMapping(value = \"/orders\", consumes = \"application/json\")\n"
+        + "  public Order create(@RequestBody Order order, @RequestParam(value = \"dryRun\", defaultValue = \"false\") boolean dryRun) { return order; }\n"
+        + "  @AutogentTool(uri = \"/search\", queryParams = \"{\\\"q\\\":{\\\"type\\\":\\\"String\\\"}}\")\n"
+        + "  @RequestMapping(value = \"/search\", method = RequestMethod.PATCH)\n"
+        + "  public Map<String, Object> search(@RequestParam(\"q\") String q) { return null; }\n"
+        + "  public void notATool() { }\n"
+        + "}\n";
+
+    @TempDir
+    Path output;
+
+    @Test
+    public void testManifestMatchesRuntimeDeduction() throws Exception {
+        JsonNode manifest = compile();
+        assertEquals(2, manifest.get("version").asInt());
+        JsonNode tools = manifest.get("tools");
+        assertEquals(3, tools.size());
+
+        JsonNode add = tool(tools, "add");
+        assertEquals("demo.MathController", add.get("declaringClass").asText());
+        JsonNode addEndpoint = add.get("endpoint");
+        assertEquals("Add Numbers", addEndpoint.get("name").asText());
+        assertEquals("/math/add/{a}/{b}", addEndpoint.get("path").asText());
+        assertEquals("GET", addEndpoint.get("method").asText());
+        assertTrue(addEndpoint.get("isPublic").asBoolean());
+        assertEquals("int", addEndpoint.get("pathParams").get("a").get("type").asText());
+        assertTrue(addEndpoint.get("pathParams").has("b"));
+        assertEquals("Simple int response", addEndpoint.get("responseBody").get("description").asText());
+        assertEquals(60000, addEndpoint.get("cache").get("ttl").asLong());
+        assertEquals(256, addEndpoint.get("cache").get("maxEntries").asInt());
+        assertEquals("b", addEndpoint.get("cache").get("keyParams").get(1).asText());
+
+        assertFalse(add.has("maxConcurrency"));
+        assertEquals(4, tool(tools, "create").get("maxConcurrency").asInt());
+        JsonNode create = tool(tools, "create").get("endpoint");
+        assertFalse(create.has("maxConcurrency"));
+        assertEquals("create", create.get("name").asText());
+        assertEquals("POST", create.get("method").asText());
+        assertFalse(create.has("cache"));
+        assertEquals("application/json", create.get("contentType").asText());
+        JsonNode bodyProps = create.get("requestBody").get("properties");
+        assertEquals(2, bodyProps.size());
+        assertEquals("int[]", bodyProps.get("lines").get("type").asText());
+        assertTrue(bodyProps.get("id").get("required").asBoolean());
+        assertFalse(create.get("responseBody").get("properties").get("id").has("required"));
+        assertEquals("false", create.get("queryParams").get("dryRun").get("defaultValue").asText());
+
+        JsonNode search = tool(tools, "search").get("endpoint");
+        assertEquals("PATCH", search.get("method").asText());
+        // Overrides are carried verbatim and parsed by the runtime loader
+        assertEquals("{\"q\":{\"type\":\"String\"}}", search.get("queryParams").asText());
+        assertEquals("object", search.get("responseBody").get("type").asText());
+    }
+
+    private JsonNode compile() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (String[] annotation : ANNOTATIONS) {
+            sources.add(source(annotation[0], annotation[1]));
+        }
+        sources.add(source("demo.MathController", CONTROLLER));
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            files.setLocation(javax.tools.StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    Arrays.asList("-proc:only"), null, sources);
+            task.setProcessors(Collections.singletonList(new AutogentToolProcessor()));
+            assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        }
+        File manifest = output.resolve(AutogentToolProcessor.MANIFEST_LOCATION).toFile();
+        assertTrue(manifest.isFile());
+        return new ObjectMapper().readTree(new String(Files.readAllBytes(manifest.toPath()), StandardCharsets.UTF_8));
+    }
+
+    private static JsonNode tool(JsonNode tools, String methodName) {
+        for (JsonNode tool : tools) {
+            if (methodName.equals(tool.get("methodName").asText())) {
+                return tool;
+            }
+        }
+        throw new AssertionError("No tool for " + methodName);
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
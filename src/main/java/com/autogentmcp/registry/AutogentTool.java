@@ -24,4 +24,23 @@ public @interface AutogentTool {
      */
     boolean isPublic() default false; // Indicates if the tool is public
     String contentType() default "";
+    /**
+     * Milliseconds a result may be reused for calls with the same key arguments; 0 (the default)
+     * disables caching. Meant for pure lookups. Applies to calls through the embedded MCP server
+     * and to the tool's HTTP endpoint, each with its own cache, and is advertised to the registry
+     * as the endpoint's {@code cache} policy.
+     */
+    long cacheTtl() default 0;
+    int cacheMaxEntries() default 256; // Results kept per tool, least recently used evicted first
+    /**
+     * Argument names that make up the cache key (path variables, request parameters, {@code body}).
+     * If empty, all arguments are part of the key.
+     */
+    String[] cacheKey() default {};
+    /**
+     * Calls of this tool allowed to run at once; further calls are rejected with 429 instead of
+     * waiting for a servlet thread. 0 (the default) means no fixed limit.
+     * {@code autogentmcp.concurrency.limits.<tool>} overrides it.
+     */
+    int maxConcurrency() default 0;
 }
@@ -0,0 +1,225 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One chunked registration: open a session, upload size-bounded chunks in parallel, commit.
+ * <ul>
+ *   <li>{@code POST /register/endpoints/sessions} returns {@code {"session_id": "..."}}</li>
+ *   <li>{@code PUT /register/endpoints/sessions/{id}/chunks/{index}} per chunk, idempotent so retries are safe</li>
+ *   <li>{@code POST /register/endpoints/sessions/{id}/commit} makes all chunks visible at once</li>
+ *   <li>{@code DELETE /register/endpoints/sessions/{id}} aborts after a chunk ran out of attempts</li>
+ * </ul>
+ * Every endpoint is serialized exactly once; chunk bodies are assembled from those bytes so
+ * a retry resends the same chunk without touching the rest of the catalog.
+ */
+class ChunkedEndpointUpload {
+    private static final Logger log = LoggerFactory.getLogger(ChunkedEndpointUpload.class);
+
+    private static final byte[] CHUNK_PREFIX = "{\"endpoints\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CHUNK_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final RegistryClient client;
+    private final String appKey;
+    private final String environment;
+    private final ChunkedRegistrationSettings settings;
+
+    ChunkedEndpointUpload(RegistryClient client, String appKey, String environment, ChunkedRegistrationSettings settings) {
+        this.client = client;
+        this.appKey = appKey;
+        this.environment = environment;
+        this.settings = settings;
+    }
+
+    /**
+     * Packs serialized endpoints into chunk bodies of at most {@code maxChunkBytes} and
+     * {@code maxEndpointsPerChunk} endpoints each, keeping the original order.
+     */
+    static List<byte[]> split(List<Map<String, Object>> endpoints, int maxChunkBytes, int maxEndpointsPerChunk) throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        ByteArrayOutputStream chunk = null;
+        int count = 0;
+        for (Map<String, Object> endpoint : endpoints) {
+            byte[] json = RegistryJson.writer().writeValueAsBytes(endpoint);
+            if (chunk != null && (count >= maxEndpointsPerChunk
+                    || chunk.size() + 1 + json.length + CHUNK_SUFFIX.length > maxChunkBytes)) {
+                chunks.add(finish(chunk));
+                chunk = null;
+            }
+            if (chunk == null) {
+                chunk = new ByteArrayOutputStream(Math.min(maxChunkBytes, 64 * 1024));
+                chunk.write(CHUNK_PREFIX);
+                count = 0;
+            } else {
+                chunk.write(',');
+            }
+            chunk.write(json);
+            count++;
+        }
+        if (chunk != null) {
+            chunks.add(finish(chunk));
+        }
+        return chunks;
+    }
+
+    private static byte[] finish(ByteArrayOutputStream chunk) throws IOException {
+        chunk.write(CHUNK_SUFFIX);
+        return chunk.toByteArray();
+    }
+
+    /**
+     * Runs the upload. Returns null when the registry has no session support, so the caller
+     * can fall back to a single batch.
+     */
+    RegistryResponse run(List<byte[]> chunks, int endpointCount, Executor executor) throws IOException {
+        String sessionId = openSession(chunks.size(), endpointCount);
+        if (sessionId == null) {
+            return null;
+        }
+        try {
+            uploadChunks(sessionId, chunks, executor);
+        } catch (IOException | RuntimeException e) {
+            abort(sessionId);
+            throw e;
+        }
+        return commit(sessionId, chunks.size());
+    }
+
+    private String openSession(int chunkCount, int endpointCount) throws IOException {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("app_key", appKey);
+        payload.put("environment", environment);
+        payload.put("total_chunks", chunkCount);
+        payload.put("total_endpoints", endpointCount);
+        // Chunks only carry endpoints; the shared schema definitions travel once with the session
+        Map<String, Object> definitions = client.getSchemaDefinitions();
+        if (!definitions.isEmpty()) {
+            payload.put("$defs", definitions);
+        }
+        RegistryResponse result = client.execute("openRegistrationSession", () -> {
+            HttpPost post = new HttpPost(client.baseUrl + "/register/endpoints/sessions");
+            client.setHeaders(post, appKey);
+            post.setEntity(JsonEntity.of(payload));
+            try (CloseableHttpResponse response = client.executePost(post)) {
+                return RegistryResponse.from(response);
+            }
+        });
+        int status = result.getStatusCode();
+        if (status == 404 || status == 405 || status == 501) {
+            log.info("Registry does not support chunked registration sessions (status {})", status);
+            return null;
+        }
+        JsonNode json = result.getJson();
+        JsonNode id = json != null ? json.get("session_id") : null;
+        if (!result.isSuccess() || id == null || id.asText().isEmpty()) {
+            throw new IOException("Failed to open registration session: " + result);
+        }
+        log.info("Opened registration session {} for {} endpoints in {} chunks", id.asText(), endpointCount, chunkCount);
+        return id.asText();
+    }
+
+    // A fixed number of workers pull chunk indexes, so at most `parallelism` chunks are in flight
+    private void uploadChunks(final String sessionId, final List<byte[]> chunks, Executor executor) throws IOException {
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        int workers = Math.max(1, Math.min(settings.getParallelism(), chunks.size()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                int index;
+                while (failure.get() == null && (index = next.getAndIncrement()) < chunks.size()) {
+                    try {
+                        uploadChunk(sessionId, index, chunks.get(index));
+                    } catch (IOException | RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw new CompletionException(e);
+                    }
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while uploading endpoint chunks", e);
+        } catch (ExecutionException e) {
+            Throwable cause = failure.get() != null ? failure.get() : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Endpoint chunk upload failed", cause);
+        }
+    }
+
+    // Goes through the client's circuit breaker; only attempts and backoff come from the chunk settings
+    private void uploadChunk(String sessionId, int index, byte[] body) throws IOException {
+        RetryPolicy policy = RetryPolicy.defaults()
+                .setMaxAttempts(settings.getMaxAttempts())
+                .setInitialDelayMs(settings.getRetryBackoffMs())
+                .setMaxDelayMs(Math.max(settings.getRetryBackoffMs(), client.getRetryPolicy().getMaxDelayMs()));
+        RegistryResponse result = client.execute("uploadChunk", policy, () -> {
+            HttpPut put = new HttpPut(client.baseUrl + "/register/endpoints/sessions/" + sessionId + "/chunks/" + index);
+            client.setHeaders(put, appKey);
+            put.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+            client.getMetrics().recordPayloadSize("uploadChunk", body.length);
+            try (CloseableHttpResponse response = client.executePut(put)) {
+                return RegistryResponse.from(response);
+            }
+        });
+        if (!result.isSuccess()) {
+            throw new IOException("Chunk " + index + " rejected: " + result);
+        }
+        log.debug("Uploaded chunk {} of session {} ({} bytes)", index, sessionId, body.length);
+    }
+
+    private RegistryResponse commit(String sessionId, int chunkCount) throws IOException {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("total_chunks", chunkCount);
+        RegistryResponse result = client.execute("commitRegistrationSession", () -> {
+            HttpPost post = new HttpPost(client.baseUrl + "/register/endpoints/sessions/" + sessionId + "/commit");
+            client.setHeaders(post, appKey);
+            post.setEntity(JsonEntity.of(payload));
+            try (CloseableHttpResponse response = client.executePost(post)) {
+                return RegistryResponse.from(response);
+            }
+        });
+        if (!result.isSuccess()) {
+            throw new IOException("Failed to commit registration session " + sessionId + ": " + result);
+        }
+        log.info("Committed registration session {} ({} chunks)", sessionId, chunkCount);
+        return result;
+    }
+
+    // Best effort: an abandoned session would otherwise expire on the registry side
+    private void abort(String sessionId) {
+        HttpDelete delete = new HttpDelete(client.baseUrl + "/register/endpoints/sessions/" + sessionId);
+        client.setHeaders(delete, appKey);
+        try (CloseableHttpResponse response = client.executeDelete(delete)) {
+            log.info("Aborted registration session {} (status {})", sessionId, response.getStatusLine().getStatusCode());
+        } catch (IOException e) {
+            log.debug("Failed to abort registration session {}: {}", sessionId, e.toString());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.autogentmcp.registry;
+
+/**
+ * Limits for splitting a large endpoint catalog into chunks that are uploaded in parallel
+ * through a registration session. Sizes are in bytes of serialized JSON, durations in milliseconds.
+ */
+public class ChunkedRegistrationSettings {
+    private int maxChunkBytes = 256 * 1024;
+    private int maxEndpointsPerChunk = 500;
+    private int parallelism = 4;
+    private int maxAttempts = 3;
+    private long retryBackoffMs = 200;
+
+    public static ChunkedRegistrationSettings defaults() {
+        return new ChunkedRegistrationSettings();
+    }
+
+    /**
+     * Upper bound for one chunk body. A single endpoint larger than this gets a chunk of its own.
+     */
+    public int getMaxChunkBytes() {
+        return maxChunkBytes;
+    }
+
+    public ChunkedRegistrationSettings setMaxChunkBytes(int maxChunkBytes) {
+        this.maxChunkBytes = maxChunkBytes;
+        return this;
+    }
+
+    public int getMaxEndpointsPerChunk() {
+        return maxEndpointsPerChunk;
+    }
+
+    public ChunkedRegistrationSettings setMaxEndpointsPerChunk(int maxEndpointsPerChunk) {
+        this.maxEndpointsPerChunk = maxEndpointsPerChunk;
+        return this;
+    }
+
+    /**
+     * Chunks in flight at the same time. Keep this at or below the transport's
+     * connections per route, otherwise uploads queue for a pooled connection.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public ChunkedRegistrationSettings setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Attempts per chunk, including the first one. Only the failed chunk is resent.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public ChunkedRegistrationSettings setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Backoff ceiling before the second attempt of a chunk, doubled for every further attempt.
+     * The actual delay is a random value up to the ceiling (full jitter).
+     */
+    public long getRetryBackoffMs() {
+        return retryBackoffMs;
+    }
+
+    public ChunkedRegistrationSettings setRetryBackoffMs(long retryBackoffMs) {
+        this.retryBackoffMs = retryBackoffMs;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedRegistrationSettings{maxChunkBytes=" + maxChunkBytes
+                + ", maxEndpointsPerChunk=" + maxEndpointsPerChunk
+                + ", parallelism=" + parallelism
+                + ", maxAttempts=" + maxAttempts
+                + ", retryBackoffMs=" + retryBackoffMs + "}";
+    }
+}
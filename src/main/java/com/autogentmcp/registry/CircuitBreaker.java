@@ -0,0 +1,138 @@
+package com.autogentmcp.registry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free circuit breaker for registry calls. After {@code failureThreshold} consecutive
+ * failures the circuit opens and calls are rejected without touching the network for
+ * {@code openDurationMs}. Then a single probe is let through (half-open): success closes the
+ * circuit, failure opens it again. The state is one immutable snapshot swapped with CAS.
+ */
+public class CircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final class Snapshot {
+        final State state;
+        final int failures;
+        // When the circuit opened, or when the half-open probe started
+        final long sinceMillis;
+
+        Snapshot(State state, int failures, long sinceMillis) {
+            this.state = state;
+            this.failures = failures;
+            this.sinceMillis = sinceMillis;
+        }
+    }
+
+    private static final Snapshot CLOSED = new Snapshot(State.CLOSED, 0, 0);
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(CLOSED);
+
+    /**
+     * A threshold of 0 or less disables the breaker.
+     */
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this(failureThreshold, openDurationMs, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openDurationMs, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    public static CircuitBreaker disabled() {
+        return new CircuitBreaker(0, 0);
+    }
+
+    /**
+     * Returns true when a call may go out. In half-open state only the caller that wins the
+     * transition gets to probe; a probe that never reports back is replaced after {@code openDurationMs}.
+     */
+    public boolean tryAcquire() {
+        if (failureThreshold <= 0) {
+            return true;
+        }
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current.state == State.CLOSED) {
+                return true;
+            }
+            long now = clock.getAsLong();
+            if (now - current.sinceMillis < openDurationMs) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, new Snapshot(State.HALF_OPEN, current.failures, now))) {
+                log.info("Registry circuit breaker half-open, sending probe request");
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        Snapshot previous = snapshot.getAndSet(CLOSED);
+        if (previous.state != State.CLOSED) {
+            log.info("Registry circuit breaker closed");
+        }
+    }
+
+    public void onFailure() {
+        if (failureThreshold <= 0) {
+            return;
+        }
+        while (true) {
+            Snapshot current = snapshot.get();
+            Snapshot next;
+            if (current.state == State.CLOSED && current.failures + 1 < failureThreshold) {
+                next = new Snapshot(State.CLOSED, current.failures + 1, 0);
+            } else if (current.state == State.OPEN) {
+                return;
+            } else {
+                next = new Snapshot(State.OPEN, current.failures + 1, clock.getAsLong());
+            }
+            if (snapshot.compareAndSet(current, next)) {
+                if (next.state == State.OPEN) {
+                    log.warn("Registry circuit breaker opened after {} consecutive failures, pausing calls for {} ms",
+                            next.failures, openDurationMs);
+                }
+                return;
+            }
+        }
+    }
+
+    public State getState() {
+        return snapshot.get().state;
+    }
+
+    public int getConsecutiveFailures() {
+        return snapshot.get().failures;
+    }
+
+    /**
+     * Time until an open circuit lets a probe through, 0 when not open.
+     */
+    public long getRemainingOpenMillis() {
+        Snapshot current = snapshot.get();
+        if (current.state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openDurationMs - (clock.getAsLong() - current.sinceMillis));
+    }
+
+    @Override
+    public String toString() {
+        Snapshot current = snapshot.get();
+        return "CircuitBreaker{state=" + current.state + ", consecutiveFailures=" + current.failures + "}";
+    }
+}
@@ -0,0 +1,17 @@
+package com.autogentmcp.registry;
+
+/**
+ * Thrown instead of calling the registry while the circuit breaker is open.
+ */
+public class CircuitBreakerOpenException extends RegistryException {
+    private final long remainingOpenMillis;
+
+    public CircuitBreakerOpenException(String operation, long remainingOpenMillis) {
+        super(operation + " not attempted, registry circuit breaker is open for another " + remainingOpenMillis + " ms", -1, null);
+        this.remainingOpenMillis = remainingOpenMillis;
+    }
+
+    public long getRemainingOpenMillis() {
+        return remainingOpenMillis;
+    }
+}
@@ -0,0 +1,266 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Content-addressed view of an endpoint list, used for differential sync with the registry.
+ * <p>
+ * Every endpoint is canonicalized (map keys sorted recursively) and hashed with SHA-256
+ * under its identity key {@code METHOD path name}. The manifest fingerprint is the SHA-256
+ * of the sorted {@code key=hash} lines, so it only depends on endpoint content and not on
+ * collection order or map implementation.
+ * <p>
+ * Endpoints whose schemas point into shared JSON Schema definitions
+ * ({@code "$ref": "#/$defs/Name"}) also hash the definitions they reach, so changing a
+ * shared DTO updates exactly the endpoints that use it.
+ */
+public final class EndpointManifest {
+
+    // Canonical JSON: sorted map keys, no pretty printing
+    private static final ObjectMapper CANONICAL_MAPPER = RegistryJson.mapper().copy()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final String fingerprint;
+    private final Map<String, String> hashes;
+    private final Map<String, Map<String, Object>> endpoints;
+
+    private EndpointManifest(String fingerprint, Map<String, String> hashes, Map<String, Map<String, Object>> endpoints) {
+        this.fingerprint = fingerprint;
+        this.hashes = hashes;
+        this.endpoints = endpoints;
+    }
+
+    private static final String DEFINITIONS_REF_PREFIX = "#/$defs/";
+
+    public static EndpointManifest of(List<Map<String, Object>> endpointList) {
+        return of(endpointList, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Manifest of endpoints that reference the given shared schema definitions.
+     */
+    public static EndpointManifest of(List<Map<String, Object>> endpointList, Map<String, Object> definitions) {
+        Map<String, String> hashes = new TreeMap<>();
+        Map<String, Map<String, Object>> endpoints = new TreeMap<>();
+        Map<String, byte[]> canonicalDefinitions = new HashMap<>();
+        for (Map<String, Object> endpoint : endpointList) {
+            String key = keyOf(endpoint);
+            byte[] content = canonicalJson(endpoint);
+            Set<String> referenced = definitions.isEmpty()
+                    ? Collections.<String>emptySet() : referencedDefinitionNames(endpoint, definitions);
+            if (referenced.isEmpty()) {
+                hashes.put(key, sha256Hex(content));
+            } else {
+                MessageDigest digest = sha256();
+                digest.update(content);
+                for (String name : referenced) {
+                    byte[] definition = canonicalDefinitions.get(name);
+                    if (definition == null) {
+                        definition = canonicalJson(definitions.get(name));
+                        canonicalDefinitions.put(name, definition);
+                    }
+                    digest.update(name.getBytes(StandardCharsets.UTF_8));
+                    digest.update(definition);
+                }
+                hashes.put(key, hex(digest.digest()));
+            }
+            endpoints.put(key, endpoint);
+        }
+        StringBuilder lines = new StringBuilder();
+        for (Map.Entry<String, String> e : hashes.entrySet()) {
+            lines.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+        }
+        return new EndpointManifest(sha256Hex(lines.toString().getBytes(StandardCharsets.UTF_8)),
+                Collections.unmodifiableMap(hashes), Collections.unmodifiableMap(endpoints));
+    }
+
+    /**
+     * The definitions reachable from the given endpoints through {@code $ref}s, including
+     * the ones definitions refer to themselves, sorted by name.
+     */
+    public static Map<String, Object> referencedDefinitions(Collection<Map<String, Object>> endpoints,
+                                                            Map<String, Object> definitions) {
+        if (definitions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<String> names = new TreeSet<>();
+        for (Map<String, Object> endpoint : endpoints) {
+            names.addAll(referencedDefinitionNames(endpoint, definitions));
+        }
+        Map<String, Object> referenced = new TreeMap<>();
+        for (String name : names) {
+            referenced.put(name, definitions.get(name));
+        }
+        return referenced;
+    }
+
+    private static Set<String> referencedDefinitionNames(Object root, Map<String, Object> definitions) {
+        Set<String> names = new TreeSet<>();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Object value = pending.pop();
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    Object v = e.getValue();
+                    if ("$ref".equals(e.getKey()) && v instanceof String && ((String) v).startsWith(DEFINITIONS_REF_PREFIX)) {
+                        String name = ((String) v).substring(DEFINITIONS_REF_PREFIX.length());
+                        if (definitions.containsKey(name) && names.add(name)) {
+                            pending.push(definitions.get(name));
+                        }
+                    } else if (v != null) {
+                        pending.push(v);
+                    }
+                }
+            } else if (value instanceof Collection) {
+                for (Object v : (Collection<?>) value) {
+                    if (v != null) {
+                        pending.push(v);
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * SHA-256 of the canonical JSON of any serializable value, e.g. one endpoint description.
+     */
+    public static String contentHash(Object value) {
+        return sha256Hex(canonicalJson(value));
+    }
+
+    /**
+     * Identity of an endpoint in the manifest: {@code METHOD path name}.
+     */
+    public static String keyOf(Map<String, Object> endpoint) {
+        return endpoint.get("method") + " " + endpoint.get("path") + " " + endpoint.get("name");
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Content hash per endpoint key, sorted by key.
+     */
+    public Map<String, String> getHashes() {
+        return hashes;
+    }
+
+    public int size() {
+        return hashes.size();
+    }
+
+    /**
+     * Changes needed to turn a remote manifest (endpoint key to content hash) into this one.
+     */
+    public Delta diff(Map<String, String> remoteHashes) {
+        List<Map<String, Object>> added = new ArrayList<>();
+        List<Map<String, Object>> updated = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (Map.Entry<String, String> e : hashes.entrySet()) {
+            String remoteHash = remoteHashes.get(e.getKey());
+            if (remoteHash == null) {
+                added.add(endpoints.get(e.getKey()));
+            } else if (!remoteHash.equals(e.getValue())) {
+                updated.add(endpoints.get(e.getKey()));
+            }
+        }
+        for (String remoteKey : new TreeMap<>(remoteHashes).keySet()) {
+            if (!hashes.containsKey(remoteKey)) {
+                removed.add(remoteKey);
+            }
+        }
+        return new Delta(added, updated, removed);
+    }
+
+    static byte[] canonicalJson(Object value) {
+        try {
+            return CANONICAL_MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Endpoint is not serializable: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    static String sha256Hex(byte[] data) {
+        return hex(sha256().digest(data));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Added and updated endpoints are sent in full; removed ones by key only.
+     */
+    public static final class Delta {
+        private final List<Map<String, Object>> added;
+        private final List<Map<String, Object>> updated;
+        private final List<String> removed;
+
+        Delta(List<Map<String, Object>> added, List<Map<String, Object>> updated, List<String> removed) {
+            this.added = Collections.unmodifiableList(added);
+            this.updated = Collections.unmodifiableList(updated);
+            this.removed = Collections.unmodifiableList(removed);
+        }
+
+        /**
+         * @param removed identity keys ({@link EndpointManifest#keyOf(Map)}) of removed endpoints
+         */
+        public static Delta of(List<Map<String, Object>> added, List<Map<String, Object>> updated, List<String> removed) {
+            return new Delta(new ArrayList<>(added), new ArrayList<>(updated), new ArrayList<>(removed));
+        }
+
+        public List<Map<String, Object>> getAdded() {
+            return added;
+        }
+
+        public List<Map<String, Object>> getUpdated() {
+            return updated;
+        }
+
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "Delta{added=" + added.size() + ", updated=" + updated.size() + ", removed=" + removed.size() + "}";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.autogentmcp.registry;
+
+/**
+ * Outcome of {@link RegistryClient#syncEndpoints(String, String, java.util.List)}.
+ */
+public class EndpointSyncResult {
+
+    public enum Mode {
+        /** Registry already had this manifest; nothing but the fingerprint was exchanged */
+        UNCHANGED,
+        /** Only added, updated and removed endpoints were sent */
+        DELTA,
+        /** Full endpoint list was sent (first registration or registry without delta support) */
+        FULL
+    }
+
+    private final Mode mode;
+    private final String fingerprint;
+    private final EndpointManifest.Delta delta;
+    private final String response;
+
+    EndpointSyncResult(Mode mode, String fingerprint, EndpointManifest.Delta delta, String response) {
+        this.mode = mode;
+        this.fingerprint = fingerprint;
+        this.delta = delta;
+        this.response = response;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Delta that was sent, or null unless the mode is {@link Mode#DELTA}.
+     */
+    public EndpointManifest.Delta getDelta() {
+        return delta;
+    }
+
+    /**
+     * Registry response body of the write call, or null when nothing was written.
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointSyncResult{mode=" + mode + ", fingerprint=" + fingerprint
+                + (delta != null ? ", " + delta : "") + "}";
+    }
+}
@@ -0,0 +1,238 @@
+package com.autogentmcp.registry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Periodic liveness signal from this application to the MCP registry.
+ * <p>
+ * Timed by the JVM-wide {@link RegistryScheduler} thread, which only hands each beat to the
+ * heartbeat's own sender executor, so a registry that stops answering holds up nothing but its
+ * own heartbeat. Every beat reschedules the next one once it is sent, so the interval can adapt: it doubles (up to the configured maximum) while the
+ * registry answers 429/503 or fails, honouring any Retry-After, and halves back towards the
+ * base interval once beats succeed again. Every delay carries random jitter so a fleet
+ * started at the same moment does not beat in lockstep. The payload is serialized once and
+ * sent over the client's pooled connections, unless {@link #setDetails details} are added to
+ * it, which are then read and serialized on every beat they are present.
+ */
+public class Heartbeat implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(Heartbeat.class);
+
+    private final RegistryClient client;
+    private final String appKey;
+    private final String environment;
+    private final byte[] payload;
+    private final long baseIntervalMillis;
+    private final long maxIntervalMillis;
+    private final double jitter;
+    private final ScheduledExecutorService scheduler;
+    private final Executor sender;
+    private final HeartbeatMetrics metrics = new HeartbeatMetrics();
+
+    private volatile Supplier<? extends Map<String, ?>> details;
+    private volatile long currentIntervalMillis;
+    private volatile boolean running = false;
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * @param intervalMillis    base interval between beats
+     * @param maxIntervalMillis upper bound the interval may back off to
+     * @param jitter            random spread applied to each delay, as a fraction of it (0.1 = +/-10%)
+     */
+    public Heartbeat(RegistryClient client, String appKey, String environment,
+                     long intervalMillis, long maxIntervalMillis, double jitter) {
+        this(client, appKey, environment, intervalMillis, maxIntervalMillis, jitter,
+                RegistryExecutors.newRegistryExecutor("autogentmcp-heartbeat", 1));
+    }
+
+    /**
+     * @param sender executor the beats are sent on; it should not be shared with work that
+     *               must not wait behind an unresponsive registry
+     */
+    public Heartbeat(RegistryClient client, String appKey, String environment,
+                     long intervalMillis, long maxIntervalMillis, double jitter, Executor sender) {
+        this(client, appKey, environment, intervalMillis, maxIntervalMillis, jitter, RegistryScheduler.shared(), sender);
+    }
+
+    Heartbeat(RegistryClient client, String appKey, String environment,
+              long intervalMillis, long maxIntervalMillis, double jitter, ScheduledExecutorService scheduler) {
+        this(client, appKey, environment, intervalMillis, maxIntervalMillis, jitter, scheduler,
+                RegistryExecutors.newRegistryExecutor("autogentmcp-heartbeat", 1));
+    }
+
+    Heartbeat(RegistryClient client, String appKey, String environment, long intervalMillis,
+              long maxIntervalMillis, double jitter, ScheduledExecutorService scheduler, Executor sender) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Heartbeat interval must be positive: " + intervalMillis);
+        }
+        this.client = client;
+        this.appKey = appKey;
+        this.environment = environment;
+        this.baseIntervalMillis = intervalMillis;
+        this.maxIntervalMillis = Math.max(intervalMillis, maxIntervalMillis);
+        this.jitter = Math.max(0d, Math.min(jitter, 1d));
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.currentIntervalMillis = intervalMillis;
+        this.payload = serializePayload(appKey, environment, null);
+        metrics.setCurrentIntervalMillis(intervalMillis);
+    }
+
+    private static byte[] serializePayload(String appKey, String environment, Map<String, ?> details) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("app_key", appKey);
+        body.put("environment", environment);
+        body.put("status", "UP");
+        if (details != null) {
+            body.putAll(details);
+        }
+        try {
+            return RegistryJson.writer().writeValueAsBytes(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize heartbeat payload", e);
+        }
+    }
+
+    /**
+     * Fields added to the payload of every beat, such as the current tool concurrency limits;
+     * the supplier is called on every beat and must not block. While it returns null or an
+     * empty map the pre-serialized payload is sent.
+     */
+    public void setDetails(Supplier<? extends Map<String, ?>> details) {
+        this.details = details;
+    }
+
+    byte[] payload() {
+        Supplier<? extends Map<String, ?>> supplier = details;
+        Map<String, ?> current = supplier != null ? supplier.get() : null;
+        return current == null || current.isEmpty() ? payload : serializePayload(appKey, environment, current);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        // Spread the first beat over a whole interval so instances started together drift apart
+        long initialDelay = ThreadLocalRandom.current().nextLong(baseIntervalMillis + 1);
+        log.info("Starting heartbeat for app {} every {}ms (first beat in {}ms)", appKey, baseIntervalMillis, initialDelay);
+        schedule(initialDelay);
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public HeartbeatMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getCurrentIntervalMillis() {
+        return currentIntervalMillis;
+    }
+
+    private synchronized void schedule(long delayMillis) {
+        if (running) {
+            scheduled = scheduler.schedule(this::dispatch, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Runs on the scheduler thread, which must never wait for the registry
+    private void dispatch() {
+        if (!running) {
+            return;
+        }
+        try {
+            sender.execute(this::beat);
+        } catch (RejectedExecutionException e) {
+            log.debug("Heartbeat sender for app {} shut down, stopping the heartbeat", appKey);
+            stop();
+        }
+    }
+
+    void beat() {
+        if (!running) {
+            return;
+        }
+        long start = System.nanoTime();
+        long nextInterval;
+        try {
+            HeartbeatResponse response = client.sendHeartbeat(appKey, payload());
+            long latency = System.nanoTime() - start;
+            if (response.isSuccess()) {
+                metrics.recordSuccess(latency);
+                nextInterval = onSuccess();
+            } else if (response.isThrottled()) {
+                metrics.recordThrottled(latency);
+                nextInterval = onThrottled(response.getRetryAfterMillis());
+                log.debug("Registry throttled heartbeat for app {} ({}), backing off to {}ms", appKey, response, nextInterval);
+            } else {
+                metrics.recordFailure(latency);
+                nextInterval = onFailure();
+                logFailure("HTTP " + response.getStatusCode(), nextInterval);
+            }
+        } catch (Exception e) {
+            metrics.recordFailure(System.nanoTime() - start);
+            nextInterval = onFailure();
+            logFailure(e.toString(), nextInterval);
+        }
+        metrics.setCurrentIntervalMillis(nextInterval);
+        schedule(withJitter(nextInterval));
+    }
+
+    // Only the first failure in a row is worth a warning; the rest would flood the log during an outage
+    private void logFailure(String reason, long nextInterval) {
+        if (metrics.getConsecutiveFailures() == 1) {
+            log.warn("Heartbeat for app {} failed: {}, retrying in {}ms", appKey, reason, nextInterval);
+        } else {
+            log.debug("Heartbeat for app {} failed again: {}, retrying in {}ms", appKey, reason, nextInterval);
+        }
+    }
+
+    long onSuccess() {
+        currentIntervalMillis = Math.max(baseIntervalMillis, currentIntervalMillis / 2);
+        return currentIntervalMillis;
+    }
+
+    long onThrottled(long retryAfterMillis) {
+        currentIntervalMillis = Math.min(maxIntervalMillis, Math.max(currentIntervalMillis * 2, retryAfterMillis));
+        return currentIntervalMillis;
+    }
+
+    long onFailure() {
+        currentIntervalMillis = Math.min(maxIntervalMillis, currentIntervalMillis * 2);
+        return currentIntervalMillis;
+    }
+
+    long withJitter(long intervalMillis) {
+        if (jitter == 0d) {
+            return intervalMillis;
+        }
+        double factor = 1d + (ThreadLocalRandom.current().nextDouble() * 2d - 1d) * jitter;
+        return Math.max(1L, (long) (intervalMillis * factor));
+    }
+}
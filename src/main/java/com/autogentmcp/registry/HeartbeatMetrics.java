@@ -0,0 +1,94 @@
+package com.autogentmcp.registry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free counters describing heartbeat health. Updated only by the scheduler thread,
+ * read by metrics exporters.
+ */
+public class HeartbeatMetrics {
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong consecutiveFailures = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile long lastLatencyNanos = -1;
+    private volatile long lastSuccessMillis = -1;
+    private volatile long currentIntervalMillis;
+
+    void recordSuccess(long latencyNanos) {
+        recordLatency(latencyNanos);
+        consecutiveFailures.set(0);
+        lastSuccessMillis = System.currentTimeMillis();
+    }
+
+    void recordThrottled(long latencyNanos) {
+        recordLatency(latencyNanos);
+        throttled.incrementAndGet();
+    }
+
+    void recordFailure(long latencyNanos) {
+        recordLatency(latencyNanos);
+        failures.incrementAndGet();
+        consecutiveFailures.incrementAndGet();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        sent.incrementAndGet();
+        lastLatencyNanos = latencyNanos;
+        totalLatencyNanos.addAndGet(latencyNanos);
+        long max;
+        while (latencyNanos > (max = maxLatencyNanos.get())) {
+            if (maxLatencyNanos.compareAndSet(max, latencyNanos)) {
+                break;
+            }
+        }
+    }
+
+    void setCurrentIntervalMillis(long currentIntervalMillis) {
+        this.currentIntervalMillis = currentIntervalMillis;
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    public long getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getTotalLatencyNanos() {
+        return totalLatencyNanos.get();
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    public long getLastSuccessMillis() {
+        return lastSuccessMillis;
+    }
+
+    public long getCurrentIntervalMillis() {
+        return currentIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "HeartbeatMetrics{sent=" + sent + ", failures=" + failures + ", throttled=" + throttled
+                + ", lastLatencyNanos=" + lastLatencyNanos + ", currentIntervalMillis=" + currentIntervalMillis + "}";
+    }
+}
@@ -0,0 +1,39 @@
+package com.autogentmcp.registry;
+
+/**
+ * Outcome of a single heartbeat call. The registry signals load with 429/503 and an
+ * optional Retry-After header, which the heartbeat uses to stretch its interval.
+ */
+public class HeartbeatResponse {
+    private final int statusCode;
+    private final long retryAfterMillis;
+
+    public HeartbeatResponse(int statusCode, long retryAfterMillis) {
+        this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Delay requested by the registry via Retry-After, or -1 when none was sent.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public boolean isThrottled() {
+        return statusCode == 429 || statusCode == 503;
+    }
+
+    @Override
+    public String toString() {
+        return "HeartbeatResponse{statusCode=" + statusCode + ", retryAfterMillis=" + retryAfterMillis + "}";
+    }
+}
@@ -0,0 +1,147 @@
+package com.autogentmcp.registry;
+
+/**
+ * Tuning knobs for the pooled HTTP transport used to talk to the MCP registry.
+ * All durations are in milliseconds. Defaults are sized for a handful of registry
+ * calls per JVM (registration, heartbeat) rather than high request volume.
+ */
+public class HttpTransportSettings {
+    private int maxConnections = 20;
+    private int maxConnectionsPerRoute = 10;
+    private int connectTimeoutMs = 5000;
+    private int socketTimeoutMs = 10000;
+    private int connectionRequestTimeoutMs = 5000;
+    private long keepAliveMs = 30000;
+    private int validateAfterInactivityMs = 2000;
+    private long idleTimeoutMs = 60000;
+    private boolean requestCompressionEnabled = false;
+    private int requestCompressionThresholdBytes = 1024;
+
+    public static HttpTransportSettings defaults() {
+        return new HttpTransportSettings();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public HttpTransportSettings setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public HttpTransportSettings setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public HttpTransportSettings setConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+        return this;
+    }
+
+    public int getSocketTimeoutMs() {
+        return socketTimeoutMs;
+    }
+
+    public HttpTransportSettings setSocketTimeoutMs(int socketTimeoutMs) {
+        this.socketTimeoutMs = socketTimeoutMs;
+        return this;
+    }
+
+    public int getConnectionRequestTimeoutMs() {
+        return connectionRequestTimeoutMs;
+    }
+
+    public HttpTransportSettings setConnectionRequestTimeoutMs(int connectionRequestTimeoutMs) {
+        this.connectionRequestTimeoutMs = connectionRequestTimeoutMs;
+        return this;
+    }
+
+    /**
+     * Upper bound for how long an idle connection is kept for reuse. A shorter
+     * Keep-Alive timeout advertised by the registry always wins.
+     */
+    public long getKeepAliveMs() {
+        return keepAliveMs;
+    }
+
+    public HttpTransportSettings setKeepAliveMs(long keepAliveMs) {
+        this.keepAliveMs = keepAliveMs;
+        return this;
+    }
+
+    /**
+     * Pooled connections idle for longer than this are checked for staleness
+     * before being leased again. A value of 0 or less disables the check.
+     */
+    public int getValidateAfterInactivityMs() {
+        return validateAfterInactivityMs;
+    }
+
+    public HttpTransportSettings setValidateAfterInactivityMs(int validateAfterInactivityMs) {
+        this.validateAfterInactivityMs = validateAfterInactivityMs;
+        return this;
+    }
+
+    /**
+     * Connections idle for longer than this are closed by a background evictor.
+     * A value of 0 or less disables idle eviction.
+     */
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public HttpTransportSettings setIdleTimeoutMs(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        return this;
+    }
+
+    /**
+     * Gzip-compress endpoint registration payloads. Registries answering 415 receive
+     * uncompressed bodies from then on.
+     */
+    public boolean isRequestCompressionEnabled() {
+        return requestCompressionEnabled;
+    }
+
+    public HttpTransportSettings setRequestCompressionEnabled(boolean requestCompressionEnabled) {
+        this.requestCompressionEnabled = requestCompressionEnabled;
+        return this;
+    }
+
+    /**
+     * Bodies with a known length below this are sent uncompressed. Streamed bodies have no
+     * known length and are always compressed when compression is enabled.
+     */
+    public int getRequestCompressionThresholdBytes() {
+        return requestCompressionThresholdBytes;
+    }
+
+    public HttpTransportSettings setRequestCompressionThresholdBytes(int requestCompressionThresholdBytes) {
+        this.requestCompressionThresholdBytes = requestCompressionThresholdBytes;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpTransportSettings{maxConnections=" + maxConnections
+                + ", maxConnectionsPerRoute=" + maxConnectionsPerRoute
+                + ", connectTimeoutMs=" + connectTimeoutMs
+                + ", socketTimeoutMs=" + socketTimeoutMs
+                + ", connectionRequestTimeoutMs=" + connectionRequestTimeoutMs
+                + ", keepAliveMs=" + keepAliveMs
+                + ", validateAfterInactivityMs=" + validateAfterInactivityMs
+                + ", idleTimeoutMs=" + idleTimeoutMs
+                + ", requestCompressionEnabled=" + requestCompressionEnabled
+                + ", requestCompressionThresholdBytes=" + requestCompressionThresholdBytes + "}";
+    }
+}
@@ -0,0 +1,170 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON request entity. Endpoint payloads ({@link #endpointsBatch}, {@link #streaming}) are
+ * streamed straight to the connection through a {@link JsonGenerator}, so large catalogs are
+ * never materialized as a String or byte array; the body is regenerated on every
+ * {@link #writeTo(OutputStream)} and sent with chunked transfer encoding because its length
+ * is not known up front. Small bodies ({@link #of}) are serialized once and sent with a
+ * {@code Content-Length}, which costs less than chunk framing and lets the compression
+ * threshold see their size.
+ */
+public class JsonEntity extends AbstractHttpEntity {
+
+    /**
+     * Writes one JSON value to the generator.
+     */
+    public interface Body {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+
+    private final Body body;
+    // The serialized body of a buffered entity, null when streaming
+    private final byte[] content;
+    private volatile long bytesWritten = -1;
+
+    public JsonEntity(Body body) {
+        this.body = body;
+        this.content = null;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    private JsonEntity(byte[] content) {
+        this.body = null;
+        this.content = content;
+        this.bytesWritten = content.length;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+    }
+
+    /**
+     * Buffered entity for a small value, serialized right away with the shared mapper.
+     */
+    public static JsonEntity of(Object value) throws IOException {
+        return new JsonEntity(RegistryJson.writer().writeValueAsBytes(value));
+    }
+
+    /**
+     * Streamed entity for a value that may be large, written with the shared mapper on every send.
+     */
+    public static JsonEntity streaming(final Object value) {
+        return new JsonEntity(generator -> generator.writeObject(value));
+    }
+
+    /**
+     * Entity for the {@code POST /register/endpoints} payload. Endpoints are written one by
+     * one without wrapping them into an intermediate payload map.
+     */
+    public static JsonEntity endpointsBatch(final String appKey, final String environment,
+                                            final List<Map<String, Object>> endpoints) {
+        return endpointsBatch(appKey, environment, endpoints, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Batch payload with the JSON Schema definitions the endpoints' {@code $ref}s point to,
+     * written once as a top-level {@code $defs} object.
+     */
+    public static JsonEntity endpointsBatch(final String appKey, final String environment,
+                                            final List<Map<String, Object>> endpoints,
+                                            final Map<String, Object> definitions) {
+        return new JsonEntity(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("app_key", appKey);
+            generator.writeStringField("environment", environment);
+            generator.writeArrayFieldStart("endpoints");
+            for (Map<String, Object> endpoint : endpoints) {
+                generator.writeObject(endpoint);
+            }
+            generator.writeEndArray();
+            if (!definitions.isEmpty()) {
+                generator.writeObjectField("$defs", definitions);
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return content != null ? content.length : -1;
+    }
+
+    /**
+     * Buffers a streamed body; only used by callers that need an InputStream (logging, wrappers).
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        if (content != null) {
+            return new ByteArrayInputStream(content);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        writeTo(buffer);
+        return new ByteArrayInputStream(buffer.toByteArray());
+    }
+
+    /**
+     * Uncompressed size of the body: of a buffered entity right away, of a streamed one as
+     * produced by the last {@link #writeTo(OutputStream)}, or -1 before the first one.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        if (content != null) {
+            out.write(content);
+            return;
+        }
+        CountingOutputStream counting = new CountingOutputStream(out);
+        try (JsonGenerator generator = RegistryJson.factory().createGenerator(counting, JsonEncoding.UTF8)) {
+            body.writeTo(generator);
+        }
+        bytesWritten = counting.count;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    // The generator already buffers, so this only sees a few large writes per request
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
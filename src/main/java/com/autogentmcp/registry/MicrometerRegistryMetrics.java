@@ -0,0 +1,175 @@
+package com.autogentmcp.registry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link RegistryMetrics} backed by a Micrometer {@link MeterRegistry}. Only loaded when
+ * micrometer-core is on the classpath (it is an optional dependency).
+ * <ul>
+ *   <li>{@code autogentmcp.registry.requests} timer, tags {@code operation}, {@code status}, {@code outcome}</li>
+ *   <li>{@code autogentmcp.registry.requests.active} long task timer of in-flight calls, tag {@code operation}</li>
+ *   <li>{@code autogentmcp.registry.payload.size} distribution summary in bytes, tag {@code operation}</li>
+ *   <li>{@code autogentmcp.registry.retries} and {@code autogentmcp.registry.circuit.rejected} counters, tag {@code operation}</li>
+ *   <li>{@code autogentmcp.registry.pool.leased|available|pending|max} connection pool gauges</li>
+ *   <li>{@code autogentmcp.startup} timer, tag {@code phase}</li>
+ *   <li>{@code autogentmcp.tool.cache} counter, tags {@code tool}, {@code result} ({@code hit} or {@code miss})</li>
+ *   <li>{@code autogentmcp.tool.rejected} counter, tags {@code tool}, {@code reason} ({@code bulkhead} or {@code shed})</li>
+ *   <li>{@code autogentmcp.tool.concurrency.limit|in-flight} gauges, tag {@code tool}</li>
+ * </ul>
+ * With several registry targets, every call meter also carries a {@code target} tag.
+ */
+public class MicrometerRegistryMetrics implements RegistryMetrics {
+
+    private final MeterRegistry registry;
+    // Added to every call meter; holds the target name for registries of a fan-out
+    private final Tags tags;
+
+    public MicrometerRegistryMetrics(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    private MicrometerRegistryMetrics(MeterRegistry registry, Tags tags) {
+        this.registry = registry;
+        this.tags = tags;
+    }
+
+    @Override
+    public RegistryMetrics forTarget(String target) {
+        return new MicrometerRegistryMetrics(registry, Tags.of("target", target));
+    }
+
+    @Override
+    public Call startCall(final String operation) {
+        final Timer.Sample sample = Timer.start(registry);
+        final LongTaskTimer.Sample active = LongTaskTimer.builder("autogentmcp.registry.requests.active")
+                .description("Registry calls in flight")
+                .tag("operation", operation)
+                .tags(tags)
+                .register(registry)
+                .start();
+        return (statusCode, error) -> {
+            active.stop();
+            sample.stop(Timer.builder("autogentmcp.registry.requests")
+                    .description("Registry call latency, one sample per HTTP attempt")
+                    .tag("operation", operation)
+                    .tag("status", statusCode > 0 ? String.valueOf(statusCode) : "IO_ERROR")
+                    .tag("outcome", outcome(statusCode))
+                    .tags(tags)
+                    .register(registry));
+        };
+    }
+
+    static String outcome(int statusCode) {
+        if (statusCode <= 0) {
+            return "UNKNOWN";
+        }
+        if (statusCode < 300) {
+            return "SUCCESS";
+        }
+        if (statusCode < 400) {
+            return "REDIRECTION";
+        }
+        return statusCode < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+
+    @Override
+    public void recordPayloadSize(String operation, long bytes) {
+        DistributionSummary.builder("autogentmcp.registry.payload.size")
+                .description("Uncompressed request body size")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .tags(tags)
+                .register(registry)
+                .record(bytes);
+    }
+
+    @Override
+    public void recordRetry(String operation) {
+        Counter.builder("autogentmcp.registry.retries")
+                .description("Registry call attempts that are retried")
+                .tag("operation", operation)
+                .tags(tags)
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void recordCircuitOpen(String operation) {
+        Counter.builder("autogentmcp.registry.circuit.rejected")
+                .description("Registry calls rejected by the open circuit breaker")
+                .tag("operation", operation)
+                .tags(tags)
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void recordStartupPhase(String phase, long durationNanos) {
+        Timer.builder("autogentmcp.startup")
+                .description("MCP registration startup phases")
+                .tag("phase", phase)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordToolCache(String tool, boolean hit) {
+        Counter.builder("autogentmcp.tool.cache")
+                .description("Cacheable tool calls answered from the cache or by running the tool")
+                .tag("tool", tool)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void recordToolRejected(String tool, String reason) {
+        Counter.builder("autogentmcp.tool.rejected")
+                .description("Tool calls rejected by the tool's concurrency limit")
+                .tag("tool", tool)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void bindToolConcurrency(String tool, IntSupplier limit, IntSupplier inFlight) {
+        Gauge.builder("autogentmcp.tool.concurrency.limit", limit, IntSupplier::getAsInt)
+                .description("Current concurrency limit of the tool")
+                .tag("tool", tool)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("autogentmcp.tool.concurrency.in-flight", inFlight, IntSupplier::getAsInt)
+                .description("Calls of the tool in flight")
+                .tag("tool", tool)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    @Override
+    public void bindConnectionPool(RegistryHttpTransport transport) {
+        poolGauge(transport, "leased", PoolStats::getLeased);
+        poolGauge(transport, "available", PoolStats::getAvailable);
+        poolGauge(transport, "pending", PoolStats::getPending);
+        poolGauge(transport, "max", PoolStats::getMax);
+    }
+
+    // Gauges hold the transport weakly and read 0 once it is closed
+    private void poolGauge(RegistryHttpTransport transport, String name, final ToIntFunction<PoolStats> value) {
+        Gauge.builder("autogentmcp.registry.pool." + name, transport,
+                        t -> t.isClosed() ? 0 : value.applyAsInt(t.getPoolStats()))
+                .description("Registry HTTP connection pool: " + name + " connections")
+                .register(registry);
+    }
+}
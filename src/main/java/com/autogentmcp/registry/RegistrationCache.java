@@ -0,0 +1,225 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Local record of the last successful registration per application and environment, so a
+ * restart of an unchanged build can skip the registry round trip, including while the
+ * registry is unreachable.
+ * <p>
+ * Each entry is one small JSON file in the cache directory. Writes go to a temporary file in
+ * the same directory that is forced to disk and then atomically renamed over the old entry,
+ * so readers see either the previous or the new entry, never a torn one. Reads go through a
+ * {@link FileChannel}; entries above {@value #MAP_THRESHOLD_BYTES} bytes are memory-mapped.
+ * A missing, unreadable or corrupt entry reads as {@code null} and simply forces a full registration.
+ */
+public final class RegistrationCache {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationCache.class);
+
+    // Below this a plain channel read is cheaper than setting up a mapping
+    static final int MAP_THRESHOLD_BYTES = 64 * 1024;
+
+    private final Path directory;
+
+    public RegistrationCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Content fingerprint of application metadata (SHA-256 of its canonical JSON).
+     */
+    public static String fingerprint(Object appData) {
+        return EndpointManifest.sha256Hex(EndpointManifest.canonicalJson(appData));
+    }
+
+    Path entryPath(String appKey, String environment) {
+        return directory.resolve(sanitize(appKey) + "-" + sanitize(environment) + ".json");
+    }
+
+    private static String sanitize(String part) {
+        return String.valueOf(part).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Last successful registration of the application in the environment, or null.
+     */
+    public Entry read(String appKey, String environment) {
+        Path path = entryPath(appKey, environment);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer;
+            if (size > MAP_THRESHOLD_BYTES) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+            }
+            JsonNode json;
+            try (InputStream in = new ByteBufferBackedInputStream(buffer)) {
+                json = RegistryJson.reader().readTree(in);
+            }
+            Entry entry = Entry.fromJson(json);
+            if (entry == null || !entry.getAppKey().equals(appKey) || !entry.getEnvironment().equals(environment)) {
+                log.warn("Ignoring invalid registration cache entry {}", path);
+                return null;
+            }
+            return entry;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read registration cache entry {}: {}", path, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Atomically replaces the entry for the entry's application and environment.
+     */
+    public void write(Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        Path target = entryPath(entry.getAppKey(), entry.getEnvironment());
+        byte[] data = RegistryJson.writer().writeValueAsBytes(entry.toJson());
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug("Wrote registration cache entry {} ({} bytes)", target, data.length);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public void delete(String appKey, String environment) throws IOException {
+        Files.deleteIfExists(entryPath(appKey, environment));
+    }
+
+    /**
+     * One successful registration: what was sent (as fingerprints), where, when, and the registry's answer.
+     */
+    public static final class Entry {
+        private final String registryUrl;
+        private final String appKey;
+        private final String environment;
+        private final String appFingerprint;
+        private final String manifestFingerprint;
+        private final int endpointCount;
+        private final long registeredAtMillis;
+        private final String response;
+
+        public Entry(String registryUrl, String appKey, String environment, String appFingerprint,
+                     String manifestFingerprint, int endpointCount, long registeredAtMillis, String response) {
+            this.registryUrl = registryUrl;
+            this.appKey = appKey;
+            this.environment = environment;
+            this.appFingerprint = appFingerprint;
+            this.manifestFingerprint = manifestFingerprint;
+            this.endpointCount = endpointCount;
+            this.registeredAtMillis = registeredAtMillis;
+            this.response = response;
+        }
+
+        public String getRegistryUrl() {
+            return registryUrl;
+        }
+
+        public String getAppKey() {
+            return appKey;
+        }
+
+        public String getEnvironment() {
+            return environment;
+        }
+
+        public String getAppFingerprint() {
+            return appFingerprint;
+        }
+
+        public String getManifestFingerprint() {
+            return manifestFingerprint;
+        }
+
+        public int getEndpointCount() {
+            return endpointCount;
+        }
+
+        public long getRegisteredAtMillis() {
+            return registeredAtMillis;
+        }
+
+        /**
+         * Body of the registry's answer to the endpoint registration, may be null.
+         */
+        public String getResponse() {
+            return response;
+        }
+
+        ObjectNode toJson() {
+            ObjectNode json = RegistryJson.mapper().createObjectNode();
+            json.put("registry_url", registryUrl);
+            json.put("app_key", appKey);
+            json.put("environment", environment);
+            json.put("app_fingerprint", appFingerprint);
+            json.put("manifest_fingerprint", manifestFingerprint);
+            json.put("endpoint_count", endpointCount);
+            json.put("registered_at", registeredAtMillis);
+            json.put("response", response);
+            return json;
+        }
+
+        static Entry fromJson(JsonNode json) {
+            if (json == null || !json.isObject() || !json.hasNonNull("app_key") || !json.hasNonNull("environment")
+                    || !json.hasNonNull("app_fingerprint") || !json.hasNonNull("manifest_fingerprint")) {
+                return null;
+            }
+            return new Entry(json.path("registry_url").asText(null),
+                    json.get("app_key").asText(),
+                    json.get("environment").asText(),
+                    json.get("app_fingerprint").asText(),
+                    json.get("manifest_fingerprint").asText(),
+                    json.path("endpoint_count").asInt(),
+                    json.path("registered_at").asLong(),
+                    json.path("response").asText(null));
+        }
+
+        @Override
+        public String toString() {
+            return "RegistrationCache.Entry{appKey=" + appKey + ", environment=" + environment
+                    + ", endpoints=" + endpointCount + ", manifestFingerprint=" + manifestFingerprint
+                    + ", registeredAt=" + registeredAtMillis + "}";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.autogentmcp.registry;
+
+/**
+ * Progress of the application's registration with the MCP registry. Registration may
+ * run in the background, so readiness checks use this to report whether it is still
+ * pending instead of blocking startup on the registry round trip.
+ */
+public class RegistrationStatus {
+
+    public enum State {
+        /** No registration attempted (no @EnableAutogentMcp found, or not started yet) */
+        NOT_STARTED,
+        /** Application and/or endpoint registration in flight */
+        PENDING,
+        /** Application and endpoints registered */
+        REGISTERED,
+        /** Last registration attempt failed */
+        FAILED
+    }
+
+    private volatile State state = State.NOT_STARTED;
+    private volatile Throwable lastError;
+    private volatile boolean fromCache;
+    private volatile long lastTransitionMillis = System.currentTimeMillis();
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isPending() {
+        return state == State.PENDING;
+    }
+
+    public boolean isRegistered() {
+        return state == State.REGISTERED;
+    }
+
+    /**
+     * True when the registered state was restored from the local registration cache
+     * instead of a registry round trip in this JVM.
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    public long getLastTransitionMillis() {
+        return lastTransitionMillis;
+    }
+
+    public void markPending() {
+        transition(State.PENDING, null);
+    }
+
+    public void markRegistered() {
+        transition(State.REGISTERED, null);
+    }
+
+    public void markRegisteredFromCache() {
+        transition(State.REGISTERED, null);
+        this.fromCache = true;
+    }
+
+    public void markFailed(Throwable error) {
+        transition(State.FAILED, error);
+    }
+
+    private void transition(State newState, Throwable error) {
+        this.lastError = error;
+        this.fromCache = false;
+        this.lastTransitionMillis = System.currentTimeMillis();
+        this.state = newState;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistrationStatus{state=" + state
+                + (fromCache ? ", fromCache=true" : "")
+                + (lastError != null ? ", lastError=" + lastError : "") + "}";
+    }
+}
@@ -1,34 +1,251 @@
 package com.autogentmcp.registry;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.Closeable;
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class RegistryClient {
+public class RegistryClient implements Closeable {
     private static final Logger log = LoggerFactory.getLogger(RegistryClient.class);
     protected final String baseUrl;
     protected final CloseableHttpClient httpClient;
     protected final ObjectMapper objectMapper;
     protected final String apiKey;
+    // Null when the caller supplied a plain CloseableHttpClient
+    protected final RegistryHttpTransport transport;
+    private final boolean ownsTransport;
+    // Lazily created for the async variants that are not given an explicit executor
+    private ExecutorService asyncExecutor;
+    // Minimum known body size for gzip request compression; negative disables compression
+    private volatile int requestCompressionThreshold = -1;
+    // Set once the registry answered 415 to a compressed body
+    private final AtomicBoolean compressionRejected = new AtomicBoolean(false);
+    private volatile RetryPolicy retryPolicy = RetryPolicy.defaults();
+    private volatile CircuitBreaker circuitBreaker = new CircuitBreaker(5, 30000);
+    private volatile RegistryMetrics metrics = RegistryMetrics.NOOP;
+    private volatile Map<String, Object> schemaDefinitions = Collections.emptyMap();
+
+    // One attempt of a registry call; executed again by the retry loop
+    interface RegistryCall {
+        RegistryResponse execute() throws IOException;
+    }
 
     public RegistryClient(String baseUrl, String apiKey) {
-        this(baseUrl, apiKey, HttpClients.createDefault());
+        this(baseUrl, apiKey, new RegistryHttpTransport(HttpTransportSettings.defaults()), true);
+    }
+
+    /**
+     * Creates a client on top of a shared transport. The transport is not closed by
+     * {@link #close()}; its owner is responsible for shutting it down.
+     */
+    public RegistryClient(String baseUrl, String apiKey, RegistryHttpTransport transport) {
+        this(baseUrl, apiKey, transport, false);
     }
 
     public RegistryClient(String baseUrl, String apiKey, CloseableHttpClient httpClient) {
         this.baseUrl = baseUrl;
         this.apiKey = apiKey;
         this.httpClient = httpClient;
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = RegistryJson.mapper();
+        this.transport = null;
+        this.ownsTransport = false;
+    }
+
+    private RegistryClient(String baseUrl, String apiKey, RegistryHttpTransport transport, boolean ownsTransport) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.httpClient = transport.getHttpClient();
+        this.objectMapper = RegistryJson.mapper();
+        this.transport = transport;
+        this.ownsTransport = ownsTransport;
+        HttpTransportSettings settings = transport.getSettings();
+        if (settings != null && settings.isRequestCompressionEnabled()) {
+            this.requestCompressionThreshold = Math.max(0, settings.getRequestCompressionThresholdBytes());
+        }
+    }
+
+    /**
+     * Enables gzip compression of endpoint registration payloads whose known length is at
+     * least {@code thresholdBytes} (streamed payloads are always compressed). A negative
+     * value disables compression.
+     */
+    public void setRequestCompressionThreshold(int thresholdBytes) {
+        this.requestCompressionThreshold = thresholdBytes;
+    }
+
+    /**
+     * True once the registry rejected a compressed body with 415; later requests are sent uncompressed.
+     */
+    public boolean isRequestCompressionRejected() {
+        return compressionRejected.get();
+    }
+
+    /**
+     * Connection pool usage of the underlying transport, or null when this client
+     * was built around an externally managed {@link CloseableHttpClient}.
+     */
+    public PoolStats getPoolStats() {
+        return transport != null ? transport.getPoolStats() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (asyncExecutor != null) {
+                asyncExecutor.shutdown();
+                asyncExecutor = null;
+            }
+        }
+        if (ownsTransport) {
+            transport.close();
+        }
+    }
+
+    public RegistryMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Instrumentation for all calls made by this client; null restores {@link RegistryMetrics#NOOP}.
+     */
+    public void setMetrics(RegistryMetrics metrics) {
+        this.metrics = metrics != null ? metrics : RegistryMetrics.NOOP;
+    }
+
+    public Map<String, Object> getSchemaDefinitions() {
+        return schemaDefinitions;
+    }
+
+    /**
+     * Shared JSON Schema definitions referenced by endpoint schemas as
+     * {@code "#/$defs/Name"}. They are sent once per registration payload as a top-level
+     * {@code $defs} object and included in the endpoint manifest hashes.
+     */
+    public void setSchemaDefinitions(Map<String, Object> schemaDefinitions) {
+        this.schemaDefinitions = schemaDefinitions != null ? schemaDefinitions : Collections.<String, Object>emptyMap();
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Retry schedule for registration calls. Heartbeats are not retried; they adapt their interval instead.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.none();
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker != null ? circuitBreaker : CircuitBreaker.disabled();
+    }
+
+    /**
+     * Runs a registry call through the circuit breaker and retry policy. Retryable statuses
+     * and I/O errors are retried with full-jitter backoff (never shorter than Retry-After);
+     * once attempts run out the last response is returned or the last error rethrown.
+     * Any other response, including 4xx, is returned as is.
+     */
+    RegistryResponse execute(String operation, RegistryCall call) throws IOException {
+        return execute(operation, retryPolicy, call);
+    }
+
+    /**
+     * Same as {@link #execute(String, RegistryCall)} with a retry policy of its own, for calls
+     * such as chunk uploads whose attempts and backoff are configured separately.
+     */
+    RegistryResponse execute(String operation, RetryPolicy policy, RegistryCall call) throws IOException {
+        CircuitBreaker breaker = circuitBreaker;
+        RegistryMetrics metrics = this.metrics;
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                metrics.recordCircuitOpen(operation);
+                throw new CircuitBreakerOpenException(operation, breaker.getRemainingOpenMillis());
+            }
+            RegistryResponse response = null;
+            IOException error = null;
+            RegistryMetrics.Call timing = metrics.startCall(operation);
+            try {
+                response = call.execute();
+            } catch (IOException e) {
+                error = e;
+            } finally {
+                timing.end(response != null ? response.getStatusCode() : -1, error);
+            }
+            if (response != null && !RetryPolicy.isRetryableStatus(response.getStatusCode())) {
+                breaker.onSuccess();
+                return response;
+            }
+            if (error != null && !RetryPolicy.isRetryable(error)) {
+                throw error;
+            }
+            breaker.onFailure();
+            if (attempt >= policy.getMaxAttempts()) {
+                if (error != null) {
+                    throw error;
+                }
+                return response;
+            }
+            long delay = policy.delayForAttempt(attempt);
+            if (response != null) {
+                delay = Math.max(delay, Math.min(response.getRetryAfterMillis(), policy.getMaxDelayMs()));
+            }
+            log.warn("{} failed (attempt {}/{}): {}, retrying in {} ms", operation, attempt, policy.getMaxAttempts(),
+                    error != null ? error.toString() : "HTTP " + response.getStatusCode(), delay);
+            metrics.recordRetry(operation);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new java.io.InterruptedIOException("Interrupted while waiting to retry " + operation);
+            }
+        }
+    }
+
+    private synchronized Executor defaultAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = RegistryExecutors.newRegistryExecutor("autogentmcp-registry", 2);
+        }
+        return asyncExecutor;
+    }
+
+    protected CloseableHttpResponse executeGet(HttpGet get) throws IOException {
+        log.debug("Executing GET request to URL: {}", get.getURI());
+        return httpClient.execute(get);
     }
 
     protected CloseableHttpResponse executePost(HttpPost post) throws IOException {
@@ -36,36 +253,466 @@ public class RegistryClient {
         return httpClient.execute(post);
     }
 
+    // Sends large registration payloads gzip-compressed when enabled. A 415 answer means the
+    // registry can't decode them: the request is repeated uncompressed and compression stays off.
+    private CloseableHttpResponse executeCompressiblePost(HttpPost post, HttpEntity entity) throws IOException {
+        if (!shouldCompress(entity)) {
+            post.setEntity(entity);
+            return executePost(post);
+        }
+        post.setEntity(new GzipCompressingEntity(entity));
+        CloseableHttpResponse response = executePost(post);
+        if (response.getStatusLine().getStatusCode() != 415) {
+            return response;
+        }
+        try {
+            EntityUtils.consume(response.getEntity());
+        } finally {
+            response.close();
+        }
+        if (compressionRejected.compareAndSet(false, true)) {
+            log.warn("Registry rejected gzip request body with 415, sending uncompressed requests from now on");
+        }
+        post.removeHeaders("Content-Encoding");
+        post.setEntity(entity);
+        return executePost(post);
+    }
+
+    private boolean shouldCompress(HttpEntity entity) {
+        int threshold = requestCompressionThreshold;
+        if (threshold < 0 || compressionRejected.get()) {
+            return false;
+        }
+        long length = entity.getContentLength();
+        return length < 0 || length >= threshold;
+    }
+
     protected CloseableHttpResponse executePut(HttpPut put) throws IOException {
         log.debug("Executing PUT request to URL: {}", put.getURI());
         return httpClient.execute(put);
     }
 
+    protected CloseableHttpResponse executeDelete(HttpDelete delete) throws IOException {
+        log.debug("Executing DELETE request to URL: {}", delete.getURI());
+        return httpClient.execute(delete);
+    }
+
+    // Authentication headers shared by every registry call
+    void setHeaders(HttpRequestBase request, String appKey) {
+        request.setHeader("X-API-Key", apiKey);
+        request.setHeader("X-App-Key", appKey);
+    }
+
     public String registerEndpointsBatch(String appKey, String environment, java.util.List<Map<String, Object>> endpoints) throws IOException {
-        Map<String, Object> payload = new java.util.HashMap<>();
+        RegistryResponse response = postEndpointsBatch(appKey, environment, endpoints);
+        if (!response.isSuccess()) {
+            throw RegistryException.of("registerEndpointsBatch", response);
+        }
+        return response.getBodyAsString();
+    }
+
+    /**
+     * Same as {@link #registerEndpointsBatch(String, String, List)} but returns the status and
+     * the parsed response body. The payload is streamed to the connection as it is generated.
+     */
+    public RegistryResponse postEndpointsBatch(String appKey, String environment, List<Map<String, Object>> endpoints) throws IOException {
+        return postEndpointsBatch(appKey, environment, endpoints, null);
+    }
+
+    private RegistryResponse postEndpointsBatch(final String appKey, final String environment,
+                                                final List<Map<String, Object>> endpoints, final String fingerprint) throws IOException {
+        return execute("registerEndpointsBatch", () -> {
+            HttpPost post = new HttpPost(baseUrl + "/register/endpoints");
+            post.setHeader("Content-Type", "application/json");
+            setHeaders(post, appKey);
+            if (fingerprint != null) {
+                // Lets a fingerprint-aware registry answer the next conditional sync with 304
+                post.setHeader("X-Manifest-Fingerprint", fingerprint);
+            }
+            JsonEntity entity = JsonEntity.endpointsBatch(appKey, environment, endpoints, schemaDefinitions);
+            try (CloseableHttpResponse response = executeCompressiblePost(post, entity)) {
+                return RegistryResponse.from(response);
+            } finally {
+                recordPayloadSize("registerEndpointsBatch", entity);
+            }
+        });
+    }
+
+    /**
+     * Registers a catalog serialized once with {@link SerializedEndpoints}, e.g. one shared by
+     * several registries. Schema definitions come from the catalog, not from this client.
+     */
+    public String registerEndpointsBatch(String appKey, String environment, SerializedEndpoints endpoints) throws IOException {
+        RegistryResponse response = postEndpointsBatch(appKey, environment, endpoints);
+        if (!response.isSuccess()) {
+            throw RegistryException.of("registerEndpointsBatch", response);
+        }
+        return response.getBodyAsString();
+    }
+
+    public RegistryResponse postEndpointsBatch(final String appKey, final String environment,
+                                               final SerializedEndpoints endpoints) throws IOException {
+        final SerializedEndpoints.BatchEntity entity = endpoints.batchEntity(appKey, environment);
+        return execute("registerEndpointsBatch", () -> {
+            HttpPost post = new HttpPost(baseUrl + "/register/endpoints");
+            post.setHeader("Content-Type", "application/json");
+            setHeaders(post, appKey);
+            try (CloseableHttpResponse response = executeCompressiblePost(post, entity)) {
+                return RegistryResponse.from(response);
+            } finally {
+                metrics.recordPayloadSize("registerEndpointsBatch", entity.getContentLength());
+            }
+        });
+    }
+
+    /**
+     * Round-trip time of one {@code HEAD} request to the registry base URL, in nanoseconds.
+     * Any HTTP answer counts; the connection stays in the pool for the calls that follow.
+     * Not retried and not subject to the circuit breaker.
+     *
+     * @throws IOException when the registry cannot be reached
+     */
+    public long probeLatency() throws IOException {
+        HttpHead head = new HttpHead(baseUrl + "/");
+        head.setHeader("X-API-Key", apiKey);
+        RegistryMetrics.Call timing = metrics.startCall("probe");
+        int status = -1;
+        IOException error = null;
+        long start = System.nanoTime();
+        try (CloseableHttpResponse response = httpClient.execute(head)) {
+            EntityUtils.consume(response.getEntity());
+            status = response.getStatusLine().getStatusCode();
+            return System.nanoTime() - start;
+        } catch (IOException e) {
+            error = e;
+            throw e;
+        } finally {
+            timing.end(status, error);
+        }
+    }
+
+    /**
+     * Registers a large endpoint catalog in size-bounded chunks. Chunks are uploaded in
+     * parallel over the pooled connections within a registration session and become visible
+     * together when the session is committed; a failing chunk is retried on its own. Catalogs
+     * that fit into one chunk, and registries without session support, use the single
+     * {@code POST /register/endpoints} batch instead.
+     */
+    public RegistryResponse registerEndpointsChunked(String appKey, String environment, List<Map<String, Object>> endpoints,
+                                                     ChunkedRegistrationSettings settings) throws IOException {
+        ExecutorService executor = RegistryExecutors.newRegistryExecutor("autogentmcp-chunks", Math.max(1, settings.getParallelism()));
+        try {
+            return registerEndpointsChunked(appKey, environment, endpoints, settings, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public RegistryResponse registerEndpointsChunked(String appKey, String environment, List<Map<String, Object>> endpoints,
+                                                     ChunkedRegistrationSettings settings, Executor executor) throws IOException {
+        List<byte[]> chunks = ChunkedEndpointUpload.split(endpoints, settings.getMaxChunkBytes(), settings.getMaxEndpointsPerChunk());
+        if (chunks.size() > 1) {
+            RegistryResponse response = new ChunkedEndpointUpload(this, appKey, environment, settings)
+                    .run(chunks, endpoints.size(), executor);
+            if (response != null) {
+                return response;
+            }
+        }
+        RegistryResponse response = postEndpointsBatch(appKey, environment, endpoints);
+        if (!response.isSuccess()) {
+            throw RegistryException.of("registerEndpointsBatch", response);
+        }
+        return response;
+    }
+
+    /**
+     * Registers endpoints sending as little as possible. The registry's manifest is fetched
+     * conditionally with the local fingerprint as ETag; a 304 (or equal fingerprint) means
+     * nothing is sent at all, otherwise only the added/updated/removed endpoints are posted
+     * to {@code /register/endpoints/delta}. Registries without these routes, or that reject
+     * the delta, get the full batch as before.
+     */
+    public EndpointSyncResult syncEndpoints(String appKey, String environment, List<Map<String, Object>> endpoints) throws IOException {
+        EndpointManifest manifest = EndpointManifest.of(endpoints, schemaDefinitions);
+        String fingerprint = manifest.getFingerprint();
+        RemoteManifest remote = fetchRemoteManifest(appKey, environment, fingerprint);
+        if (remote != null) {
+            if (remote.notModified || fingerprint.equals(remote.fingerprint)) {
+                log.info("Endpoint manifest unchanged ({} endpoints, fingerprint {})", manifest.size(), fingerprint);
+                return new EndpointSyncResult(EndpointSyncResult.Mode.UNCHANGED, fingerprint, null, null);
+            }
+            EndpointManifest.Delta delta = manifest.diff(remote.hashes);
+            if (delta.isEmpty()) {
+                return new EndpointSyncResult(EndpointSyncResult.Mode.UNCHANGED, fingerprint, null, null);
+            }
+            String response = postDelta(appKey, environment, remote.fingerprint, fingerprint, delta);
+            if (response != null) {
+                log.info("Sent endpoint delta {} (fingerprint {})", delta, fingerprint);
+                return new EndpointSyncResult(EndpointSyncResult.Mode.DELTA, fingerprint, delta, response);
+            }
+        }
+        log.info("Sending full endpoint list ({} endpoints, fingerprint {})", manifest.size(), fingerprint);
+        RegistryResponse response = postEndpointsBatch(appKey, environment, endpoints, fingerprint);
+        if (!response.isSuccess()) {
+            throw RegistryException.of("registerEndpointsBatch", response);
+        }
+        return new EndpointSyncResult(EndpointSyncResult.Mode.FULL, fingerprint, null, response.getBodyAsString());
+    }
+
+    // Null when the registry has no manifest for this app or does not support the route
+    private RemoteManifest fetchRemoteManifest(final String appKey, String environment, final String fingerprint) throws IOException {
+        final String url = baseUrl + "/register/endpoints/manifest?app_key=" + urlEncode(appKey)
+                + "&environment=" + urlEncode(environment);
+        RegistryResponse response = execute("fetchEndpointManifest", () -> {
+            HttpGet get = new HttpGet(url);
+            get.setHeader("Accept", "application/json");
+            setHeaders(get, appKey);
+            get.setHeader("If-None-Match", "\"" + fingerprint + "\"");
+            try (CloseableHttpResponse httpResponse = executeGet(get)) {
+                return RegistryResponse.from(httpResponse);
+            }
+        });
+        int status = response.getStatusCode();
+        if (status == 304) {
+            return new RemoteManifest(true, fingerprint, Collections.<String, String>emptyMap());
+        }
+        JsonNode body = response.getJson();
+        if (status != 200 || body == null) {
+            log.debug("Registry manifest not available (status {}), falling back to full registration", status);
+            return null;
+        }
+        Map<String, String> hashes = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> remoteEndpoints = body.path("endpoints").fields();
+        while (remoteEndpoints.hasNext()) {
+            Map.Entry<String, JsonNode> e = remoteEndpoints.next();
+            hashes.put(e.getKey(), e.getValue().asText());
+        }
+        JsonNode remoteFingerprint = body.get("fingerprint");
+        return new RemoteManifest(false, remoteFingerprint != null ? remoteFingerprint.asText() : null, hashes);
+    }
+
+    // Null when the registry rejected the delta and a full batch is needed instead
+    private String postDelta(final String appKey, String environment, final String baseFingerprint, String fingerprint,
+                             EndpointManifest.Delta delta) throws IOException {
+        Map<String, Object> payload = deltaPayload(appKey, environment, delta);
+        payload.put("base_fingerprint", baseFingerprint);
+        payload.put("fingerprint", fingerprint);
+        RegistryResponse result = postDeltaPayload(appKey, baseFingerprint, payload);
+        if (result.isSuccess()) {
+            return result.getBodyAsString();
+        }
+        log.info("Registry rejected endpoint delta with status {}, sending full endpoint list", result.getStatusCode());
+        return null;
+    }
+
+    /**
+     * Registers one new endpoint without resending the others.
+     */
+    public String addEndpoint(String appKey, String environment, Map<String, Object> endpoint) throws IOException {
+        return applyEndpointChanges(appKey, environment, EndpointManifest.Delta.of(Collections.singletonList(endpoint),
+                Collections.<Map<String, Object>>emptyList(), Collections.<String>emptyList()));
+    }
+
+    /**
+     * Replaces the registered endpoint with the same method, path and name.
+     */
+    public String updateEndpoint(String appKey, String environment, Map<String, Object> endpoint) throws IOException {
+        return applyEndpointChanges(appKey, environment, EndpointManifest.Delta.of(Collections.<Map<String, Object>>emptyList(),
+                Collections.singletonList(endpoint), Collections.<String>emptyList()));
+    }
+
+    /**
+     * Unregisters the endpoint with the same method, path and name.
+     */
+    public String removeEndpoint(String appKey, String environment, Map<String, Object> endpoint) throws IOException {
+        return applyEndpointChanges(appKey, environment, EndpointManifest.Delta.of(Collections.<Map<String, Object>>emptyList(),
+                Collections.<Map<String, Object>>emptyList(), Collections.singletonList(EndpointManifest.keyOf(endpoint))));
+    }
+
+    /**
+     * Applies added, updated and removed endpoints in one {@code POST /register/endpoints/delta}.
+     * Non-2xx answers (after retries) are thrown as {@link RegistryException}.
+     */
+    public String applyEndpointChanges(String appKey, String environment, EndpointManifest.Delta delta) throws IOException {
+        RegistryResponse response = postEndpointChanges(appKey, environment, delta);
+        if (!response.isSuccess()) {
+            throw RegistryException.of("registerEndpointDelta", response);
+        }
+        return response.getBodyAsString();
+    }
+
+    /**
+     * Same as {@link #applyEndpointChanges(String, String, EndpointManifest.Delta)} but returns
+     * the response as is. Unlike differential sync the change is unconditional: it carries no
+     * manifest fingerprints and is applied on top of whatever the registry holds.
+     */
+    public RegistryResponse postEndpointChanges(String appKey, String environment, EndpointManifest.Delta delta) throws IOException {
+        return postDeltaPayload(appKey, null, deltaPayload(appKey, environment, delta));
+    }
+
+    private Map<String, Object> deltaPayload(String appKey, String environment, EndpointManifest.Delta delta) {
+        Map<String, Object> payload = new HashMap<>();
         payload.put("app_key", appKey);
         payload.put("environment", environment);
-        payload.put("endpoints", endpoints);
-        String body = objectMapper.writeValueAsString(payload);
-        HttpPost post = new HttpPost(baseUrl + "/register/endpoints");
-        post.setHeader("Content-Type", "application/json");
-        post.setHeader("X-API-Key", apiKey);
-        post.setHeader("X-App-Key", appKey);
-        post.setEntity(new StringEntity(body, "UTF-8"));
-        try (CloseableHttpResponse response = executePost(post)) {
-            return EntityUtils.toString(response.getEntity(), "UTF-8");
+        payload.put("added", delta.getAdded());
+        payload.put("updated", delta.getUpdated());
+        payload.put("removed", delta.getRemoved());
+        List<Map<String, Object>> changed = new ArrayList<>(delta.getAdded());
+        changed.addAll(delta.getUpdated());
+        Map<String, Object> definitions = EndpointManifest.referencedDefinitions(changed, schemaDefinitions);
+        if (!definitions.isEmpty()) {
+            payload.put("$defs", definitions);
         }
+        return payload;
+    }
+
+    private RegistryResponse postDeltaPayload(final String appKey, final String baseFingerprint,
+                                              final Map<String, Object> payload) throws IOException {
+        return execute("registerEndpointDelta", () -> {
+            HttpPost post = new HttpPost(baseUrl + "/register/endpoints/delta");
+            post.setHeader("Content-Type", "application/json");
+            setHeaders(post, appKey);
+            if (baseFingerprint != null) {
+                // Registry answers 412 if its manifest changed since we read it
+                post.setHeader("If-Match", "\"" + baseFingerprint + "\"");
+            }
+            JsonEntity entity = JsonEntity.streaming(payload);
+            try (CloseableHttpResponse response = executeCompressiblePost(post, entity)) {
+                return RegistryResponse.from(response);
+            } finally {
+                recordPayloadSize("registerEndpointDelta", entity);
+            }
+        });
     }
 
+    private static String urlEncode(String value) {
+        try {
+            return URLEncoder.encode(value == null ? "" : value, "UTF-8");
+        } catch (java.io.UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class RemoteManifest {
+        final boolean notModified;
+        final String fingerprint;
+        final Map<String, String> hashes;
+
+        RemoteManifest(boolean notModified, String fingerprint, Map<String, String> hashes) {
+            this.notModified = notModified;
+            this.fingerprint = fingerprint;
+            this.hashes = hashes;
+        }
+    }
+
+    /**
+     * Creates or updates the application. Non-2xx answers (after retries) are thrown as
+     * {@link RegistryException} carrying the status code.
+     */
     public String updateApplication(String appKey, Map<String, Object> updateData) throws IOException {
-        String body = objectMapper.writeValueAsString(updateData);
-        HttpPut put = new HttpPut(baseUrl + "/applications/" + appKey);
-        put.setHeader("Content-Type", "application/json");
-        put.setHeader("X-API-Key", apiKey);
-        put.setHeader("X-App-Key", appKey);
-        put.setEntity(new StringEntity(body, "UTF-8"));
-        try (CloseableHttpResponse response = executePut(put)) {
-            return EntityUtils.toString(response.getEntity(), "UTF-8");
+        RegistryResponse response = putApplication(appKey, updateData);
+        if (!response.isSuccess()) {
+            throw RegistryException.of("updateApplication", response);
         }
+        return response.getBodyAsString();
+    }
+
+    /**
+     * Same as {@link #updateApplication(String, Map)} but returns the status and the parsed response body.
+     */
+    public RegistryResponse putApplication(final String appKey, final Map<String, Object> updateData) throws IOException {
+        return execute("updateApplication", () -> {
+            HttpPut put = new HttpPut(baseUrl + "/applications/" + appKey);
+            put.setHeader("Content-Type", "application/json");
+            setHeaders(put, appKey);
+            JsonEntity entity = JsonEntity.of(updateData);
+            put.setEntity(entity);
+            try (CloseableHttpResponse response = executePut(put)) {
+                return RegistryResponse.from(response);
+            } finally {
+                recordPayloadSize("updateApplication", entity);
+            }
+        });
+    }
+
+    /**
+     * Sends a pre-serialized heartbeat payload. Non-2xx answers are returned rather than
+     * thrown so the caller can adapt its interval to registry load.
+     */
+    public HeartbeatResponse sendHeartbeat(String appKey, byte[] payload) throws IOException {
+        HttpPost post = new HttpPost(baseUrl + "/applications/" + appKey + "/heartbeat");
+        setHeaders(post, appKey);
+        post.setEntity(new ByteArrayEntity(payload, ContentType.APPLICATION_JSON));
+        RegistryMetrics.Call timing = metrics.startCall("heartbeat");
+        int status = -1;
+        IOException error = null;
+        try (CloseableHttpResponse response = executePost(post)) {
+            // Drain the body so the connection goes back to the pool
+            EntityUtils.consume(response.getEntity());
+            status = response.getStatusLine().getStatusCode();
+            return new HeartbeatResponse(status, parseRetryAfter(response.getFirstHeader("Retry-After")));
+        } catch (IOException e) {
+            error = e;
+            throw e;
+        } finally {
+            timing.end(status, error);
+        }
+    }
+
+    private void recordPayloadSize(String operation, JsonEntity entity) {
+        long bytes = entity.getBytesWritten();
+        if (bytes >= 0) {
+            metrics.recordPayloadSize(operation, bytes);
+        }
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date
+    static long parseRetryAfter(Header header) {
+        if (header == null || header.getValue() == null) {
+            return -1;
+        }
+        String value = header.getValue().trim();
+        try {
+            return Math.max(0, Long.parseLong(value)) * 1000L;
+        } catch (NumberFormatException e) {
+            java.util.Date date = DateUtils.parseDate(value);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #updateApplication(String, Map)}. I/O failures
+     * complete the future exceptionally with the original {@link IOException} as cause.
+     */
+    public CompletableFuture<String> updateApplicationAsync(String appKey, Map<String, Object> updateData) {
+        return updateApplicationAsync(appKey, updateData, defaultAsyncExecutor());
+    }
+
+    public CompletableFuture<String> updateApplicationAsync(final String appKey, final Map<String, Object> updateData, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return updateApplication(appKey, updateData);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Non-blocking variant of {@link #registerEndpointsBatch(String, String, List)}.
+     */
+    public CompletableFuture<String> registerEndpointsBatchAsync(String appKey, String environment, List<Map<String, Object>> endpoints) {
+        return registerEndpointsBatchAsync(appKey, environment, endpoints, defaultAsyncExecutor());
+    }
+
+    public CompletableFuture<String> registerEndpointsBatchAsync(final String appKey, final String environment,
+                                                                 final List<Map<String, Object>> endpoints, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return registerEndpointsBatch(appKey, environment, endpoints);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
     }
 }
@@ -0,0 +1,39 @@
+package com.autogentmcp.registry;
+
+import java.io.IOException;
+
+/**
+ * A registry call that completed at the HTTP level but was not successful, or that was not
+ * attempted because the circuit breaker is open. The status code is -1 when no response exists.
+ */
+public class RegistryException extends IOException {
+    private final int statusCode;
+    private final String responseBody;
+
+    public RegistryException(String message, int statusCode, String responseBody) {
+        super(message);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    static RegistryException of(String operation, RegistryResponse response) {
+        return new RegistryException(operation + " failed with HTTP " + response.getStatusCode() + ": "
+                + response.getBodyAsString(), response.getStatusCode(), response.getBodyAsString());
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public boolean isUnauthorized() {
+        return statusCode == 401 || statusCode == 403;
+    }
+
+    public boolean isRetryable() {
+        return statusCode == -1 || RetryPolicy.isRetryableStatus(statusCode);
+    }
+}
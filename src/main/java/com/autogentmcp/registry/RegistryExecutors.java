@@ -0,0 +1,80 @@
+package com.autogentmcp.registry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for background registry work. Uses virtual threads when the running JDK
+ * provides them (21+) and falls back to a small pool of daemon platform threads, so
+ * the SDK stays source compatible with Java 8.
+ */
+public final class RegistryExecutors {
+    private static final Logger log = LoggerFactory.getLogger(RegistryExecutors.class);
+
+    private RegistryExecutors() {
+    }
+
+    /**
+     * Returns true when {@code Thread.ofVirtual()} is available in the running JDK.
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates an executor for registry calls. Every task gets its own virtual thread
+     * when supported; otherwise up to {@code maxPlatformThreads} daemon threads are used
+     * and released again after a short idle period.
+     */
+    public static ExecutorService newRegistryExecutor(String threadNamePrefix, int maxPlatformThreads) {
+        ExecutorService virtual = newVirtualThreadExecutor(threadNamePrefix);
+        if (virtual != null) {
+            log.debug("Using virtual threads for {}", threadNamePrefix);
+            return virtual;
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxPlatformThreads, maxPlatformThreads,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), daemonThreadFactory(threadNamePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        log.debug("Using {} platform threads for {}", maxPlatformThreads, threadNamePrefix);
+        return executor;
+    }
+
+    public static ThreadFactory daemonThreadFactory(final String threadNamePrefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, threadNamePrefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // Equivalent of Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory()) on JDK 21+
+    private static ExecutorService newVirtualThreadExecutor(String threadNamePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix + "-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method perTask = java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) perTask.invoke(null, factory);
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            return null;
+        } catch (Exception e) {
+            log.debug("Virtual threads unavailable, falling back to platform threads: {}", e.toString());
+            return null;
+        }
+    }
+}
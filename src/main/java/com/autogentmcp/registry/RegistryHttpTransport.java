@@ -0,0 +1,103 @@
+package com.autogentmcp.registry;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled, keep-alive HTTP transport shared by every {@link RegistryClient} of an
+ * application. Owns a single {@link PoolingHttpClientConnectionManager} so that
+ * registration, heartbeat and any later registry calls reuse the same TCP/TLS
+ * connections instead of opening a new one per request.
+ */
+public class RegistryHttpTransport implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RegistryHttpTransport.class);
+
+    private final HttpTransportSettings settings;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private volatile boolean closed = false;
+
+    public RegistryHttpTransport(HttpTransportSettings settings) {
+        this.settings = settings;
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(settings.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConnectionsPerRoute());
+        if (settings.getValidateAfterInactivityMs() > 0) {
+            connectionManager.setValidateAfterInactivity(settings.getValidateAfterInactivityMs());
+        }
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(settings.getConnectTimeoutMs())
+                .setSocketTimeout(settings.getSocketTimeoutMs())
+                .setConnectionRequestTimeout(settings.getConnectionRequestTimeoutMs())
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(settings.getKeepAliveMs()))
+                .evictExpiredConnections();
+        if (settings.getIdleTimeoutMs() > 0) {
+            builder.evictIdleConnections(settings.getIdleTimeoutMs(), TimeUnit.MILLISECONDS);
+        }
+        this.httpClient = builder.build();
+        log.debug("Created registry HTTP transport: {}", settings);
+    }
+
+    // Honour the server's Keep-Alive header, but never keep a connection longer than configured
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(final long maxKeepAliveMs) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            if (maxKeepAliveMs <= 0) {
+                return serverKeepAlive;
+            }
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, maxKeepAliveMs) : maxKeepAliveMs;
+        };
+    }
+
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public HttpTransportSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Snapshot of the connection pool: leased, pending, available and max connections.
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        PoolStats stats = connectionManager.getTotalStats();
+        log.debug("Closing registry HTTP transport, pool stats at shutdown: {}", stats);
+        try {
+            httpClient.close();
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Shared, preconfigured Jackson objects for registry payloads. {@link ObjectMapper} is
+ * thread-safe once configured and expensive to create (it caches serializers per type),
+ * so the SDK uses one instance instead of creating a mapper per call.
+ * <p>
+ * The returned mapper must not be reconfigured; use {@code mapper().copy()} for variants.
+ */
+public final class RegistryJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            // Entities write straight to the connection stream, which HttpClient closes itself
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final ObjectReader READER = MAPPER.reader();
+
+    private RegistryJson() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+    public static ObjectReader reader() {
+        return READER;
+    }
+
+    public static JsonFactory factory() {
+        return MAPPER.getFactory();
+    }
+}
@@ -0,0 +1,102 @@
+package com.autogentmcp.registry;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Instrumentation hooks for registry interactions. Every method has an empty default and
+ * {@link #NOOP} is installed unless something else is configured, so uninstrumented
+ * applications pay one virtual call per registry request and nothing else.
+ * <p>
+ * {@link #startCall(String)} is invoked on the thread that performs the HTTP exchange,
+ * right before it, and the returned {@link Call} is ended on the same thread. Tracing
+ * integrations can open a span there and make it current, so a tracer-instrumented HTTP
+ * client picks it up as the parent.
+ * <p>
+ * Operation names are the registry call names: {@code updateApplication},
+ * {@code registerEndpointsBatch}, {@code fetchEndpointManifest}, {@code registerEndpointDelta},
+ * {@code openRegistrationSession}, {@code uploadChunk}, {@code commitRegistrationSession},
+ * {@code heartbeat} and {@code probe}.
+ */
+public interface RegistryMetrics {
+
+    RegistryMetrics NOOP = new RegistryMetrics() {
+    };
+
+    /**
+     * One HTTP exchange with the registry.
+     */
+    interface Call {
+        Call NOOP = (statusCode, error) -> {
+        };
+
+        /**
+         * @param statusCode HTTP status, or -1 when no response was received
+         * @param error      the I/O error, or null
+         */
+        void end(int statusCode, Throwable error);
+    }
+
+    default Call startCall(String operation) {
+        return Call.NOOP;
+    }
+
+    /**
+     * Uncompressed size of a request body sent to the registry.
+     */
+    default void recordPayloadSize(String operation, long bytes) {
+    }
+
+    /**
+     * A failed attempt is about to be retried.
+     */
+    default void recordRetry(String operation) {
+    }
+
+    /**
+     * A call was rejected without a request because the circuit breaker is open.
+     */
+    default void recordCircuitOpen(String operation) {
+    }
+
+    /**
+     * Duration of a startup phase: {@code manifest-load}, {@code bean-scan},
+     * {@code schema-deduction}, {@code application-update} or {@code endpoint-registration}.
+     */
+    default void recordStartupPhase(String phase, long durationNanos) {
+    }
+
+    /**
+     * A call of a cacheable tool through the embedded MCP server was answered from its result
+     * cache ({@code hit}) or ran the tool.
+     */
+    default void recordToolCache(String tool, boolean hit) {
+    }
+
+    /**
+     * A call of a tool was rejected by its concurrency limit: {@code bulkhead} when the declared
+     * limit was reached, {@code shed} when the adaptive limit was.
+     */
+    default void recordToolRejected(String tool, String reason) {
+    }
+
+    /**
+     * Called once per concurrency-limited tool with its current limit and in-flight calls.
+     */
+    default void bindToolConcurrency(String tool, IntSupplier limit, IntSupplier inFlight) {
+    }
+
+    /**
+     * Metrics for the calls made to one of several registries. Implementations that can tag
+     * their meters return a view tagged with {@code target}; the default shares this instance.
+     * Used for every target, the primary registry included, once more than one is configured.
+     */
+    default RegistryMetrics forTarget(String target) {
+        return this;
+    }
+
+    /**
+     * Called once for the transport whose connection pool should be observed.
+     */
+    default void bindConnectionPool(RegistryHttpTransport transport) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Status and body of a registry call. The body is buffered and kept as the registry sent
+ * it; JSON bodies are also parsed into a tree. A body that does not parse is kept as text
+ * only, so a registry answering 2xx with broken JSON is not mistaken for an I/O failure.
+ */
+public class RegistryResponse {
+    private static final Logger log = LoggerFactory.getLogger(RegistryResponse.class);
+
+    private final int statusCode;
+    private final JsonNode json;
+    private final String text;
+    private long retryAfterMillis = -1;
+
+    RegistryResponse(int statusCode, JsonNode json, String text) {
+        this.statusCode = statusCode;
+        this.json = json;
+        this.text = text;
+    }
+
+    static RegistryResponse from(HttpResponse response) throws IOException {
+        RegistryResponse result = read(response);
+        result.retryAfterMillis = RegistryClient.parseRetryAfter(response.getFirstHeader("Retry-After"));
+        return result;
+    }
+
+    private static RegistryResponse read(HttpResponse response) throws IOException {
+        int status = response.getStatusLine().getStatusCode();
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return new RegistryResponse(status, null, "");
+        }
+        boolean json = isJson(entity);
+        byte[] body = EntityUtils.toByteArray(entity);
+        String text = body == null ? "" : new String(body, charset(entity));
+        if (!json || text.isEmpty()) {
+            return new RegistryResponse(status, null, text);
+        }
+        try {
+            JsonNode node = RegistryJson.reader().readTree(body);
+            return new RegistryResponse(status, node == null || node.isMissingNode() ? null : node, text);
+        } catch (JsonProcessingException e) {
+            log.debug("Registry answered {} with a body that is not valid JSON: {}", status, e.getOriginalMessage());
+            return new RegistryResponse(status, null, text);
+        }
+    }
+
+    private static Charset charset(HttpEntity entity) {
+        try {
+            ContentType contentType = ContentType.get(entity);
+            Charset charset = contentType != null ? contentType.getCharset() : null;
+            return charset != null ? charset : StandardCharsets.UTF_8;
+        } catch (RuntimeException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static boolean isJson(HttpEntity entity) {
+        try {
+            ContentType contentType = ContentType.get(entity);
+            return contentType != null && contentType.getMimeType().toLowerCase().endsWith("json");
+        } catch (RuntimeException e) {
+            // Malformed Content-Type header; treat the body as text
+            return false;
+        }
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Delay requested by the registry via Retry-After, or -1 when none was sent.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * Parsed JSON body, or null when the registry answered with an empty, non-JSON or malformed body.
+     */
+    public JsonNode getJson() {
+        return json;
+    }
+
+    /**
+     * Binds the JSON body to {@code type}; returns null when there is no JSON body.
+     */
+    public <T> T getBodyAs(Class<T> type) throws IOException {
+        return json == null ? null : RegistryJson.reader().treeToValue(json, type);
+    }
+
+    /**
+     * The body exactly as the registry sent it.
+     */
+    public String getBodyAsString() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistryResponse{statusCode=" + statusCode + ", body=" + getBodyAsString() + "}";
+    }
+}
@@ -0,0 +1,32 @@
+package com.autogentmcp.registry;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * JVM-wide scheduler for periodic registry work such as heartbeats. A single daemon
+ * thread is shared by every application context in the JVM; tasks are expected to be
+ * short and bounded by the HTTP transport timeouts.
+ */
+public final class RegistryScheduler {
+
+    private RegistryScheduler() {
+    }
+
+    private static final class Holder {
+        static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                    RegistryExecutors.daemonThreadFactory("autogentmcp-scheduler"));
+            // Cancelled heartbeats must not linger in the queue until their delay expires
+            executor.setRemoveOnCancelPolicy(true);
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            return executor;
+        }
+    }
+
+    public static ScheduledExecutorService shared() {
+        return Holder.INSTANCE;
+    }
+}
@@ -0,0 +1,106 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.net.ssl.SSLException;
+
+/**
+ * Retry schedule for registry calls: exponential backoff with full jitter, i.e. attempt n
+ * waits a random time in {@code [0, min(maxDelay, initialDelay * 2^(n-1))]}. Randomizing the
+ * whole delay spreads a fleet-wide restart over the window instead of retrying in lockstep.
+ * <p>
+ * Only transient outcomes are retried: I/O errors, timeouts, 408, 425, 429 and 5xx except 501.
+ * Other 4xx answers will not change on retry and are returned immediately.
+ */
+public class RetryPolicy {
+    private int maxAttempts = 3;
+    private long initialDelayMs = 200;
+    private long maxDelayMs = 5000;
+
+    public static RetryPolicy defaults() {
+        return new RetryPolicy();
+    }
+
+    /**
+     * Policy that makes a single attempt.
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy().setMaxAttempts(1);
+    }
+
+    /**
+     * Attempts per call including the first one.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        return this;
+    }
+
+    public long getInitialDelayMs() {
+        return initialDelayMs;
+    }
+
+    public RetryPolicy setInitialDelayMs(long initialDelayMs) {
+        this.initialDelayMs = Math.max(0, initialDelayMs);
+        return this;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+
+    public RetryPolicy setMaxDelayMs(long maxDelayMs) {
+        this.maxDelayMs = Math.max(0, maxDelayMs);
+        return this;
+    }
+
+    /**
+     * Upper bound of the delay after the given failed attempt (1-based), before jitter.
+     */
+    public long backoffCeiling(int attempt) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 30);
+        long ceiling = initialDelayMs << shift;
+        return ceiling < 0 || ceiling > maxDelayMs ? maxDelayMs : ceiling;
+    }
+
+    /**
+     * Full-jitter delay after the given failed attempt (1-based).
+     */
+    public long delayForAttempt(int attempt) {
+        long ceiling = backoffCeiling(attempt);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public static boolean isRetryableStatus(int status) {
+        return status == 408 || status == 425 || status == 429 || (status >= 500 && status != 501);
+    }
+
+    public static boolean isRetryable(IOException e) {
+        if (e instanceof RegistryException) {
+            return ((RegistryException) e).isRetryable();
+        }
+        // A body that does not parse will not parse on the next attempt either
+        if (e instanceof UnknownHostException || e instanceof SSLException || e instanceof JsonProcessingException) {
+            return false;
+        }
+        // Thread interrupts surface as InterruptedIOException too; only timeouts are transient
+        if (e instanceof InterruptedIOException) {
+            return e instanceof SocketTimeoutException || e instanceof org.apache.http.conn.ConnectTimeoutException;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", initialDelayMs=" + initialDelayMs + ", maxDelayMs=" + maxDelayMs + "}";
+    }
+}
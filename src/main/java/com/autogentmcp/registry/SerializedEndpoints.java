@@ -0,0 +1,137 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An endpoint catalog serialized once, for sending the same {@code POST /register/endpoints}
+ * batch to several registries. The endpoints array and the {@code $defs} object are kept as
+ * UTF-8 bytes; each request only writes its own {@code app_key}/{@code environment} prefix
+ * around them, so fanning out to N targets costs one serialization and no copies.
+ */
+public final class SerializedEndpoints {
+
+    private static final byte[] APP_KEY_FIELD = "{\"app_key\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ENVIRONMENT_FIELD = ",\"environment\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ENDPOINTS_FIELD = ",\"endpoints\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DEFS_FIELD = ",\"$defs\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] endpoints;
+    private final byte[] definitions;
+    private final int count;
+
+    private SerializedEndpoints(byte[] endpoints, byte[] definitions, int count) {
+        this.endpoints = endpoints;
+        this.definitions = definitions;
+        this.count = count;
+    }
+
+    public static SerializedEndpoints of(List<Map<String, Object>> endpoints) throws IOException {
+        return of(endpoints, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Serializes the endpoints and, when not empty, the JSON Schema definitions they reference.
+     */
+    public static SerializedEndpoints of(List<Map<String, Object>> endpoints, Map<String, Object> definitions) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(256, endpoints.size() * 512));
+        try (JsonGenerator generator = RegistryJson.factory().createGenerator(buffer, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (Map<String, Object> endpoint : endpoints) {
+                generator.writeObject(endpoint);
+            }
+            generator.writeEndArray();
+        }
+        byte[] defs = null;
+        if (definitions != null && !definitions.isEmpty()) {
+            defs = RegistryJson.writer().writeValueAsBytes(definitions);
+        }
+        return new SerializedEndpoints(buffer.toByteArray(), defs, endpoints.size());
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Bytes shared by every batch built from this catalog.
+     */
+    public long getSerializedBytes() {
+        return endpoints.length + (definitions != null ? definitions.length : 0);
+    }
+
+    // Batch payload for one registry; only the prefix is built per request
+    BatchEntity batchEntity(String appKey, String environment) throws IOException {
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream(128);
+        prefix.write(APP_KEY_FIELD);
+        prefix.write(RegistryJson.writer().writeValueAsBytes(appKey));
+        prefix.write(ENVIRONMENT_FIELD);
+        prefix.write(RegistryJson.writer().writeValueAsBytes(environment));
+        prefix.write(ENDPOINTS_FIELD);
+        return new BatchEntity(prefix.toByteArray(), endpoints, definitions);
+    }
+
+    /**
+     * Repeatable entity of known length that writes the per-target prefix and the shared parts.
+     */
+    static final class BatchEntity extends AbstractHttpEntity {
+        private final byte[] prefix;
+        private final byte[] endpoints;
+        private final byte[] definitions;
+
+        BatchEntity(byte[] prefix, byte[] endpoints, byte[] definitions) {
+            this.prefix = prefix;
+            this.endpoints = endpoints;
+            this.definitions = definitions;
+            setContentType(ContentType.APPLICATION_JSON.toString());
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            return prefix.length + endpoints.length
+                    + (definitions != null ? DEFS_FIELD.length + definitions.length : 0) + END.length;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) getContentLength());
+            writeTo(buffer);
+            return new ByteArrayInputStream(buffer.toByteArray());
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(prefix);
+            out.write(endpoints);
+            if (definitions != null) {
+                out.write(DEFS_FIELD);
+                out.write(definitions);
+            }
+            out.write(END);
+            out.flush();
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+}
@@ -1,45 +1,78 @@
 package com.autogentmcp.registry.spring;
 
 import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.ChunkedRegistrationSettings;
+import com.autogentmcp.registry.CircuitBreaker;
 import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.EndpointManifest;
+import com.autogentmcp.registry.EndpointSyncResult;
+import com.autogentmcp.registry.Heartbeat;
+import com.autogentmcp.registry.HttpTransportSettings;
+import com.autogentmcp.registry.RegistrationCache;
+import com.autogentmcp.registry.RegistrationStatus;
 import com.autogentmcp.registry.RegistryClient;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.autogentmcp.registry.RegistryException;
+import com.autogentmcp.registry.RegistryExecutors;
+import com.autogentmcp.registry.RegistryHttpTransport;
+import com.autogentmcp.registry.RegistryMetrics;
+import com.autogentmcp.registry.RegistryResponse;
+import com.autogentmcp.registry.RegistryScheduler;
+import com.autogentmcp.registry.RetryPolicy;
+import com.autogentmcp.registry.SerializedEndpoints;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PatchMapping;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.util.ClassUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Configuration
-public class AutogentMcpAutoConfiguration implements ApplicationContextAware, BeanPostProcessor, SmartInitializingSingleton {
+public class AutogentMcpAutoConfiguration implements ApplicationContextAware, DestructionAwareBeanPostProcessor,
+        SmartInitializingSingleton, ApplicationListener<ApplicationContextEvent> {
     private static final Logger log = LoggerFactory.getLogger(AutogentMcpAutoConfiguration.class);
     private ApplicationContext applicationContext;
     // Make these fields package-private for test access
-    boolean appRegistered = false;
+    volatile boolean appRegistered = false;
     String appKey = null;
     RegistryClient registryClient;
 
@@ -55,247 +88,563 @@ public class AutogentMcpAutoConfiguration implements ApplicationContextAware, Be
     @Value("${autogentmcp.environment:production}")
     private String environment;
 
+    // Additional registries come from autogentmcp.targets[n]; "lowest-latency" registers with the fastest regional one only
+    @Value("${autogentmcp.regional-selection:all}")
+    private String regionalSelection = "all";
+
+    // Pooled HTTP transport tuning (all durations in milliseconds)
+    @Value("${autogentmcp.http.max-connections:20}")
+    private int httpMaxConnections = 20;
+
+    @Value("${autogentmcp.http.max-connections-per-route:10}")
+    private int httpMaxConnectionsPerRoute = 10;
+
+    @Value("${autogentmcp.http.connect-timeout:5000}")
+    private int httpConnectTimeout = 5000;
+
+    @Value("${autogentmcp.http.socket-timeout:10000}")
+    private int httpSocketTimeout = 10000;
+
+    @Value("${autogentmcp.http.connection-request-timeout:5000}")
+    private int httpConnectionRequestTimeout = 5000;
+
+    @Value("${autogentmcp.http.keep-alive:30000}")
+    private long httpKeepAlive = 30000;
+
+    @Value("${autogentmcp.http.validate-after-inactivity:2000}")
+    private int httpValidateAfterInactivity = 2000;
+
+    @Value("${autogentmcp.http.idle-timeout:60000}")
+    private long httpIdleTimeout = 60000;
+
+    // Gzip endpoint registration payloads; bodies of known size below the threshold (bytes) stay plain
+    @Value("${autogentmcp.http.compression.enabled:false}")
+    private boolean httpCompressionEnabled = false;
+
+    @Value("${autogentmcp.http.compression.threshold:1024}")
+    private int httpCompressionThreshold = 1024;
+
+    // Per-call retries with full-jitter backoff, and a circuit breaker shared by all registry calls
+    @Value("${autogentmcp.http.retry.max-attempts:3}")
+    private int retryMaxAttempts = 3;
+
+    @Value("${autogentmcp.http.retry.initial-delay:200}")
+    private long retryInitialDelay = 200;
+
+    @Value("${autogentmcp.http.retry.max-delay:5000}")
+    private long retryMaxDelay = 5000;
+
+    @Value("${autogentmcp.http.circuit-breaker.failure-threshold:5}")
+    private int circuitBreakerFailureThreshold = 5;
+
+    @Value("${autogentmcp.http.circuit-breaker.open-duration:30000}")
+    private long circuitBreakerOpenDuration = 30000;
+
+    // Keep retrying a failed registration in the background until it succeeds
+    @Value("${autogentmcp.registration.retry.enabled:true}")
+    private boolean reregistrationEnabled = true;
+
+    @Value("${autogentmcp.registration.retry.initial-delay:1000}")
+    private long reregistrationInitialDelay = 1000;
+
+    @Value("${autogentmcp.registration.retry.max-delay:60000}")
+    private long reregistrationMaxDelay = 60000;
+
+    // Send registration to a background executor so startup never waits on the registry
+    @Value("${autogentmcp.registration.async:false}")
+    private boolean asyncRegistration = false;
+
+    // Compare endpoint manifest fingerprints with the registry and send only what changed
+    @Value("${autogentmcp.registration.differential:false}")
+    private boolean differentialRegistration = false;
+
+    // Upload large catalogs in parallel size-bounded chunks through a registration session
+    @Value("${autogentmcp.registration.chunked.enabled:false}")
+    private boolean chunkedRegistration = false;
+
+    @Value("${autogentmcp.registration.chunked.max-chunk-bytes:262144}")
+    private int chunkMaxBytes = 262144;
+
+    @Value("${autogentmcp.registration.chunked.max-endpoints-per-chunk:500}")
+    private int chunkMaxEndpoints = 500;
+
+    @Value("${autogentmcp.registration.chunked.parallelism:4}")
+    private int chunkParallelism = 4;
+
+    @Value("${autogentmcp.registration.chunked.max-attempts:3}")
+    private int chunkMaxAttempts = 3;
+
+    // Remember the last successful registration on disk so unchanged restarts skip the registry
+    @Value("${autogentmcp.registration.cache.enabled:false}")
+    private boolean registrationCacheEnabled = false;
+
+    @Value("${autogentmcp.registration.cache.directory:${user.home}/.autogentmcp/registration-cache}")
+    private String registrationCacheDirectory = System.getProperty("user.home") + "/.autogentmcp/registration-cache";
+
+    // Older cache entries are re-sent even when nothing changed, in case the registry lost them
+    @Value("${autogentmcp.registration.cache.max-age:86400000}")
+    private long registrationCacheMaxAge = 86400000;
+
+    // Publish tools that appear or disappear after startup (refresh scope, plugins, child contexts) as debounced deltas
+    @Value("${autogentmcp.registration.runtime-updates.enabled:false}")
+    private boolean runtimeUpdates = false;
+
+    @Value("${autogentmcp.registration.runtime-updates.debounce:500}")
+    private long runtimeUpdateDebounce = 500;
+
+    @Value("${autogentmcp.registration.runtime-updates.max-delay:5000}")
+    private long runtimeUpdateMaxDelay = 5000;
+
+    // Periodic heartbeat to the registry once registration succeeded (intervals in milliseconds)
+    @Value("${autogentmcp.heartbeat.enabled:false}")
+    private boolean heartbeatEnabled = false;
+
+    @Value("${autogentmcp.heartbeat.interval:30000}")
+    private long heartbeatInterval = 30000;
+
+    @Value("${autogentmcp.heartbeat.max-interval:300000}")
+    private long heartbeatMaxInterval = 300000;
+
+    @Value("${autogentmcp.heartbeat.jitter:0.1}")
+    private double heartbeatJitter = 0.1;
+
+    // Publish registry call metrics to a RegistryMetrics bean, or to Micrometer when a MeterRegistry exists
+    @Value("${autogentmcp.metrics.enabled:true}")
+    private boolean metricsEnabled = true;
+
+    // Precomputed endpoint manifest from mcp-core-java-processor; replaces reflection for the bean classes it covers
+    @Value("${autogentmcp.manifest.enabled:true}")
+    private boolean manifestEnabled = true;
+
+    @Value("${autogentmcp.manifest.location:" + EndpointManifestLoader.DEFAULT_LOCATION + "}")
+    private String manifestLocation = EndpointManifestLoader.DEFAULT_LOCATION;
+
+    // Body and parameter schemas: "legacy" field lists, or "json-schema" with shared types sent once under $defs
+    @Value("${autogentmcp.schema.format:legacy}")
+    private String schemaFormat = "legacy";
+
+    // Register tool stubs only and serve full schemas from ToolSchemaController on first request
+    @Value("${autogentmcp.schema.lazy.enabled:false}")
+    private boolean lazySchemas = false;
+
+    @Value("${autogentmcp.schema.lazy.path:" + ToolSchemaController.DEFAULT_PATH + "}")
+    private String lazySchemaPath = ToolSchemaController.DEFAULT_PATH;
+
+    // Prepended to the advertised schema URLs, e.g. http://orders.internal:8080; relative URLs when empty
+    @Value("${autogentmcp.schema.lazy.base-url:}")
+    private String lazySchemaBaseUrl = "";
+
+    // Embedded MCP server dispatching tools/call straight to the tool beans, over HTTP and/or stdio
+    @Value("${autogentmcp.mcp-server.enabled:false}")
+    private boolean mcpServerEnabled = false;
+
+    @Value("${autogentmcp.mcp-server.stdio.enabled:false}")
+    private boolean mcpStdioEnabled = false;
+
+    @Value("${autogentmcp.mcp-server.version:1.0.0}")
+    private String mcpServerVersion = "1.0.0";
+
+    // Tools are served over MCP only with @AutogentTool(isPublic = true) unless this is set
+    @Value("${autogentmcp.mcp-server.expose-non-public:false}")
+    private boolean mcpExposeNonPublic = false;
+
+    // Off switch for the result caches of tools declaring @AutogentTool(cacheTtl), over MCP and HTTP
+    @Value("${autogentmcp.mcp-server.cache.enabled:true}")
+    private boolean toolCacheEnabled = true;
+
+    // POST {mcp-server.path}/batch: concurrent tool calls with results streamed as they complete
+    @Value("${autogentmcp.mcp-server.batch.max-calls:20}")
+    private int batchMaxCalls = 20;
+
+    // Calls of one batch in flight at once; the rest start as earlier calls finish
+    @Value("${autogentmcp.mcp-server.batch.max-concurrency:8}")
+    private int batchMaxConcurrency = 8;
+
+    // Tool calls running at once across all batches (platform pool size without virtual threads)
+    @Value("${autogentmcp.mcp-server.batch.threads:16}")
+    private int batchThreads = 16;
+
+    // Per call, in milliseconds; a call may ask for a shorter timeout
+    @Value("${autogentmcp.mcp-server.batch.timeout:10000}")
+    private long batchTimeout = 10000;
+
+    // Per-tool concurrency limits: autogentmcp.concurrency.limits.<tool> or @AutogentTool(maxConcurrency)
+    @Value("${autogentmcp.concurrency.enabled:true}")
+    private boolean concurrencyEnabled = true;
+
+    // Adaptive (AIMD) limit for every tool, shedding load with 503 as latency rises or calls fail
+    @Value("${autogentmcp.concurrency.adaptive.enabled:false}")
+    private boolean adaptiveConcurrency = false;
+
+    @Value("${autogentmcp.concurrency.adaptive.initial-limit:20}")
+    private int adaptiveInitialLimit = 20;
+
+    @Value("${autogentmcp.concurrency.adaptive.min-limit:1}")
+    private int adaptiveMinLimit = 1;
+
+    @Value("${autogentmcp.concurrency.adaptive.max-limit:200}")
+    private int adaptiveMaxLimit = 200;
+
+    // A call slower than this multiple of the average latency lowers the limit
+    @Value("${autogentmcp.concurrency.adaptive.tolerance:2.0}")
+    private double adaptiveTolerance = 2.0;
+
+    // Factor the limit is multiplied by when it is lowered
+    @Value("${autogentmcp.concurrency.adaptive.backoff-ratio:0.9}")
+    private double adaptiveBackoffRatio = 0.9;
+
+    // Compile-time manifest endpoints by declaring class name, empty when there is no manifest
+    private EndpointManifestLoader.Manifest manifest = EndpointManifestLoader.Manifest.EMPTY;
+    private McpToolServer mcpServer;
+    private McpStdioServer mcpStdio;
+    private ToolBatchExecutor toolBatchExecutor;
+    private ToolConcurrencyLimits toolConcurrencyLimits;
+    private HttpToolResultCaches httpToolResultCaches;
+    private JsonSchemaGenerator schemaGenerator;
+    private ToolSchemaCatalog toolSchemas;
+    private RuntimeEndpointPublisher runtimePublisher;
+    private RegistryFanOut registryFanOut;
+    // Catalog serialized once for all targets at startup, with the collector snapshot it was built from
+    private volatile List<Map<String, Object>> fanOutSnapshot;
+    private volatile SerializedEndpoints fanOutPayload;
+    // Set when this context starts closing, so the destruction of its beans is not published as tool removal
+    private volatile boolean contextClosing = false;
+    private final Map<ApplicationContext, List<Map<String, Object>>> childContextEndpoints = new ConcurrentHashMap<>();
+    // Lazy schema mode: the tool methods of each child context, unregistered from the schema catalog with it
+    private final Map<ApplicationContext, List<Method>> childContextToolMethods = new ConcurrentHashMap<>();
+    // Endpoints collected for this application context only
+    final EndpointCollector endpointCollector = new EndpointCollector();
+    private RegistryHttpTransport httpTransport;
+    private Heartbeat heartbeat;
+    private final RegistrationStatus registrationStatus = new RegistrationStatus();
+    private ExecutorService registrationExecutor;
+    private CompletableFuture<?> appRegistration;
+    private Map<String, Object> appData;
+    // Set before the first endpoint registration so the retry loop never registers a partial collector
+    private volatile boolean singletonsInstantiated = false;
+    private volatile boolean shutDown = false;
+    private final AtomicInteger reregistrationAttempts = new AtomicInteger();
+    private ScheduledFuture<?> reregistration;
+    private RegistrationCache registrationCache;
+    private RegistrationCache.Entry cachedRegistration;
+    private volatile boolean appRestoredFromCache = false;
+    private RegistryMetrics registryMetrics = RegistryMetrics.NOOP;
+    // Startup phases measured before the metrics were resolved; null once they have been published
+    private Map<String, Long> pendingStartupPhases = new LinkedHashMap<>();
+    private long beanScanNanos;
+    private long schemaDeductionNanosAtStart;
+
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        if (appRegistered && appKey != null) {
-            // Use a static list to collect endpoints across beans
-            String[] beanProcessors = applicationContext.getBeanNamesForType(BeanPostProcessor.class);
-            if (beanProcessors != null && beanProcessors.length > 0 && beanProcessors[0].equals(beanName)) {
-                // Only clear on first bean
-                log.info("First bean encountered: {}, clearing endpoint collector", beanName);
-                EndpointCollector.clear();
-            }
-            for (Method method : bean.getClass().getDeclaredMethods()) {
-                AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
-                if (toolAnn != null) {
-                    log.info("Found @AutogentTool annotation on method: {}.{}", bean.getClass().getSimpleName(), method.getName());
-                    Map<String, Object> endpointData = new HashMap<>();
-                    endpointData.put("name", toolAnn.name().isEmpty() ? method.getName() : toolAnn.name());
-                    endpointData.put("path", toolAnn.uri());
-                    endpointData.put("method", deduceHttpMethod(method, toolAnn));
-                    endpointData.put("description", toolAnn.description());
-                    endpointData.put("isPublic", toolAnn.isPublic());
-                    // Deduce Content-Type (prioritize mapping annotation consumes)
-                    String contentType = toolAnn.contentType();
-                    String mappingConsumes = null;
-                    if (method.isAnnotationPresent(PostMapping.class)) {
-                        PostMapping ann = method.getAnnotation(PostMapping.class);
-                        if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
-                    } else if (method.isAnnotationPresent(PutMapping.class)) {
-                        PutMapping ann = method.getAnnotation(PutMapping.class);
-                        if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
-                    } else if (method.isAnnotationPresent(PatchMapping.class)) {
-                        PatchMapping ann = method.getAnnotation(PatchMapping.class);
-                        if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
-                    } else if (method.isAnnotationPresent(RequestMapping.class)) {
-                        RequestMapping ann = method.getAnnotation(RequestMapping.class);
-                        if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
-                    }
-                    if (mappingConsumes != null && !mappingConsumes.isEmpty()) {
-                        contentType = mappingConsumes;
-                    }
-                    endpointData.put("contentType", contentType);
-
-                    // Deduce pathParams, queryParams, requestBody and responseBody
-                    Map<String, Object> deducedPathParams = new HashMap<>();
-                    Map<String, Object> deducedQueryParams = new HashMap<>();
-                    Map<String, Object> deducedRequestBody = new HashMap<>();
-                    Map<String, Object> deducedResponseBody = new HashMap<>();
-                    
-                    // Process method parameters
-                    java.lang.reflect.Parameter[] params = method.getParameters();
-                    for (java.lang.reflect.Parameter param : params) {
-                        String paramName = param.getName();
-                        String paramType = param.getType().getSimpleName();
-                        
-                        if (param.isAnnotationPresent(PathVariable.class)) {
-                            PathVariable pathVar = param.getAnnotation(PathVariable.class);
-                            String actualName = pathVar.value().isEmpty() ? pathVar.name() : pathVar.value();
-                            if (actualName.isEmpty()) actualName = paramName;
-                            
-                            Map<String, Object> pathParamInfo = new HashMap<>();
-                            pathParamInfo.put("type", paramType);
-                            pathParamInfo.put("required", pathVar.required());
-                            deducedPathParams.put(actualName, pathParamInfo);
-                            
-                        } else if (param.isAnnotationPresent(RequestParam.class)) {
-                            RequestParam reqParam = param.getAnnotation(RequestParam.class);
-                            String actualName = reqParam.value().isEmpty() ? reqParam.name() : reqParam.value();
-                            if (actualName.isEmpty()) actualName = paramName;
-                            
-                            Map<String, Object> queryParamInfo = new HashMap<>();
-                            queryParamInfo.put("type", paramType);
-                            queryParamInfo.put("required", reqParam.required());
-                            // Handle default value safely
-                            String defaultValue = reqParam.defaultValue();
-                            if (!defaultValue.equals("\n\t\t\n\t\t\n\uE000\uE001\uE002\n\t\t\t\t\n")) { // Spring's DEFAULT_NONE value
-                                queryParamInfo.put("defaultValue", defaultValue);
-                            }
-                            deducedQueryParams.put(actualName, queryParamInfo);
-                            
-                        } else if (param.isAnnotationPresent(RequestBody.class)) {
-                            Class<?> type = param.getType();
-                            if (Map.class.isAssignableFrom(type)) {
-                                deducedRequestBody.put("type", "object");
-                                deducedRequestBody.put("description", "Generic object/map");
-                            } else if (type.isPrimitive() || type.getName().startsWith("java.lang")) {
-                                deducedRequestBody.put("type", paramType);
-                                deducedRequestBody.put("description", "Simple " + paramType + " value");
-                            } else {
-                                // Complex object - analyze its fields
-                                Map<String, Object> fields = new HashMap<>();
-                                java.lang.reflect.Field[] declaredFields = type.getDeclaredFields();
-                                for (java.lang.reflect.Field field : declaredFields) {
-                                    if (!java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-                                        Map<String, Object> fieldInfo = new HashMap<>();
-                                        fieldInfo.put("type", field.getType().getSimpleName());
-                                        fieldInfo.put("required", true); // Default to required
-                                        fields.put(field.getName(), fieldInfo);
-                                    }
-                                }
-                                deducedRequestBody.put("type", "object");
-                                deducedRequestBody.put("properties", fields);
-                            }
-                        }
-                    }
-                    
-                    // Process response body (return type)
-                    Class<?> returnType = method.getReturnType();
-                    if (returnType != void.class && returnType != Void.class) {
-                        if (Map.class.isAssignableFrom(returnType)) {
-                            deducedResponseBody.put("type", "object");
-                            deducedResponseBody.put("description", "Generic object/map response");
-                        } else if (returnType.isPrimitive() || returnType.getName().startsWith("java.lang")) {
-                            deducedResponseBody.put("type", returnType.getSimpleName());
-                            deducedResponseBody.put("description", "Simple " + returnType.getSimpleName() + " response");
-                        } else {
-                            // Complex object - analyze its fields
-                            Map<String, Object> fields = new HashMap<>();
-                            java.lang.reflect.Field[] declaredFields = returnType.getDeclaredFields();
-                            for (java.lang.reflect.Field field : declaredFields) {
-                                if (!java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-                                    Map<String, Object> fieldInfo = new HashMap<>();
-                                    fieldInfo.put("type", field.getType().getSimpleName());
-                                    fields.put(field.getName(), fieldInfo);
-                                }
-                            }
-                            deducedResponseBody.put("type", "object");
-                            deducedResponseBody.put("properties", fields);
-                        }
-                    }
-                    
-                    // Add deduced or annotation-provided parameters to endpoint data
-                    if (!toolAnn.pathParams().isEmpty()) {
-                        try {
-                            // Try to parse as JSON if it looks like JSON, otherwise use as string
-                            if (toolAnn.pathParams().trim().startsWith("{")) {
-                                ObjectMapper mapper = new ObjectMapper();
-                                endpointData.put("pathParams", mapper.readValue(toolAnn.pathParams(), Map.class));
-                            } else {
-                                endpointData.put("pathParams", toolAnn.pathParams());
-                            }
-                        } catch (Exception e) {
-                            endpointData.put("pathParams", toolAnn.pathParams());
-                        }
-                    } else if (!deducedPathParams.isEmpty()) {
-                        endpointData.put("pathParams", deducedPathParams);
-                    }
-                    
-                    if (!toolAnn.queryParams().isEmpty()) {
-                        try {
-                            if (toolAnn.queryParams().trim().startsWith("{")) {
-                                ObjectMapper mapper = new ObjectMapper();
-                                endpointData.put("queryParams", mapper.readValue(toolAnn.queryParams(), Map.class));
-                            } else {
-                                endpointData.put("queryParams", toolAnn.queryParams());
-                            }
-                        } catch (Exception e) {
-                            endpointData.put("queryParams", toolAnn.queryParams());
-                        }
-                    } else if (!deducedQueryParams.isEmpty()) {
-                        endpointData.put("queryParams", deducedQueryParams);
-                    }
-                    
-                    if (!toolAnn.requestBody().isEmpty()) {
-                        try {
-                            if (toolAnn.requestBody().trim().startsWith("{")) {
-                                ObjectMapper mapper = new ObjectMapper();
-                                endpointData.put("requestBody", mapper.readValue(toolAnn.requestBody(), Map.class));
-                            } else {
-                                endpointData.put("requestBody", toolAnn.requestBody());
-                            }
-                        } catch (Exception e) {
-                            endpointData.put("requestBody", toolAnn.requestBody());
-                        }
-                    } else if (!deducedRequestBody.isEmpty()) {
-                        endpointData.put("requestBody", deducedRequestBody);
-                    }
-                    
-                    // Always add response body if deduced
-                    if (!deducedResponseBody.isEmpty()) {
-                        endpointData.put("responseBody", deducedResponseBody);
-                    }
-                    
-                    // Log what we detected
-                    log.debug("Parameter detection for {}: pathParams={}, queryParams={}, requestBody={}, responseBody={}", 
-                             method.getName(), 
-                             endpointData.containsKey("pathParams") ? endpointData.get("pathParams") : "none",
-                             endpointData.containsKey("queryParams") ? endpointData.get("queryParams") : "none", 
-                             endpointData.containsKey("requestBody") ? endpointData.get("requestBody") : "none",
-                             endpointData.containsKey("responseBody") ? endpointData.get("responseBody") : "none");
-                    // Add to collector
-                    EndpointCollector.add(endpointData);
-                    log.info("Added endpoint to collector: name={}, path={}, method={}", 
-                             endpointData.get("name"), endpointData.get("path"), endpointData.get("method"));
+        // Without configured limits only declared ones matter, and the manifest says which classes have any
+        if (toolConcurrencyLimits != null && (toolConcurrencyLimits.isConfigured()
+                || manifest.mayDeclareConcurrencyLimits(ToolMetadataResolver.userClass(bean).getName()))) {
+            for (Method method : ToolMetadataResolver.toolMethodsFor(bean)) {
+                toolConcurrencyLimits.register(method);
+            }
+        }
+        if (mcpServer != null) {
+            // Needs the bean instances, so this also runs for classes covered by the compile-time manifest
+            for (Method method : ToolMetadataResolver.toolMethodsFor(bean)) {
+                mcpServer.register(bean, method);
+            }
+        }
+        // Collect whenever the app is MCP-enabled; with async registration the app update may still be in flight
+        if (appKey != null) {
+            // Constant work per bean: no context lookups here, registration happens once in afterSingletonsInstantiated.
+            // Reflection results are cached per class, so beans without tools cost a single lookup
+            long start = System.nanoTime();
+            List<Map<String, Object>> endpoints = toolEndpoints(bean);
+            beanScanNanos += System.nanoTime() - start;
+            for (Map<String, Object> endpointData : endpoints) {
+                if (endpointCollector.add(endpointData) && singletonsInstantiated && runtimePublisher != null) {
+                    runtimePublisher.added(endpointData);
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Added endpoint to collector: name={}, path={}, method={}",
+                            endpointData.get("name"), endpointData.get("path"), endpointData.get("method"));
                     log.debug("Endpoint details: {}", endpointData);
                 }
             }
-            // On last bean, log that we're done processing but don't register yet
-            if (isLastBean(beanName)) {
-                log.info("Last bean processed: {}, collected {} endpoints so far", 
-                         beanName, EndpointCollector.getAll().size());
-                log.info("Will register endpoints when all singletons are instantiated");
-            }
         }
         return bean;
     }
 
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return (runtimePublisher != null || mcpServer != null)
+                && !ToolMetadataResolver.toolMethodsFor(bean).isEmpty();
+    }
+
+    // A tool bean destroyed while the context keeps running (refresh scope, unloaded plugin) takes its tools along
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        if (contextClosing || shutDown || !requiresDestruction(bean)) {
+            return;
+        }
+        if (mcpServer != null) {
+            mcpServer.unregister(bean);
+        }
+        if (runtimePublisher == null) {
+            return;
+        }
+        Set<Object> removed = new HashSet<>();
+        for (Map<String, Object> endpointData : toolEndpoints(bean)) {
+            if (endpointCollector.remove(endpointData)) {
+                log.info("Removed endpoint of destroyed bean {}: name={}", beanName, endpointData.get("name"));
+                runtimePublisher.removed(endpointData);
+                removed.add(endpointData.get("name"));
+            }
+        }
+        unregisterToolSchemas(ToolMetadataResolver.toolMethodsFor(bean), removed);
+    }
+
+    // Lazy schema mode: drops the methods of removed tools, so their schemas are no longer served,
+    // their class loader can go and a reloaded plugin registers them again
+    private void unregisterToolSchemas(List<Method> methods, Set<Object> removedNames) {
+        if (toolSchemas == null || removedNames.isEmpty()) {
+            return;
+        }
+        for (Method method : methods) {
+            AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+            if (removedNames.contains(toolAnn.name().isEmpty() ? method.getName() : toolAnn.name())) {
+                toolSchemas.unregister(method);
+            }
+        }
+    }
+
+    // Child contexts are not post-processed by this context; their tools are picked up from the
+    // refresh and close events they propagate to their parents
+    @Override
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        ApplicationContext source = event.getApplicationContext();
+        if (source == applicationContext) {
+            if (event instanceof ContextClosedEvent) {
+                contextClosing = true;
+                if (runtimePublisher != null) {
+                    runtimePublisher.close();
+                }
+            }
+            return;
+        }
+        if (runtimePublisher == null || !isDescendant(source)) {
+            return;
+        }
+        if (event instanceof ContextRefreshedEvent) {
+            addChildContextTools(source);
+        } else if (event instanceof ContextClosedEvent) {
+            removeChildContextTools(source);
+        }
+    }
+
+    private boolean isDescendant(ApplicationContext context) {
+        for (ApplicationContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent == applicationContext) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addChildContextTools(ApplicationContext child) {
+        if (!(child instanceof ConfigurableApplicationContext)) {
+            return;
+        }
+        // A refreshed-again child replaces what it contributed before
+        removeChildContextTools(child);
+        ConfigurableListableBeanFactory beanFactory = ((ConfigurableApplicationContext) child).getBeanFactory();
+        List<Map<String, Object>> contributed = new ArrayList<>();
+        List<Method> methods = new ArrayList<>();
+        for (String name : beanFactory.getSingletonNames()) {
+            Object bean = beanFactory.getSingleton(name);
+            if (bean == null) {
+                continue;
+            }
+            if (toolSchemas != null) {
+                methods.addAll(ToolMetadataResolver.toolMethodsFor(bean));
+            }
+            for (Map<String, Object> endpointData : toolEndpoints(bean)) {
+                contributed.add(endpointData);
+                if (endpointCollector.add(endpointData)) {
+                    runtimePublisher.added(endpointData);
+                }
+            }
+        }
+        if (!contributed.isEmpty()) {
+            log.info("Child context {} contributed {} endpoints", child.getId(), contributed.size());
+            childContextEndpoints.put(child, contributed);
+            if (!methods.isEmpty()) {
+                childContextToolMethods.put(child, methods);
+            }
+        }
+    }
+
+    private void removeChildContextTools(ApplicationContext child) {
+        List<Map<String, Object>> contributed = childContextEndpoints.remove(child);
+        List<Method> methods = childContextToolMethods.remove(child);
+        if (contributed == null) {
+            return;
+        }
+        log.info("Child context {} closed, removing its {} endpoints", child.getId(), contributed.size());
+        Set<Object> removed = new HashSet<>();
+        for (Map<String, Object> endpointData : contributed) {
+            if (endpointCollector.remove(endpointData)) {
+                runtimePublisher.removed(endpointData);
+                removed.add(endpointData.get("name"));
+            }
+        }
+        if (methods != null) {
+            unregisterToolSchemas(methods, removed);
+        }
+    }
+
+    // Sends runtime tool changes as an unconditional delta; registries without the delta route get everything again
+    private void publishRuntimeChanges(EndpointManifest.Delta delta) throws IOException {
+        Map<String, Object> definitions = currentSchemaDefinitions();
+        if (registryFanOut != null) {
+            // Targets handle their own failures, a retried delta is applied to them again harmlessly
+            registryFanOut.publish(delta, definitions);
+        }
+        registryClient.setSchemaDefinitions(definitions);
+        String response;
+        try {
+            response = registryClient.applyEndpointChanges(appKey, environment, delta);
+        } catch (RegistryException e) {
+            int status = e.getStatusCode();
+            if (status != 404 && status != 405 && status != 501) {
+                throw e;
+            }
+            log.info("Registry does not accept endpoint deltas (status {}), sending all endpoints", status);
+            response = registryClient.registerEndpointsBatch(appKey, environment, endpointCollector.getAll());
+        }
+        if (registrationCache != null) {
+            storeRegistration(EndpointManifest.of(endpointCollector.getAll(), definitions), response);
+        }
+    }
+
+    private Map<String, Object> currentSchemaDefinitions() {
+        return schemaGenerator != null ? schemaGenerator.getDefinitions() : Collections.<String, Object>emptyMap();
+    }
+
+    private List<Map<String, Object>> toolEndpoints(Object bean) {
+        if (toolSchemas != null) {
+            return collectToolStubs(bean);
+        }
+        if (!manifest.isEmpty()) {
+            // Reflection only sees the methods declared by the user class, exactly what the manifest keys on
+            List<Map<String, Object>> precomputed = manifest.endpointsOf(ToolMetadataResolver.userClass(bean).getName());
+            if (precomputed != null) {
+                return precomputed;
+            }
+        }
+        return ToolMetadataResolver.endpointsFor(bean, schemaGenerator);
+    }
+
+    // Lazy schema mode: stubs only, the methods are kept for ToolSchemaController
+    private List<Map<String, Object>> collectToolStubs(Object bean) {
+        List<Method> methods = ToolMetadataResolver.toolMethodsFor(bean);
+        if (methods.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Object>> stubs = new ArrayList<>(methods.size());
+        for (Method method : methods) {
+            Map<String, Object> stub = toolSchemas.register(method);
+            if (stub != null) {
+                stubs.add(stub);
+            }
+        }
+        return stubs;
+    }
+
     @PostConstruct
     public boolean registerApp() {
-        Object mainBean = findMainAppBean();
-        log.info("Starting registerApp method, mainBean found: {}", (mainBean != null));
+        EnableAutogentMcp ann = findEnableAutogentMcp();
+        log.info("Starting registerApp method, @EnableAutogentMcp found: {}", (ann != null));
         
-        if (mainBean != null) {
-            EnableAutogentMcp ann = AnnotationUtils.findAnnotation(mainBean.getClass(), EnableAutogentMcp.class);
-            log.info("Found @EnableAutogentMcp annotation: {}, class: {}", (ann != null), mainBean.getClass().getName());
+        if (ann != null) {
+            appKey = ann.key();
+            log.info("AppKey from annotation: {}", appKey);
+            log.info("Registry URL: {}, API Key length: {}", registryUrl, (apiKey != null ? apiKey.length() : 0));
+            schemaDeductionNanosAtStart = ToolMetadataResolver.schemaDeductionNanos();
+            if ("json-schema".equalsIgnoreCase(schemaFormat)) {
+                schemaGenerator = new JsonSchemaGenerator();
+            } else if (!"legacy".equalsIgnoreCase(schemaFormat)) {
+                log.warn("Unknown autogentmcp.schema.format '{}', using legacy schemas", schemaFormat);
+            }
+            if (concurrencyEnabled) {
+                toolConcurrencyLimits = createToolConcurrencyLimits();
+            }
+            if (toolCacheEnabled) {
+                httpToolResultCaches = new HttpToolResultCaches();
+            }
+            if (mcpServerEnabled || mcpStdioEnabled) {
+                mcpServer = new McpToolServer(appKey, mcpServerVersion);
+                mcpServer.setCaching(toolCacheEnabled);
+                mcpServer.setExposeNonPublic(mcpExposeNonPublic);
+                mcpServer.setConcurrencyLimits(toolConcurrencyLimits);
+            }
+            if (mcpServerEnabled) {
+                toolBatchExecutor = new ToolBatchExecutor(mcpServer, batchThreads, batchMaxCalls, batchMaxConcurrency, batchTimeout);
+            }
+            if (runtimeUpdates) {
+                // Deltas go out on the registration executor, behind any registration still in flight
+                runtimePublisher = new RuntimeEndpointPublisher(this::publishRuntimeChanges, this::currentSchemaDefinitions,
+                        RegistryScheduler.shared(), this::executeRegistrationTask, runtimeUpdateDebounce, runtimeUpdateMaxDelay);
+            }
+            if (lazySchemas) {
+                String baseUrl = lazySchemaBaseUrl.endsWith("/")
+                        ? lazySchemaBaseUrl.substring(0, lazySchemaBaseUrl.length() - 1) : lazySchemaBaseUrl;
+                toolSchemas = new ToolSchemaCatalog(baseUrl + lazySchemaPath, schemaGenerator);
+            }
+            long manifestStart = System.nanoTime();
+            loadEndpointManifest();
+            recordStartupPhase("manifest-load", System.nanoTime() - manifestStart);
             
-            if (ann != null) {
-                appKey = ann.key();
-                log.info("AppKey from annotation: {}", appKey);
-                log.info("Registry URL: {}, API Key length: {}", registryUrl, (apiKey != null ? apiKey.length() : 0));
-                
-                registryClient = new RegistryClient(registryUrl, apiKey);
-                Map<String, Object> appData = new HashMap<>();
-                // appData.put("name", ann.key());
-                appData.put("description", ann.description());
-                appData.put("healthCheckUrl", appHealthcheckEndpoint);
-                
-                try {
-                    log.info("Updating application with MCP: {}", appData);
-                    String response = registryClient.updateApplication(appKey, appData);
-                    log.info("MCP updateApplication response: {}", response);
-                    appRegistered = true;
-                    log.info("Application registered successfully, appRegistered set to true");
-                    return true;
-                } catch (Exception e) {
-                    if (e.getMessage() != null && e.getMessage().contains("401")) {
-                        log.error("Unauthorized (401) when updating application with MCP. Check your API key.", e);
-                    } else {
-                        log.error("Failed to update application with MCP", e);
-                    }
-                    // Do not throw, allow application to continue
-                    log.info("Application registration failed, appRegistered remains false");
-                }
+            if (registryClient == null) {
+                registryClient = newRegistryClient(registryUrl, apiKey);
+            }
+            appData = new HashMap<>();
+            // appData.put("name", ann.key());
+            appData.put("description", ann.description());
+            appData.put("healthCheckUrl", appHealthcheckEndpoint);
+
+            registryFanOut = createRegistryFanOut();
+            if (registryFanOut != null) {
+                registryFanOut.start(appData);
+            }
+            
+            registrationStatus.markPending();
+            if (restoreApplicationFromCache()) {
+                return true;
+            }
+            final long appUpdateStart = System.nanoTime();
+            if (asyncRegistration) {
+                log.info("Updating application with MCP in the background: {}", appData);
+                appRegistration = registryClient.updateApplicationAsync(appKey, appData, getRegistrationExecutor())
+                        .whenComplete((response, error) -> {
+                            recordStartupPhase("application-update", System.nanoTime() - appUpdateStart);
+                            if (error == null) {
+                                log.info("MCP updateApplication response: {}", response);
+                                appRegistered = true;
+                                log.info("Application registered successfully, appRegistered set to true");
+                            } else {
+                                handleAppRegistrationFailure(unwrap(error));
+                            }
+                        });
+                return false;
+            }
+            try {
+                log.info("Updating application with MCP: {}", appData);
+                String response = registryClient.updateApplication(appKey, appData);
+                log.info("MCP updateApplication response: {}", response);
+                appRegistered = true;
+                log.info("Application registered successfully, appRegistered set to true");
+                return true;
+            } catch (Exception e) {
+                // Do not throw, allow application to continue
+                handleAppRegistrationFailure(e);
+            } finally {
+                recordStartupPhase("application-update", System.nanoTime() - appUpdateStart);
             }
         } else {
             log.warn("No bean with @EnableAutogentMcp annotation found in application context");
@@ -304,45 +653,474 @@ public class AutogentMcpAutoConfiguration implements ApplicationContextAware, Be
     }
 
 
-    private Object findMainAppBean() {
-        String[] beanNames = applicationContext.getBeanDefinitionNames();
-        log.info("Searching for @EnableAutogentMcp annotation in {} beans", beanNames.length);
-        
-        // First, try looking for the main application class
-        for (String name : beanNames) {
+    private RegistryClient newRegistryClient(String url, String key) {
+        RegistryClient client = new RegistryClient(url, key, getHttpTransport());
+        client.setRetryPolicy(RetryPolicy.defaults()
+                .setMaxAttempts(retryMaxAttempts)
+                .setInitialDelayMs(retryInitialDelay)
+                .setMaxDelayMs(retryMaxDelay));
+        client.setCircuitBreaker(new CircuitBreaker(circuitBreakerFailureThreshold, circuitBreakerOpenDuration));
+        return client;
+    }
+
+    // Binds autogentmcp.concurrency.limits.<tool>
+    private ToolConcurrencyLimits createToolConcurrencyLimits() {
+        Map<String, Integer> limits = Binder.get(applicationContext.getEnvironment())
+                .bind("autogentmcp.concurrency.limits", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Collections.<String, Integer>emptyMap());
+        ToolConcurrencyLimits.Adaptive adaptive = null;
+        if (adaptiveConcurrency) {
+            adaptive = new ToolConcurrencyLimits.Adaptive();
+            adaptive.initialLimit = adaptiveInitialLimit;
+            adaptive.minLimit = adaptiveMinLimit;
+            adaptive.maxLimit = adaptiveMaxLimit;
+            adaptive.tolerance = adaptiveTolerance;
+            adaptive.backoffRatio = adaptiveBackoffRatio;
+        }
+        return new ToolConcurrencyLimits(limits, adaptive);
+    }
+
+    // Binds autogentmcp.targets[n]; null when no additional registry is configured
+    private RegistryFanOut createRegistryFanOut() {
+        List<RegistryTargetProperties> configured = Binder.get(applicationContext.getEnvironment())
+                .bind("autogentmcp.targets", Bindable.listOf(RegistryTargetProperties.class))
+                .orElse(Collections.<RegistryTargetProperties>emptyList());
+        List<RegistryFanOut.Target> targets = new ArrayList<>();
+        for (int i = 0; i < configured.size(); i++) {
+            RegistryTargetProperties properties = configured.get(i);
+            String name = hasText(properties.getName()) ? properties.getName() : "target-" + i;
+            if (!hasText(properties.getRegistryUrl())) {
+                log.warn("Registry target {} has no registry-url, ignoring it", name);
+                continue;
+            }
+            targets.add(new RegistryFanOut.Target(name,
+                    newRegistryClient(properties.getRegistryUrl(), hasText(properties.getApiKey()) ? properties.getApiKey() : apiKey),
+                    hasText(properties.getAppKey()) ? properties.getAppKey() : appKey,
+                    hasText(properties.getEnvironment()) ? properties.getEnvironment() : environment,
+                    properties.getRegion()));
+        }
+        if (targets.isEmpty()) {
+            return null;
+        }
+        boolean lowestLatency = "lowest-latency".equalsIgnoreCase(regionalSelection);
+        if (!lowestLatency && !"all".equalsIgnoreCase(regionalSelection)) {
+            log.warn("Unknown autogentmcp.regional-selection '{}', registering with all regional targets", regionalSelection);
+        }
+        log.info("Registering with {} additional registry targets", targets.size());
+        RetryPolicy retry = reregistrationEnabled ? RetryPolicy.defaults()
+                .setInitialDelayMs(reregistrationInitialDelay)
+                .setMaxDelayMs(reregistrationMaxDelay) : null;
+        RegistryFanOut.HeartbeatFactory heartbeats = heartbeatEnabled ? (client, key, env, sender) -> {
+            Heartbeat beat = new Heartbeat(client, key, env, heartbeatInterval, heartbeatMaxInterval, heartbeatJitter, sender);
+            addHeartbeatDetails(beat);
+            beat.start();
+            return beat;
+        } : null;
+        // Two threads per target, so its heartbeat never waits behind its registration work,
+        // plus one for regional selection waiting on its probes
+        return new RegistryFanOut(targets, RegistryExecutors.newRegistryExecutor("autogentmcp-targets", 2 * targets.size() + 1),
+                () -> SerializedEndpoints.of(endpointCollector.getAll(), currentSchemaDefinitions()),
+                lowestLatency, retry, heartbeats);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    // Serializes the catalog once and hands it to every target; the primary batch reuses it
+    private void startFanOutRegistration() {
+        List<Map<String, Object>> endpoints = endpointCollector.getAll();
+        try {
+            SerializedEndpoints payload = SerializedEndpoints.of(endpoints, currentSchemaDefinitions());
+            fanOutPayload = payload;
+            fanOutSnapshot = endpoints;
+            log.info("Serialized {} endpoints ({} bytes) once for {} registry targets", payload.size(),
+                    payload.getSerializedBytes(), registryFanOut.getTargets().size() + 1);
+            registryFanOut.registerEndpoints(payload);
+        } catch (IOException e) {
+            log.error("Failed to serialize endpoints for the registry targets", e);
+        }
+    }
+
+    // Skips the application update when the cache holds the same metadata for the same registry;
+    // the endpoint manifest is compared later, once all tools are collected
+    private boolean restoreApplicationFromCache() {
+        if (!registrationCacheEnabled) {
+            return false;
+        }
+        registrationCache = new RegistrationCache(Paths.get(registrationCacheDirectory));
+        RegistrationCache.Entry entry = registrationCache.read(appKey, environment);
+        if (entry == null) {
+            log.info("No cached MCP registration for {} in {}", appKey, registrationCache.getDirectory());
+            return false;
+        }
+        cachedRegistration = entry;
+        long age = System.currentTimeMillis() - entry.getRegisteredAtMillis();
+        if (!Objects.equals(entry.getRegistryUrl(), registryUrl)
+                || !entry.getAppFingerprint().equals(RegistrationCache.fingerprint(appData))
+                || age < 0 || age > registrationCacheMaxAge) {
+            log.info("Cached MCP registration is stale (age {} ms), updating application", age);
+            return false;
+        }
+        log.info("Application metadata unchanged since cached registration {} ms ago, skipping application update", age);
+        appRestoredFromCache = true;
+        appRegistered = true;
+        return true;
+    }
+
+    private void storeRegistration(EndpointManifest manifest, String response) {
+        if (registrationCache == null || manifest == null) {
+            return;
+        }
+        try {
+            registrationCache.write(new RegistrationCache.Entry(registryUrl, appKey, environment,
+                    RegistrationCache.fingerprint(appData), manifest.getFingerprint(), manifest.size(),
+                    System.currentTimeMillis(), response));
+        } catch (Exception e) {
+            log.warn("Failed to write MCP registration cache in {}", registrationCache.getDirectory(), e);
+        }
+    }
+
+    // Load the compile-time manifest so postProcessAfterInitialization can skip reflection for the classes it covers.
+    // Entries of classes that never become beans here (other jars, inactive profiles, conditions) are not registered
+    private void loadEndpointManifest() {
+        if (schemaGenerator != null || toolSchemas != null) {
+            // The compile-time manifest holds full legacy schemas
+            log.info("{} enabled, endpoint manifest is not used", toolSchemas != null ? "Lazy schemas" : "JSON Schema format");
+            return;
+        }
+        if (!manifestEnabled) {
+            return;
+        }
+        try {
+            ClassLoader classLoader = applicationContext.getClassLoader() != null
+                    ? applicationContext.getClassLoader() : ClassUtils.getDefaultClassLoader();
+            EndpointManifestLoader.Manifest loaded = EndpointManifestLoader.load(classLoader, manifestLocation);
+            if (!loaded.isEmpty()) {
+                manifest = loaded;
+                log.info("Loaded endpoints of {} classes from manifest {}, beans of other classes are still scanned",
+                        loaded.size(), manifestLocation);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load endpoint manifest {}, falling back to bean scanning", manifestLocation, e);
+        }
+    }
+
+    private void handleAppRegistrationFailure(Throwable e) {
+        if ((e instanceof RegistryException && ((RegistryException) e).isUnauthorized())
+                || (e.getMessage() != null && e.getMessage().contains("401"))) {
+            log.error("Unauthorized (401) when updating application with MCP. Check your API key.", e);
+        } else {
+            log.error("Failed to update application with MCP", e);
+        }
+        registrationStatus.markFailed(e);
+        log.info("Application registration failed, appRegistered remains false");
+        scheduleReregistration();
+    }
+
+    // Background retry with full-jitter backoff on the shared scheduler; the registry call itself
+    // runs on the registration executor so a slow registry never blocks the scheduler thread
+    private synchronized void scheduleReregistration() {
+        if (!reregistrationEnabled || shutDown || (reregistration != null && !reregistration.isDone())) {
+            return;
+        }
+        int attempt = reregistrationAttempts.incrementAndGet();
+        long delay = RetryPolicy.defaults()
+                .setInitialDelayMs(reregistrationInitialDelay)
+                .setMaxDelayMs(reregistrationMaxDelay)
+                .delayForAttempt(attempt);
+        log.info("Retrying MCP registration in {} ms (attempt {})", delay, attempt);
+        final ExecutorService executor = getRegistrationExecutor();
+        reregistration = RegistryScheduler.shared().schedule(() -> {
             try {
-                Object bean = applicationContext.getBean(name);
-                Class<?> beanClass = bean.getClass();
-                log.debug("Checking bean: {} ({})", name, beanClass.getName());
-                
-                if (name.toLowerCase().contains("application")) {
-                    log.info("Found potential main application bean: {}", name);
-                    
-                    EnableAutogentMcp ann = AnnotationUtils.findAnnotation(beanClass, EnableAutogentMcp.class);
-                    if (ann != null) {
-                        log.info("Found @EnableAutogentMcp on main application bean: {}", name);
-                        return bean;
-                    }
-                }
+                executor.execute(this::reregister);
+            } catch (RejectedExecutionException e) {
+                log.debug("Registration executor shut down, stopping registration retries");
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void reregister() {
+        synchronized (this) {
+            reregistration = null;
+        }
+        if (shutDown) {
+            return;
+        }
+        if (!appRegistered) {
+            try {
+                String response = registryClient.updateApplication(appKey, appData);
+                log.info("MCP updateApplication response: {}", response);
+                appRegistered = true;
+                log.info("Application registered successfully on retry, appRegistered set to true");
             } catch (Exception e) {
-                log.debug("Error checking bean {}: {}", name, e.getMessage());
+                handleAppRegistrationFailure(e);
+                return;
             }
         }
-        
-        // If not found on main application class, check all beans
-        for (String name : beanNames) {
+        // Before that, afterSingletonsInstantiated registers the endpoints itself
+        if (singletonsInstantiated) {
+            registerEndpointsBatch();
+        }
+    }
+
+    private synchronized void recordStartupPhase(String phase, long durationNanos) {
+        if (pendingStartupPhases != null) {
+            pendingStartupPhases.put(phase, durationNanos);
+        } else {
+            registryMetrics.recordStartupPhase(phase, durationNanos);
+        }
+    }
+
+    // A RegistryMetrics bean wins; otherwise Micrometer is used when it is on the classpath with a MeterRegistry.
+    // Resolved after all singletons exist so the meter registry is fully configured.
+    private void initRegistryMetrics() {
+        RegistryMetrics metrics = RegistryMetrics.NOOP;
+        if (metricsEnabled && applicationContext != null) {
             try {
-                Object bean = applicationContext.getBean(name);
-                EnableAutogentMcp ann = AnnotationUtils.findAnnotation(bean.getClass(), EnableAutogentMcp.class);
-                if (ann != null) {
-                    log.info("Found @EnableAutogentMcp on bean: {}", name);
-                    return bean;
+                RegistryMetrics custom = applicationContext.getBeanProvider(RegistryMetrics.class).getIfUnique();
+                if (custom != null) {
+                    metrics = custom;
+                } else if (ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry", applicationContext.getClassLoader())) {
+                    metrics = MicrometerMetricsSupport.create(applicationContext);
                 }
             } catch (Exception e) {
-                log.debug("Error checking bean {}: {}", name, e.getMessage());
+                log.warn("Failed to set up MCP registry metrics, continuing without them", e);
+            }
+        }
+        Map<String, Long> pending;
+        synchronized (this) {
+            registryMetrics = metrics;
+            pending = pendingStartupPhases;
+            pendingStartupPhases = null;
+        }
+        if (mcpServer != null) {
+            mcpServer.setMetrics(metrics);
+        }
+        if (toolConcurrencyLimits != null) {
+            toolConcurrencyLimits.setMetrics(metrics);
+        }
+        if (httpToolResultCaches != null) {
+            httpToolResultCaches.setMetrics(metrics);
+        }
+        if (metrics == RegistryMetrics.NOOP) {
+            return;
+        }
+        log.info("Publishing MCP registry metrics through {}", metrics.getClass().getSimpleName());
+        if (registryFanOut != null) {
+            registryClient.setMetrics(metrics.forTarget("primary"));
+            registryFanOut.bindMetrics(metrics);
+        } else {
+            registryClient.setMetrics(metrics);
+        }
+        if (httpTransport != null) {
+            metrics.bindConnectionPool(httpTransport);
+        }
+        for (Map.Entry<String, Long> phase : pending.entrySet()) {
+            metrics.recordStartupPhase(phase.getKey(), phase.getValue());
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private synchronized void startHeartbeat() {
+        if (!heartbeatEnabled || heartbeat != null) {
+            return;
+        }
+        heartbeat = new Heartbeat(registryClient, appKey, environment, heartbeatInterval, heartbeatMaxInterval, heartbeatJitter);
+        addHeartbeatDetails(heartbeat);
+        heartbeat.start();
+    }
+
+    // Current tool concurrency limits and rejections ride along with every beat once a tool has a limiter;
+    // until then the heartbeat keeps sending its pre-serialized payload
+    private void addHeartbeatDetails(Heartbeat beat) {
+        ToolConcurrencyLimits limits = toolConcurrencyLimits;
+        if (limits != null) {
+            beat.setDetails(() -> limits.isEmpty() ? null : Collections.singletonMap("tools", limits.snapshot()));
+        }
+    }
+
+    /**
+     * The running heartbeat, or null when heartbeats are disabled or registration has not completed.
+     */
+    public synchronized Heartbeat getHeartbeat() {
+        return heartbeat;
+    }
+
+    /**
+     * The embedded MCP server, or null unless {@code autogentmcp.mcp-server.enabled} or
+     * {@code autogentmcp.mcp-server.stdio.enabled} is set.
+     */
+    public McpToolServer getMcpServer() {
+        return mcpServer;
+    }
+
+    /**
+     * Concurrency limits of the tools, null when {@code autogentmcp.concurrency.enabled} is false
+     * or the application is not MCP-enabled.
+     */
+    ToolConcurrencyLimits getToolConcurrencyLimits() {
+        return toolConcurrencyLimits;
+    }
+
+    /**
+     * Result caches of the HTTP endpoints of tools, null when {@code autogentmcp.mcp-server.cache.enabled}
+     * is false or the application is not MCP-enabled.
+     */
+    HttpToolResultCaches getHttpToolResultCaches() {
+        return httpToolResultCaches;
+    }
+
+    /**
+     * Runs tool batches for {@code POST {mcp-server.path}/batch}, null unless the HTTP MCP server is enabled.
+     */
+    ToolBatchExecutor getToolBatchExecutor() {
+        return toolBatchExecutor;
+    }
+
+    /**
+     * Tools and their on-demand schemas in lazy schema mode, null otherwise.
+     */
+    public ToolSchemaCatalog getToolSchemas() {
+        return toolSchemas;
+    }
+
+    /**
+     * Registration progress, for readiness/health reporting. Never blocks.
+     */
+    public RegistrationStatus getRegistrationStatus() {
+        return registrationStatus;
+    }
+
+    /**
+     * Registration progress with each additional registry target by name, empty without targets.
+     * Regional targets left on standby by lowest-latency selection stay {@code NOT_STARTED}.
+     */
+    public Map<String, RegistrationStatus> getTargetStatuses() {
+        return registryFanOut != null ? registryFanOut.getStatuses() : Collections.<String, RegistrationStatus>emptyMap();
+    }
+
+    private void executeRegistrationTask(Runnable task) {
+        if (shutDown) {
+            throw new RejectedExecutionException("MCP registration is shut down");
+        }
+        getRegistrationExecutor().execute(task);
+    }
+
+    private synchronized ExecutorService getRegistrationExecutor() {
+        if (registrationExecutor == null) {
+            registrationExecutor = RegistryExecutors.newRegistryExecutor("autogentmcp-registration", 1);
+        }
+        return registrationExecutor;
+    }
+
+    // Lazily build the shared transport so contexts without @EnableAutogentMcp never open a pool
+    synchronized RegistryHttpTransport getHttpTransport() {
+        if (httpTransport == null) {
+            HttpTransportSettings settings = HttpTransportSettings.defaults()
+                    .setMaxConnections(httpMaxConnections)
+                    .setMaxConnectionsPerRoute(httpMaxConnectionsPerRoute)
+                    .setConnectTimeoutMs(httpConnectTimeout)
+                    .setSocketTimeoutMs(httpSocketTimeout)
+                    .setConnectionRequestTimeoutMs(httpConnectionRequestTimeout)
+                    .setKeepAliveMs(httpKeepAlive)
+                    .setValidateAfterInactivityMs(httpValidateAfterInactivity)
+                    .setIdleTimeoutMs(httpIdleTimeout)
+                    .setRequestCompressionEnabled(httpCompressionEnabled)
+                    .setRequestCompressionThresholdBytes(httpCompressionThreshold);
+            httpTransport = new RegistryHttpTransport(settings);
+            log.info("Created pooled registry HTTP transport: {}", settings);
+        }
+        return httpTransport;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        shutDown = true;
+        if (runtimePublisher != null) {
+            runtimePublisher.close();
+        }
+        if (registryFanOut != null) {
+            registryFanOut.close();
+        }
+        if (mcpStdio != null) {
+            mcpStdio.close();
+            mcpStdio = null;
+        }
+        if (toolBatchExecutor != null) {
+            toolBatchExecutor.close();
+            toolBatchExecutor = null;
+        }
+        if (reregistration != null) {
+            reregistration.cancel(false);
+            reregistration = null;
+        }
+        if (heartbeat != null) {
+            heartbeat.stop();
+            heartbeat = null;
+        }
+        if (registrationExecutor != null) {
+            registrationExecutor.shutdownNow();
+            registrationExecutor = null;
+        }
+        if (httpTransport != null) {
+            log.info("Closing registry HTTP transport, pool stats: {}", httpTransport.getPoolStats());
+            try {
+                httpTransport.close();
+            } catch (Exception e) {
+                log.warn("Failed to close registry HTTP transport", e);
+            }
+            httpTransport = null;
+        }
+    }
+
+    /**
+     * Resolves {@code @EnableAutogentMcp} from bean definitions only. Bean types are predicted
+     * from their definitions and FactoryBeans are not initialized, so lazy beans, prototypes
+     * and expensive infrastructure are never instantiated just to find the annotation.
+     */
+    EnableAutogentMcp findEnableAutogentMcp() {
+        if (applicationContext instanceof ConfigurableApplicationContext) {
+            ConfigurableListableBeanFactory beanFactory = ((ConfigurableApplicationContext) applicationContext).getBeanFactory();
+            String[] beanNames = beanFactory.getBeanDefinitionNames();
+            log.info("Searching for @EnableAutogentMcp annotation in {} bean definitions", beanNames.length);
+            String fallbackName = null;
+            EnableAutogentMcp fallback = null;
+            for (String name : beanNames) {
+                EnableAutogentMcp ann;
+                try {
+                    ann = beanFactory.findAnnotationOnBean(name, EnableAutogentMcp.class, false);
+                } catch (Exception e) {
+                    log.debug("Error checking bean definition {}: {}", name, e.getMessage());
+                    continue;
+                }
+                if (ann == null) {
+                    continue;
+                }
+                // Prefer the main application class, as before
+                if (name.toLowerCase().contains("application")) {
+                    log.info("Found @EnableAutogentMcp on main application bean: {}", name);
+                    return ann;
+                }
+                if (fallback == null) {
+                    fallback = ann;
+                    fallbackName = name;
+                }
+            }
+            if (fallback != null) {
+                log.info("Found @EnableAutogentMcp on bean: {}", fallbackName);
+                return fallback;
+            }
+        } else if (applicationContext != null) {
+            String[] beanNames = applicationContext.getBeanNamesForAnnotation(EnableAutogentMcp.class);
+            if (beanNames != null && beanNames.length > 0) {
+                log.info("Found @EnableAutogentMcp on bean: {}", beanNames[0]);
+                return applicationContext.findAnnotationOnBean(beanNames[0], EnableAutogentMcp.class);
             }
         }
-        
         log.warn("No bean with @EnableAutogentMcp annotation found");
         return null;
     }
@@ -356,6 +1134,29 @@ public class AutogentMcpAutoConfiguration implements ApplicationContextAware, Be
     // This method gets called once all singletons are initialized
     @Override
     public void afterSingletonsInstantiated() {
+        singletonsInstantiated = true;
+        if (appKey != null) {
+            recordStartupPhase("bean-scan", beanScanNanos);
+            recordStartupPhase("schema-deduction", ToolMetadataResolver.schemaDeductionNanos() - schemaDeductionNanosAtStart);
+            initRegistryMetrics();
+            if (registryFanOut != null) {
+                startFanOutRegistration();
+            }
+            if (mcpServer != null) {
+                log.info("Embedded MCP server serves {} tools", mcpServer.getToolCount());
+                if (mcpStdioEnabled) {
+                    mcpStdio = new McpStdioServer(mcpServer, System.in, System.out);
+                    mcpStdio.start();
+                }
+            }
+        }
+        if (asyncRegistration) {
+            log.info("All singletons instantiated, endpoints will be registered in the background");
+            // Skipped automatically when the application update failed
+            CompletableFuture<?> app = appRegistration != null ? appRegistration : CompletableFuture.completedFuture(null);
+            app.thenRunAsync(this::registerEndpointsBatch, getRegistrationExecutor());
+            return;
+        }
         log.info("All singletons instantiated, ensuring endpoints are registered");
         registerEndpointsBatch();
     }
@@ -367,123 +1168,211 @@ public class AutogentMcpAutoConfiguration implements ApplicationContextAware, Be
             return;
         }
         
+        long start = System.nanoTime();
         try {
-            int endpointCount = EndpointCollector.getAll().size();
-            log.info("Final registration check: Found {} endpoints to register", endpointCount);
-            
+            List<Map<String, Object>> endpoints = endpointCollector.getAll();
+            int endpointCount = endpoints.size();
+            log.info("Final registration check: Found {} endpoints to register ({} duplicates ignored)",
+                    endpointCount, endpointCollector.getDuplicateCount());
+
+            Map<String, Object> definitions = currentSchemaDefinitions();
+            registryClient.setSchemaDefinitions(definitions);
+            EndpointManifest manifest = registrationCache != null ? EndpointManifest.of(endpoints, definitions) : null;
+            if (manifest != null && appRestoredFromCache && cachedRegistration != null
+                    && manifest.getFingerprint().equals(cachedRegistration.getManifestFingerprint())) {
+                log.info("Endpoint manifest unchanged since cached registration ({} endpoints), skipping registry sync", endpointCount);
+                registrationStatus.markRegisteredFromCache();
+                if (runtimePublisher != null) {
+                    runtimePublisher.markPublished(endpoints, definitions);
+                }
+                reregistrationAttempts.set(0);
+                startHeartbeat();
+                return;
+            }
+
+            String response = null;
             if (endpointCount > 0) {
-                log.info("Registering all endpoints in batch with MCP");
-                String response = registryClient.registerEndpointsBatch(appKey, environment, EndpointCollector.getAll());
-                log.info("MCP registerEndpointsBatch response: {}", response);
+                if (differentialRegistration) {
+                    EndpointSyncResult result = registryClient.syncEndpoints(appKey, environment, endpoints);
+                    log.info("MCP endpoint sync result: {}", result);
+                    response = result.getResponse();
+                } else if (chunkedRegistration) {
+                    ChunkedRegistrationSettings settings = ChunkedRegistrationSettings.defaults()
+                            .setMaxChunkBytes(chunkMaxBytes)
+                            .setMaxEndpointsPerChunk(chunkMaxEndpoints)
+                            .setParallelism(chunkParallelism)
+                            .setMaxAttempts(chunkMaxAttempts);
+                    log.info("Registering endpoints in chunks with MCP: {}", settings);
+                    RegistryResponse chunked = registryClient.registerEndpointsChunked(appKey, environment, endpoints, settings);
+                    log.info("MCP chunked registration response: {}", chunked);
+                    response = chunked.getBodyAsString();
+                } else if (fanOutPayload != null && fanOutSnapshot == endpoints) {
+                    log.info("Registering all endpoints in batch with MCP, reusing the serialized catalog");
+                    response = registryClient.registerEndpointsBatch(appKey, environment, fanOutPayload);
+                    log.info("MCP registerEndpointsBatch response: {}", response);
+                } else {
+                    log.info("Registering all endpoints in batch with MCP");
+                    response = registryClient.registerEndpointsBatch(appKey, environment, endpoints);
+                    log.info("MCP registerEndpointsBatch response: {}", response);
+                }
             } else {
                 log.info("No endpoints found to register with MCP");
             }
+            registrationStatus.markRegistered();
+            // Targets hold on to their own reference; later batches serialize the collector again
+            fanOutPayload = null;
+            fanOutSnapshot = null;
+            recordStartupPhase("endpoint-registration", System.nanoTime() - start);
+            storeRegistration(manifest, response);
+            if (runtimePublisher != null) {
+                runtimePublisher.markPublished(endpoints, definitions);
+            }
+            reregistrationAttempts.set(0);
+            startHeartbeat();
         } catch (Exception e) {
             log.error("Failed to register endpoints batch with MCP", e);
+            registrationStatus.markFailed(e);
+            scheduleReregistration();
         }
     }
     
-    // Helper to check if this is the last bean to process
-    private boolean isLastBean(String beanName) {
-        String[] allBeans = applicationContext.getBeanDefinitionNames();
-        if (allBeans == null || allBeans.length == 0) {
-            log.warn("No beans found in application context");
-            return true; // If no beans or null, consider it the last bean
-        }
-
-        // Get the last non-infrastructure bean name
-        String lastBeanName = null;
-        for (int i = allBeans.length - 1; i >= 0; i--) {
-            String currentBean = allBeans[i];
-            if (!currentBean.startsWith("org.springframework") && 
-                !currentBean.startsWith("scopedTarget.") && 
-                !currentBean.startsWith("java.") &&
-                !currentBean.equals("autogentMcpAutoConfiguration")) {
-                lastBeanName = currentBean;
-                break;
-            }
-        }
-        
-        if (lastBeanName == null) {
-            log.warn("Could not find a non-infrastructure bean");
-            return true; // Default to true if we can't find a suitable bean
-        }
-
-        boolean isLast = beanName.equals(lastBeanName);
-        log.debug("isLastBean check: current={}, last={}, result={}", beanName, lastBeanName, isLast);
-        
-        return isLast;
-    }
-
-    // Helper to deduce HTTP method
-    private String deduceHttpMethod(Method method, AutogentTool toolAnn) {
-        String httpMethod = toolAnn.method();
-        boolean methodOverridden = toolAnn.method() != null && !toolAnn.method().equals("POST");
-        if (!methodOverridden || httpMethod.isEmpty() || httpMethod.equals("POST")) {
-            if (method.isAnnotationPresent(GetMapping.class)) return "GET";
-            if (method.isAnnotationPresent(PostMapping.class)) return "POST";
-            if (method.isAnnotationPresent(PutMapping.class)) return "PUT";
-            if (method.isAnnotationPresent(DeleteMapping.class)) return "DELETE";
-            if (method.isAnnotationPresent(PatchMapping.class)) return "PATCH";
-            if (method.isAnnotationPresent(RequestMapping.class)) {
-                RequestMapping reqMapping = method.getAnnotation(RequestMapping.class);
-                RequestMethod[] reqMethods = reqMapping.method();
-                if (reqMethods.length > 0) return reqMethods[0].name();
-            }
-        }
-        return httpMethod;
-    }
-
-    // EndpointCollector: static inner class for collecting endpoints
+    // EndpointCollector: collects the endpoints of one application context.
+    // Duplicates are detected through a (name, path, method) index, so adding n tools is O(n);
+    // re-adding identical content is answered from the concurrent index without locking.
+    // Insertion order is kept in a map under the same key, so replacing or removing an
+    // endpoint is O(1), and getAll() returns a cached immutable snapshot until the next change.
     public static class EndpointCollector {
         private static final Logger collectorLog = LoggerFactory.getLogger(EndpointCollector.class);
-        private static final java.util.List<Map<String, Object>> endpoints = Collections.synchronizedList(new java.util.ArrayList<>());
+        private final ConcurrentMap<EndpointKey, Map<String, Object>> index = new ConcurrentHashMap<>();
+        private final ConcurrentMap<EndpointKey, AtomicInteger> providers = new ConcurrentHashMap<>();
+        // Guarded by this
+        private final Map<EndpointKey, Map<String, Object>> endpoints = new LinkedHashMap<>();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private volatile List<Map<String, Object>> snapshot = Collections.emptyList();
+        private volatile boolean dirty;
         
-        static void add(Map<String, Object> endpoint) { 
+        /**
+         * Adds the endpoint, or counts one more provider of it. A provider with different
+         * content for the same (name, path, method) replaces it, the latest one wins.
+         * Returns whether the registered content changed.
+         */
+        boolean add(Map<String, Object> endpoint) { 
             if (endpoint == null) {
                 collectorLog.warn("Attempted to add null endpoint to collector");
-                return;
+                return false;
             }
             
-            synchronized (endpoints) {
-                // Check if this endpoint already exists to avoid duplicates
-                boolean isDuplicate = endpoints.stream()
-                    .anyMatch(e -> e.get("name") != null && e.get("name").equals(endpoint.get("name")) &&
-                              e.get("path") != null && e.get("path").equals(endpoint.get("path")) &&
-                              e.get("method") != null && e.get("method").equals(endpoint.get("method")));
-                
-                if (isDuplicate) {
-                    collectorLog.warn("Duplicate endpoint detected and ignored: {}", endpoint.get("name"));
-                    return;
+            EndpointKey key = EndpointKey.of(endpoint);
+            providers.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            Map<String, Object> existing = index.get(key);
+            if (existing != null && existing.equals(endpoint)) {
+                duplicates.incrementAndGet();
+                collectorLog.debug("Duplicate endpoint detected and ignored: {}", endpoint.get("name"));
+                return false;
+            }
+            synchronized (this) {
+                existing = index.put(key, endpoint);
+                if (existing != null) {
+                    duplicates.incrementAndGet();
+                    if (existing.equals(endpoint)) {
+                        return false;
+                    }
+                    // The replacement moves to the end, as if added now
+                    endpoints.remove(key);
                 }
-                
-                endpoints.add(endpoint);
-                collectorLog.info("Added endpoint: name={}, path={}, method={}", 
+                endpoints.put(key, endpoint);
+                dirty = true;
+            }
+            if (existing != null) {
+                collectorLog.debug("Endpoint replaced with new content: {}", endpoint.get("name"));
+            } else if (collectorLog.isDebugEnabled()) {
+                collectorLog.debug("Added endpoint: name={}, path={}, method={}",
                            endpoint.get("name"), endpoint.get("path"), endpoint.get("method"));
             }
+            return true;
+        }
+
+        /**
+         * Drops one provider of the endpoint; the endpoint itself is removed with its last
+         * provider. Returns whether it was removed.
+         */
+        synchronized boolean remove(Map<String, Object> endpoint) {
+            EndpointKey key = EndpointKey.of(endpoint);
+            AtomicInteger count = providers.get(key);
+            if (count == null || count.decrementAndGet() > 0) {
+                return false;
+            }
+            providers.remove(key);
+            Map<String, Object> existing = index.remove(key);
+            if (existing != null) {
+                endpoints.remove(key);
+                dirty = true;
+            }
+            return existing != null;
         }
         
-        static java.util.List<Map<String, Object>> getAll() { 
-            synchronized (endpoints) {
-                collectorLog.info("Getting all endpoints, current count: {}", endpoints.size());
-                if (endpoints.isEmpty()) {
-                    collectorLog.warn("No endpoints collected!");
-                } else {
-                    for (int i = 0; i < endpoints.size(); i++) {
-                        Map<String, Object> endpoint = endpoints.get(i);
-                        collectorLog.info("Endpoint [{}]: name={}, path={}, method={}", 
-                                  i, endpoint.get("name"), endpoint.get("path"), endpoint.get("method"));
+        List<Map<String, Object>> getAll() { 
+            if (dirty) {
+                synchronized (this) {
+                    if (dirty) {
+                        dirty = false;
+                        snapshot = Collections.unmodifiableList(new ArrayList<>(endpoints.values()));
                     }
                 }
-                return new java.util.ArrayList<>(endpoints);
             }
+            return snapshot;
+        }
+        
+        int size() {
+            return index.size();
+        }
+        
+        int getDuplicateCount() {
+            return duplicates.get();
         }
         
-        static void clear() { 
-            synchronized (endpoints) {
-                collectorLog.info("Clearing endpoint collector, removing {} endpoints", endpoints.size());
+        void clear() { 
+            synchronized (this) {
+                collectorLog.debug("Clearing endpoint collector, removing {} endpoints", index.size());
+                index.clear();
+                providers.clear();
                 endpoints.clear();
+                duplicates.set(0);
+                snapshot = Collections.emptyList();
+                dirty = false;
             }
         }
     }
+    
+    // Identity of an endpoint for duplicate detection
+    static final class EndpointKey {
+        private final Object name;
+        private final Object path;
+        private final Object method;
+        private final int hash;
+        
+        private EndpointKey(Object name, Object path, Object method) {
+            this.name = name;
+            this.path = path;
+            this.method = method;
+            this.hash = Objects.hash(name, path, method);
+        }
+        
+        static EndpointKey of(Map<String, Object> endpoint) {
+            return new EndpointKey(endpoint.get("name"), endpoint.get("path"), endpoint.get("method"));
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EndpointKey)) return false;
+            EndpointKey other = (EndpointKey) o;
+            return Objects.equals(name, other.name) && Objects.equals(path, other.path) && Objects.equals(method, other.method);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.RegistrationStatus;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes MCP registration progress as a health indicator when Spring Boot Actuator is on
+ * the classpath. The indicator always reports UP so that a slow or unavailable registry
+ * never holds back readiness; the registration state is reported in the details and can be
+ * added to the readiness group via {@code management.endpoint.health.group.readiness.include}.
+ * Additional registry targets are listed under {@code targets} with their own state.
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+public class AutogentMcpHealthConfiguration {
+
+    @Bean
+    public HealthIndicator autogentMcpRegistrationHealthIndicator(AutogentMcpAutoConfiguration autoConfiguration) {
+        return () -> {
+            RegistrationStatus status = autoConfiguration.getRegistrationStatus();
+            Health.Builder health = Health.up()
+                    .withDetail("state", status.getState().name())
+                    .withDetail("pending", status.isPending())
+                    .withDetail("fromCache", status.isFromCache());
+            if (status.getLastError() != null) {
+                health.withDetail("lastError", status.getLastError().toString());
+            }
+            Map<String, RegistrationStatus> targets = autoConfiguration.getTargetStatuses();
+            if (!targets.isEmpty()) {
+                Map<String, Object> details = new LinkedHashMap<>();
+                for (Map.Entry<String, RegistrationStatus> target : targets.entrySet()) {
+                    Map<String, Object> detail = new LinkedHashMap<>();
+                    detail.put("state", target.getValue().getState().name());
+                    if (target.getValue().getLastError() != null) {
+                        detail.put("lastError", target.getValue().getLastError().toString());
+                    }
+                    details.put(target.getKey(), detail);
+                }
+                health.withDetail("targets", details);
+            }
+            return health.build();
+        };
+    }
+}
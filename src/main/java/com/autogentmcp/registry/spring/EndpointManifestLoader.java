@@ -0,0 +1,129 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.RegistryJson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the endpoint manifest written at compile time by {@code mcp-core-java-processor}.
+ * Every jar on the classpath may contribute its own manifest; all of them are merged and
+ * keyed by the class declaring the tools, so only classes that are beans of the context end
+ * up registered.
+ * <p>
+ * Version 2 manifests also list the {@code @AutogentTool(maxConcurrency)} of each tool, so
+ * covered classes without a declared limit need no reflection for concurrency limits either.
+ * Classes from version 1 manifests are treated as possibly declaring one.
+ */
+final class EndpointManifestLoader {
+    private static final Logger log = LoggerFactory.getLogger(EndpointManifestLoader.class);
+
+    static final String DEFAULT_LOCATION = "META-INF/autogentmcp/endpoints.json";
+    static final int SUPPORTED_VERSION = 2;
+
+    private static final String[] OVERRIDABLE_KEYS = {"pathParams", "queryParams", "requestBody"};
+
+    private EndpointManifestLoader() {
+    }
+
+    /**
+     * Endpoints by declaring class name, and the classes that may declare concurrency limits.
+     */
+    static final class Manifest {
+        static final Manifest EMPTY = new Manifest(Collections.<String, List<Map<String, Object>>>emptyMap(),
+                Collections.<String>emptySet());
+
+        private final Map<String, List<Map<String, Object>>> endpoints;
+        private final Set<String> concurrencyLimited;
+
+        Manifest(Map<String, List<Map<String, Object>>> endpoints, Set<String> concurrencyLimited) {
+            this.endpoints = endpoints;
+            this.concurrencyLimited = concurrencyLimited;
+        }
+
+        /**
+         * The endpoints of a class, or null when the manifest does not cover it.
+         */
+        List<Map<String, Object>> endpointsOf(String className) {
+            return endpoints.get(className);
+        }
+
+        /**
+         * Whether a bean of this class has to be reflected on for {@code @AutogentTool(maxConcurrency)}.
+         */
+        boolean mayDeclareConcurrencyLimits(String className) {
+            return !endpoints.containsKey(className) || concurrencyLimited.contains(className);
+        }
+
+        int size() {
+            return endpoints.size();
+        }
+
+        boolean isEmpty() {
+            return endpoints.isEmpty();
+        }
+    }
+
+    /**
+     * Returns the merged endpoints of every manifest found at {@code location} by declaring
+     * class name, or an empty manifest when there is none. Manifests with an unknown version are skipped.
+     */
+    static Manifest load(ClassLoader classLoader, String location) throws IOException {
+        Enumeration<URL> resources = classLoader.getResources(location);
+        if (!resources.hasMoreElements()) {
+            return Manifest.EMPTY;
+        }
+        ObjectMapper mapper = RegistryJson.mapper();
+        Map<String, List<Map<String, Object>>> endpoints = new LinkedHashMap<>();
+        Set<String> concurrencyLimited = new HashSet<>();
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            JsonNode manifest = mapper.readTree(url);
+            int version = manifest.path("version").asInt(-1);
+            if (version < 1 || version > SUPPORTED_VERSION) {
+                log.warn("Skipping endpoint manifest {} with unsupported version {}", url, version);
+                continue;
+            }
+            int count = 0;
+            for (JsonNode tool : manifest.path("tools")) {
+                String declaringClass = tool.path("declaringClass").asText("");
+                if (declaringClass.isEmpty()) {
+                    log.warn("Skipping tool without declaringClass in endpoint manifest {}", url);
+                    continue;
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> endpoint = mapper.convertValue(tool.get("endpoint"), LinkedHashMap.class);
+                // The processor keeps annotation overrides verbatim; parse them exactly like reflection does
+                for (String key : OVERRIDABLE_KEYS) {
+                    Object value = endpoint.get(key);
+                    if (value instanceof String) {
+                        endpoint.put(key, ToolMetadataResolver.parseOverride((String) value));
+                    }
+                }
+                endpoints.computeIfAbsent(declaringClass, c -> new ArrayList<>()).add(Collections.unmodifiableMap(endpoint));
+                if (version < 2 || tool.path("maxConcurrency").asInt(0) > 0) {
+                    concurrencyLimited.add(declaringClass);
+                }
+                count++;
+            }
+            log.debug("Loaded {} endpoints from manifest {}", count, url);
+        }
+        for (Map.Entry<String, List<Map<String, Object>>> entry : endpoints.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return new Manifest(Collections.unmodifiableMap(endpoints), concurrencyLimited);
+    }
+}
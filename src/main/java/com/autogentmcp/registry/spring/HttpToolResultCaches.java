@@ -0,0 +1,199 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.RegistryMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.ServletResponse;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+
+/**
+ * Result caches of the HTTP endpoints of tools declaring {@code @AutogentTool(cacheTtl)}, so
+ * plain HTTP calls are answered from a cache like MCP calls are. Entries are keyed by the
+ * JSON values of the bound key arguments, chosen as for {@link McpToolServer}, and hold the
+ * handler's return value; the MCP and HTTP caches of a tool are separate.
+ * <p>
+ * A handler method is inspected on its first request; handlers of other endpoints cost one
+ * map lookup. Only return values Spring MVC writes after the call are cached: void handlers,
+ * handlers writing to the servlet response themselves, and asynchronous or streaming return
+ * types always run. A {@code ResponseEntity} is stored only with a 2xx status, and handler
+ * exceptions are never stored.
+ */
+final class HttpToolResultCaches {
+    private static final Logger log = LoggerFactory.getLogger(HttpToolResultCaches.class);
+
+    private static final Class<?>[] UNCACHEABLE_RESULTS = {Future.class, CompletionStage.class, Callable.class,
+            DeferredResult.class, WebAsyncTask.class, ResponseBodyEmitter.class, StreamingResponseBody.class,
+            Resource.class};
+    private static final Class<?>[] RESPONSE_WRITERS = {ServletResponse.class, OutputStream.class, Writer.class};
+    private static final CachedHandler NOT_CACHED = new CachedHandler(null, null, null);
+
+    private final ObjectMapper mapper = RegistryJson.mapper();
+    private final ConcurrentMap<Method, CachedHandler> handlers = new ConcurrentHashMap<>();
+    private volatile RegistryMetrics metrics = RegistryMetrics.NOOP;
+
+    /**
+     * The cache of a handler method, or null when it is not a cacheable tool.
+     */
+    CachedHandler cacheFor(Method method) {
+        CachedHandler handler = handlers.computeIfAbsent(method, this::create);
+        return handler != NOT_CACHED ? handler : null;
+    }
+
+    void setMetrics(RegistryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    RegistryMetrics getMetrics() {
+        return metrics;
+    }
+
+    private CachedHandler create(Method method) {
+        AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+        if (toolAnn == null || toolAnn.cacheTtl() <= 0) {
+            return NOT_CACHED;
+        }
+        String name = toolAnn.name().isEmpty() ? method.getName() : toolAnn.name();
+        if (!hasCacheableResult(method)) {
+            log.debug("Not caching HTTP calls of tool {}, its handler does not return a plain value", name);
+            return NOT_CACHED;
+        }
+        Parameter[] parameters = method.getParameters();
+        McpToolServer.Argument[] arguments = new McpToolServer.Argument[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            arguments[i] = McpToolServer.Argument.of(parameters[i], mapper);
+        }
+        ToolResultCache<Object> cache = new ToolResultCache<>(name, toolAnn.cacheTtl(), toolAnn.cacheMaxEntries(),
+                HttpToolResultCaches::isSuccessful, this::getMetrics);
+        return new CachedHandler(cache, McpToolServer.cacheArgumentIndexes(arguments, toolAnn, name), mapper);
+    }
+
+    private static boolean hasCacheableResult(Method method) {
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (isAnyOf(parameterType, RESPONSE_WRITERS)) {
+                return false;
+            }
+        }
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class || returnType == Void.class) {
+            return false;
+        }
+        if (HttpEntity.class.isAssignableFrom(returnType)) {
+            Class<?> body = ResolvableType.forMethodReturnType(method).as(HttpEntity.class).getGeneric(0).resolve();
+            return body == null || !isAnyOf(body, UNCACHEABLE_RESULTS);
+        }
+        return !isAnyOf(returnType, UNCACHEABLE_RESULTS);
+    }
+
+    private static boolean isAnyOf(Class<?> type, Class<?>[] candidates) {
+        for (Class<?> candidate : candidates) {
+            if (candidate.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSuccessful(Object result) {
+        if (result instanceof ResponseEntity) {
+            return ((ResponseEntity<?>) result).getStatusCode().is2xxSuccessful();
+        }
+        return result != null;
+    }
+
+    /**
+     * The cache of one handler method and the positions of its key arguments.
+     */
+    static final class CachedHandler {
+        private final ToolResultCache<Object> cache;
+        private final int[] keyArguments;
+        private final ObjectMapper mapper;
+
+        CachedHandler(ToolResultCache<Object> cache, int[] keyArguments, ObjectMapper mapper) {
+            this.cache = cache;
+            this.keyArguments = keyArguments;
+            this.mapper = mapper;
+        }
+
+        /**
+         * The cached result for the bound arguments, or the one returned by {@code handler}.
+         */
+        Object invoke(Object[] args, Callable<Object> handler) throws Exception {
+            List<JsonNode> key = keyOf(args);
+            if (key == null) {
+                return handler.call();
+            }
+            try {
+                return cache.get(key, () -> {
+                    try {
+                        return handler.call();
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new HandlerFailure(e);
+                    }
+                });
+            } catch (HandlerFailure e) {
+                throw e.getCause();
+            }
+        }
+
+        // Null when an argument has no JSON value, so the call simply is not cached
+        private List<JsonNode> keyOf(Object[] args) {
+            JsonNode[] key = new JsonNode[keyArguments.length];
+            for (int i = 0; i < key.length; i++) {
+                try {
+                    JsonNode value = mapper.valueToTree(args[keyArguments[i]]);
+                    key[i] = value != null ? value : NullNode.instance;
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+            return Arrays.asList(key);
+        }
+
+        long hits() {
+            return cache.hits();
+        }
+
+        long misses() {
+            return cache.misses();
+        }
+    }
+
+    // Carries a checked handler exception through the cache to every caller waiting for it
+    private static final class HandlerFailure extends RuntimeException {
+        HandlerFailure(Exception cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Exception getCause() {
+            return (Exception) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.RegistryJson;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Generates JSON Schema for request and response body types.
+ * <p>
+ * Properties are discovered through Jackson's own bean introspection (fields of any
+ * visibility plus getters and setters), so inherited fields, generic type arguments,
+ * {@code @JsonProperty} names and {@code required}, {@code @JsonIgnore},
+ * {@code @JsonIgnoreProperties}, {@code @JsonPropertyDescription} and {@code @JsonValue}
+ * are honoured the way they are on the wire.
+ * <p>
+ * Every bean type becomes one entry in {@link #getDefinitions()} and is referenced as
+ * {@code {"$ref": "#/$defs/Name"}}, so a DTO shared by many endpoints is walked and sent
+ * once. A type is registered before its properties are walked, which makes recursive and
+ * mutually recursive types terminate; generic types that expand into ever new
+ * instantiations stop at {@link #MAX_DEPTH} nested definitions. Results are memoized per
+ * resolved type for the lifetime of the generator, which is one per application context.
+ */
+final class JsonSchemaGenerator {
+
+    static final String DEFINITIONS_REF_PREFIX = "#/$defs/";
+
+    // Nested definitions walked from one root before the remaining types are left untyped
+    static final int MAX_DEPTH = 32;
+
+    private static final Map<Class<?>, Map<String, Object>> SCALARS = new HashMap<>();
+
+    static {
+        scalar("integer", "int32", int.class, Integer.class, short.class, Short.class, byte.class, Byte.class);
+        scalar("integer", "int64", long.class, Long.class);
+        scalar("integer", null, BigInteger.class);
+        scalar("number", "float", float.class, Float.class);
+        scalar("number", "double", double.class, Double.class);
+        scalar("number", null, BigDecimal.class);
+        scalar("boolean", null, boolean.class, Boolean.class);
+        scalar("string", null, String.class, CharSequence.class, char.class, Character.class,
+                Locale.class, Currency.class, Class.class);
+        scalar("string", "byte", byte[].class);
+        scalar("string", "uuid", UUID.class);
+        scalar("string", "uri", URI.class, URL.class);
+        scalar("string", "date", LocalDate.class);
+        scalar("string", "time", LocalTime.class);
+        scalar("string", "duration", Duration.class);
+        scalar("string", "date-time", Date.class, Calendar.class, Instant.class, LocalDateTime.class,
+                OffsetDateTime.class, ZonedDateTime.class);
+    }
+
+    private static void scalar(String type, String format, Class<?>... classes) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", type);
+        if (format != null) {
+            schema.put("format", format);
+        }
+        for (Class<?> c : classes) {
+            SCALARS.put(c, Collections.unmodifiableMap(schema));
+        }
+    }
+
+    // Shared by all generators: copying a mapper is costly and it caches bean introspection
+    private static final ObjectMapper DEFAULT_MAPPER = introspectionMapper(RegistryJson.mapper());
+
+    private final ObjectMapper mapper;
+    private final Map<JavaType, Map<String, Object>> schemas = new HashMap<>();
+    private final Map<JavaType, String> definitionNames = new HashMap<>();
+    private final Map<String, Map<String, Object>> definitions = new TreeMap<>();
+
+    JsonSchemaGenerator() {
+        this.mapper = DEFAULT_MAPPER;
+    }
+
+    JsonSchemaGenerator(ObjectMapper mapper) {
+        this.mapper = introspectionMapper(mapper);
+    }
+
+    // Plain DTOs often have private fields and no accessors; describe them anyway
+    private static ObjectMapper introspectionMapper(ObjectMapper mapper) {
+        return mapper.copy().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+    }
+
+    /**
+     * Schema for a (possibly generic) Java type. Bean types are returned as a {@code $ref}
+     * into {@link #getDefinitions()}; {@code void} yields an empty map.
+     */
+    synchronized Map<String, Object> schemaFor(Type type) {
+        return schemaFor(mapper.getTypeFactory().constructType(type), 0);
+    }
+
+    /**
+     * Definitions referenced by the schemas generated so far, sorted by name.
+     */
+    synchronized Map<String, Object> getDefinitions() {
+        return Collections.unmodifiableMap(new TreeMap<String, Object>(definitions));
+    }
+
+    private Map<String, Object> schemaFor(JavaType type, int depth) {
+        Map<String, Object> schema = schemas.get(type);
+        if (schema == null) {
+            schema = generate(type, depth);
+            if (schema == null) {
+                // Depth limit hit: not memoized, a shallower path may still define the type
+                return Collections.<String, Object>singletonMap("type", "object");
+            }
+            schemas.put(type, schema);
+        }
+        return schema;
+    }
+
+    private Map<String, Object> generate(JavaType type, int depth) {
+        Class<?> raw = type.getRawClass();
+        if (raw == void.class || raw == Void.class) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> scalar = SCALARS.get(raw);
+        if (scalar != null) {
+            return scalar;
+        }
+        if (type.isReferenceType()) {
+            // AtomicReference<T> (and Optional<T> with Jdk8Module): the content is what goes over the wire
+            return schemaFor(type.getContentType(), depth);
+        }
+        if (raw == Optional.class) {
+            return schemaFor(type.containedTypeOrUnknown(0), depth);
+        }
+        Map<String, Object> schema = new LinkedHashMap<>();
+        if (raw.isEnum()) {
+            schema.put("type", "string");
+            schema.put("enum", enumValues(raw));
+        } else if (type.isArrayType() || type.isCollectionLikeType()) {
+            schema.put("type", "array");
+            schema.put("items", schemaFor(type.getContentType(), depth));
+            if (Set.class.isAssignableFrom(raw)) {
+                schema.put("uniqueItems", true);
+            }
+        } else if (type.isMapLikeType()) {
+            schema.put("type", "object");
+            Map<String, Object> values = schemaFor(type.getContentType(), depth);
+            if (!values.isEmpty()) {
+                schema.put("additionalProperties", values);
+            }
+        } else if (Iterable.class.isAssignableFrom(raw)) {
+            JavaType[] params = type.findTypeParameters(Iterable.class);
+            schema.put("type", "array");
+            schema.put("items", schemaFor(params.length == 1 ? params[0] : TypeFactory.unknownType(), depth));
+        } else if (raw == Object.class || TreeNode.class.isAssignableFrom(raw)) {
+            // Any JSON value
+            return Collections.emptyMap();
+        } else if (raw.isPrimitive() || raw.getName().startsWith("java.")) {
+            // Other JDK value types are written as strings by Jackson
+            return SCALARS.get(String.class);
+        } else {
+            return definitionRef(type, depth);
+        }
+        return Collections.unmodifiableMap(schema);
+    }
+
+    private Map<String, Object> definitionRef(JavaType type, int depth) {
+        String name = definitionNames.get(type);
+        if (name == null) {
+            if (depth >= MAX_DEPTH) {
+                return null;
+            }
+            name = uniqueName(type);
+            // Registered before walking the properties so cycles resolve to this reference
+            definitionNames.put(type, name);
+            definitions.put(name, Collections.<String, Object>emptyMap());
+            definitions.put(name, beanSchema(type, depth + 1));
+        }
+        return Collections.<String, Object>singletonMap("$ref", DEFINITIONS_REF_PREFIX + name);
+    }
+
+    private Map<String, Object> beanSchema(JavaType type, int depth) {
+        SerializationConfig config = mapper.getSerializationConfig();
+        BeanDescription description = config.introspect(type);
+        AnnotatedMember jsonValue = description.findJsonValueAccessor();
+        if (jsonValue != null) {
+            return schemaFor(jsonValue.getType(), depth);
+        }
+        Set<String> ignored = config.getDefaultPropertyIgnorals(type.getRawClass(), description.getClassInfo())
+                .findIgnoredForSerialization();
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        String classDescription = config.getAnnotationIntrospector().findClassDescription(description.getClassInfo());
+        if (classDescription != null && !classDescription.isEmpty()) {
+            schema.put("description", classDescription);
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            String name = property.getName();
+            if (ignored.contains(name)) {
+                continue;
+            }
+            Map<String, Object> propertySchema = schemaFor(property.getPrimaryType(), depth);
+            String propertyDescription = property.getMetadata().getDescription();
+            if (propertyDescription != null && !propertyDescription.isEmpty()) {
+                Map<String, Object> described = new LinkedHashMap<>(propertySchema);
+                described.put("description", propertyDescription);
+                propertySchema = Collections.unmodifiableMap(described);
+            }
+            properties.put(name, propertySchema);
+            if (property.isRequired()) {
+                required.add(name);
+            }
+        }
+        schema.put("properties", Collections.unmodifiableMap(properties));
+        if (!required.isEmpty()) {
+            schema.put("required", Collections.unmodifiableList(required));
+        }
+        return Collections.unmodifiableMap(schema);
+    }
+
+    // Values as Jackson writes them, so @JsonProperty/@JsonValue on constants are respected
+    private List<Object> enumValues(Class<?> enumType) {
+        List<Object> values = new ArrayList<>();
+        for (Object constant : enumType.getEnumConstants()) {
+            Object value;
+            try {
+                value = mapper.convertValue(constant, Object.class);
+            } catch (IllegalArgumentException e) {
+                value = ((Enum<?>) constant).name();
+            }
+            values.add(value);
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    // Simple class name, with type arguments for generic instantiations (PageOfOrder);
+    // distinct types with the same label get a numeric suffix
+    private String uniqueName(JavaType type) {
+        String base = label(type);
+        String name = base;
+        for (int i = 2; definitions.containsKey(name); i++) {
+            name = base + i;
+        }
+        return name;
+    }
+
+    private static String label(JavaType type) {
+        if (type.isArrayType()) {
+            return label(type.getContentType()) + "Array";
+        }
+        StringBuilder label = new StringBuilder(type.getRawClass().getSimpleName());
+        for (int i = 0; i < type.containedTypeCount(); i++) {
+            label.append(i == 0 ? "Of" : "And").append(label(type.containedType(i)));
+        }
+        return label.toString();
+    }
+}
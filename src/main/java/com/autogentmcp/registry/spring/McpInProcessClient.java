@@ -0,0 +1,94 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.RegistryJson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MCP client bound directly to an {@link McpToolServer}, for exercising tools in tests or
+ * from the same JVM. Requests go through the same JSON-RPC handling as the HTTP and stdio
+ * transports, without a network hop.
+ */
+public class McpInProcessClient {
+
+    private final McpToolServer server;
+    private final ObjectMapper mapper = RegistryJson.mapper();
+    private final AtomicLong ids = new AtomicLong();
+
+    public McpInProcessClient(McpToolServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Sends {@code initialize} followed by {@code notifications/initialized}; returns the initialize result.
+     */
+    public JsonNode initialize() {
+        ObjectNode params = mapper.createObjectNode();
+        params.put("protocolVersion", McpToolServer.LATEST_PROTOCOL_VERSION);
+        params.putObject("capabilities");
+        params.putObject("clientInfo").put("name", "in-process").put("version", "1");
+        JsonNode result = request("initialize", params);
+        ObjectNode initialized = mapper.createObjectNode();
+        initialized.put("jsonrpc", "2.0");
+        initialized.put("method", "notifications/initialized");
+        server.handle(initialized);
+        return result;
+    }
+
+    /**
+     * The {@code tools} array of {@code tools/list}.
+     */
+    public JsonNode listTools() {
+        return request("tools/list", mapper.createObjectNode()).get("tools");
+    }
+
+    /**
+     * The {@code tools/call} result: {@code content}, {@code isError} and, for object results, {@code structuredContent}.
+     */
+    public JsonNode callTool(String name, Map<String, ?> arguments) {
+        ObjectNode params = mapper.createObjectNode();
+        params.put("name", name);
+        params.set("arguments", mapper.valueToTree(arguments != null ? arguments : Collections.emptyMap()));
+        return request("tools/call", params);
+    }
+
+    /**
+     * Sends one request and returns its result.
+     *
+     * @throws McpException when the server answers with a JSON-RPC error
+     */
+    public JsonNode request(String method, JsonNode params) {
+        ObjectNode request = mapper.createObjectNode();
+        request.put("jsonrpc", "2.0");
+        request.put("id", ids.incrementAndGet());
+        request.put("method", method);
+        request.set("params", params);
+        JsonNode response = server.handle(request);
+        JsonNode error = response.get("error");
+        if (error != null) {
+            throw new McpException(error.path("code").asInt(), error.path("message").asText());
+        }
+        return response.get("result");
+    }
+
+    /**
+     * A JSON-RPC error answered by the server.
+     */
+    public static class McpException extends RuntimeException {
+        private final int code;
+
+        public McpException(int code, String message) {
+            super(message + " (" + code + ")");
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.RegistryJson;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streamable HTTP transport of the embedded MCP server. {@code POST {path}} takes one
+ * JSON-RPC message or batch and answers with JSON, or with a single SSE {@code message}
+ * event when the client only accepts {@code text/event-stream}; messages holding only
+ * notifications are acknowledged with 202. The server never initiates messages, so
+ * {@code GET {path}} (the optional server-to-client stream) answers 405.
+ * <p>
+ * {@code POST {path}/batch} is not part of MCP: it takes an array of tool calls, runs them
+ * concurrently on the {@link ToolBatchExecutor} and streams one JSON-RPC response per line
+ * ({@code application/x-ndjson}) as each call completes.
+ * <p>
+ * Tool calls reach the beans directly, so security rules on the tools' own paths (say
+ * {@code /admin/**}) do not apply here: secure {@code {path}} and {@code {path}/batch}
+ * themselves. Only public tools are served unless {@code autogentmcp.mcp-server.expose-non-public} is set.
+ */
+@RestController
+@ConditionalOnProperty(name = "autogentmcp.mcp-server.enabled", havingValue = "true")
+@RequestMapping("${autogentmcp.mcp-server.path:" + McpServerController.DEFAULT_PATH + "}")
+public class McpServerController {
+
+    static final String DEFAULT_PATH = "/mcp";
+
+    private final AutogentMcpAutoConfiguration autoConfiguration;
+
+    public McpServerController(AutogentMcpAutoConfiguration autoConfiguration) {
+        this.autoConfiguration = autoConfiguration;
+    }
+
+    @PostMapping
+    public ResponseEntity<String> post(@RequestBody String payload,
+                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        McpToolServer server = autoConfiguration.getMcpServer();
+        if (server == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        JsonNode response = server.handle(payload);
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)
+                && !accept.contains(MediaType.APPLICATION_JSON_VALUE)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body("event: message\ndata: " + response + "\n\n");
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response.toString());
+    }
+
+    @PostMapping(path = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> batch(@RequestBody String payload) {
+        ToolBatchExecutor executor = autoConfiguration.getToolBatchExecutor();
+        if (executor == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        ObjectMapper mapper = RegistryJson.mapper();
+        JsonNode batch;
+        try {
+            batch = mapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            return badRequest(McpToolServer.PARSE_ERROR, "Parse error: " + e.getOriginalMessage());
+        }
+        try {
+            executor.checkBatch(batch);
+        } catch (IllegalArgumentException e) {
+            return badRequest(McpToolServer.INVALID_REQUEST, e.getMessage());
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                executor.execute(batch, response -> {
+                    try {
+                        out.write(response.toString().getBytes(StandardCharsets.UTF_8));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        // The client went away; the remaining calls are cancelled
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Tool batch interrupted");
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> badRequest(int code, String message) {
+        byte[] error = McpToolServer.error(null, code, message).toString().getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(out -> out.write(error));
+    }
+
+    @GetMapping
+    public ResponseEntity<Void> stream() {
+        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).header(HttpHeaders.ALLOW, "POST").build();
+    }
+}
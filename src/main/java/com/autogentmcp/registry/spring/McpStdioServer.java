@@ -0,0 +1,73 @@
+package com.autogentmcp.registry.spring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stdio transport of the embedded MCP server for local agents that launch the application
+ * as a subprocess: one JSON-RPC message per line on the input, one response per line on the
+ * output. Runs on its own daemon thread until the input ends or {@link #close()} is called.
+ * Application logs must not be written to the same output stream.
+ */
+final class McpStdioServer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(McpStdioServer.class);
+
+    private final McpToolServer server;
+    private final InputStream in;
+    private final Writer out;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    McpStdioServer(McpToolServer server, InputStream in, OutputStream out) {
+        this.server = server;
+        this.in = in;
+        this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        this.thread = new Thread(this::run, "autogentmcp-stdio");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while (!closed && (line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                JsonNode response = server.handle(line);
+                if (response != null) {
+                    synchronized (out) {
+                        out.write(response.toString());
+                        out.write('\n');
+                        out.flush();
+                    }
+                }
+            }
+            log.info("MCP stdio input closed");
+        } catch (IOException e) {
+            if (!closed) {
+                log.warn("MCP stdio transport failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+}
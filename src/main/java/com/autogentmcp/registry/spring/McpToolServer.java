@@ -0,0 +1,559 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EndpointManifest;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.RegistryMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * In-process MCP server for the application's {@code @AutogentTool} methods.
+ * <p>
+ * Speaks JSON-RPC 2.0 with the MCP methods {@code initialize}, {@code ping},
+ * {@code tools/list} and {@code tools/call}; transports ({@link McpServerController} for
+ * streamable HTTP, {@link McpStdioServer} for stdio, {@link McpInProcessClient}) only move
+ * messages in and out of {@link #handle(JsonNode)}. A call binds the JSON arguments to the
+ * method's parameters and invokes the bean directly, without going through Spring MVC, via a
+ * {@link ToolInvoker} compiled when the tool is registered.
+ * <p>
+ * Path variables, request parameters and unannotated parameters are arguments named after
+ * the parameter; the {@code @RequestBody} parameter is the argument {@code body}. Input
+ * schemas are JSON Schema, with the definitions each tool references under {@code $defs}.
+ * <p>
+ * Tools declaring {@code @AutogentTool(cacheTtl)} are answered from a {@link ToolResultCache}
+ * keyed by their key arguments. Calls are admitted through the same {@link ToolConcurrencyLimits}
+ * as the tools' HTTP endpoints; a rejected call is an error result.
+ * <p>
+ * Only tools declaring {@code @AutogentTool(isPublic = true)} are served unless
+ * {@link #setExposeNonPublic} says otherwise. Transports do no authorization of their own:
+ * the HTTP endpoint needs its own security rules, whatever rules guard the tools' paths.
+ */
+public class McpToolServer {
+    private static final Logger log = LoggerFactory.getLogger(McpToolServer.class);
+
+    static final String LATEST_PROTOCOL_VERSION = "2025-03-26";
+    private static final List<String> PROTOCOL_VERSIONS = Arrays.asList(LATEST_PROTOCOL_VERSION, "2024-11-05");
+    static final String BODY_ARGUMENT = "body";
+
+    // JSON-RPC 2.0 error codes
+    static final int PARSE_ERROR = -32700;
+    static final int INVALID_REQUEST = -32600;
+    static final int METHOD_NOT_FOUND = -32601;
+    static final int INVALID_PARAMS = -32602;
+    static final int INTERNAL_ERROR = -32603;
+    // Implementation-defined, the code the MCP SDKs use for request timeouts
+    static final int REQUEST_TIMEOUT = -32001;
+
+    private final String serverName;
+    private final String serverVersion;
+    private final ObjectMapper mapper = RegistryJson.mapper();
+    private final JsonSchemaGenerator schemas = new JsonSchemaGenerator();
+    private final ConcurrentMap<String, Tool> tools = new ConcurrentHashMap<>();
+    private volatile boolean caching = true;
+    private volatile boolean exposeNonPublic;
+    private volatile RegistryMetrics metrics = RegistryMetrics.NOOP;
+    private volatile ToolConcurrencyLimits concurrencyLimits;
+
+    public McpToolServer(String serverName, String serverVersion) {
+        this.serverName = serverName;
+        this.serverVersion = serverVersion;
+    }
+
+    /**
+     * Whether tools with an {@code @AutogentTool(cacheTtl)} get a result cache; applies to tools registered afterwards.
+     */
+    void setCaching(boolean caching) {
+        this.caching = caching;
+    }
+
+    /**
+     * Whether tools with {@code @AutogentTool(isPublic = false)} are served too; applies to tools registered afterwards.
+     */
+    void setExposeNonPublic(boolean exposeNonPublic) {
+        this.exposeNonPublic = exposeNonPublic;
+    }
+
+    void setMetrics(RegistryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    RegistryMetrics getMetrics() {
+        return metrics;
+    }
+
+    void setConcurrencyLimits(ToolConcurrencyLimits concurrencyLimits) {
+        this.concurrencyLimits = concurrencyLimits;
+    }
+
+    /**
+     * Adds the bean's tool method; a second method with the same tool name, and non-public
+     * tools unless they are exposed, are ignored.
+     * The method is the one found on the bean's user class, the bean may be a proxy of it.
+     *
+     * @throws IllegalStateException when the bean is a proxy that cannot delegate the method to its target
+     */
+    void register(Object bean, Method method) {
+        AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+        String name = toolAnn.name().isEmpty() ? method.getName() : toolAnn.name();
+        if (!toolAnn.isPublic() && !exposeNonPublic) {
+            log.debug("Not serving non-public tool {} over MCP", name);
+            return;
+        }
+        Tool tool;
+        try {
+            tool = new Tool(name, bean, method, toolAnn);
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Cannot serve MCP tool " + name + ": " + e.getMessage(), e);
+        }
+        Tool existing = tools.putIfAbsent(name, tool);
+        if (existing != null && existing.bean != bean) {
+            log.warn("Duplicate MCP tool name {} on {}, keeping the first registration", name, method);
+        }
+    }
+
+    /**
+     * Removes the tools contributed by a destroyed bean.
+     */
+    void unregister(Object bean) {
+        tools.values().removeIf(tool -> tool.bean == bean);
+    }
+
+    public int getToolCount() {
+        return tools.size();
+    }
+
+    /**
+     * Handles one JSON-RPC message or batch. Returns the response, or null when the message
+     * only held notifications.
+     */
+    public JsonNode handle(JsonNode message) {
+        if (message != null && message.isArray()) {
+            if (message.size() == 0) {
+                return error(null, INVALID_REQUEST, "Empty batch");
+            }
+            ArrayNode responses = mapper.createArrayNode();
+            for (JsonNode request : message) {
+                JsonNode response = handleRequest(request);
+                if (response != null) {
+                    responses.add(response);
+                }
+            }
+            return responses.size() > 0 ? responses : null;
+        }
+        return handleRequest(message);
+    }
+
+    /**
+     * Parses and handles one JSON-RPC payload; malformed JSON is answered with a parse error.
+     */
+    public JsonNode handle(String payload) {
+        JsonNode message;
+        try {
+            message = mapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            return error(null, PARSE_ERROR, "Parse error: " + e.getOriginalMessage());
+        }
+        return handle(message);
+    }
+
+    private JsonNode handleRequest(JsonNode request) {
+        if (request == null || !request.isObject() || !"2.0".equals(request.path("jsonrpc").asText())
+                || !request.path("method").isTextual()) {
+            return error(request != null ? request.get("id") : null, INVALID_REQUEST, "Invalid JSON-RPC request");
+        }
+        JsonNode id = request.get("id");
+        String method = request.get("method").asText();
+        JsonNode params = request.path("params");
+        if (id == null) {
+            // Notifications (notifications/initialized, notifications/cancelled, ...) need no answer
+            log.debug("MCP notification {}", method);
+            return null;
+        }
+        try {
+            switch (method) {
+                case "initialize":
+                    return result(id, initialize(params));
+                case "ping":
+                    return result(id, mapper.createObjectNode());
+                case "tools/list":
+                    return result(id, listTools());
+                case "tools/call":
+                    return callTool(id, params);
+                default:
+                    return error(id, METHOD_NOT_FOUND, "Method not found: " + method);
+            }
+        } catch (RuntimeException e) {
+            log.warn("MCP request {} failed", method, e);
+            return error(id, INTERNAL_ERROR, e.toString());
+        }
+    }
+
+    private ObjectNode initialize(JsonNode params) {
+        String requested = params.path("protocolVersion").asText();
+        ObjectNode result = mapper.createObjectNode();
+        result.put("protocolVersion", PROTOCOL_VERSIONS.contains(requested) ? requested : LATEST_PROTOCOL_VERSION);
+        result.putObject("capabilities").putObject("tools").put("listChanged", false);
+        ObjectNode info = result.putObject("serverInfo");
+        info.put("name", serverName);
+        info.put("version", serverVersion);
+        return result;
+    }
+
+    private ObjectNode listTools() {
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode list = result.putArray("tools");
+        List<String> names = new ArrayList<>(tools.keySet());
+        Collections.sort(names);
+        for (String name : names) {
+            Tool tool = tools.get(name);
+            if (tool != null) {
+                list.add(tool.descriptor());
+            }
+        }
+        return result;
+    }
+
+    private JsonNode callTool(JsonNode id, JsonNode params) {
+        String name = params.path("name").asText(null);
+        Tool tool = name != null ? tools.get(name) : null;
+        if (tool == null) {
+            return error(id, INVALID_PARAMS, "Unknown tool: " + name);
+        }
+        JsonNode arguments = params.path("arguments");
+        if (!arguments.isMissingNode() && !arguments.isNull() && !arguments.isObject()) {
+            return error(id, INVALID_PARAMS, "Tool arguments must be an object");
+        }
+        JsonNode values = arguments.isObject() ? arguments : mapper.createObjectNode();
+        ObjectNode result;
+        try {
+            result = tool.cache != null ? tool.cache.get(tool.cacheKey(values), () -> execute(tool, values)) : execute(tool, values);
+        } catch (IllegalArgumentException e) {
+            return error(id, INVALID_PARAMS, e.getMessage());
+        } catch (InterruptedException e) {
+            // Waiting for an identical call in flight; the batch timeout interrupts
+            Thread.currentThread().interrupt();
+            return result(id, toolResult(TextNode.valueOf("Interrupted"), true));
+        }
+        return result(id, result);
+    }
+
+    // Binding errors are thrown as IllegalArgumentException, tool failures become error results
+    private ObjectNode execute(Tool tool, JsonNode arguments) {
+        Object[] values = tool.bind(arguments);
+        ToolConcurrencyLimits limits = concurrencyLimits;
+        ToolConcurrencyLimiter limiter = limits != null ? limits.limiterFor(tool.method) : null;
+        if (limiter != null) {
+            int rejection = limiter.tryAcquire();
+            if (rejection != ToolConcurrencyLimiter.ADMITTED) {
+                limits.rejected(limiter, rejection);
+                return toolResult(TextNode.valueOf("Tool " + tool.name + " is over its concurrency limit, retry later"), true);
+            }
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        Object returned;
+        try {
+            returned = tool.invoker.invoke(values);
+            failed = false;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // Tool failures are results the agent can see, not protocol errors
+            log.debug("MCP tool {} failed", tool.name, e);
+            return toolResult(TextNode.valueOf(String.valueOf(e.getMessage() != null ? e.getMessage() : e)), true);
+        } finally {
+            if (limiter != null) {
+                limiter.release(start, failed);
+            }
+        }
+        return toolResult(returned, false);
+    }
+
+    private ObjectNode toolResult(Object value, boolean error) {
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode content = result.putArray("content");
+        if (value != null) {
+            JsonNode tree = value instanceof JsonNode ? (JsonNode) value : mapper.valueToTree(value);
+            ObjectNode text = content.addObject();
+            text.put("type", "text");
+            text.put("text", tree.isTextual() ? tree.asText() : tree.toString());
+            if (tree.isObject() && !error) {
+                result.set("structuredContent", tree);
+            }
+        }
+        result.put("isError", error);
+        return result;
+    }
+
+    private ObjectNode result(JsonNode id, JsonNode result) {
+        ObjectNode response = mapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", id);
+        response.set("result", result);
+        return response;
+    }
+
+    static ObjectNode error(JsonNode id, int code, String message) {
+        ObjectNode response = JsonNodeFactory.instance.objectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", id);
+        ObjectNode error = response.putObject("error");
+        error.put("code", code);
+        error.put("message", message);
+        return response;
+    }
+
+    // Failed calls are answered again rather than from the cache
+    static final Predicate<ObjectNode> SUCCESSFUL_RESULT = result -> !result.path("isError").asBoolean();
+
+    /**
+     * Positions of the arguments making up the cache key of a tool: those named by
+     * {@code @AutogentTool(cacheKey)}, or every named argument when it is empty.
+     */
+    static int[] cacheArgumentIndexes(Argument[] arguments, AutogentTool toolAnn, String tool) {
+        List<String> names = new ArrayList<>();
+        for (Argument argument : arguments) {
+            names.add(argument.name);
+        }
+        List<Integer> key = new ArrayList<>();
+        if (toolAnn.cacheKey().length == 0) {
+            for (int i = 0; i < arguments.length; i++) {
+                if (arguments[i].name != null) {
+                    key.add(i);
+                }
+            }
+        }
+        for (String name : toolAnn.cacheKey()) {
+            int index = names.indexOf(name);
+            if (index >= 0) {
+                key.add(index);
+            } else {
+                log.warn("Ignoring unknown cache key argument {} of tool {}", name, tool);
+            }
+        }
+        int[] indexes = new int[key.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = key.get(i);
+        }
+        return indexes;
+    }
+
+    /**
+     * A tool method with its argument binding, compiled once when registered.
+     */
+    private final class Tool {
+        final String name;
+        final Object bean;
+        final Method method;
+        final AutogentTool toolAnn;
+        final Argument[] arguments;
+        final ToolInvoker invoker;
+        // Null unless the tool declares a cache TTL
+        final ToolResultCache<ObjectNode> cache;
+        private final String[] cacheArguments;
+        private volatile ObjectNode descriptor;
+
+        Tool(String name, Object bean, Method method, AutogentTool toolAnn) {
+            this.name = name;
+            this.bean = bean;
+            this.method = method;
+            this.toolAnn = toolAnn;
+            Parameter[] parameters = method.getParameters();
+            this.arguments = new Argument[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                arguments[i] = Argument.of(parameters[i], mapper);
+            }
+            // Compiled for the method as resolved on a proxy; binding reads the user class method
+            this.invoker = ToolInvokers.compile(bean, method);
+            this.cacheArguments = caching && toolAnn.cacheTtl() > 0 ? cacheArguments() : null;
+            this.cache = cacheArguments != null
+                    ? new ToolResultCache<ObjectNode>(name, toolAnn.cacheTtl(), toolAnn.cacheMaxEntries(),
+                            SUCCESSFUL_RESULT, McpToolServer.this::getMetrics)
+                    : null;
+        }
+
+        private String[] cacheArguments() {
+            int[] indexes = cacheArgumentIndexes(arguments, toolAnn, name);
+            String[] names = new String[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                names[i] = arguments[indexes[i]].name;
+            }
+            return names;
+        }
+
+        // JSON values compare structurally, so equal arguments in a different field order share an entry
+        List<JsonNode> cacheKey(JsonNode values) {
+            JsonNode[] key = new JsonNode[cacheArguments.length];
+            for (int i = 0; i < key.length; i++) {
+                JsonNode value = values.get(cacheArguments[i]);
+                key[i] = value != null ? value : NullNode.instance;
+            }
+            return Arrays.asList(key);
+        }
+
+        Object[] bind(JsonNode values) {
+            Object[] bound = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                bound[i] = arguments[i].bind(values, mapper);
+            }
+            return bound;
+        }
+
+        // Schemas are deduced on the first tools/list rather than at startup
+        ObjectNode descriptor() {
+            ObjectNode result = descriptor;
+            if (result == null) {
+                result = buildDescriptor();
+                descriptor = result;
+            }
+            return result;
+        }
+
+        private ObjectNode buildDescriptor() {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            List<String> required = new ArrayList<>();
+            for (Argument argument : arguments) {
+                if (argument.name == null) {
+                    continue;
+                }
+                Map<String, Object> schema = new LinkedHashMap<>(schemas.schemaFor(argument.genericType));
+                if (argument.defaultValue != null) {
+                    schema.put("default", argument.defaultValue);
+                }
+                properties.put(argument.name, schema);
+                if (argument.required) {
+                    required.add(argument.name);
+                }
+            }
+            Map<String, Object> input = new LinkedHashMap<>();
+            input.put("type", "object");
+            input.put("properties", properties);
+            if (!required.isEmpty()) {
+                input.put("required", required);
+            }
+            Map<String, Object> definitions = EndpointManifest.referencedDefinitions(
+                    Collections.singletonList(input), schemas.getDefinitions());
+            if (!definitions.isEmpty()) {
+                input.put("$defs", definitions);
+            }
+
+            ObjectNode tool = mapper.createObjectNode();
+            tool.put("name", name);
+            if (!toolAnn.description().isEmpty()) {
+                tool.put("description", toolAnn.description());
+            }
+            tool.set("inputSchema", mapper.valueToTree(input));
+            String httpMethod = ToolMetadataResolver.deduceHttpMethod(method, toolAnn);
+            ObjectNode annotations = tool.putObject("annotations");
+            annotations.put("readOnlyHint", "GET".equalsIgnoreCase(httpMethod));
+            annotations.put("idempotentHint", !"POST".equalsIgnoreCase(httpMethod) && !"PATCH".equalsIgnoreCase(httpMethod));
+            return tool;
+        }
+    }
+
+    /**
+     * How one method parameter is filled from the call arguments.
+     */
+    static final class Argument {
+        // Null for parameters that are not exposed to agents (servlet and framework types)
+        final String name;
+        final java.lang.reflect.Type genericType;
+        final JavaType type;
+        final boolean required;
+        final String defaultValue;
+        private final Object absent;
+
+        private Argument(String name, Parameter parameter, JavaType type, boolean required, String defaultValue) {
+            this.name = name;
+            this.genericType = parameter.getParameterizedType();
+            this.type = type;
+            this.required = required;
+            this.defaultValue = defaultValue;
+            Class<?> raw = parameter.getType();
+            this.absent = raw.isPrimitive() ? Array.get(Array.newInstance(raw, 1), 0) : null;
+        }
+
+        static Argument of(Parameter parameter, ObjectMapper mapper) {
+            JavaType type = mapper.getTypeFactory().constructType(parameter.getParameterizedType());
+            PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+            if (pathVariable != null) {
+                return new Argument(nameOf(pathVariable.value(), pathVariable.name(), parameter), parameter, type,
+                        pathVariable.required(), null);
+            }
+            RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+            if (requestParam != null) {
+                String defaultValue = ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue())
+                        ? null : requestParam.defaultValue();
+                return new Argument(nameOf(requestParam.value(), requestParam.name(), parameter), parameter, type,
+                        requestParam.required() && defaultValue == null, defaultValue);
+            }
+            RequestBody requestBody = parameter.getAnnotation(RequestBody.class);
+            if (requestBody != null) {
+                return new Argument(BODY_ARGUMENT, parameter, type, requestBody.required(), null);
+            }
+            String packageName = parameter.getType().getName();
+            if (packageName.startsWith("javax.servlet.") || packageName.startsWith("jakarta.servlet.")
+                    || packageName.startsWith("org.springframework.")) {
+                return new Argument(null, parameter, type, false, null);
+            }
+            return new Argument(parameter.getName(), parameter, type, false, null);
+        }
+
+        private static String nameOf(String value, String name, Parameter parameter) {
+            if (!value.isEmpty()) {
+                return value;
+            }
+            return name.isEmpty() ? parameter.getName() : name;
+        }
+
+        Object bind(JsonNode arguments, ObjectMapper mapper) {
+            if (name == null) {
+                return absent;
+            }
+            JsonNode value = arguments.get(name);
+            if (value == null || value.isNull()) {
+                if (defaultValue != null) {
+                    value = TextNode.valueOf(defaultValue);
+                } else if (required) {
+                    throw new IllegalArgumentException("Missing required argument: " + name);
+                } else {
+                    return absent;
+                }
+            }
+            try {
+                return mapper.convertValue(value, type);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid argument " + name + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
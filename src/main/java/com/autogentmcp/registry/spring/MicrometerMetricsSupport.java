@@ -0,0 +1,22 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.MicrometerRegistryMetrics;
+import com.autogentmcp.registry.RegistryMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Kept separate from {@link AutogentMcpAutoConfiguration} so Micrometer types are only
+ * loaded after checking that micrometer-core is on the classpath.
+ */
+final class MicrometerMetricsSupport {
+
+    private MicrometerMetricsSupport() {
+    }
+
+    static RegistryMetrics create(ApplicationContext context) {
+        MeterRegistry meterRegistry = context.getBeanProvider(MeterRegistry.class).getIfUnique();
+        return meterRegistry != null ? new MicrometerRegistryMetrics(meterRegistry) : RegistryMetrics.NOOP;
+    }
+}
@@ -0,0 +1,360 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.EndpointManifest;
+import com.autogentmcp.registry.Heartbeat;
+import com.autogentmcp.registry.RegistrationStatus;
+import com.autogentmcp.registry.RegistryClient;
+import com.autogentmcp.registry.RegistryMetrics;
+import com.autogentmcp.registry.RegistryScheduler;
+import com.autogentmcp.registry.RetryPolicy;
+import com.autogentmcp.registry.SerializedEndpoints;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registers the application with the additional registries from {@code autogentmcp.targets}.
+ * <p>
+ * Every target runs on its own thread of a dedicated executor, so N targets cost one
+ * registry round trip of wall time rather than N, and never hold up startup. The endpoint
+ * catalog is serialized once and the same bytes are sent to each target. A target keeps
+ * its own client (retry policy, circuit breaker, tagged metrics), {@link RegistrationStatus},
+ * background re-registration and heartbeat, so a slow or failing registry only affects itself.
+ * <p>
+ * With lowest-latency regional selection, regional targets are probed in parallel first
+ * and only the fastest one is registered with; the others stay on standby. When the
+ * selected target fails, the next-fastest reachable standby takes over and the failed one
+ * goes on standby; once every reachable standby has failed, the last one is retried.
+ */
+final class RegistryFanOut {
+    private static final Logger log = LoggerFactory.getLogger(RegistryFanOut.class);
+
+    /**
+     * One registry and its registration state.
+     */
+    static final class Target {
+        final String name;
+        final RegistryClient client;
+        final String appKey;
+        final String environment;
+        final String region;
+        final RegistrationStatus status = new RegistrationStatus();
+        final AtomicInteger attempts = new AtomicInteger();
+        volatile boolean appRegistered;
+        volatile boolean standby;
+        // Set once this target failed as the selected regional target, so it is not promoted again
+        volatile boolean failedOver;
+        // Round trip of the selection probe, -1 when not probed or unreachable
+        volatile long probeNanos = -1;
+        // Completes once regional selection and the application update have run
+        CompletableFuture<Void> ready = CompletableFuture.completedFuture(null);
+        // Guarded by the fan-out
+        ScheduledFuture<?> retry;
+        Heartbeat heartbeat;
+
+        Target(String name, RegistryClient client, String appKey, String environment, String region) {
+            this.name = name;
+            this.client = client;
+            this.appKey = appKey;
+            this.environment = environment;
+            this.region = region != null && !region.isEmpty() ? region : null;
+        }
+    }
+
+    /**
+     * Starts the heartbeat of a registered target, or returns null when heartbeats are off.
+     */
+    interface HeartbeatFactory {
+        Heartbeat start(RegistryClient client, String appKey, String environment, Executor sender);
+    }
+
+    private final List<Target> targets;
+    private final ExecutorService executor;
+    private final Callable<SerializedEndpoints> catalog;
+    private final boolean lowestLatency;
+    private final RetryPolicy reregistration;
+    private final HeartbeatFactory heartbeats;
+    private volatile Map<String, Object> appData;
+    // Set once all tools are known; until then retries only update the application
+    private volatile boolean endpointsReady;
+    private volatile boolean closed;
+
+    /**
+     * @param catalog        serializes the current endpoint catalog, used for retries after startup
+     * @param lowestLatency  register only with the fastest regional target
+     * @param reregistration backoff between background retries of a failed target, null disables them
+     */
+    RegistryFanOut(List<Target> targets, ExecutorService executor, Callable<SerializedEndpoints> catalog,
+                   boolean lowestLatency, RetryPolicy reregistration, HeartbeatFactory heartbeats) {
+        this.targets = Collections.unmodifiableList(new ArrayList<>(targets));
+        this.executor = executor;
+        this.catalog = catalog;
+        this.lowestLatency = lowestLatency;
+        this.reregistration = reregistration;
+        this.heartbeats = heartbeats;
+    }
+
+    List<Target> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Selects regional targets and updates the application on every active target, in the background.
+     */
+    void start(Map<String, Object> appData) {
+        this.appData = appData;
+        CompletableFuture<Void> selection = lowestLatency
+                ? CompletableFuture.runAsync(this::selectRegionalTarget, executor)
+                : CompletableFuture.<Void>completedFuture(null);
+        for (Target target : targets) {
+            target.ready = selection.thenRunAsync(() -> {
+                if (!target.standby) {
+                    target.status.markPending();
+                    updateApplication(target);
+                }
+            }, executor);
+        }
+    }
+
+    // Probes all regional targets in parallel and keeps the one with the lowest round trip
+    private void selectRegionalTarget() {
+        List<Target> regional = new ArrayList<>();
+        for (Target target : targets) {
+            if (target.region != null) {
+                regional.add(target);
+            }
+        }
+        if (regional.size() < 2) {
+            return;
+        }
+        List<CompletableFuture<Void>> probes = new ArrayList<>(regional.size());
+        for (Target target : regional) {
+            probes.add(CompletableFuture.runAsync(() -> {
+                try {
+                    target.probeNanos = target.client.probeLatency();
+                } catch (Exception e) {
+                    log.info("Registry target {} ({}) is unreachable: {}", target.name, target.region, e.toString());
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(probes.toArray(new CompletableFuture[0])).join();
+
+        // Unreachable targets are ranked last; with none reachable the first one is kept and retried
+        Target selected = regional.get(0);
+        for (Target target : regional) {
+            if (target.probeNanos >= 0 && (selected.probeNanos < 0 || target.probeNanos < selected.probeNanos)) {
+                selected = target;
+            }
+        }
+        for (Target target : regional) {
+            if (target != selected) {
+                target.standby = true;
+                log.info("Registry target {} ({}) on standby, {} ({}) answered faster", target.name, target.region,
+                        selected.name, selected.region);
+            }
+        }
+        log.info("Selected regional registry target {} ({}), probe {} ms", selected.name, selected.region,
+                selected.probeNanos >= 0 ? TimeUnit.NANOSECONDS.toMillis(selected.probeNanos) : "n/a");
+    }
+
+    private boolean updateApplication(Target target) {
+        if (target.appRegistered) {
+            return true;
+        }
+        try {
+            String response = target.client.updateApplication(target.appKey, appData);
+            log.info("Registry target {} updateApplication response: {}", target.name, response);
+            target.appRegistered = true;
+            return true;
+        } catch (Exception e) {
+            fail(target, "update application", e);
+            return false;
+        }
+    }
+
+    /**
+     * Sends the serialized catalog to every active target once its application update is done.
+     */
+    void registerEndpoints(SerializedEndpoints endpoints) {
+        endpointsReady = true;
+        for (Target target : targets) {
+            target.ready.thenRunAsync(() -> register(target, endpoints), executor);
+        }
+    }
+
+    private void register(Target target, SerializedEndpoints endpoints) {
+        if (closed || target.standby || !target.appRegistered) {
+            // A failed application update has already scheduled its retry
+            return;
+        }
+        try {
+            String response = target.client.registerEndpointsBatch(target.appKey, target.environment, endpoints);
+            log.info("Registered {} endpoints with registry target {}: {}", endpoints.size(), target.name, response);
+            target.status.markRegistered();
+            target.attempts.set(0);
+            startHeartbeat(target);
+        } catch (Exception e) {
+            fail(target, "register endpoints", e);
+        }
+    }
+
+    /**
+     * Applies runtime tool changes to every registered target; a target that cannot take the
+     * delta receives the whole catalog again.
+     */
+    void publish(EndpointManifest.Delta delta, Map<String, Object> definitions) {
+        for (Target target : targets) {
+            if (closed || target.standby || !target.status.isRegistered()) {
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        target.client.setSchemaDefinitions(definitions);
+                        target.client.applyEndpointChanges(target.appKey, target.environment, delta);
+                    } catch (Exception e) {
+                        log.info("Registry target {} did not take endpoint changes ({}), sending all endpoints",
+                                target.name, e.toString());
+                        retry(target);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Registry target executor shut down, dropping endpoint changes for {}", target.name);
+            }
+        }
+    }
+
+    private void fail(Target target, String what, Exception e) {
+        log.error("Registry target {} failed to {}", target.name, what, e);
+        target.status.markFailed(e);
+        Target promoted = promoteStandby(target);
+        if (promoted == null) {
+            scheduleRetry(target);
+            return;
+        }
+        log.warn("Registry target {} ({}) failed, failing over to standby {} ({})", target.name, target.region,
+                promoted.name, promoted.region);
+        try {
+            executor.execute(() -> retry(promoted));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Registry target executor shut down, not failing over to {}", promoted.name);
+        }
+    }
+
+    // Hands the role of a failed selected regional target to the fastest reachable standby, null when there is none
+    private synchronized Target promoteStandby(Target failed) {
+        if (closed || !lowestLatency || failed.region == null || failed.standby) {
+            return null;
+        }
+        Target next = null;
+        for (Target target : targets) {
+            if (target.standby && !target.failedOver && target.probeNanos >= 0
+                    && (next == null || target.probeNanos < next.probeNanos)) {
+                next = target;
+            }
+        }
+        if (next == null) {
+            return null;
+        }
+        failed.standby = true;
+        failed.failedOver = true;
+        if (failed.retry != null) {
+            failed.retry.cancel(false);
+            failed.retry = null;
+        }
+        if (failed.heartbeat != null) {
+            failed.heartbeat.stop();
+            failed.heartbeat = null;
+        }
+        next.standby = false;
+        next.status.markPending();
+        return next;
+    }
+
+    private synchronized void scheduleRetry(Target target) {
+        if (closed || reregistration == null || (target.retry != null && !target.retry.isDone())) {
+            return;
+        }
+        int attempt = target.attempts.incrementAndGet();
+        long delay = reregistration.delayForAttempt(attempt);
+        log.info("Retrying registration with registry target {} in {} ms (attempt {})", target.name, delay, attempt);
+        target.retry = RegistryScheduler.shared().schedule(() -> {
+            try {
+                executor.execute(() -> retry(target));
+            } catch (RejectedExecutionException e) {
+                log.debug("Registry target executor shut down, stopping retries for {}", target.name);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void retry(Target target) {
+        synchronized (this) {
+            target.retry = null;
+        }
+        if (closed || !updateApplication(target) || !endpointsReady) {
+            return;
+        }
+        SerializedEndpoints endpoints;
+        try {
+            endpoints = catalog.call();
+        } catch (Exception e) {
+            fail(target, "serialize endpoints", e);
+            return;
+        }
+        register(target, endpoints);
+    }
+
+    private synchronized void startHeartbeat(Target target) {
+        if (closed || heartbeats == null || target.heartbeat != null) {
+            return;
+        }
+        // Beats are sent on the target executor, so an unresponsive target never holds up the shared scheduler
+        target.heartbeat = heartbeats.start(target.client, target.appKey, target.environment, executor);
+    }
+
+    void bindMetrics(RegistryMetrics metrics) {
+        for (Target target : targets) {
+            target.client.setMetrics(metrics.forTarget(target.name));
+        }
+    }
+
+    /**
+     * Registration state per target name, in configuration order.
+     */
+    Map<String, RegistrationStatus> getStatuses() {
+        Map<String, RegistrationStatus> statuses = new LinkedHashMap<>();
+        for (Target target : targets) {
+            statuses.put(target.name, target.status);
+        }
+        return Collections.unmodifiableMap(statuses);
+    }
+
+    synchronized void close() {
+        closed = true;
+        for (Target target : targets) {
+            if (target.retry != null) {
+                target.retry.cancel(false);
+                target.retry = null;
+            }
+            if (target.heartbeat != null) {
+                target.heartbeat.stop();
+                target.heartbeat = null;
+            }
+        }
+        executor.shutdownNow();
+    }
+}
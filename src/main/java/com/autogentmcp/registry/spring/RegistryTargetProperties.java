@@ -0,0 +1,71 @@
+package com.autogentmcp.registry.spring;
+
+/**
+ * One additional registry the application registers with, bound from
+ * {@code autogentmcp.targets[n].*}. Unset values fall back to the primary registry's
+ * {@code autogentmcp.api-key}, the {@code @EnableAutogentMcp} key and {@code autogentmcp.environment}.
+ */
+public class RegistryTargetProperties {
+
+    private String name;
+    private String registryUrl;
+    private String apiKey;
+    private String appKey;
+    private String environment;
+    private String region;
+
+    /**
+     * Identifies the target in logs, metrics and health details; defaults to {@code target-<n>}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRegistryUrl() {
+        return registryUrl;
+    }
+
+    public void setRegistryUrl(String registryUrl) {
+        this.registryUrl = registryUrl;
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public void setApiKey(String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    public String getAppKey() {
+        return appKey;
+    }
+
+    public void setAppKey(String appKey) {
+        this.appKey = appKey;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public void setEnvironment(String environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Marks a regional target. With {@code autogentmcp.regional-selection=lowest-latency}
+     * only the regional target that answers fastest is registered with.
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+}
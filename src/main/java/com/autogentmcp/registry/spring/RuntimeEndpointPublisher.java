@@ -0,0 +1,217 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.EndpointManifest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes tools that appear or disappear after startup as debounced, coalesced deltas.
+ * <p>
+ * Changes are recorded per endpoint key as the endpoint's latest content (or its removal).
+ * A flush runs once no change arrived for {@code debounceMs}, but no later than
+ * {@code maxDelayMs} after the first pending change, and sends only what differs from the
+ * content last published: an endpoint added and removed again within one window is never
+ * sent. Nothing is published before {@link #markPublished(List, Map)} records the initial
+ * registration; changes arriving earlier are kept and compared against it. A failed
+ * publish keeps its changes pending and is retried after {@code maxDelayMs}.
+ * <p>
+ * The scheduler only times flushes; the blocking registry calls of a flush run on the
+ * given executor so they never hold up the shared scheduler thread.
+ */
+final class RuntimeEndpointPublisher {
+    private static final Logger log = LoggerFactory.getLogger(RuntimeEndpointPublisher.class);
+
+    // Marks a removed endpoint in the pending changes (compared by identity)
+    private static final Map<String, Object> REMOVED = Collections.unmodifiableMap(new HashMap<String, Object>());
+
+    /**
+     * Sends one delta to the registry.
+     */
+    interface Sink {
+        void publish(EndpointManifest.Delta delta) throws Exception;
+    }
+
+    private final Sink sink;
+    private final Supplier<Map<String, Object>> definitions;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final long debounceMs;
+    private final long maxDelayMs;
+
+    // Serializes flushes so the published baseline is only updated by one of them at a time
+    private final Object flushLock = new Object();
+    // Guarded by this
+    private final Map<String, Map<String, Object>> pending = new HashMap<>();
+    private Map<String, String> published;
+    private ScheduledFuture<?> scheduledFlush;
+    private long firstPendingAt;
+    private boolean closed;
+    private int publishedDeltas;
+
+    RuntimeEndpointPublisher(Sink sink, Supplier<Map<String, Object>> definitions, ScheduledExecutorService scheduler,
+                             Executor executor, long debounceMs, long maxDelayMs) {
+        this.sink = sink;
+        this.definitions = definitions;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.debounceMs = Math.max(0, debounceMs);
+        this.maxDelayMs = Math.max(this.debounceMs, maxDelayMs);
+    }
+
+    /**
+     * Records the endpoints registered as a whole and starts publishing changes on top of them.
+     */
+    synchronized void markPublished(List<Map<String, Object>> endpoints, Map<String, Object> schemaDefinitions) {
+        published = new HashMap<>(EndpointManifest.of(endpoints, schemaDefinitions).getHashes());
+        if (!pending.isEmpty()) {
+            schedule(debounceMs);
+        }
+    }
+
+    synchronized void added(Map<String, Object> endpoint) {
+        record(EndpointManifest.keyOf(endpoint), endpoint);
+    }
+
+    synchronized void removed(Map<String, Object> endpoint) {
+        record(EndpointManifest.keyOf(endpoint), REMOVED);
+    }
+
+    private void record(String key, Map<String, Object> endpoint) {
+        if (closed) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (pending.isEmpty()) {
+            firstPendingAt = now;
+        }
+        pending.put(key, endpoint);
+        if (published != null) {
+            // Debounce, but never postpone past maxDelayMs from the first pending change
+            schedule(Math.max(0, Math.min(debounceMs, firstPendingAt + maxDelayMs - now)));
+        }
+    }
+
+    private void schedule(long delayMs) {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = scheduler.schedule(this::dispatchFlush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatchFlush() {
+        try {
+            executor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            log.debug("Runtime tool publishing executor shut down, dropping pending changes");
+        }
+    }
+
+    /**
+     * Publishes the pending changes now. Called on the executor, and directly by tests.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            flushPending();
+        }
+    }
+
+    private void flushPending() {
+        Map<String, Map<String, Object>> changes;
+        Map<String, String> baseline;
+        synchronized (this) {
+            if (closed || published == null || pending.isEmpty()) {
+                return;
+            }
+            changes = new HashMap<>(pending);
+            pending.clear();
+            baseline = published;
+            scheduledFlush = null;
+        }
+
+        List<Map<String, Object>> present = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> change : changes.entrySet()) {
+            if (change.getValue() == REMOVED) {
+                if (baseline.containsKey(change.getKey())) {
+                    removed.add(change.getKey());
+                }
+            } else {
+                present.add(change.getValue());
+            }
+        }
+        Map<String, String> hashes = EndpointManifest.of(present, definitions.get()).getHashes();
+        List<Map<String, Object>> added = new ArrayList<>();
+        List<Map<String, Object>> updated = new ArrayList<>();
+        for (Map<String, Object> endpoint : present) {
+            String key = EndpointManifest.keyOf(endpoint);
+            String before = baseline.get(key);
+            if (before == null) {
+                added.add(endpoint);
+            } else if (!before.equals(hashes.get(key))) {
+                updated.add(endpoint);
+            }
+        }
+        EndpointManifest.Delta delta = EndpointManifest.Delta.of(added, updated, removed);
+        if (delta.isEmpty()) {
+            log.debug("Runtime tool changes cancel out, nothing to publish");
+            return;
+        }
+        try {
+            sink.publish(delta);
+        } catch (Exception e) {
+            log.warn("Failed to publish runtime tool changes {}, retrying in {} ms", delta, maxDelayMs, e);
+            synchronized (this) {
+                // Newer changes for the same endpoints win over the failed ones
+                for (Map.Entry<String, Map<String, Object>> change : changes.entrySet()) {
+                    pending.putIfAbsent(change.getKey(), change.getValue());
+                }
+                if (!closed) {
+                    firstPendingAt = System.currentTimeMillis();
+                    schedule(maxDelayMs);
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            for (String key : removed) {
+                published.remove(key);
+            }
+            for (Map<String, Object> endpoint : added) {
+                String key = EndpointManifest.keyOf(endpoint);
+                published.put(key, hashes.get(key));
+            }
+            for (Map<String, Object> endpoint : updated) {
+                String key = EndpointManifest.keyOf(endpoint);
+                published.put(key, hashes.get(key));
+            }
+            publishedDeltas++;
+        }
+        log.info("Published runtime tool changes {}", delta);
+    }
+
+    synchronized int getPublishedDeltaCount() {
+        return publishedDeltas;
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.RegistryExecutors;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Runs a batch of tool calls against the embedded MCP server concurrently and hands each
+ * JSON-RPC response to the caller as soon as its call completes, so one slow tool does not
+ * hold back the others.
+ * <p>
+ * Calls run on virtual threads when the JDK has them, otherwise on a pool of daemon
+ * threads; either way at most {@code threads} tool calls run at once across all batches.
+ * Within a batch at most {@code maxConcurrency} calls are in flight, and the rest start as
+ * earlier ones finish. A call still running after its timeout is answered with a
+ * {@link McpToolServer#REQUEST_TIMEOUT} error and its thread is interrupted. Timeouts fire
+ * on a timer thread of their own rather than the shared {@code RegistryScheduler}, where a
+ * slow registry call would delay them.
+ */
+final class ToolBatchExecutor implements AutoCloseable {
+
+    private final McpToolServer server;
+    private final ExecutorService executor;
+    // Only completes timed-out calls and interrupts them, never blocks
+    private final ScheduledThreadPoolExecutor timer;
+    private final Semaphore running;
+    private final int maxCalls;
+    private final int maxConcurrency;
+    private final long timeoutMillis;
+
+    ToolBatchExecutor(McpToolServer server, int threads, int maxCalls, int maxConcurrency, long timeoutMillis) {
+        this.server = server;
+        this.executor = RegistryExecutors.newRegistryExecutor("autogentmcp-tool", threads);
+        this.timer = new ScheduledThreadPoolExecutor(1, RegistryExecutors.daemonThreadFactory("autogentmcp-tool-timeout"));
+        // Most calls finish well before their timeout, whose cancelled tasks must not pile up in the queue
+        timer.setRemoveOnCancelPolicy(true);
+        this.running = new Semaphore(threads);
+        this.maxCalls = maxCalls;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs the calls of a batch, an array of {@code {"id", "name", "arguments", "timeout"}}
+     * objects where only {@code name} is required; {@code id} defaults to the position in the
+     * batch and {@code timeout} (ms) can only shorten the configured timeout. Blocks until
+     * every call has been answered, passing the responses to {@code sink} on the calling
+     * thread in completion order. Calls still running when {@code sink} throws or the
+     * calling thread is interrupted are cancelled.
+     *
+     * @throws IllegalArgumentException when the batch is not a non-empty array within the size limit
+     */
+    void execute(JsonNode batch, Consumer<JsonNode> sink) throws InterruptedException {
+        List<Call> calls = parse(batch);
+        BlockingQueue<Call> completed = new LinkedBlockingQueue<>();
+        Deque<Call> waiting = new ArrayDeque<>(calls.size());
+        for (Call call : calls) {
+            if (call.response != null) {
+                completed.add(call);
+            } else {
+                waiting.add(call);
+            }
+        }
+        try {
+            for (int i = 0; i < maxConcurrency && !waiting.isEmpty(); i++) {
+                start(waiting.poll(), completed);
+            }
+            for (int remaining = calls.size(); remaining > 0; remaining--) {
+                Call call = completed.take();
+                if (!waiting.isEmpty() && call.task != null) {
+                    start(waiting.poll(), completed);
+                }
+                sink.accept(call.response);
+            }
+        } finally {
+            for (Call call : calls) {
+                call.cancel();
+            }
+        }
+    }
+
+    /**
+     * Rejects anything but a non-empty array of at most {@code maxCalls} tool calls, so
+     * transports can answer with an error before they start streaming.
+     */
+    void checkBatch(JsonNode batch) {
+        if (batch == null || !batch.isArray() || batch.size() == 0) {
+            throw new IllegalArgumentException("Batch must be a non-empty array of tool calls");
+        }
+        if (batch.size() > maxCalls) {
+            throw new IllegalArgumentException("Batch of " + batch.size() + " tool calls exceeds the limit of " + maxCalls);
+        }
+    }
+
+    private List<Call> parse(JsonNode batch) {
+        checkBatch(batch);
+        List<Call> calls = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            JsonNode item = batch.get(i);
+            JsonNode id = item.hasNonNull("id") ? item.get("id") : IntNode.valueOf(i);
+            Call call = new Call(id);
+            if (!item.isObject()) {
+                call.response = McpToolServer.error(id, McpToolServer.INVALID_REQUEST, "Tool call must be an object");
+            } else {
+                ObjectNode request = JsonNodeFactory.instance.objectNode();
+                request.put("jsonrpc", "2.0");
+                request.set("id", id);
+                request.put("method", "tools/call");
+                ObjectNode params = request.putObject("params");
+                params.set("name", item.get("name"));
+                params.set("arguments", item.get("arguments"));
+                call.request = request;
+                long requested = item.path("timeout").asLong(0);
+                call.timeoutMillis = requested > 0 ? Math.min(requested, timeoutMillis) : timeoutMillis;
+            }
+            calls.add(call);
+        }
+        return calls;
+    }
+
+    private void start(Call call, BlockingQueue<Call> completed) {
+        call.completed = completed;
+        call.timeout = timer.schedule(() -> {
+            if (call.complete(McpToolServer.error(call.id, McpToolServer.REQUEST_TIMEOUT,
+                    "Tool call timed out after " + call.timeoutMillis + " ms"))) {
+                Future<?> task = call.task;
+                if (task != null) {
+                    task.cancel(true);
+                }
+            }
+        }, call.timeoutMillis, TimeUnit.MILLISECONDS);
+        call.task = executor.submit(() -> {
+            try {
+                running.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                call.complete(server.handle(call.request));
+            } finally {
+                running.release();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private static final class Call {
+        final JsonNode id;
+        ObjectNode request;
+        long timeoutMillis;
+        // Written by whichever of the tool thread and the timer completes the call first
+        volatile JsonNode response;
+        volatile BlockingQueue<Call> completed;
+        volatile Future<?> task;
+        volatile ScheduledFuture<?> timeout;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Call(JsonNode id) {
+            this.id = id;
+        }
+
+        boolean complete(JsonNode result) {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            response = result;
+            ScheduledFuture<?> pending = timeout;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            completed.add(this);
+            return true;
+        }
+
+        void cancel() {
+            if (done.compareAndSet(false, true)) {
+                ScheduledFuture<?> pending = timeout;
+                if (pending != null) {
+                    pending.cancel(false);
+                }
+                Future<?> running = task;
+                if (running != null) {
+                    running.cancel(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.autogentmcp.registry.spring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Replaces Spring MVC's handler adapter with a {@link ToolCachingHandlerAdapter}, so the HTTP
+ * endpoints of tools declaring {@code @AutogentTool(cacheTtl)} are answered from a result
+ * cache; {@code autogentmcp.mcp-server.cache.enabled=false} turns tool caches off altogether.
+ * Spring Boot ignores {@link WebMvcRegistrations} when the context holds more than one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "autogentmcp.mcp-server.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ToolCacheConfiguration implements WebMvcRegistrations {
+
+    private final AutogentMcpAutoConfiguration autoConfiguration;
+
+    public ToolCacheConfiguration(AutogentMcpAutoConfiguration autoConfiguration) {
+        this.autoConfiguration = autoConfiguration;
+    }
+
+    @Override
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+        return new ToolCachingHandlerAdapter(autoConfiguration);
+    }
+}
@@ -0,0 +1,41 @@
+package com.autogentmcp.registry.spring;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+/**
+ * Spring MVC handler adapter that answers the HTTP endpoints of cacheable tools from their
+ * {@link HttpToolResultCaches} entry. Arguments are resolved as usual; only the handler
+ * invocation itself is skipped on a hit, so the cached value is written by the regular
+ * return value handlers and message converters.
+ */
+class ToolCachingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private final AutogentMcpAutoConfiguration autoConfiguration;
+
+    ToolCachingHandlerAdapter(AutogentMcpAutoConfiguration autoConfiguration) {
+        this.autoConfiguration = autoConfiguration;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        HttpToolResultCaches caches = autoConfiguration.getHttpToolResultCaches();
+        HttpToolResultCaches.CachedHandler cache = caches != null ? caches.cacheFor(handlerMethod.getMethod()) : null;
+        return cache != null ? new CachingHandlerMethod(handlerMethod, cache) : super.createInvocableHandlerMethod(handlerMethod);
+    }
+
+    private static final class CachingHandlerMethod extends ServletInvocableHandlerMethod {
+        private final HttpToolResultCaches.CachedHandler cache;
+
+        CachingHandlerMethod(HandlerMethod handlerMethod, HttpToolResultCaches.CachedHandler cache) {
+            super(handlerMethod);
+            this.cache = cache;
+        }
+
+        @Override
+        protected Object doInvoke(Object... args) throws Exception {
+            return cache.invoke(args, () -> super.doInvoke(args));
+        }
+    }
+}
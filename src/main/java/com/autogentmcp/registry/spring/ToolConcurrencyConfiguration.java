@@ -0,0 +1,32 @@
+package com.autogentmcp.registry.spring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adds the {@link ToolConcurrencyInterceptor} to Spring MVC so the HTTP endpoints of tools
+ * are held to their concurrency limits; {@code autogentmcp.concurrency.enabled=false} turns
+ * limits off altogether.
+ */
+@Configuration
+@ConditionalOnProperty(name = "autogentmcp.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ToolConcurrencyConfiguration implements WebMvcConfigurer {
+
+    private final AutogentMcpAutoConfiguration autoConfiguration;
+
+    // Seconds a rejected client is asked to wait before retrying
+    @Value("${autogentmcp.concurrency.retry-after:1}")
+    private long retryAfter = 1;
+
+    public ToolConcurrencyConfiguration(AutogentMcpAutoConfiguration autoConfiguration) {
+        this.autoConfiguration = autoConfiguration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ToolConcurrencyInterceptor(autoConfiguration, retryAfter));
+    }
+}
@@ -0,0 +1,80 @@
+package com.autogentmcp.registry.spring;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Enforces tool concurrency limits on the HTTP endpoints of {@code @AutogentTool} methods.
+ * A rejected request is answered right away with 429 (declared limit) or 503 (adaptive
+ * limit) and a {@code Retry-After}, before the handler runs, so it holds its servlet thread
+ * only for the admission check. Handlers of other endpoints cost one map lookup.
+ * <p>
+ * An admitted request keeps its slot across async dispatches and frees it in
+ * {@link #afterCompletion}; 5xx answers and handler exceptions count as failed calls for
+ * the adaptive limit.
+ */
+class ToolConcurrencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SLOT = ToolConcurrencyInterceptor.class.getName() + ".slot";
+
+    private final AutogentMcpAutoConfiguration autoConfiguration;
+    private final String retryAfterSeconds;
+
+    ToolConcurrencyInterceptor(AutogentMcpAutoConfiguration autoConfiguration, long retryAfterSeconds) {
+        this.autoConfiguration = autoConfiguration;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        ToolConcurrencyLimits limits = autoConfiguration.getToolConcurrencyLimits();
+        if (limits == null || !(handler instanceof HandlerMethod) || request.getAttribute(SLOT) != null) {
+            return true;
+        }
+        ToolConcurrencyLimiter limiter = limits.limiterFor(((HandlerMethod) handler).getMethod());
+        if (limiter == null) {
+            return true;
+        }
+        int rejection = limiter.tryAcquire();
+        if (rejection == ToolConcurrencyLimiter.ADMITTED) {
+            request.setAttribute(SLOT, new Slot(limiter, System.nanoTime()));
+            return true;
+        }
+        limits.rejected(limiter, rejection);
+        response.setStatus(rejection);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"error\":\"Tool " + limiter.getTool() + " is over its concurrency limit\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object slot = request.getAttribute(SLOT);
+        if (slot instanceof Slot) {
+            request.removeAttribute(SLOT);
+            ((Slot) slot).release(ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private static final class Slot {
+        private final ToolConcurrencyLimiter limiter;
+        private final long startNanos;
+
+        Slot(ToolConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        void release(boolean failed) {
+            limiter.release(startNanos, failed);
+        }
+    }
+}
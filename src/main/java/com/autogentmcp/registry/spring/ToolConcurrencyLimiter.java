@@ -0,0 +1,142 @@
+package com.autogentmcp.registry.spring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit of one tool: a fixed bulkhead, an adaptive limit below it, or both.
+ * <p>
+ * Admission is a compare-and-set on the tool's own in-flight counter, so tools never
+ * contend with each other and no lock is taken. Calls over the declared limit are rejected
+ * as {@link #BULKHEAD_FULL}, calls between the adaptive and the declared limit as
+ * {@link #SHED}.
+ * <p>
+ * The adaptive limit follows AIMD on latency: every completed call is compared with an
+ * exponentially smoothed average of earlier ones. A failed call, or one slower than
+ * {@code tolerance} times the average, cuts the limit by {@code backoffRatio}; otherwise the
+ * limit grows by one while at least half of it is in use. Updates race benignly, the limit
+ * stays within {@code [minLimit, maxLimit]}.
+ */
+final class ToolConcurrencyLimiter {
+
+    static final int ADMITTED = 0;
+    static final int BULKHEAD_FULL = 429;
+    static final int SHED = 503;
+
+    // Weight of the newest sample in the latency average
+    private static final double SMOOTHING = 0.05;
+
+    private final String tool;
+    // Declared limit, Integer.MAX_VALUE without one
+    private final int bulkhead;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private volatile double averageLatencyNanos;
+    private final LongAdder bulkheadRejections = new LongAdder();
+    private final LongAdder shedRejections = new LongAdder();
+
+    ToolConcurrencyLimiter(String tool, int bulkhead, ToolConcurrencyLimits.Adaptive adaptive) {
+        this.tool = tool;
+        this.bulkhead = bulkhead > 0 ? bulkhead : Integer.MAX_VALUE;
+        this.adaptive = adaptive != null;
+        if (adaptive != null) {
+            this.maxLimit = Math.min(this.bulkhead, Math.max(1, adaptive.maxLimit));
+            this.minLimit = Math.min(maxLimit, Math.max(1, adaptive.minLimit));
+            this.tolerance = Math.max(1d, adaptive.tolerance);
+            this.backoffRatio = Math.min(0.99d, Math.max(0.1d, adaptive.backoffRatio));
+            this.limit = Math.max(minLimit, Math.min(maxLimit, adaptive.initialLimit));
+        } else {
+            this.maxLimit = this.bulkhead;
+            this.minLimit = this.bulkhead;
+            this.tolerance = 0d;
+            this.backoffRatio = 1d;
+            this.limit = this.bulkhead;
+        }
+    }
+
+    /**
+     * Takes a slot for one call. Returns {@link #ADMITTED}, or the HTTP status the call is
+     * rejected with; only admitted calls must be {@link #release released}.
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= bulkhead) {
+                bulkheadRejections.increment();
+                return BULKHEAD_FULL;
+            }
+            if (current >= limit) {
+                shedRejections.increment();
+                return SHED;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return ADMITTED;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of an admitted call that started at {@code startNanos} ({@link System#nanoTime()}).
+     */
+    void release(long startNanos, boolean failed) {
+        int concurrent = inFlight.getAndDecrement();
+        if (adaptive) {
+            adapt(System.nanoTime() - startNanos, concurrent, failed);
+        }
+    }
+
+    private void adapt(long latencyNanos, int concurrent, boolean failed) {
+        double average = averageLatencyNanos;
+        averageLatencyNanos = average == 0d ? latencyNanos : average + (latencyNanos - average) * SMOOTHING;
+        int current = limit;
+        if (failed || (average > 0d && latencyNanos > average * tolerance)) {
+            limit = Math.max(minLimit, (int) (current * backoffRatio));
+        } else if (concurrent * 2 >= current && current < maxLimit) {
+            limit = current + 1;
+        }
+    }
+
+    String getTool() {
+        return tool;
+    }
+
+    int getLimit() {
+        return Math.min(limit, bulkhead);
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getBulkheadRejections() {
+        return bulkheadRejections.sum();
+    }
+
+    long getShedRejections() {
+        return shedRejections.sum();
+    }
+
+    /**
+     * Current state as reported to the registry.
+     */
+    Map<String, Object> snapshot() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("limit", getLimit());
+        if (bulkhead != Integer.MAX_VALUE) {
+            state.put("maxConcurrency", bulkhead);
+        }
+        state.put("adaptive", adaptive);
+        state.put("inFlight", getInFlight());
+        state.put("rejectedBulkhead", getBulkheadRejections());
+        state.put("rejectedShed", getShedRejections());
+        return state;
+    }
+}
@@ -0,0 +1,109 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.RegistryMetrics;
+
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link ToolConcurrencyLimiter}s of the application's tools, looked up by tool method
+ * from the MVC interceptor and the embedded MCP server so both entry points share one limit.
+ * <p>
+ * A tool gets a limiter when {@code autogentmcp.concurrency.limits.<tool>} or
+ * {@code @AutogentTool(maxConcurrency)} declares a limit (the property wins), or when the
+ * adaptive limit is enabled, which then applies to every tool.
+ */
+final class ToolConcurrencyLimits {
+
+    /**
+     * Settings of the adaptive limit, shared by all tools.
+     */
+    static final class Adaptive {
+        int initialLimit = 20;
+        int minLimit = 1;
+        int maxLimit = 200;
+        double tolerance = 2.0;
+        double backoffRatio = 0.9;
+    }
+
+    private final Map<String, Integer> declaredLimits;
+    // Null when only declared limits apply
+    private final Adaptive adaptive;
+    private final ConcurrentMap<Method, ToolConcurrencyLimiter> byMethod = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ToolConcurrencyLimiter> byName = new ConcurrentHashMap<>();
+    private volatile RegistryMetrics metrics = RegistryMetrics.NOOP;
+
+    ToolConcurrencyLimits(Map<String, Integer> declaredLimits, Adaptive adaptive) {
+        this.declaredLimits = declaredLimits;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Whether limits are configured by property or adaptive mode, rather than only declared by the tools.
+     */
+    boolean isConfigured() {
+        return !declaredLimits.isEmpty() || adaptive != null;
+    }
+
+    /**
+     * Creates the limiter of a tool method if it has a limit; tools sharing a name share a limiter.
+     */
+    void register(Method method) {
+        AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+        String name = toolAnn.name().isEmpty() ? method.getName() : toolAnn.name();
+        Integer declared = declaredLimits.get(name);
+        int bulkhead = declared != null ? declared : toolAnn.maxConcurrency();
+        if (bulkhead <= 0 && adaptive == null) {
+            return;
+        }
+        ToolConcurrencyLimiter limiter = byName.computeIfAbsent(name, n -> {
+            ToolConcurrencyLimiter created = new ToolConcurrencyLimiter(n, bulkhead, adaptive);
+            metrics.bindToolConcurrency(n, created::getLimit, created::getInFlight);
+            return created;
+        });
+        byMethod.putIfAbsent(method, limiter);
+    }
+
+    /**
+     * The limiter of a tool method, or null when the method is not a limited tool.
+     */
+    ToolConcurrencyLimiter limiterFor(Method method) {
+        return byMethod.isEmpty() ? null : byMethod.get(method);
+    }
+
+    boolean isEmpty() {
+        return byName.isEmpty();
+    }
+
+    void rejected(ToolConcurrencyLimiter limiter, int status) {
+        metrics.recordToolRejected(limiter.getTool(), status == ToolConcurrencyLimiter.SHED ? "shed" : "bulkhead");
+    }
+
+    void setMetrics(RegistryMetrics metrics) {
+        this.metrics = metrics;
+        for (ToolConcurrencyLimiter limiter : byName.values()) {
+            metrics.bindToolConcurrency(limiter.getTool(), limiter::getLimit, limiter::getInFlight);
+        }
+    }
+
+    /**
+     * Current limits, in-flight calls and rejections by tool name.
+     */
+    Map<String, Object> snapshot() {
+        if (byName.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> tools = new TreeMap<>();
+        for (ToolConcurrencyLimiter limiter : byName.values()) {
+            tools.put(limiter.getTool(), limiter.snapshot());
+        }
+        return tools;
+    }
+}
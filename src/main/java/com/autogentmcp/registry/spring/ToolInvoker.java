@@ -0,0 +1,16 @@
+package com.autogentmcp.registry.spring;
+
+/**
+ * Direct call into one {@code @AutogentTool} method on one bean, compiled once by
+ * {@link ToolInvokers#compile(Object, java.lang.reflect.Method)}. Exceptions thrown by the
+ * tool method propagate as they are, without an {@code InvocationTargetException} wrapper.
+ */
+@FunctionalInterface
+interface ToolInvoker {
+
+    /**
+     * Calls the tool with one value per method parameter, in declaration order; primitive
+     * parameters take their wrapper values. Returns null for void methods.
+     */
+    Object invoke(Object[] arguments) throws Throwable;
+}
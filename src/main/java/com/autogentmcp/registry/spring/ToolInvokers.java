@@ -0,0 +1,238 @@
+package com.autogentmcp.registry.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiles {@code @AutogentTool} methods into {@link ToolInvoker}s so tool calls skip
+ * {@code Method.invoke} (access checks, argument array copying and unboxing checks, and the
+ * {@code InvocationTargetException} wrapper on every call).
+ * <p>
+ * Public non-void instance methods with up to {@value #MAX_LAMBDA_ARITY} parameters, on
+ * public classes visible from this library's class loader, get a class generated by
+ * {@link LambdaMetafactory} that calls the method with a plain {@code invokevirtual}, so the
+ * JIT can inline the tool body into it. Every other method (non-public, static, void, more
+ * parameters, or a class from a child class loader) is called through a
+ * {@link MethodHandle} adapted once to take and return {@code Object}s.
+ * <p>
+ * The bean-independent part is cached per declaring class in a {@link ClassValue}, so beans
+ * and application contexts sharing a tool class compile each method once per JVM.
+ * <p>
+ * Tool methods are found on the bean's user class, while the bean may be a proxy. The method
+ * is compiled as resolved on the bean's runtime class, like Spring does for
+ * {@code @EventListener} methods. A JDK proxy is called through the interface method, and a
+ * CGLIB proxy through the method its subclass overrides, so advice and the target's state
+ * apply. A method a proxy cannot delegate (private, or missing from the proxied interfaces)
+ * is rejected when compiled.
+ */
+final class ToolInvokers {
+    private static final Logger log = LoggerFactory.getLogger(ToolInvokers.class);
+
+    static final int MAX_LAMBDA_ARITY = 3;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<ConcurrentMap<Method, Compiled>> COMPILED = new ClassValue<ConcurrentMap<Method, Compiled>>() {
+        @Override
+        protected ConcurrentMap<Method, Compiled> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // Functional interfaces implemented by the generated classes, one per arity; the first argument is the bean
+    interface Call0 {
+        Object call(Object target);
+    }
+
+    interface Call1 {
+        Object call(Object target, Object a0);
+    }
+
+    interface Call2 {
+        Object call(Object target, Object a0, Object a1);
+    }
+
+    interface Call3 {
+        Object call(Object target, Object a0, Object a1, Object a2);
+    }
+
+    private static final Class<?>[] CALLS = {Call0.class, Call1.class, Call2.class, Call3.class};
+
+    private ToolInvokers() {
+    }
+
+    /**
+     * The invoker for the tool method on the given bean, compiling the method on first use.
+     *
+     * @throws IllegalStateException when the bean is a proxy that cannot delegate the method to its target
+     */
+    static ToolInvoker compile(Object bean, Method method) {
+        Method invocable = invocableMethod(bean, method);
+        Compiled compiled = COMPILED.get(invocable.getDeclaringClass()).computeIfAbsent(invocable, ToolInvokers::compile);
+        return compiled.bind(bean);
+    }
+
+    private static Method invocableMethod(Object bean, Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return method;
+        }
+        try {
+            return AopUtils.selectInvocableMethod(method, bean.getClass());
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Tool method " + method + " cannot be called on bean of type "
+                    + bean.getClass().getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether the method is called through a generated class rather than a method handle.
+     */
+    static boolean isGenerated(Method method) {
+        Compiled compiled = COMPILED.get(method.getDeclaringClass()).get(method);
+        return compiled instanceof Generated;
+    }
+
+    private static Compiled compile(Method method) {
+        if (canGenerate(method)) {
+            try {
+                return generate(method);
+            } catch (Throwable e) {
+                // LambdaConversionException or a linkage problem; the handle path still works
+                log.debug("Falling back to a method handle for tool method {}", method, e);
+            }
+        }
+        try {
+            return handle(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Tool method " + method + " is not accessible", e);
+        }
+    }
+
+    private static boolean canGenerate(Method method) {
+        int modifiers = method.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers) || method.getReturnType() == void.class
+                || method.getParameterCount() > MAX_LAMBDA_ARITY
+                || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return false;
+        }
+        // The generated class lives in this library's class loader and links against every type in the signature
+        ClassLoader loader = ToolInvokers.class.getClassLoader();
+        if (!isVisible(method.getDeclaringClass(), loader) || !isVisible(method.getReturnType(), loader)) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isVisible(type, loader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type, ClassLoader loader) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || ClassUtils.isVisible(type, loader);
+    }
+
+    private static Compiled generate(Method method) throws Throwable {
+        MethodHandle implementation = LOOKUP.unreflect(method);
+        int arity = method.getParameterCount();
+        Class<?> call = CALLS[arity];
+        // (DeclaringClass, P0, ...)R with primitives boxed: the generated class casts and unboxes
+        MethodType instantiated = implementation.type().wrap();
+        Object function = LambdaMetafactory.metafactory(LOOKUP, "call", MethodType.methodType(call),
+                MethodType.genericMethodType(arity + 1), implementation, instantiated).getTarget().invoke();
+        return new Generated(function, arity);
+    }
+
+    // Never sees a private method of a proxied bean: invocableMethod rejects those
+    private static Compiled handle(Method method) throws IllegalAccessException {
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
+        MethodHandle handle = LOOKUP.unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        int arity = method.getParameterCount();
+        // Void methods return null after asType
+        return new Handle(handle.asType(MethodType.genericMethodType(arity + 1)), arity);
+    }
+
+    /**
+     * A compiled method not yet bound to a bean.
+     */
+    private interface Compiled {
+        ToolInvoker bind(Object target);
+    }
+
+    private static final class Generated implements Compiled {
+        private final Object function;
+        private final int arity;
+
+        Generated(Object function, int arity) {
+            this.function = function;
+            this.arity = arity;
+        }
+
+        @Override
+        public ToolInvoker bind(Object target) {
+            switch (arity) {
+                case 0:
+                    Call0 call0 = (Call0) function;
+                    return arguments -> call0.call(target);
+                case 1:
+                    Call1 call1 = (Call1) function;
+                    return arguments -> call1.call(target, arguments[0]);
+                case 2:
+                    Call2 call2 = (Call2) function;
+                    return arguments -> call2.call(target, arguments[0], arguments[1]);
+                default:
+                    Call3 call3 = (Call3) function;
+                    return arguments -> call3.call(target, arguments[0], arguments[1], arguments[2]);
+            }
+        }
+    }
+
+    private static final class Handle implements Compiled {
+        // (Object target, Object a0, ...)Object
+        private final MethodHandle handle;
+        private final int arity;
+
+        Handle(MethodHandle handle, int arity) {
+            this.handle = handle;
+            this.arity = arity;
+        }
+
+        @Override
+        public ToolInvoker bind(Object target) {
+            MethodHandle generic = handle;
+            // Exact calls up to the generated arity; a spreader adds array unpacking to every call
+            switch (arity) {
+                case 0:
+                    return arguments -> (Object) generic.invokeExact(target);
+                case 1:
+                    return arguments -> (Object) generic.invokeExact(target, arguments[0]);
+                case 2:
+                    return arguments -> (Object) generic.invokeExact(target, arguments[0], arguments[1]);
+                case 3:
+                    return arguments -> (Object) generic.invokeExact(target, arguments[0], arguments[1], arguments[2]);
+                default:
+                    MethodHandle spread = generic.asSpreader(Object[].class, arity);
+                    return arguments -> (Object) spread.invokeExact(target, arguments);
+            }
+        }
+    }
+}
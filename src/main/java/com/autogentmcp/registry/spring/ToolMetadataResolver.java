@@ -0,0 +1,366 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.RegistryJson;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns {@code @AutogentTool} methods into registry endpoint descriptions.
+ * <p>
+ * Results are cached per user class in {@link ClassValue}s, so each class is reflected on
+ * at most once per JVM no matter how many beans, proxies or application contexts share it,
+ * and classes without tools are remembered as such. Request/response body schemas are
+ * cached per type so DTOs shared by several endpoints are only walked once. Cached maps are
+ * unmodifiable because they are shared.
+ * <p>
+ * With a {@link JsonSchemaGenerator} bodies and parameters are described as JSON Schema
+ * instead, and endpoints are built per generator because their schemas reference its
+ * definitions; only the tool method lookup is shared then.
+ */
+class ToolMetadataResolver {
+    private static final Logger log = LoggerFactory.getLogger(ToolMetadataResolver.class);
+
+    private static final ClassValue<List<Method>> TOOL_METHODS = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            return resolveToolMethods(type);
+        }
+    };
+
+    private static final ClassValue<List<Map<String, Object>>> ENDPOINTS_BY_CLASS = new ClassValue<List<Map<String, Object>>>() {
+        @Override
+        protected List<Map<String, Object>> computeValue(Class<?> type) {
+            return resolveEndpoints(type, null);
+        }
+    };
+
+    private static final ClassValue<Map<String, Object>> REQUEST_BODY_SCHEMAS = new ClassValue<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return timedDeduceBodySchema(type, true);
+        }
+    };
+
+    private static final ClassValue<Map<String, Object>> RESPONSE_BODY_SCHEMAS = new ClassValue<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return timedDeduceBodySchema(type, false);
+        }
+    };
+
+    // Time spent deducing uncached body schemas in this JVM, reported as a startup phase
+    private static final AtomicLong SCHEMA_DEDUCTION_NANOS = new AtomicLong();
+
+    private ToolMetadataResolver() {
+    }
+
+    /**
+     * Endpoint descriptions for every {@code @AutogentTool} method of the bean's user class,
+     * looking through CGLIB and JDK proxies. Returns an empty list for beans without tools.
+     */
+    static List<Map<String, Object>> endpointsFor(Object bean) {
+        return endpointsFor(userClass(bean));
+    }
+
+    static List<Map<String, Object>> endpointsFor(Class<?> userClass) {
+        return ENDPOINTS_BY_CLASS.get(userClass);
+    }
+
+    /**
+     * The {@code @AutogentTool} methods declared by the bean's user class, without building
+     * their descriptions.
+     */
+    static List<Method> toolMethodsFor(Object bean) {
+        return TOOL_METHODS.get(userClass(bean));
+    }
+
+    /**
+     * Same as {@link #endpointsFor(Object)}, describing bodies and parameters with the given
+     * JSON Schema generator; a null generator selects the legacy schemas.
+     */
+    static List<Map<String, Object>> endpointsFor(Object bean, JsonSchemaGenerator schemas) {
+        Class<?> userClass = userClass(bean);
+        return schemas == null ? ENDPOINTS_BY_CLASS.get(userClass) : resolveEndpoints(userClass, schemas);
+    }
+
+    static Class<?> userClass(Object bean) {
+        return ClassUtils.getUserClass(AopProxyUtils.ultimateTargetClass(bean));
+    }
+
+    private static List<Method> resolveToolMethods(Class<?> type) {
+        List<Method> methods = null;
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            if (AnnotationUtils.findAnnotation(method, AutogentTool.class) != null) {
+                log.info("Found @AutogentTool annotation on method: {}.{}", type.getSimpleName(), method.getName());
+                if (methods == null) {
+                    methods = new ArrayList<>();
+                }
+                methods.add(method);
+            }
+        }
+        return methods == null ? Collections.<Method>emptyList() : Collections.unmodifiableList(methods);
+    }
+
+    private static List<Map<String, Object>> resolveEndpoints(Class<?> type, JsonSchemaGenerator schemas) {
+        List<Method> methods = TOOL_METHODS.get(type);
+        if (methods.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Object>> endpoints = new ArrayList<>(methods.size());
+        for (Method method : methods) {
+            AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+            endpoints.add(Collections.unmodifiableMap(buildEndpoint(method, toolAnn, schemas)));
+        }
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    static Map<String, Object> buildEndpoint(Method method, AutogentTool toolAnn) {
+        return buildEndpoint(method, toolAnn, null);
+    }
+
+    static Map<String, Object> buildEndpoint(Method method, AutogentTool toolAnn, JsonSchemaGenerator schemas) {
+        Map<String, Object> endpointData = new HashMap<>();
+        endpointData.put("name", toolAnn.name().isEmpty() ? method.getName() : toolAnn.name());
+        endpointData.put("path", toolAnn.uri());
+        endpointData.put("method", deduceHttpMethod(method, toolAnn));
+        endpointData.put("description", toolAnn.description());
+        endpointData.put("isPublic", toolAnn.isPublic());
+        endpointData.put("contentType", deduceContentType(method, toolAnn));
+        putCachePolicy(endpointData, toolAnn);
+
+        // Deduce pathParams, queryParams, requestBody and responseBody
+        Map<String, Object> deducedPathParams = new HashMap<>();
+        Map<String, Object> deducedQueryParams = new HashMap<>();
+        Map<String, Object> deducedRequestBody = Collections.emptyMap();
+
+        // Process method parameters
+        for (java.lang.reflect.Parameter param : method.getParameters()) {
+            String paramName = param.getName();
+            String paramType = param.getType().getSimpleName();
+
+            if (param.isAnnotationPresent(PathVariable.class)) {
+                PathVariable pathVar = param.getAnnotation(PathVariable.class);
+                String actualName = pathVar.value().isEmpty() ? pathVar.name() : pathVar.value();
+                if (actualName.isEmpty()) actualName = paramName;
+
+                Map<String, Object> pathParamInfo = paramSchema(param, paramType, schemas);
+                pathParamInfo.put("required", pathVar.required());
+                deducedPathParams.put(actualName, pathParamInfo);
+
+            } else if (param.isAnnotationPresent(RequestParam.class)) {
+                RequestParam reqParam = param.getAnnotation(RequestParam.class);
+                String actualName = reqParam.value().isEmpty() ? reqParam.name() : reqParam.value();
+                if (actualName.isEmpty()) actualName = paramName;
+
+                Map<String, Object> queryParamInfo = paramSchema(param, paramType, schemas);
+                queryParamInfo.put("required", reqParam.required());
+                // Handle default value safely
+                String defaultValue = reqParam.defaultValue();
+                if (!defaultValue.equals(ValueConstants.DEFAULT_NONE)) {
+                    queryParamInfo.put("defaultValue", defaultValue);
+                }
+                deducedQueryParams.put(actualName, queryParamInfo);
+
+            } else if (param.isAnnotationPresent(RequestBody.class)) {
+                deducedRequestBody = schemas != null
+                        ? timedSchemaFor(schemas, param.getParameterizedType())
+                        : REQUEST_BODY_SCHEMAS.get(param.getType());
+            }
+        }
+
+        // Process response body (return type)
+        Map<String, Object> deducedResponseBody = schemas != null
+                ? timedSchemaFor(schemas, method.getGenericReturnType())
+                : RESPONSE_BODY_SCHEMAS.get(method.getReturnType());
+
+        // Add deduced or annotation-provided parameters to endpoint data
+        putOverrideOrDeduced(endpointData, "pathParams", toolAnn.pathParams(), deducedPathParams);
+        putOverrideOrDeduced(endpointData, "queryParams", toolAnn.queryParams(), deducedQueryParams);
+        putOverrideOrDeduced(endpointData, "requestBody", toolAnn.requestBody(), deducedRequestBody);
+
+        // Always add response body if deduced
+        if (!deducedResponseBody.isEmpty()) {
+            endpointData.put("responseBody", deducedResponseBody);
+        }
+
+        // Log what we detected
+        log.debug("Parameter detection for {}: pathParams={}, queryParams={}, requestBody={}, responseBody={}",
+                 method.getName(),
+                 endpointData.containsKey("pathParams") ? endpointData.get("pathParams") : "none",
+                 endpointData.containsKey("queryParams") ? endpointData.get("queryParams") : "none",
+                 endpointData.containsKey("requestBody") ? endpointData.get("requestBody") : "none",
+                 endpointData.containsKey("responseBody") ? endpointData.get("responseBody") : "none");
+        return endpointData;
+    }
+
+    // Only cacheable tools carry a policy: {"ttl": ms, "maxEntries": n, "keyParams": [...]}, keyParams when declared
+    static void putCachePolicy(Map<String, Object> endpointData, AutogentTool toolAnn) {
+        if (toolAnn.cacheTtl() <= 0) {
+            return;
+        }
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("ttl", toolAnn.cacheTtl());
+        cache.put("maxEntries", toolAnn.cacheMaxEntries());
+        if (toolAnn.cacheKey().length > 0) {
+            cache.put("keyParams", Arrays.asList(toolAnn.cacheKey()));
+        }
+        endpointData.put("cache", cache);
+    }
+
+    // Annotation value wins over the deduced one
+    private static void putOverrideOrDeduced(Map<String, Object> endpointData, String key, String override, Map<String, Object> deduced) {
+        if (!override.isEmpty()) {
+            endpointData.put(key, parseOverride(override));
+        } else if (!deduced.isEmpty()) {
+            endpointData.put(key, deduced);
+        }
+    }
+
+    // JSON-looking overrides are parsed into maps, anything else is used as a plain string
+    static Object parseOverride(String override) {
+        try {
+            if (override.trim().startsWith("{")) {
+                return RegistryJson.mapper().readValue(override, Map.class);
+            }
+        } catch (Exception e) {
+            // fall through and keep the raw value
+        }
+        return override;
+    }
+
+    // Legacy parameters carry the simple type name, JSON Schema ones the parameter's schema
+    private static Map<String, Object> paramSchema(java.lang.reflect.Parameter param, String paramType, JsonSchemaGenerator schemas) {
+        Map<String, Object> info = new HashMap<>();
+        if (schemas != null) {
+            info.putAll(timedSchemaFor(schemas, param.getParameterizedType()));
+        } else {
+            info.put("type", paramType);
+        }
+        return info;
+    }
+
+    static long schemaDeductionNanos() {
+        return SCHEMA_DEDUCTION_NANOS.get();
+    }
+
+    private static Map<String, Object> timedDeduceBodySchema(Class<?> type, boolean request) {
+        long start = System.nanoTime();
+        try {
+            return deduceBodySchema(type, request);
+        } finally {
+            SCHEMA_DEDUCTION_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static Map<String, Object> timedSchemaFor(JsonSchemaGenerator schemas, java.lang.reflect.Type type) {
+        long start = System.nanoTime();
+        try {
+            return schemas.schemaFor(type);
+        } finally {
+            SCHEMA_DEDUCTION_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    // Request bodies mark every field required; responses carry field types only
+    static Map<String, Object> deduceBodySchema(Class<?> type, boolean request) {
+        String kind = request ? "" : " response";
+        Map<String, Object> schema = new HashMap<>();
+        if (!request && (type == void.class || type == Void.class)) {
+            return Collections.emptyMap();
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            schema.put("type", "object");
+            schema.put("description", "Generic object/map" + kind);
+        } else if (type.isPrimitive() || type.getName().startsWith("java.lang")) {
+            schema.put("type", type.getSimpleName());
+            schema.put("description", "Simple " + type.getSimpleName() + (request ? " value" : " response"));
+        } else {
+            // Complex object - analyze its fields
+            Map<String, Object> fields = new HashMap<>();
+            for (java.lang.reflect.Field field : type.getDeclaredFields()) {
+                if (!java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+                    Map<String, Object> fieldInfo = new HashMap<>();
+                    fieldInfo.put("type", field.getType().getSimpleName());
+                    if (request) {
+                        fieldInfo.put("required", true); // Default to required
+                    }
+                    fields.put(field.getName(), Collections.unmodifiableMap(fieldInfo));
+                }
+            }
+            schema.put("type", "object");
+            schema.put("properties", Collections.unmodifiableMap(fields));
+        }
+        return Collections.unmodifiableMap(schema);
+    }
+
+    // Deduce Content-Type (prioritize mapping annotation consumes)
+    static String deduceContentType(Method method, AutogentTool toolAnn) {
+        String contentType = toolAnn.contentType();
+        String mappingConsumes = null;
+        if (method.isAnnotationPresent(PostMapping.class)) {
+            PostMapping ann = method.getAnnotation(PostMapping.class);
+            if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
+        } else if (method.isAnnotationPresent(PutMapping.class)) {
+            PutMapping ann = method.getAnnotation(PutMapping.class);
+            if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
+        } else if (method.isAnnotationPresent(PatchMapping.class)) {
+            PatchMapping ann = method.getAnnotation(PatchMapping.class);
+            if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
+        } else if (method.isAnnotationPresent(RequestMapping.class)) {
+            RequestMapping ann = method.getAnnotation(RequestMapping.class);
+            if (ann.consumes().length > 0) mappingConsumes = ann.consumes()[0];
+        }
+        if (mappingConsumes != null && !mappingConsumes.isEmpty()) {
+            contentType = mappingConsumes;
+        }
+        return contentType;
+    }
+
+    // Helper to deduce HTTP method
+    static String deduceHttpMethod(Method method, AutogentTool toolAnn) {
+        String httpMethod = toolAnn.method();
+        boolean methodOverridden = toolAnn.method() != null && !toolAnn.method().equals("POST");
+        if (!methodOverridden || httpMethod.isEmpty() || httpMethod.equals("POST")) {
+            if (method.isAnnotationPresent(GetMapping.class)) return "GET";
+            if (method.isAnnotationPresent(PostMapping.class)) return "POST";
+            if (method.isAnnotationPresent(PutMapping.class)) return "PUT";
+            if (method.isAnnotationPresent(DeleteMapping.class)) return "DELETE";
+            if (method.isAnnotationPresent(PatchMapping.class)) return "PATCH";
+            if (method.isAnnotationPresent(RequestMapping.class)) {
+                RequestMapping reqMapping = method.getAnnotation(RequestMapping.class);
+                RequestMethod[] reqMethods = reqMapping.method();
+                if (reqMethods.length > 0) return reqMethods[0].name();
+            }
+        }
+        return httpMethod;
+    }
+}
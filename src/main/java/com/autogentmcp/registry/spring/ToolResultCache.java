@@ -0,0 +1,171 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.RegistryMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Results of one cacheable tool, keyed by the JSON values of its key arguments.
+ * <p>
+ * Holds at most {@code maxEntries} results and evicts the least recently used one first;
+ * entries expire {@code ttl} after they were stored. Concurrent calls with the same key
+ * while a result is being computed wait for that computation instead of running the tool
+ * again. Only results passing the {@code storable} check are stored, so a failed call is
+ * retried by the next one. Results are shared between callers and must not be modified.
+ * <p>
+ * A call counts as a hit when it did not run the tool itself, including when it waited for a
+ * concurrent identical call; hits and misses are also reported to {@link RegistryMetrics}.
+ */
+final class ToolResultCache<T> {
+
+    private final String tool;
+    private final Predicate<? super T> storable;
+    private final Supplier<RegistryMetrics> metrics;
+    private final long ttlNanos;
+    private final int maxEntries;
+    // System.nanoTime outside tests
+    private final LongSupplier clock;
+    // Access-ordered for LRU eviction; guarded by itself
+    private final LinkedHashMap<List<JsonNode>, CachedResult<T>> entries;
+    private final ConcurrentMap<List<JsonNode>, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    ToolResultCache(String tool, long ttlMillis, int maxEntries, Predicate<? super T> storable,
+                    Supplier<RegistryMetrics> metrics) {
+        this(tool, ttlMillis, maxEntries, storable, metrics, System::nanoTime);
+    }
+
+    ToolResultCache(String tool, long ttlMillis, int maxEntries, Predicate<? super T> storable,
+                    Supplier<RegistryMetrics> metrics, LongSupplier clock) {
+        this.tool = tool;
+        this.storable = storable;
+        this.clock = clock;
+        this.metrics = metrics;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<List<JsonNode>, CachedResult<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<JsonNode>, CachedResult<T>> eldest) {
+                return size() > ToolResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The cached result for the key, or the one computed by {@code loader}. Exceptions of the
+     * loader reach every caller waiting for it.
+     *
+     * @throws InterruptedException when interrupted while waiting for a concurrent identical call
+     */
+    T get(List<JsonNode> key, Supplier<T> loader) throws InterruptedException {
+        T cached = lookup(key);
+        if (cached != null) {
+            hit();
+            return cached;
+        }
+        CompletableFuture<T> computation = new CompletableFuture<>();
+        CompletableFuture<T> running = inFlight.putIfAbsent(key, computation);
+        if (running != null) {
+            hit();
+            return await(running);
+        }
+        try {
+            // Another caller may have stored the result between the lookup and putIfAbsent
+            T result = lookup(key);
+            if (result != null) {
+                hit();
+            } else {
+                misses.increment();
+                metrics.get().recordToolCache(tool, false);
+                result = loader.get();
+                if (storable.test(result)) {
+                    store(key, result);
+                }
+            }
+            computation.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            computation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, computation);
+        }
+    }
+
+    private void hit() {
+        hits.increment();
+        metrics.get().recordToolCache(tool, true);
+    }
+
+    private static <T> T await(CompletableFuture<T> running) throws InterruptedException {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private T lookup(List<JsonNode> key) {
+        synchronized (entries) {
+            CachedResult<T> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.getAsLong() - entry.storedAt >= ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.result;
+        }
+    }
+
+    private void store(List<JsonNode> key, T result) {
+        synchronized (entries) {
+            entries.put(key, new CachedResult<>(result, clock.getAsLong()));
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static final class CachedResult<T> {
+        final T result;
+        final long storedAt;
+
+        CachedResult(T result, long storedAt) {
+            this.result = result;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EndpointManifest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tools registered as lightweight stubs, with their full descriptions resolved on demand.
+ * <p>
+ * In lazy schema mode registration only sends name, path, method, description, a schema
+ * hash and the URL the full description can be fetched from. Body and parameter schemas
+ * are deduced the first time a tool is requested and memoized for the lifetime of the
+ * application context. The schema hash identifies the tool's signature (generic parameter
+ * and return types plus annotation overrides), so it is known without any deduction; the
+ * fetched description carries an ETag of its actual content.
+ */
+public class ToolSchemaCatalog {
+    private static final Logger log = LoggerFactory.getLogger(ToolSchemaCatalog.class);
+
+    private final String schemaUrlPrefix;
+    private final JsonSchemaGenerator schemas;
+    private final ConcurrentMap<String, Method> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> schemaHashes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map<String, Object>> stubs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ToolSchema> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * @param schemaUrlPrefix prefix of the advertised schema URLs, the tool name is appended
+     * @param schemas         JSON Schema generator, or null for legacy schemas
+     */
+    ToolSchemaCatalog(String schemaUrlPrefix, JsonSchemaGenerator schemas) {
+        this.schemaUrlPrefix = schemaUrlPrefix.endsWith("/") ? schemaUrlPrefix : schemaUrlPrefix + "/";
+        this.schemas = schemas;
+    }
+
+    /**
+     * Remembers the tool method and returns its stub, or null when another method already
+     * registered a tool with the same name. Registering the same method again returns the
+     * same stub.
+     */
+    Map<String, Object> register(Method method) {
+        AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+        String name = toolAnn.name().isEmpty() ? method.getName() : toolAnn.name();
+        Method existing = methods.putIfAbsent(name, method);
+        if (existing != null) {
+            if (existing.equals(method)) {
+                return stubFor(name, method, toolAnn);
+            }
+            log.warn("Duplicate tool name {} on {}, keeping the first registration", name, method);
+            return null;
+        }
+        return stubFor(name, method, toolAnn);
+    }
+
+    /**
+     * Forgets a removed tool: its schema is no longer served, and a method of the same name
+     * (say from a plugin reloaded in a new class loader) can register again. Does nothing
+     * when the tool name belongs to another method.
+     */
+    void unregister(Method method) {
+        AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+        String name = toolAnn.name().isEmpty() ? method.getName() : toolAnn.name();
+        if (methods.remove(name, method)) {
+            stubs.remove(name);
+            schemaHashes.remove(name);
+            resolved.remove(name);
+            log.debug("Unregistered tool {}", name);
+        }
+    }
+
+    private Map<String, Object> stubFor(String name, Method method, AutogentTool toolAnn) {
+        return stubs.computeIfAbsent(name, n -> buildStub(name, method, toolAnn));
+    }
+
+    private Map<String, Object> buildStub(String name, Method method, AutogentTool toolAnn) {
+        String schemaHash = EndpointManifest.contentHash(Arrays.asList(
+                method.toGenericString(), toolAnn.pathParams(), toolAnn.queryParams(), toolAnn.requestBody(),
+                schemas != null ? "json-schema" : "legacy"));
+        schemaHashes.put(name, schemaHash);
+
+        Map<String, Object> stub = new HashMap<>();
+        stub.put("name", name);
+        stub.put("path", toolAnn.uri());
+        stub.put("method", ToolMetadataResolver.deduceHttpMethod(method, toolAnn));
+        stub.put("description", toolAnn.description());
+        stub.put("isPublic", toolAnn.isPublic());
+        stub.put("contentType", ToolMetadataResolver.deduceContentType(method, toolAnn));
+        ToolMetadataResolver.putCachePolicy(stub, toolAnn);
+        stub.put("schemaHash", schemaHash);
+        stub.put("schemaUrl", schemaUrlPrefix + urlEncode(name));
+        return Collections.unmodifiableMap(stub);
+    }
+
+    /**
+     * Tool name to schema hash for every registered tool, sorted by name.
+     */
+    public Map<String, String> getSchemaHashes() {
+        return Collections.unmodifiableMap(new TreeMap<>(schemaHashes));
+    }
+
+    /**
+     * Full description of a tool, deduced on first use; null for unknown tools.
+     */
+    public ToolSchema get(String name) {
+        Method method = methods.get(name);
+        if (method == null) {
+            return null;
+        }
+        return resolved.computeIfAbsent(name, n -> resolve(method));
+    }
+
+    public boolean isResolved(String name) {
+        return resolved.containsKey(name);
+    }
+
+    private ToolSchema resolve(Method method) {
+        AutogentTool toolAnn = AnnotationUtils.findAnnotation(method, AutogentTool.class);
+        Map<String, Object> endpoint = new HashMap<>(ToolMetadataResolver.buildEndpoint(method, toolAnn, schemas));
+        if (schemas != null) {
+            Map<String, Object> definitions = EndpointManifest.referencedDefinitions(
+                    Collections.singletonList(endpoint), schemas.getDefinitions());
+            if (!definitions.isEmpty()) {
+                endpoint.put("$defs", definitions);
+            }
+        }
+        log.debug("Resolved schema of tool {}", endpoint.get("name"));
+        return new ToolSchema(Collections.unmodifiableMap(endpoint), EndpointManifest.contentHash(endpoint));
+    }
+
+    private static String urlEncode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+        } catch (java.io.UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A tool's full endpoint description (with the {@code $defs} it references in JSON
+     * Schema mode) and the content hash used as its ETag.
+     */
+    public static final class ToolSchema {
+        private final Map<String, Object> description;
+        private final String contentHash;
+
+        ToolSchema(Map<String, Object> description, String contentHash) {
+            this.description = description;
+            this.contentHash = contentHash;
+        }
+
+        public Map<String, Object> getDescription() {
+            return description;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.autogentmcp.registry.spring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the full tool descriptions that lazy schema mode leaves out of registration.
+ * {@code GET {path}} lists tool names with their schema hashes, {@code GET {path}/{name}}
+ * returns one tool's description with an ETag, answering {@code If-None-Match} with 304.
+ */
+@RestController
+@ConditionalOnProperty(name = "autogentmcp.schema.lazy.enabled", havingValue = "true")
+@RequestMapping("${autogentmcp.schema.lazy.path:" + ToolSchemaController.DEFAULT_PATH + "}")
+public class ToolSchemaController {
+
+    static final String DEFAULT_PATH = "/autogentmcp/schemas";
+
+    // Descriptions only change with a redeployment, which changes the advertised schema hash
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(5, TimeUnit.MINUTES);
+
+    private final AutogentMcpAutoConfiguration autoConfiguration;
+
+    public ToolSchemaController(AutogentMcpAutoConfiguration autoConfiguration) {
+        this.autoConfiguration = autoConfiguration;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, String> index() {
+        ToolSchemaCatalog catalog = autoConfiguration.getToolSchemas();
+        return catalog != null ? catalog.getSchemaHashes() : Collections.<String, String>emptyMap();
+    }
+
+    @GetMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> schema(@PathVariable("name") String name, WebRequest request) {
+        ToolSchemaCatalog catalog = autoConfiguration.getToolSchemas();
+        ToolSchemaCatalog.ToolSchema schema = catalog != null ? catalog.get(name) : null;
+        if (schema == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        String etag = "\"" + schema.getContentHash() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(schema.getDescription());
+    }
+}
@@ -0,0 +1,200 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedRegistrationTest {
+
+    private static final String SESSION = "/register/endpoints/sessions";
+
+    private static List<Map<String, Object>> endpoints(int n) {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Map<String, Object> endpoint = new HashMap<>();
+            endpoint.put("name", "tool" + i);
+            endpoint.put("path", "/tool/" + i);
+            endpoint.put("method", "POST");
+            endpoint.put("description", "Tool number " + i);
+            endpoints.add(endpoint);
+        }
+        return endpoints;
+    }
+
+    private static StubRegistryServer.StubResponse ok(String body) {
+        return new StubRegistryServer.StubResponse(200, body);
+    }
+
+    @Test
+    public void testSplitRespectsBoundsAndOrder() throws Exception {
+        List<Map<String, Object>> endpoints = endpoints(95);
+        List<byte[]> chunks = ChunkedEndpointUpload.split(endpoints, 2048, 10);
+
+        int total = 0;
+        for (byte[] chunk : chunks) {
+            assertTrue(chunk.length <= 2048, "chunk of " + chunk.length + " bytes");
+            JsonNode list = RegistryJson.reader().readTree(chunk).get("endpoints");
+            assertTrue(list.size() <= 10);
+            for (JsonNode endpoint : list) {
+                assertEquals("tool" + total++, endpoint.get("name").asText());
+            }
+        }
+        assertEquals(95, total);
+
+        // An endpoint larger than the limit still goes out, alone
+        assertEquals(3, ChunkedEndpointUpload.split(endpoints(3), 10, 10).size());
+    }
+
+    @Test
+    public void testChunksUploadedInParallelAndCommitted() throws Exception {
+        final Map<String, byte[]> received = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final CountDownLatch overlap = new CountDownLatch(2);
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("POST " + SESSION, r -> ok("{\"session_id\":\"s1\"}"));
+            registry.route("POST " + SESSION + "/s1/commit", r -> ok("{\"status\":\"committed\"}"));
+            registry.defaultHandler(r -> {
+                if (!r.method.equals("PUT") || !r.path.startsWith(SESSION + "/s1/chunks/")) {
+                    return new StubRegistryServer.StubResponse(404, "");
+                }
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                overlap.countDown();
+                try {
+                    overlap.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.put(r.path.substring(r.path.lastIndexOf('/') + 1), r.body);
+                inFlight.decrementAndGet();
+                return ok("{}");
+            });
+
+            ChunkedRegistrationSettings settings = ChunkedRegistrationSettings.defaults()
+                    .setMaxEndpointsPerChunk(25)
+                    .setParallelism(4);
+            RegistryResponse response = client.registerEndpointsChunked("app", "dev", endpoints(200), settings);
+
+            assertEquals("committed", response.getJson().get("status").asText());
+            assertEquals(8, received.size());
+            assertTrue(maxInFlight.get() >= 2, "max in flight " + maxInFlight.get());
+            assertTrue(maxInFlight.get() <= 4, "max in flight " + maxInFlight.get());
+            Set<String> names = new HashSet<>();
+            for (byte[] chunk : received.values()) {
+                for (JsonNode endpoint : RegistryJson.reader().readTree(chunk).get("endpoints")) {
+                    names.add(endpoint.get("name").asText());
+                }
+            }
+            assertEquals(200, names.size());
+
+            JsonNode session = RegistryJson.reader().readTree(registry.requests("POST", SESSION).get(0).body);
+            assertEquals(8, session.get("total_chunks").asInt());
+            assertEquals(200, session.get("total_endpoints").asInt());
+            assertEquals(1, registry.requests("POST", SESSION + "/s1/commit").size());
+            assertTrue(registry.requests("POST", "/register/endpoints").isEmpty());
+        }
+    }
+
+    @Test
+    public void testOnlyFailedChunkIsRetried() throws Exception {
+        final AtomicInteger chunkTwoAttempts = new AtomicInteger();
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("POST " + SESSION, r -> ok("{\"session_id\":\"s2\"}"));
+            registry.route("PUT " + SESSION + "/s2/chunks/2", r -> chunkTwoAttempts.incrementAndGet() < 3
+                    ? new StubRegistryServer.StubResponse(503, "")
+                    : ok("{}"));
+            ChunkedRegistrationSettings settings = ChunkedRegistrationSettings.defaults()
+                    .setMaxEndpointsPerChunk(10)
+                    .setRetryBackoffMs(10);
+
+            client.registerEndpointsChunked("app", "dev", endpoints(40), settings);
+
+            assertEquals(3, chunkTwoAttempts.get());
+            for (int i = 0; i < 4; i++) {
+                int expected = i == 2 ? 3 : 1;
+                assertEquals(expected, registry.requests("PUT", SESSION + "/s2/chunks/" + i).size(), "chunk " + i);
+            }
+            assertEquals(1, registry.requests("POST", SESSION + "/s2/commit").size());
+        }
+    }
+
+    @Test
+    public void testExhaustedChunkAbortsSession() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("POST " + SESSION, r -> ok("{\"session_id\":\"s3\"}"));
+            registry.route("PUT " + SESSION + "/s3/chunks/1", r -> new StubRegistryServer.StubResponse(500, ""));
+            ChunkedRegistrationSettings settings = ChunkedRegistrationSettings.defaults()
+                    .setMaxEndpointsPerChunk(10)
+                    .setMaxAttempts(2)
+                    .setRetryBackoffMs(10);
+
+            IOException e = assertThrows(IOException.class,
+                    () -> client.registerEndpointsChunked("app", "dev", endpoints(30), settings));
+
+            assertTrue(e.getMessage().contains("Chunk 1"), e.getMessage());
+            assertEquals(2, registry.requests("PUT", SESSION + "/s3/chunks/1").size());
+            assertEquals(1, registry.requests("DELETE", SESSION + "/s3").size());
+            assertTrue(registry.requests("POST", SESSION + "/s3/commit").isEmpty());
+        }
+    }
+
+    @Test
+    public void testChunkRetriesGoThroughTheCircuitBreaker() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            client.setRetryPolicy(RetryPolicy.defaults().setMaxDelayMs(50));
+            client.setCircuitBreaker(new CircuitBreaker(2, 60000));
+            registry.route("POST " + SESSION, r -> ok("{\"session_id\":\"s4\"}"));
+            // An hour-long Retry-After is capped at the retry policy's max delay
+            registry.route("PUT " + SESSION + "/s4/chunks/1", r -> new StubRegistryServer.StubResponse(503, "")
+                    .header("Retry-After", "3600"));
+            ChunkedRegistrationSettings settings = ChunkedRegistrationSettings.defaults()
+                    .setMaxEndpointsPerChunk(10)
+                    .setParallelism(1)
+                    .setMaxAttempts(5)
+                    .setRetryBackoffMs(10);
+
+            long start = System.nanoTime();
+            assertThrows(CircuitBreakerOpenException.class,
+                    () -> client.registerEndpointsChunked("app", "dev", endpoints(30), settings));
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+            assertEquals(2, registry.requests("PUT", SESSION + "/s4/chunks/1").size());
+            assertTrue(registry.requests("PUT", SESSION + "/s4/chunks/2").isEmpty());
+            assertEquals(1, registry.requests("DELETE", SESSION + "/s4").size());
+        }
+    }
+
+    @Test
+    public void testFallsBackToSingleBatch() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("POST " + SESSION, r -> new StubRegistryServer.StubResponse(404, ""));
+            ChunkedRegistrationSettings settings = ChunkedRegistrationSettings.defaults().setMaxEndpointsPerChunk(10);
+
+            client.registerEndpointsChunked("app", "dev", endpoints(30), settings);
+            assertEquals(1, registry.requests("POST", "/register/endpoints").size());
+
+            // Small catalogs never open a session
+            client.registerEndpointsChunked("app", "dev", endpoints(5), settings);
+            assertEquals(1, registry.requests("POST", SESSION).size());
+            assertEquals(2, registry.requests("POST", "/register/endpoints").size());
+        }
+    }
+}
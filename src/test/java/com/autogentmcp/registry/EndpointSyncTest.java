@@ -0,0 +1,186 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointSyncTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static Map<String, Object> endpoint(String name, String path, String description) {
+        Map<String, Object> endpoint = new HashMap<>();
+        endpoint.put("name", name);
+        endpoint.put("path", path);
+        endpoint.put("method", "GET");
+        endpoint.put("description", description);
+        return endpoint;
+    }
+
+    private static List<Map<String, Object>> endpoints() {
+        return new ArrayList<>(Arrays.asList(
+                endpoint("a", "/a", "first"),
+                endpoint("b", "/b", "second"),
+                endpoint("c", "/c", "third")));
+    }
+
+    private String manifestBody(EndpointManifest manifest) throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("fingerprint", manifest.getFingerprint());
+        body.put("endpoints", manifest.getHashes());
+        return mapper.writeValueAsString(body);
+    }
+
+    @Test
+    public void testFingerprintIgnoresOrdering() {
+        List<Map<String, Object>> list = endpoints();
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("z", 1);
+        nested.put("y", 2);
+        list.get(0).put("queryParams", nested);
+        String fingerprint = EndpointManifest.of(list).getFingerprint();
+
+        List<Map<String, Object>> reordered = endpoints();
+        Map<String, Object> reorderedNested = new LinkedHashMap<>();
+        reorderedNested.put("y", 2);
+        reorderedNested.put("z", 1);
+        reordered.get(0).put("queryParams", reorderedNested);
+        java.util.Collections.reverse(reordered);
+
+        assertEquals(fingerprint, EndpointManifest.of(reordered).getFingerprint());
+        assertEquals(64, fingerprint.length());
+
+        reordered.get(1).put("description", "changed");
+        assertNotEquals(fingerprint, EndpointManifest.of(reordered).getFingerprint());
+    }
+
+    @Test
+    public void testNotModifiedSendsNothing() throws Exception {
+        final String fingerprint = EndpointManifest.of(endpoints()).getFingerprint();
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("GET /register/endpoints/manifest", r ->
+                    ("\"" + fingerprint + "\"").equals(r.header("If-None-Match"))
+                            ? new StubRegistryServer.StubResponse(304, "")
+                            : new StubRegistryServer.StubResponse(500, ""));
+
+            EndpointSyncResult result = client.syncEndpoints("app", "test", endpoints());
+
+            assertEquals(EndpointSyncResult.Mode.UNCHANGED, result.getMode());
+            assertEquals(fingerprint, result.getFingerprint());
+            assertEquals(1, registry.requests().size());
+            assertEquals("app_key=app&environment=test", registry.requests().get(0).query);
+        }
+    }
+
+    @Test
+    public void testDeltaSentWhenSomeToolsChanged() throws Exception {
+        List<Map<String, Object>> previous = endpoints();
+        previous.remove(2);
+        previous.get(1).put("description", "old");
+        previous.add(endpoint("gone", "/gone", "removed"));
+        final EndpointManifest remote = EndpointManifest.of(previous);
+        final String remoteBody = manifestBody(remote);
+
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("GET /register/endpoints/manifest", r -> new StubRegistryServer.StubResponse(200, remoteBody));
+
+            EndpointSyncResult result = client.syncEndpoints("app", "test", endpoints());
+
+            assertEquals(EndpointSyncResult.Mode.DELTA, result.getMode());
+            assertTrue(registry.requests("POST", "/register/endpoints").isEmpty());
+            List<StubRegistryServer.RecordedRequest> deltas = registry.requests("POST", "/register/endpoints/delta");
+            assertEquals(1, deltas.size());
+            assertEquals("\"" + remote.getFingerprint() + "\"", deltas.get(0).header("If-Match"));
+
+            Map<?, ?> payload = mapper.readValue(deltas.get(0).body, Map.class);
+            assertEquals(result.getFingerprint(), payload.get("fingerprint"));
+            assertEquals(remote.getFingerprint(), payload.get("base_fingerprint"));
+            List<?> added = (List<?>) payload.get("added");
+            List<?> updated = (List<?>) payload.get("updated");
+            assertEquals(1, added.size());
+            assertEquals("c", ((Map<?, ?>) added.get(0)).get("name"));
+            assertEquals(1, updated.size());
+            assertEquals("second", ((Map<?, ?>) updated.get(0)).get("description"));
+            assertEquals(Arrays.asList("GET /gone gone"), payload.get("removed"));
+        }
+    }
+
+    @Test
+    public void testFallsBackToFullBatchWithoutManifestSupport() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("GET /register/endpoints/manifest", r -> new StubRegistryServer.StubResponse(404, ""));
+
+            EndpointSyncResult result = client.syncEndpoints("app", "test", endpoints());
+
+            assertEquals(EndpointSyncResult.Mode.FULL, result.getMode());
+            List<StubRegistryServer.RecordedRequest> batches = registry.requests("POST", "/register/endpoints");
+            assertEquals(1, batches.size());
+            assertEquals(result.getFingerprint(), batches.get(0).header("X-Manifest-Fingerprint"));
+            assertEquals(3, ((List<?>) mapper.readValue(batches.get(0).body, Map.class).get("endpoints")).size());
+        }
+    }
+
+    @Test
+    public void testFailedFullBatchIsNotReportedAsSynced() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("GET /register/endpoints/manifest", r -> new StubRegistryServer.StubResponse(404, ""));
+            registry.route("POST /register/endpoints", r -> new StubRegistryServer.StubResponse(400, "{\"error\":\"bad catalog\"}"));
+
+            RegistryException e = assertThrows(RegistryException.class, () -> client.syncEndpoints("app", "test", endpoints()));
+            assertEquals(400, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void testFallsBackToFullBatchWhenDeltaRejected() throws Exception {
+        List<Map<String, Object>> previous = endpoints();
+        previous.remove(0);
+        final String remoteBody = manifestBody(EndpointManifest.of(previous));
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("GET /register/endpoints/manifest", r -> new StubRegistryServer.StubResponse(200, remoteBody));
+            registry.route("POST /register/endpoints/delta", r -> new StubRegistryServer.StubResponse(412, ""));
+
+            EndpointSyncResult result = client.syncEndpoints("app", "test", endpoints());
+
+            assertEquals(EndpointSyncResult.Mode.FULL, result.getMode());
+            assertEquals(1, registry.requests("POST", "/register/endpoints/delta").size());
+            assertEquals(1, registry.requests("POST", "/register/endpoints").size());
+        }
+    }
+
+    @Test
+    public void testSingleEndpointChanges() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            client.addEndpoint("app", "test", endpoint("a", "/a", "first"));
+            client.removeEndpoint("app", "test", endpoint("b", "/b", "second"));
+
+            List<StubRegistryServer.RecordedRequest> deltas = registry.requests("POST", "/register/endpoints/delta");
+            assertEquals(2, deltas.size());
+            Map<?, ?> added = mapper.readValue(deltas.get(0).bodyAsString(), Map.class);
+            assertEquals(1, ((List<?>) added.get("added")).size());
+            assertFalse(added.containsKey("base_fingerprint"));
+            Map<?, ?> removed = mapper.readValue(deltas.get(1).bodyAsString(), Map.class);
+            assertEquals(Arrays.asList("GET /b b"), removed.get("removed"));
+            assertNull(deltas.get(1).header("If-Match"));
+
+            registry.route("POST /register/endpoints/delta", r -> new StubRegistryServer.StubResponse(404, ""));
+            RegistryException e = assertThrows(RegistryException.class,
+                    () -> client.updateEndpoint("app", "test", endpoint("a", "/a", "changed")));
+            assertEquals(404, e.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.autogentmcp.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeartbeatTest {
+
+    @Test
+    public void testIntervalBacksOffUnderLoadAndRecovers() {
+        RegistryClient client = new RegistryClient("http://localhost:8000", "api-key");
+        Heartbeat heartbeat = new Heartbeat(client, "app-key", "dev", 1000, 8000, 0d);
+
+        assertEquals(2000, heartbeat.onThrottled(-1));
+        // Retry-After larger than the doubled interval wins
+        assertEquals(5000, heartbeat.onThrottled(5000));
+        // Never beyond the configured maximum
+        assertEquals(8000, heartbeat.onFailure());
+        assertEquals(8000, heartbeat.onThrottled(60000));
+
+        assertEquals(4000, heartbeat.onSuccess());
+        assertEquals(2000, heartbeat.onSuccess());
+        assertEquals(1000, heartbeat.onSuccess());
+        assertEquals(1000, heartbeat.onSuccess());
+    }
+
+    @Test
+    public void testJitterStaysWithinBounds() {
+        RegistryClient client = new RegistryClient("http://localhost:8000", "api-key");
+        Heartbeat heartbeat = new Heartbeat(client, "app-key", "dev", 1000, 8000, 0.2);
+        for (int i = 0; i < 1000; i++) {
+            long delay = heartbeat.withJitter(1000);
+            assertTrue(delay >= 800 && delay <= 1200, "delay out of range: " + delay);
+        }
+    }
+
+    @Test
+    public void testPayloadStaysPreSerializedWhileThereAreNoDetails() {
+        RegistryClient client = new RegistryClient("http://localhost:8000", "api-key");
+        Heartbeat heartbeat = new Heartbeat(client, "app-key", "dev", 1000, 8000, 0d);
+        byte[] payload = heartbeat.payload();
+
+        heartbeat.setDetails(() -> null);
+        assertSame(payload, heartbeat.payload());
+        heartbeat.setDetails(Collections::emptyMap);
+        assertSame(payload, heartbeat.payload());
+
+        heartbeat.setDetails(() -> Collections.singletonMap("tools", Collections.emptyMap()));
+        assertEquals("{\"app_key\":\"app-key\",\"environment\":\"dev\",\"status\":\"UP\",\"tools\":{}}",
+                new String(heartbeat.payload(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBeatsAgainstStubRegistry() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (StubRegistryServer server = new StubRegistryServer();
+             RegistryHttpTransport transport = new RegistryHttpTransport(HttpTransportSettings.defaults())) {
+            server.route("POST /applications/app-key/heartbeat", r -> calls.incrementAndGet() == 2
+                    ? new StubRegistryServer.StubResponse(429, "").header("Retry-After", "0")
+                    : new StubRegistryServer.StubResponse(200, "{}"));
+            RegistryClient client = new RegistryClient(server.baseUrl(), "api-key", transport);
+            Heartbeat heartbeat = new Heartbeat(client, "app-key", "dev", 10, 40, 0.1, scheduler);
+            heartbeat.start();
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (heartbeat.getMetrics().getSent() < 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            heartbeat.stop();
+
+            HeartbeatMetrics metrics = heartbeat.getMetrics();
+            assertTrue(metrics.getSent() >= 4);
+            assertEquals(1, metrics.getThrottled());
+            assertEquals(0, metrics.getFailures());
+            assertTrue(metrics.getMaxLatencyNanos() > 0);
+
+            StubRegistryServer.RecordedRequest first = server.requests().get(0);
+            assertEquals("{\"app_key\":\"app-key\",\"environment\":\"dev\",\"status\":\"UP\"}", first.bodyAsString());
+            assertEquals("api-key", first.header("X-API-Key"));
+            // All beats reused one pooled connection
+            assertEquals(0, client.getPoolStats().getLeased());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnresponsiveRegistryDoesNotHoldUpOtherHeartbeats() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (StubRegistryServer blackholed = new StubRegistryServer();
+             StubRegistryServer healthy = new StubRegistryServer()) {
+            blackholed.route("POST /applications/stuck/heartbeat", r -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new StubRegistryServer.StubResponse(200, "{}");
+            });
+            healthy.route("POST /applications/app-key/heartbeat", r -> new StubRegistryServer.StubResponse(200, "{}"));
+            RegistryClient stuckClient = new RegistryClient(blackholed.baseUrl(), "api-key");
+            RegistryClient client = new RegistryClient(healthy.baseUrl(), "api-key");
+            // Both share the one scheduler thread, like every heartbeat on RegistryScheduler.shared()
+            Heartbeat stuck = new Heartbeat(stuckClient, "stuck", "dev", 5, 5, 0d, scheduler);
+            Heartbeat heartbeat = new Heartbeat(client, "app-key", "dev", 5, 5, 0d, scheduler);
+            try {
+                stuck.start();
+                long deadline = System.currentTimeMillis() + 5000;
+                while (blackholed.requests("POST", "/applications/stuck/heartbeat").isEmpty()
+                        && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(5);
+                }
+                heartbeat.start();
+                while (heartbeat.getMetrics().getSent() < 3 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertTrue(heartbeat.getMetrics().getSent() >= 3, "healthy heartbeat waited behind the stuck one");
+                assertEquals(0, stuck.getMetrics().getSent());
+            } finally {
+                release.countDown();
+                stuck.stop();
+                heartbeat.stop();
+                stuckClient.close();
+                client.close();
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailuresAreCountedAndDoNotStopTheHeartbeat() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        RegistryClient client = new RegistryClient("http://127.0.0.1:1", "api-key");
+        try {
+            Heartbeat heartbeat = new Heartbeat(client, "app-key", "dev", 5, 10, 0d, scheduler);
+            heartbeat.start();
+            long deadline = System.currentTimeMillis() + 10000;
+            while (heartbeat.getMetrics().getFailures() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(heartbeat.isRunning());
+            heartbeat.stop();
+            assertTrue(heartbeat.getMetrics().getConsecutiveFailures() >= 3);
+            assertEquals(10, heartbeat.getCurrentIntervalMillis());
+        } finally {
+            scheduler.shutdownNow();
+            client.close();
+        }
+    }
+}
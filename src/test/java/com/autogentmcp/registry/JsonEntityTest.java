@@ -0,0 +1,158 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonEntityTest {
+
+    public static class Ack {
+        public String status;
+        public int count;
+    }
+
+    private static List<Map<String, Object>> endpoints(int n) {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Map<String, Object> endpoint = new HashMap<>();
+            endpoint.put("name", "tool" + i);
+            endpoint.put("path", "/tool/" + i);
+            endpoint.put("method", "POST");
+            endpoints.add(endpoint);
+        }
+        return endpoints;
+    }
+
+    @Test
+    public void testBatchEntityIsRepeatableAndMatchesMapper() throws Exception {
+        List<Map<String, Object>> endpoints = endpoints(3);
+        JsonEntity entity = JsonEntity.endpointsBatch("app", "dev", endpoints);
+        assertTrue(entity.isRepeatable());
+        assertTrue(entity.isChunked());
+        assertEquals(-1, entity.getContentLength());
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        entity.writeTo(first);
+        entity.writeTo(second);
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("app_key", "app");
+        expected.put("environment", "dev");
+        expected.put("endpoints", endpoints);
+        assertEquals(RegistryJson.mapper().valueToTree(expected), RegistryJson.reader().readTree(first.toByteArray()));
+        assertEquals(new String(first.toByteArray(), "UTF-8"), EntityUtils.toString(entity, "UTF-8"));
+    }
+
+    @Test
+    public void testSerializedCatalogMatchesStreamedBatch() throws Exception {
+        List<Map<String, Object>> endpoints = endpoints(3);
+        Map<String, Object> definitions = new HashMap<>();
+        definitions.put("Order", java.util.Collections.singletonMap("type", "object"));
+        SerializedEndpoints serialized = SerializedEndpoints.of(endpoints, definitions);
+        assertEquals(3, serialized.size());
+
+        for (String appKey : new String[]{"app", "other \"app\""}) {
+            SerializedEndpoints.BatchEntity entity = serialized.batchEntity(appKey, "dev");
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            entity.writeTo(body);
+            assertEquals(entity.getContentLength(), body.size());
+
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            JsonEntity.endpointsBatch(appKey, "dev", endpoints, definitions).writeTo(streamed);
+            assertEquals(RegistryJson.reader().readTree(streamed.toByteArray()), RegistryJson.reader().readTree(body.toByteArray()));
+        }
+    }
+
+    @Test
+    public void testBatchIsStreamedAndResponseParsed() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("POST /register/endpoints", r ->
+                    new StubRegistryServer.StubResponse(201, "{\"status\":\"registered\",\"count\":500,\"extra\":true}"));
+
+            RegistryResponse response = client.postEndpointsBatch("app", "dev", endpoints(500));
+
+            StubRegistryServer.RecordedRequest request = registry.requests().get(0);
+            assertEquals("chunked", request.header("Transfer-Encoding"));
+            JsonNode sent = RegistryJson.reader().readTree(request.body);
+            assertEquals(500, sent.get("endpoints").size());
+            assertEquals("tool499", sent.get("endpoints").get(499).get("name").asText());
+
+            assertTrue(response.isSuccess());
+            assertEquals(201, response.getStatusCode());
+            assertEquals("registered", response.getJson().get("status").asText());
+            Ack ack = response.getBodyAs(Ack.class);
+            assertEquals("registered", ack.status);
+            assertEquals(500, ack.count);
+        }
+    }
+
+    @Test
+    public void testSmallBodiesAreSentWithContentLength() throws Exception {
+        Map<String, Object> update = new HashMap<>();
+        update.put("name", "app");
+        JsonEntity entity = JsonEntity.of(update);
+        byte[] expected = RegistryJson.writer().writeValueAsBytes(update);
+        assertFalse(entity.isChunked());
+        assertEquals(expected.length, entity.getContentLength());
+        assertEquals(expected.length, entity.getBytesWritten());
+        assertEquals(new String(expected, "UTF-8"), EntityUtils.toString(entity, "UTF-8"));
+
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("PUT /applications/app", r -> new StubRegistryServer.StubResponse(200, "{}"));
+
+            client.updateApplication("app", update);
+
+            StubRegistryServer.RecordedRequest request = registry.requests().get(0);
+            assertNull(request.header("Transfer-Encoding"));
+            assertEquals(String.valueOf(expected.length), request.header("Content-Length"));
+            assertEquals("api-key", request.header("X-API-Key"));
+            assertEquals("app", request.header("X-App-Key"));
+        }
+    }
+
+    @Test
+    public void testNonJsonAndEmptyResponsesKeptAsText() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("PUT /applications/app", r ->
+                    new StubRegistryServer.StubResponse(200, "updated").header("Content-Type", "text/plain"));
+            registry.route("POST /register/endpoints", r -> new StubRegistryServer.StubResponse(204, ""));
+
+            assertEquals("updated", client.updateApplication("app", new HashMap<String, Object>()));
+            RegistryResponse empty = client.postEndpointsBatch("app", "dev", endpoints(1));
+            assertNull(empty.getJson());
+            assertNull(empty.getBodyAs(Ack.class));
+            assertEquals("", empty.getBodyAsString());
+        }
+    }
+
+    @Test
+    public void testMalformedJsonIsKeptAsTextAndNotRetried() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("POST /register/endpoints", r -> new StubRegistryServer.StubResponse(200, "{\"status\":\"regis"));
+            registry.route("PUT /applications/app", r -> new StubRegistryServer.StubResponse(200, "{ \"status\" : \"ok\" }"));
+
+            RegistryResponse truncated = client.postEndpointsBatch("app", "dev", endpoints(2));
+            assertTrue(truncated.isSuccess());
+            assertNull(truncated.getJson());
+            assertEquals("{\"status\":\"regis", truncated.getBodyAsString());
+            assertEquals(1, registry.requests("POST", "/register/endpoints").size());
+
+            // The registry's own text comes back, not a re-serialized tree
+            assertEquals("{ \"status\" : \"ok\" }", client.updateApplication("app", new HashMap<String, Object>()));
+        }
+    }
+}
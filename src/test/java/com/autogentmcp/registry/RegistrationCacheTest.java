@@ -0,0 +1,88 @@
+package com.autogentmcp.registry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistrationCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static RegistrationCache.Entry entry(String manifestFingerprint, String response) {
+        return new RegistrationCache.Entry("http://registry", "app", "dev", "app-fp", manifestFingerprint, 3, 1234L, response);
+    }
+
+    @Test
+    public void testRoundTripAndAtomicReplace() throws Exception {
+        RegistrationCache cache = new RegistrationCache(directory.resolve("nested"));
+        assertNull(cache.read("app", "dev"));
+
+        cache.write(entry("fp1", "{\"status\":\"ok\"}"));
+        cache.write(entry("fp2", null));
+
+        RegistrationCache.Entry read = cache.read("app", "dev");
+        assertEquals("http://registry", read.getRegistryUrl());
+        assertEquals("app-fp", read.getAppFingerprint());
+        assertEquals("fp2", read.getManifestFingerprint());
+        assertEquals(3, read.getEndpointCount());
+        assertEquals(1234L, read.getRegisteredAtMillis());
+        assertNull(read.getResponse());
+        assertNull(cache.read("app", "prod"));
+
+        // Only the entry itself is left behind, no temporary files
+        try (Stream<Path> files = Files.list(directory.resolve("nested"))) {
+            assertEquals(1, files.count());
+        }
+        cache.delete("app", "dev");
+        assertNull(cache.read("app", "dev"));
+    }
+
+    @Test
+    public void testLargeEntryIsReadThroughMapping() throws Exception {
+        StringBuilder response = new StringBuilder();
+        while (response.length() <= RegistrationCache.MAP_THRESHOLD_BYTES) {
+            response.append("{\"name\":\"tool\",\"status\":\"registered\"},");
+        }
+        RegistrationCache cache = new RegistrationCache(directory);
+        cache.write(entry("fp", response.toString()));
+
+        assertTrue(Files.size(cache.entryPath("app", "dev")) > RegistrationCache.MAP_THRESHOLD_BYTES);
+        assertEquals(response.toString(), cache.read("app", "dev").getResponse());
+    }
+
+    @Test
+    public void testCorruptOrForeignEntriesAreIgnored() throws Exception {
+        RegistrationCache cache = new RegistrationCache(directory);
+        Files.write(cache.entryPath("app", "dev"), "{\"app_key\":\"app\",".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.read("app", "dev"));
+
+        // Keys are sanitized into file names, so "a/b" and "a_b" share a file; the stored key decides
+        cache.write(new RegistrationCache.Entry("http://registry", "a/b", "dev", "x", "y", 0, 0L, null));
+        assertNotNull(cache.read("a/b", "dev"));
+        assertNull(cache.read("a_b", "dev"));
+    }
+
+    @Test
+    public void testAppFingerprintIgnoresMapOrder() {
+        Map<String, Object> first = new HashMap<>();
+        first.put("description", "Demo");
+        first.put("healthCheckUrl", "/health");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("healthCheckUrl", "/health");
+        second.put("description", "Demo");
+        assertEquals(RegistrationCache.fingerprint(first), RegistrationCache.fingerprint(second));
+
+        second.put("description", "Changed");
+        assertNotEquals(RegistrationCache.fingerprint(first), RegistrationCache.fingerprint(second));
+    }
+}
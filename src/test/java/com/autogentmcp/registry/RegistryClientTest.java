@@ -269,4 +269,49 @@ public class RegistryClientTest {
         String result = client.updateApplication("app-key", appData);
         assertEquals("update success", result);
     }
+
+    @Test
+    public void testAsyncVariantsCompleteOffTheCallerThread() throws Exception {
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+        RegistryClient client = new RegistryClient("http://localhost:8000", "api-key") {
+            @Override
+            protected CloseableHttpResponse executePost(HttpPost post) throws java.io.IOException {
+                threads.add(Thread.currentThread().getName());
+                return new MockHttpResponse(new MockHttpEntity("batch success"));
+            }
+
+            @Override
+            protected CloseableHttpResponse executePut(HttpPut put) throws java.io.IOException {
+                threads.add(Thread.currentThread().getName());
+                return new MockHttpResponse(new MockHttpEntity("update success"));
+            }
+        };
+        try {
+            assertEquals("update success", client.updateApplicationAsync("app-key", new HashMap<String, Object>())
+                    .get(5, java.util.concurrent.TimeUnit.SECONDS));
+            assertEquals("batch success", client.registerEndpointsBatchAsync("app-key", "dev", new ArrayList<Map<String, Object>>())
+                    .get(5, java.util.concurrent.TimeUnit.SECONDS));
+            assertFalse(threads.contains(Thread.currentThread().getName()));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testAsyncFailureCarriesIOException() throws Exception {
+        RegistryClient client = new RegistryClient("http://localhost:8000", "api-key") {
+            @Override
+            protected CloseableHttpResponse executePut(HttpPut put) throws java.io.IOException {
+                throw new java.io.IOException("registry down");
+            }
+        };
+        try {
+            java.util.concurrent.ExecutionException e = assertThrows(java.util.concurrent.ExecutionException.class,
+                    () -> client.updateApplicationAsync("app-key", new HashMap<String, Object>()).get(5, java.util.concurrent.TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals("registry down", e.getCause().getMessage());
+        } finally {
+            client.close();
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package com.autogentmcp.registry;
+
+import org.apache.http.pool.PoolStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistryHttpTransportTest {
+
+    @Test
+    public void testSettingsAppliedToPool() throws Exception {
+        HttpTransportSettings settings = HttpTransportSettings.defaults()
+                .setMaxConnections(7)
+                .setMaxConnectionsPerRoute(3);
+        try (RegistryHttpTransport transport = new RegistryHttpTransport(settings)) {
+            PoolStats stats = transport.getPoolStats();
+            assertEquals(7, stats.getMax());
+            assertEquals(0, stats.getLeased());
+            assertEquals(0, stats.getAvailable());
+        }
+    }
+
+    @Test
+    public void testConnectionsAreReusedAcrossCalls() throws Exception {
+        try (StubRegistryServer server = new StubRegistryServer();
+             RegistryHttpTransport transport = new RegistryHttpTransport(HttpTransportSettings.defaults())) {
+            RegistryClient client = new RegistryClient(server.baseUrl(), "api-key", transport);
+            Map<String, Object> appData = new HashMap<>();
+            appData.put("description", "desc");
+            for (int i = 0; i < 5; i++) {
+                client.updateApplication("app-key", appData);
+            }
+
+            assertEquals(5, server.requests().size());
+            Set<String> clientSockets = new HashSet<>();
+            for (StubRegistryServer.RecordedRequest r : server.requests()) {
+                clientSockets.add(r.remoteAddress);
+            }
+            // Every call went over the same keep-alive connection
+            assertEquals(1, clientSockets.size());
+
+            PoolStats stats = client.getPoolStats();
+            assertEquals(0, stats.getLeased());
+            assertEquals(1, stats.getAvailable());
+
+            // Closing a client that does not own the transport leaves the pool usable
+            client.close();
+            assertFalse(transport.isClosed());
+        }
+    }
+
+    @Test
+    public void testDefaultClientOwnsAndClosesItsTransport() throws Exception {
+        RegistryClient client = new RegistryClient("http://localhost:8000", "api-key");
+        assertNotNull(client.getPoolStats());
+        client.close();
+        assertTrue(client.transport.isClosed());
+    }
+}
@@ -0,0 +1,85 @@
+package com.autogentmcp.registry;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistryMetricsTest {
+
+    private static StubRegistryServer.StubResponse ok() {
+        return new StubRegistryServer.StubResponse(200, "{\"status\":\"ok\"}");
+    }
+
+    @Test
+    public void testCallsRetriesAndPayloadsAreRecorded() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            client.setMetrics(new MicrometerRegistryMetrics(meters));
+            client.setRetryPolicy(RetryPolicy.defaults().setInitialDelayMs(1).setMaxDelayMs(5));
+            registry.route("PUT /applications/app", StubRegistryServer.failFirst(1, 503, r -> ok()));
+
+            Map<String, Object> app = new HashMap<>();
+            app.put("description", "Demo");
+            client.updateApplication("app", app);
+            List<Map<String, Object>> endpoints = new ArrayList<>();
+            endpoints.add(app);
+            client.registerEndpointsBatch("app", "dev", endpoints);
+            client.sendHeartbeat("app", "{}".getBytes("UTF-8"));
+
+            Timer failed = meters.get("autogentmcp.registry.requests")
+                    .tags("operation", "updateApplication", "status", "503", "outcome", "SERVER_ERROR").timer();
+            Timer succeeded = meters.get("autogentmcp.registry.requests")
+                    .tags("operation", "updateApplication", "status", "200").timer();
+            assertEquals(1, failed.count());
+            assertEquals(1, succeeded.count());
+            assertEquals(1.0, meters.get("autogentmcp.registry.retries").tag("operation", "updateApplication").counter().count());
+            assertEquals(1, meters.get("autogentmcp.registry.requests").tag("operation", "heartbeat").timer().count());
+
+            // Payload sizes are the uncompressed bytes that went out, one sample per attempt
+            assertEquals(2, meters.get("autogentmcp.registry.payload.size").tag("operation", "updateApplication").summary().count());
+            assertEquals(registry.requests("POST", "/register/endpoints").get(0).body.length,
+                    meters.get("autogentmcp.registry.payload.size").tag("operation", "registerEndpointsBatch").summary().totalAmount());
+            assertEquals(0, meters.get("autogentmcp.registry.requests.active").longTaskTimer().activeTasks());
+        }
+    }
+
+    @Test
+    public void testCircuitRejectionsAndPoolGauges() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        MicrometerRegistryMetrics metrics = new MicrometerRegistryMetrics(meters);
+        try (RegistryHttpTransport transport = new RegistryHttpTransport(HttpTransportSettings.defaults().setMaxConnections(7))) {
+            RegistryClient client = new RegistryClient("http://127.0.0.1:1", "api-key", transport);
+            client.setMetrics(metrics);
+            client.setRetryPolicy(RetryPolicy.none());
+            client.setCircuitBreaker(new CircuitBreaker(1, 60000));
+            metrics.bindConnectionPool(transport);
+
+            assertThrows(IOException.class, () -> client.updateApplication("app", new HashMap<String, Object>()));
+            assertThrows(CircuitBreakerOpenException.class, () -> client.updateApplication("app", new HashMap<String, Object>()));
+
+            assertEquals(1, meters.get("autogentmcp.registry.requests").tags("status", "IO_ERROR").timer().count());
+            assertEquals(1.0, meters.get("autogentmcp.registry.circuit.rejected").counter().count());
+            assertEquals(7.0, meters.get("autogentmcp.registry.pool.max").gauge().value());
+            assertEquals(0.0, meters.get("autogentmcp.registry.pool.leased").gauge().value());
+        }
+    }
+
+    @Test
+    public void testNoopMetricsIsTheDefault() throws Exception {
+        try (RegistryClient client = new RegistryClient("http://127.0.0.1:1", "api-key")) {
+            assertSame(RegistryMetrics.NOOP, client.getMetrics());
+            client.setMetrics(null);
+            assertSame(RegistryMetrics.NOOP, client.getMetrics());
+            assertSame(RegistryMetrics.Call.NOOP, RegistryMetrics.NOOP.startCall("updateApplication"));
+        }
+    }
+}
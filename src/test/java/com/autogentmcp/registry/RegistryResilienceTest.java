@@ -0,0 +1,160 @@
+package com.autogentmcp.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistryResilienceTest {
+
+    private static StubRegistryServer.StubResponse ok() {
+        return new StubRegistryServer.StubResponse(200, "{\"status\":\"ok\"}");
+    }
+
+    private static RegistryClient fastRetryingClient(String baseUrl) {
+        RegistryClient client = new RegistryClient(baseUrl, "api-key");
+        client.setRetryPolicy(RetryPolicy.defaults().setMaxAttempts(4).setInitialDelayMs(5).setMaxDelayMs(20));
+        return client;
+    }
+
+    @Test
+    public void testFullJitterStaysUnderExponentialCeiling() {
+        RetryPolicy policy = RetryPolicy.defaults().setInitialDelayMs(100).setMaxDelayMs(1000);
+        assertEquals(100, policy.backoffCeiling(1));
+        assertEquals(200, policy.backoffCeiling(2));
+        assertEquals(800, policy.backoffCeiling(4));
+        assertEquals(1000, policy.backoffCeiling(5));
+        assertEquals(1000, policy.backoffCeiling(500));
+        long sum = 0;
+        for (int i = 0; i < 2000; i++) {
+            long delay = policy.delayForAttempt(3);
+            assertTrue(delay >= 0 && delay <= 400, "delay " + delay);
+            sum += delay;
+        }
+        // Uniform over [0, 400]: the mean is far from both ends
+        long mean = sum / 2000;
+        assertTrue(mean > 150 && mean < 250, "mean " + mean);
+    }
+
+    @Test
+    public void testRetryClassification() {
+        for (int status : new int[]{408, 425, 429, 500, 502, 503, 504}) {
+            assertTrue(RetryPolicy.isRetryableStatus(status), "status " + status);
+        }
+        for (int status : new int[]{200, 400, 401, 403, 404, 409, 415, 501}) {
+            assertFalse(RetryPolicy.isRetryableStatus(status), "status " + status);
+        }
+        assertTrue(RetryPolicy.isRetryable(new IOException("connection reset")));
+        assertTrue(RetryPolicy.isRetryable(new SocketTimeoutException("read timed out")));
+        assertFalse(RetryPolicy.isRetryable(new UnknownHostException("registry")));
+        assertFalse(RetryPolicy.isRetryable(new InterruptedIOException("interrupted")));
+        assertFalse(RetryPolicy.isRetryable(new RegistryException("bad request", 400, "")));
+    }
+
+    @Test
+    public void testCircuitBreakerTransitions() {
+        AtomicLong now = new AtomicLong(1000);
+        CircuitBreaker breaker = new CircuitBreaker(3, 500, now::get);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onSuccess();
+        assertEquals(0, breaker.getConsecutiveFailures());
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(500, breaker.getRemainingOpenMillis());
+
+        now.addAndGet(500);
+        // Exactly one probe in half-open state
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.addAndGet(500);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = fastRetryingClient(registry.baseUrl())) {
+            registry.route("PUT /applications/app", StubRegistryServer.failFirst(2, 503, r -> ok()));
+
+            assertEquals("{\"status\":\"ok\"}", client.updateApplication("app", new HashMap<String, Object>()));
+            assertEquals(3, registry.requests().size());
+            assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState());
+        }
+    }
+
+    @Test
+    public void testClientErrorsFailFastWithStatus() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = fastRetryingClient(registry.baseUrl())) {
+            registry.route("PUT /applications/app", r -> new StubRegistryServer.StubResponse(401, "{\"detail\":\"bad key\"}"));
+
+            RegistryException e = assertThrows(RegistryException.class,
+                    () -> client.updateApplication("app", new HashMap<String, Object>()));
+            assertEquals(401, e.getStatusCode());
+            assertTrue(e.isUnauthorized());
+            assertEquals(1, registry.requests().size());
+        }
+    }
+
+    @Test
+    public void testRetryAfterIsHonoured() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = fastRetryingClient(registry.baseUrl())) {
+            client.setRetryPolicy(RetryPolicy.defaults().setMaxAttempts(2).setInitialDelayMs(0).setMaxDelayMs(5000));
+            registry.route("PUT /applications/app", new Function<StubRegistryServer.RecordedRequest, StubRegistryServer.StubResponse>() {
+                private int calls;
+
+                @Override
+                public synchronized StubRegistryServer.StubResponse apply(StubRegistryServer.RecordedRequest r) {
+                    return ++calls == 1 ? new StubRegistryServer.StubResponse(429, "").header("Retry-After", "1") : ok();
+                }
+            });
+
+            long start = System.nanoTime();
+            client.updateApplication("app", new HashMap<String, Object>());
+            long elapsedMillis = (System.nanoTime() - start) / 1000000;
+            assertTrue(elapsedMillis >= 1000, "retried after " + elapsedMillis + " ms");
+            assertEquals(2, registry.requests().size());
+        }
+    }
+
+    @Test
+    public void testOpenCircuitStopsCallingRegistry() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = fastRetryingClient(registry.baseUrl())) {
+            client.setRetryPolicy(RetryPolicy.none());
+            client.setCircuitBreaker(new CircuitBreaker(3, 60000));
+            registry.route("PUT /applications/app", r -> new StubRegistryServer.StubResponse(500, ""));
+
+            for (int i = 0; i < 3; i++) {
+                RegistryException e = assertThrows(RegistryException.class,
+                        () -> client.updateApplication("app", new HashMap<String, Object>()));
+                assertEquals(500, e.getStatusCode());
+            }
+            assertThrows(CircuitBreakerOpenException.class,
+                    () -> client.updateApplication("app", new HashMap<String, Object>()));
+            assertEquals(3, registry.requests().size());
+        }
+    }
+}
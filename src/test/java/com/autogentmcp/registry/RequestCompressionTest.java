@@ -0,0 +1,142 @@
+package com.autogentmcp.registry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCompressionTest {
+
+    // Endpoints with deduced-style request/response schemas, like large real catalogs
+    private static List<Map<String, Object>> endpoints(int n) {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Map<String, Object> properties = new HashMap<>();
+            for (String field : new String[]{"id", "name", "description", "createdAt", "updatedAt", "owner"}) {
+                Map<String, Object> info = new HashMap<>();
+                info.put("type", "String");
+                info.put("required", true);
+                properties.put(field, info);
+            }
+            Map<String, Object> body = new HashMap<>();
+            body.put("type", "object");
+            body.put("properties", properties);
+
+            Map<String, Object> endpoint = new HashMap<>();
+            endpoint.put("name", "tool" + i);
+            endpoint.put("path", "/api/tools/" + i);
+            endpoint.put("method", "POST");
+            endpoint.put("description", "Creates a resource of kind " + i);
+            endpoint.put("requestBody", body);
+            endpoint.put("responseBody", body);
+            endpoints.add(endpoint);
+        }
+        return endpoints;
+    }
+
+    private static byte[] gunzip(byte[] data) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return StubRegistryServer.readAll(in);
+        }
+    }
+
+    private static byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(text.getBytes("UTF-8"));
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testCompressedBatchIsSmallerOnTheWire() throws Exception {
+        List<Map<String, Object>> endpoints = endpoints(500);
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryHttpTransport plainTransport = new RegistryHttpTransport(HttpTransportSettings.defaults());
+             RegistryHttpTransport gzipTransport = new RegistryHttpTransport(HttpTransportSettings.defaults()
+                     .setRequestCompressionEnabled(true))) {
+            new RegistryClient(registry.baseUrl(), "api-key", plainTransport).registerEndpointsBatch("app", "dev", endpoints);
+            new RegistryClient(registry.baseUrl(), "api-key", gzipTransport).registerEndpointsBatch("app", "dev", endpoints);
+
+            List<StubRegistryServer.RecordedRequest> batches = registry.requests("POST", "/register/endpoints");
+            StubRegistryServer.RecordedRequest plain = batches.get(0);
+            StubRegistryServer.RecordedRequest compressed = batches.get(1);
+            assertNull(plain.header("Content-Encoding"));
+            assertEquals("gzip", compressed.header("Content-Encoding"));
+            assertEquals("application/json", compressed.header("Content-Type"));
+
+            System.out.println("Endpoint batch bytes on the wire: plain=" + plain.body.length + ", gzip=" + compressed.body.length);
+            assertTrue(compressed.body.length * 5 < plain.body.length,
+                    "gzip=" + compressed.body.length + " plain=" + plain.body.length);
+            assertArrayEquals(plain.body, gunzip(compressed.body));
+        }
+    }
+
+    @Test
+    public void testFallsBackToPlainBodiesAfter415() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryHttpTransport transport = new RegistryHttpTransport(HttpTransportSettings.defaults()
+                     .setRequestCompressionEnabled(true))) {
+            registry.route("POST /register/endpoints", r -> "gzip".equals(r.header("Content-Encoding"))
+                    ? new StubRegistryServer.StubResponse(415, "{\"detail\":\"unsupported encoding\"}")
+                    : new StubRegistryServer.StubResponse(200, "{\"status\":\"ok\"}"));
+            RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key", transport);
+
+            RegistryResponse first = client.postEndpointsBatch("app", "dev", endpoints(10));
+            RegistryResponse second = client.postEndpointsBatch("app", "dev", endpoints(10));
+
+            assertTrue(first.isSuccess());
+            assertTrue(second.isSuccess());
+            assertTrue(client.isRequestCompressionRejected());
+            List<StubRegistryServer.RecordedRequest> batches = registry.requests("POST", "/register/endpoints");
+            // gzip attempt, plain retry, then plain only
+            assertEquals(3, batches.size());
+            assertEquals("gzip", batches.get(0).header("Content-Encoding"));
+            assertNull(batches.get(1).header("Content-Encoding"));
+            assertNull(batches.get(2).header("Content-Encoding"));
+            assertArrayEquals(gunzip(batches.get(0).body), batches.get(1).body);
+        }
+    }
+
+    @Test
+    public void testKnownSmallBodiesAndDisabledCompressionStayPlain() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            client.registerEndpointsBatch("app", "dev", endpoints(1));
+            assertNull(registry.requests().get(0).header("Content-Encoding"));
+
+            client.setRequestCompressionThreshold(0);
+            client.registerEndpointsBatch("app", "dev", endpoints(1));
+            assertEquals("gzip", registry.requests().get(1).header("Content-Encoding"));
+
+            // Application updates are small and never compressed
+            client.updateApplication("app", new HashMap<String, Object>());
+            assertNull(registry.requests().get(2).header("Content-Encoding"));
+        }
+    }
+
+    @Test
+    public void testGzipResponsesAreDecoded() throws Exception {
+        final byte[] body = gzip("{\"status\":\"registered\"}");
+        try (StubRegistryServer registry = new StubRegistryServer();
+             RegistryClient client = new RegistryClient(registry.baseUrl(), "api-key")) {
+            registry.route("POST /register/endpoints", r ->
+                    new StubRegistryServer.StubResponse(200, body).header("Content-Encoding", "gzip"));
+
+            RegistryResponse response = client.postEndpointsBatch("app", "dev", endpoints(1));
+
+            assertTrue(registry.requests().get(0).header("Accept-Encoding").contains("gzip"));
+            JsonNode json = response.getJson();
+            assertEquals("registered", json.get("status").asText());
+        }
+    }
+}
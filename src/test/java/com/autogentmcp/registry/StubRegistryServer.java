@@ -0,0 +1,180 @@
+package com.autogentmcp.registry;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Minimal in-process registry used by tests that need real sockets (pooling,
+ * compression, retries). Records every request and answers with a per-route handler.
+ */
+public class StubRegistryServer implements AutoCloseable {
+
+    public static class RecordedRequest {
+        public final String method;
+        public final String path;
+        public final String query;
+        public final Map<String, String> headers;
+        public final byte[] body;
+        public final String remoteAddress;
+
+        RecordedRequest(String method, String path, String query, Map<String, String> headers, byte[] body, String remoteAddress) {
+            this.method = method;
+            this.path = path;
+            this.query = query;
+            this.headers = headers;
+            this.body = body;
+            this.remoteAddress = remoteAddress;
+        }
+
+        public String header(String name) {
+            return headers.get(name.toLowerCase());
+        }
+
+        public String bodyAsString() {
+            try {
+                return new String(body, "UTF-8");
+            } catch (java.io.UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public static class StubResponse {
+        public final int status;
+        public final byte[] body;
+        public final Map<String, String> headers = new HashMap<>();
+
+        public StubResponse(int status, String body) {
+            this(status, body == null ? new byte[0] : body.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        }
+
+        public StubResponse(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public StubResponse header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+
+    /**
+     * Fault injection: answers the first {@code failures} requests with {@code status}, then delegates.
+     */
+    public static Function<RecordedRequest, StubResponse> failFirst(int failures, int status,
+                                                                    Function<RecordedRequest, StubResponse> then) {
+        final AtomicInteger calls = new AtomicInteger();
+        return r -> calls.incrementAndGet() <= failures ? new StubResponse(status, "{\"detail\":\"injected failure\"}") : then.apply(r);
+    }
+
+    private final HttpServer server;
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Map<String, Function<RecordedRequest, StubResponse>> routes = new ConcurrentHashMap<>();
+    private volatile Function<RecordedRequest, StubResponse> defaultHandler = r -> new StubResponse(200, "{\"status\":\"ok\"}");
+
+    public StubRegistryServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stub-registry");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Routes are matched on "METHOD path", e.g. "POST /register/endpoints".
+     */
+    public StubRegistryServer route(String methodAndPath, Function<RecordedRequest, StubResponse> handler) {
+        routes.put(methodAndPath, handler);
+        return this;
+    }
+
+    public StubRegistryServer defaultHandler(Function<RecordedRequest, StubResponse> handler) {
+        this.defaultHandler = handler;
+        return this;
+    }
+
+    public List<RecordedRequest> requests() {
+        return Collections.unmodifiableList(new ArrayList<>(requests));
+    }
+
+    public List<RecordedRequest> requests(String method, String path) {
+        List<RecordedRequest> matching = new ArrayList<>();
+        for (RecordedRequest r : requests) {
+            if (r.method.equals(method) && r.path.equals(path)) {
+                matching.add(r);
+            }
+        }
+        return matching;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> h : exchange.getRequestHeaders().entrySet()) {
+            headers.put(h.getKey().toLowerCase(), h.getValue().isEmpty() ? "" : h.getValue().get(0));
+        }
+        RecordedRequest request = new RecordedRequest(
+                exchange.getRequestMethod(),
+                exchange.getRequestURI().getPath(),
+                exchange.getRequestURI().getRawQuery(),
+                headers,
+                readAll(exchange.getRequestBody()),
+                exchange.getRemoteAddress().toString());
+        requests.add(request);
+
+        Function<RecordedRequest, StubResponse> handler = routes.get(request.method + " " + request.path);
+        StubResponse response = (handler != null ? handler : defaultHandler).apply(request);
+        for (Map.Entry<String, String> h : response.headers.entrySet()) {
+            exchange.getResponseHeaders().set(h.getKey(), h.getValue());
+        }
+        if (!response.headers.containsKey("Content-Type")) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+        }
+        exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+        if (response.body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response.body);
+            }
+        }
+        exchange.close();
+    }
+
+    static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        ((java.util.concurrent.ExecutorService) server.getExecutor()).shutdownNow();
+    }
+}
@@ -0,0 +1,121 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistrationStatus;
+import com.autogentmcp.registry.StubRegistryServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncRegistrationTest {
+
+    @EnableAutogentMcp(key = "async-app", description = "Async app")
+    static class AsyncApplication {
+    }
+
+    static class ToolBean {
+        @AutogentTool(name = "ping", uri = "/ping", method = "GET")
+        public String ping() {
+            return "pong";
+        }
+    }
+
+    @Test
+    public void testStartupDoesNotWaitForRegistry() throws Exception {
+        final CountDownLatch registryReleased = new CountDownLatch(1);
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            registry.route("PUT /applications/async-app", r -> {
+                try {
+                    registryReleased.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new StubRegistryServer.StubResponse(200, "{}");
+            });
+
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.registration.async", "true");
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", AsyncApplication.class);
+            context.registerBean("toolBean", ToolBean.class);
+            try {
+                long start = System.nanoTime();
+                context.refresh();
+                long refreshMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                AutogentMcpAutoConfiguration config = context.getBean(AutogentMcpAutoConfiguration.class);
+                RegistrationStatus status = config.getRegistrationStatus();
+                assertTrue(status.isPending(), "registration should still be pending: " + status);
+                assertTrue(refreshMillis < 5000, "refresh took " + refreshMillis + "ms");
+
+                registryReleased.countDown();
+                awaitState(status, RegistrationStatus.State.REGISTERED);
+                assertEquals(1, registry.requests("POST", "/register/endpoints").size());
+            } finally {
+                registryReleased.countDown();
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testFailedAppUpdateSkipsEndpointRegistration() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties("http://127.0.0.1:1");
+            props.put("autogentmcp.registration.async", "true");
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", AsyncApplication.class);
+            context.registerBean("toolBean", ToolBean.class);
+            try {
+                context.refresh();
+                RegistrationStatus status = context.getBean(AutogentMcpAutoConfiguration.class).getRegistrationStatus();
+                awaitState(status, RegistrationStatus.State.FAILED);
+                assertNotNull(status.getLastError());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testFailedRegistrationIsRetriedInBackground() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            // Outlasts the per-call retries, so the first registration attempt fails
+            registry.route("PUT /applications/async-app",
+                    StubRegistryServer.failFirst(4, 503, r -> new StubRegistryServer.StubResponse(200, "{}")));
+
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.registration.async", "true");
+            props.put("autogentmcp.http.retry.max-attempts", "2");
+            props.put("autogentmcp.http.retry.initial-delay", "5");
+            props.put("autogentmcp.registration.retry.initial-delay", "20");
+            props.put("autogentmcp.registration.retry.max-delay", "50");
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", AsyncApplication.class);
+            context.registerBean("toolBean", ToolBean.class);
+            try {
+                context.refresh();
+                RegistrationStatus status = context.getBean(AutogentMcpAutoConfiguration.class).getRegistrationStatus();
+                awaitState(status, RegistrationStatus.State.REGISTERED);
+                assertEquals(5, registry.requests("PUT", "/applications/async-app").size());
+                assertEquals(1, registry.requests("POST", "/register/endpoints").size());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static void awaitState(RegistrationStatus status, RegistrationStatus.State expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (status.getState() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, status.getState());
+    }
+}
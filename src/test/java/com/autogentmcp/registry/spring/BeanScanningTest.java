@@ -0,0 +1,63 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanScanningTest {
+
+    static class ToolBean {
+        @AutogentTool(name = "tool", uri = "/tool")
+        public void tool() {
+        }
+    }
+
+    static class PlainBean {
+        public void work() {
+        }
+    }
+
+    @Test
+    public void testPostProcessingDoesNotQueryTheContextPerBean() {
+        ApplicationContext context = Mockito.mock(ApplicationContext.class);
+        AutogentMcpAutoConfiguration config = new AutogentMcpAutoConfiguration();
+        config.setApplicationContext(context);
+        config.appKey = "app-key";
+
+        for (int i = 0; i < 3000; i++) {
+            Object bean = i % 100 == 0 ? new ToolBean() : new PlainBean();
+            assertSame(bean, config.postProcessAfterInitialization(bean, "bean" + i));
+        }
+
+        // Per-bean work is independent of the context size: no getBeanNamesForType/getBeanDefinitionNames scans
+        Mockito.verifyNoInteractions(context);
+        // Same tool from 30 beans of one class is collected once
+        assertEquals(1, config.endpointCollector.getAll().size());
+    }
+
+    @Test
+    public void testCollectorsAreIsolatedPerContext() {
+        AutogentMcpAutoConfiguration first = new AutogentMcpAutoConfiguration();
+        AutogentMcpAutoConfiguration second = new AutogentMcpAutoConfiguration();
+        first.setApplicationContext(Mockito.mock(ApplicationContext.class));
+        second.setApplicationContext(Mockito.mock(ApplicationContext.class));
+        first.appKey = "first";
+        second.appKey = "second";
+
+        first.postProcessAfterInitialization(new ToolBean(), "toolBean");
+
+        assertEquals(1, first.endpointCollector.getAll().size());
+        assertTrue(second.endpointCollector.getAll().isEmpty());
+    }
+
+    @Test
+    public void testBeansAreIgnoredWithoutEnableAutogentMcp() {
+        AutogentMcpAutoConfiguration config = new AutogentMcpAutoConfiguration();
+        config.setApplicationContext(Mockito.mock(ApplicationContext.class));
+        config.postProcessAfterInitialization(new ToolBean(), "toolBean");
+        assertTrue(config.endpointCollector.getAll().isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+package com.autogentmcp.registry.spring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointCollectorTest {
+
+    private static Map<String, Object> endpoint(String name, String path, String method) {
+        Map<String, Object> endpoint = new HashMap<>();
+        endpoint.put("name", name);
+        endpoint.put("path", path);
+        endpoint.put("method", method);
+        return endpoint;
+    }
+
+    @Test
+    public void testDuplicatesIgnoredAndOrderKept() {
+        AutogentMcpAutoConfiguration.EndpointCollector collector = new AutogentMcpAutoConfiguration.EndpointCollector();
+        collector.add(endpoint("b", "/b", "GET"));
+        collector.add(endpoint("a", "/a", "POST"));
+        collector.add(endpoint("b", "/b", "GET"));
+        // Same name on another method is a different endpoint
+        collector.add(endpoint("b", "/b", "PUT"));
+        collector.add(null);
+
+        List<Map<String, Object>> all = collector.getAll();
+        assertEquals(3, all.size());
+        assertEquals("b", all.get(0).get("name"));
+        assertEquals("a", all.get(1).get("name"));
+        assertEquals("PUT", all.get(2).get("method"));
+        assertEquals(1, collector.getDuplicateCount());
+    }
+
+    @Test
+    public void testSnapshotIsImmutableAndCachedUntilChanged() {
+        AutogentMcpAutoConfiguration.EndpointCollector collector = new AutogentMcpAutoConfiguration.EndpointCollector();
+        collector.add(endpoint("a", "/a", "GET"));
+
+        List<Map<String, Object>> first = collector.getAll();
+        assertSame(first, collector.getAll());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(endpoint("x", "/x", "GET")));
+
+        collector.add(endpoint("b", "/b", "GET"));
+        List<Map<String, Object>> second = collector.getAll();
+        assertNotSame(first, second);
+        assertEquals(1, first.size());
+        assertEquals(2, second.size());
+
+        collector.clear();
+        assertTrue(collector.getAll().isEmpty());
+        assertEquals(0, collector.size());
+    }
+
+    @Test
+    public void testEndpointIsRemovedWithItsLastProvider() {
+        AutogentMcpAutoConfiguration.EndpointCollector collector = new AutogentMcpAutoConfiguration.EndpointCollector();
+        assertTrue(collector.add(endpoint("a", "/a", "GET")));
+        assertFalse(collector.add(endpoint("a", "/a", "GET")));
+
+        assertFalse(collector.remove(endpoint("a", "/a", "GET")));
+        assertEquals(1, collector.getAll().size());
+        assertTrue(collector.remove(endpoint("a", "/a", "GET")));
+        assertTrue(collector.getAll().isEmpty());
+        assertFalse(collector.remove(endpoint("a", "/a", "GET")));
+    }
+
+    @Test
+    public void testNewContentReplacesEndpoint() {
+        AutogentMcpAutoConfiguration.EndpointCollector collector = new AutogentMcpAutoConfiguration.EndpointCollector();
+        collector.add(endpoint("a", "/a", "GET"));
+        Map<String, Object> changed = endpoint("a", "/a", "GET");
+        changed.put("description", "v2");
+        assertTrue(collector.add(changed));
+
+        assertEquals(1, collector.getAll().size());
+        assertEquals("v2", collector.getAll().get(0).get("description"));
+        // The old provider going away leaves the new content in place
+        assertFalse(collector.remove(endpoint("a", "/a", "GET")));
+        assertEquals("v2", collector.getAll().get(0).get("description"));
+    }
+
+    @Test
+    public void testReplacedEndpointMovesToTheEnd() {
+        AutogentMcpAutoConfiguration.EndpointCollector collector = new AutogentMcpAutoConfiguration.EndpointCollector();
+        collector.add(endpoint("a", "/a", "GET"));
+        collector.add(endpoint("b", "/b", "GET"));
+        collector.add(endpoint("c", "/c", "GET"));
+        Map<String, Object> changed = endpoint("a", "/a", "GET");
+        changed.put("description", "v2");
+        assertTrue(collector.add(changed));
+        assertTrue(collector.remove(endpoint("b", "/b", "GET")));
+
+        List<Map<String, Object>> all = collector.getAll();
+        assertEquals(2, all.size());
+        assertEquals("c", all.get(0).get("name"));
+        assertEquals("v2", all.get(1).get("description"));
+    }
+
+    @Test
+    public void testConcurrentAddsDeduplicate() throws Exception {
+        final AutogentMcpAutoConfiguration.EndpointCollector collector = new AutogentMcpAutoConfiguration.EndpointCollector();
+        final int threads = 8;
+        final int tools = 2000;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < tools; i++) {
+                        collector.add(endpoint("tool" + i, "/tool/" + i, "GET"));
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(tools, collector.size());
+        assertEquals(tools, collector.getAll().size());
+        assertEquals((threads - 1) * tools, collector.getDuplicateCount());
+    }
+}
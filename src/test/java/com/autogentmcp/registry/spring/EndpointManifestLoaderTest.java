@@ -0,0 +1,93 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointManifestLoaderTest {
+
+    private static final String TEST_MANIFEST = "autogentmcp-test/endpoints.json";
+
+    @EnableAutogentMcp(key = "manifest-app")
+    static class ManifestApplication {
+    }
+
+    static class ScannedBean {
+        @AutogentTool(name = "scanned", uri = "/scanned")
+        public void scanned() {
+        }
+    }
+
+    static class ManifestedBean {
+        @AutogentTool(name = "manifested", uri = "/manifested", description = "From reflection")
+        public void manifested() {
+        }
+    }
+
+    @Test
+    public void testLoadsEndpointsAndParsesOverrides() throws Exception {
+        EndpointManifestLoader.Manifest endpoints = EndpointManifestLoader.load(getClass().getClassLoader(), TEST_MANIFEST);
+        assertEquals(3, endpoints.size());
+        Map<String, Object> add = endpoints.endpointsOf("demo.MathController").get(0);
+        assertEquals("Add Numbers", add.get("name"));
+        assertEquals(true, add.get("isPublic"));
+        assertEquals("int", ((Map<?, ?>) ((Map<?, ?>) add.get("pathParams")).get("a")).get("type"));
+
+        Object queryParams = endpoints.endpointsOf("demo.SearchController").get(0).get("queryParams");
+        assertTrue(queryParams instanceof Map, "JSON override should be parsed: " + queryParams);
+        assertTrue(((Map<?, ?>) queryParams).containsKey("q"));
+    }
+
+    @Test
+    public void testOnlyClassesDeclaringALimitOrNotCoveredNeedConcurrencyReflection() throws Exception {
+        EndpointManifestLoader.Manifest manifest = EndpointManifestLoader.load(getClass().getClassLoader(), TEST_MANIFEST);
+        assertTrue(manifest.mayDeclareConcurrencyLimits("demo.MathController"));
+        assertFalse(manifest.mayDeclareConcurrencyLimits("demo.SearchController"));
+        assertTrue(manifest.mayDeclareConcurrencyLimits("demo.UnknownController"));
+    }
+
+    @Test
+    public void testMissingManifestYieldsNoEndpoints() throws Exception {
+        assertTrue(EndpointManifestLoader.load(getClass().getClassLoader(), "autogentmcp-test/missing.json").isEmpty());
+    }
+
+    @Test
+    public void testManifestCoversOnlyItsBeansAndOtherBeansAreScanned() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.manifest.location", TEST_MANIFEST);
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", ManifestApplication.class);
+            context.registerBean("scannedBean", ScannedBean.class);
+            context.registerBean("manifestedBean", ManifestedBean.class);
+            try {
+                context.refresh();
+            } finally {
+                context.close();
+            }
+
+            List<StubRegistryServer.RecordedRequest> batches = registry.requests("POST", "/register/endpoints");
+            assertEquals(1, batches.size());
+            JsonNode endpoints = new ObjectMapper().readTree(batches.get(0).body).get("endpoints");
+            // Manifest entries of classes that are not beans here are left out
+            assertEquals(2, endpoints.size());
+            for (JsonNode endpoint : endpoints) {
+                String name = endpoint.get("name").asText();
+                if (name.equals("manifested")) {
+                    assertEquals("From the manifest", endpoint.get("description").asText());
+                } else {
+                    assertEquals("scanned", name);
+                }
+            }
+        }
+    }
+}
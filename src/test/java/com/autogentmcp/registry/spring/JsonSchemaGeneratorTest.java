@@ -0,0 +1,232 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.EndpointManifest;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonSchemaGeneratorTest {
+
+    public enum Status {
+        OPEN,
+        @JsonProperty("closed") CLOSED
+    }
+
+    public static class Entity {
+        private long id;
+        private Instant createdAt;
+    }
+
+    @JsonIgnoreProperties({"internalNote"})
+    public static class Order extends Entity {
+        @JsonProperty(value = "order_number", required = true)
+        @JsonPropertyDescription("Human readable order number")
+        private String number;
+        private Status status;
+        private List<LineItem> items;
+        private Map<String, Integer> quantities;
+        private Optional<Customer> customer;
+        @JsonIgnore
+        private String secret;
+        private String internalNote;
+    }
+
+    public static class LineItem {
+        private String sku;
+        private Set<String> tags;
+        private Customer customer;
+    }
+
+    public static class Customer {
+        private String name;
+        private Customer referredBy;
+        private List<Order> orders;
+    }
+
+    public static class Page<T> {
+        private List<T> content;
+        private int total;
+    }
+
+    // Every level is a new generic instantiation, so only the depth guard stops it
+    public static class Expanding<T> {
+        private T value;
+        private Expanding<List<T>> next;
+    }
+
+    public static class OrderTools {
+        @AutogentTool(name = "createOrder", uri = "/orders", method = "POST")
+        public Order create(@RequestBody Order order) {
+            return order;
+        }
+
+        @AutogentTool(name = "listOrders", uri = "/customers/{id}/orders", method = "GET")
+        public Page<Order> list(@PathVariable("id") long customerId) {
+            return null;
+        }
+
+        @AutogentTool(name = "getCustomer", uri = "/customers/{id}", method = "GET")
+        public Customer customer(@PathVariable("id") long id) {
+            return null;
+        }
+    }
+
+    @EnableAutogentMcp(key = "schema-app", description = "JSON Schema app")
+    static class SchemaApplication {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> definition(JsonSchemaGenerator generator, String name) {
+        Map<String, Object> definition = (Map<String, Object>) generator.getDefinitions().get(name);
+        assertNotNull(definition, "missing definition " + name + " in " + generator.getDefinitions().keySet());
+        return definition;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> property(Map<String, Object> definition, String name) {
+        return (Map<String, Object>) ((Map<String, Object>) definition.get("properties")).get(name);
+    }
+
+    private static Map<String, Object> ref(String name) {
+        return Collections.<String, Object>singletonMap("$ref", "#/$defs/" + name);
+    }
+
+    @Test
+    public void testBeanPropertiesFollowJackson() {
+        JsonSchemaGenerator generator = new JsonSchemaGenerator();
+        assertEquals(ref("Order"), generator.schemaFor(Order.class));
+
+        Map<String, Object> order = definition(generator, "Order");
+        assertEquals("object", order.get("type"));
+        Map<?, ?> properties = (Map<?, ?>) order.get("properties");
+        // Inherited fields are included, ignored ones are not
+        assertTrue(properties.containsKey("id"));
+        assertTrue(properties.containsKey("createdAt"));
+        assertFalse(properties.containsKey("secret"));
+        assertFalse(properties.containsKey("internalNote"));
+        assertFalse(properties.containsKey("number"));
+        assertEquals(Collections.singletonList("order_number"), order.get("required"));
+
+        assertEquals("Human readable order number", property(order, "order_number").get("description"));
+        assertEquals("int64", property(order, "id").get("format"));
+        assertEquals("date-time", property(order, "createdAt").get("format"));
+        assertEquals(Arrays.asList("OPEN", "closed"), property(order, "status").get("enum"));
+        assertEquals(ref("LineItem"), property(order, "items").get("items"));
+        assertEquals("integer", ((Map<?, ?>) property(order, "quantities").get("additionalProperties")).get("type"));
+        // Optional is unwrapped
+        assertEquals(ref("Customer"), property(order, "customer"));
+        assertEquals(Boolean.TRUE, property(definition(generator, "LineItem"), "tags").get("uniqueItems"));
+    }
+
+    @Test
+    public void testCyclesAndSharedTypesAreDefinedOnce() {
+        JsonSchemaGenerator generator = new JsonSchemaGenerator();
+        generator.schemaFor(Order.class);
+        generator.schemaFor(Customer.class);
+
+        assertEquals(new TreeSet<>(Arrays.asList("Customer", "LineItem", "Order")), generator.getDefinitions().keySet());
+        Map<String, Object> customer = definition(generator, "Customer");
+        assertEquals(ref("Customer"), property(customer, "referredBy"));
+        assertEquals(ref("Order"), property(customer, "orders").get("items"));
+        // Memoized per type
+        assertSame(generator.schemaFor(LineItem.class), generator.schemaFor(LineItem.class));
+    }
+
+    @Test
+    public void testGenericsAndDepthGuard() throws Exception {
+        JsonSchemaGenerator generator = new JsonSchemaGenerator();
+        assertEquals(ref("PageOfOrder"),
+                generator.schemaFor(OrderTools.class.getMethod("list", long.class).getGenericReturnType()));
+        assertEquals(ref("Order"), property(definition(generator, "PageOfOrder"), "content").get("items"));
+
+        generator.schemaFor(Expanding.class);
+        long expansions = generator.getDefinitions().keySet().stream().filter(n -> n.startsWith("Expanding")).count();
+        assertEquals(JsonSchemaGenerator.MAX_DEPTH, expansions);
+    }
+
+    @Test
+    public void testEndpointsReferenceSharedDefinitions() {
+        JsonSchemaGenerator generator = new JsonSchemaGenerator();
+        List<Map<String, Object>> endpoints = ToolMetadataResolver.endpointsFor(new OrderTools(), generator);
+        assertEquals(3, endpoints.size());
+        Map<String, Object> create = endpoints.stream().filter(e -> "createOrder".equals(e.get("name"))).findFirst().get();
+        assertEquals(ref("Order"), create.get("requestBody"));
+        assertEquals(ref("Order"), create.get("responseBody"));
+        Map<String, Object> getCustomer = endpoints.stream().filter(e -> "getCustomer".equals(e.get("name"))).findFirst().get();
+        Map<?, ?> idParam = (Map<?, ?>) ((Map<?, ?>) getCustomer.get("pathParams")).get("id");
+        assertEquals("integer", idParam.get("type"));
+        assertEquals(Boolean.TRUE, idParam.get("required"));
+
+        // Only the definitions an endpoint reaches take part in its hash
+        Map<String, Object> definitions = generator.getDefinitions();
+        assertEquals(new TreeSet<>(Arrays.asList("Customer", "LineItem", "Order")),
+                EndpointManifest.referencedDefinitions(Collections.singletonList(getCustomer), definitions).keySet());
+        Map<String, Object> changed = new HashMap<>(definitions);
+        changed.put("PageOfOrder", Collections.singletonMap("type", "object"));
+        EndpointManifest before = EndpointManifest.of(endpoints, definitions);
+        EndpointManifest after = EndpointManifest.of(endpoints, changed);
+        List<Object> updated = new ArrayList<>(after.diff(before.getHashes()).getUpdated());
+        assertEquals(1, updated.size());
+        assertEquals("listOrders", ((Map<?, ?>) updated.get(0)).get("name"));
+    }
+
+    @Test
+    public void testRegistrationSendsDefinitionsOnce() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.schema.format", "json-schema");
+            props.put("autogentmcp.registration.retry.enabled", "false");
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", SchemaApplication.class);
+            context.registerBean("orderTools", OrderTools.class);
+            try {
+                context.refresh();
+            } finally {
+                context.close();
+            }
+
+            List<StubRegistryServer.RecordedRequest> batches = registry.requests("POST", "/register/endpoints");
+            assertEquals(1, batches.size());
+            JsonNode payload = RegistryJson.mapper().readTree(batches.get(0).bodyAsString());
+            assertEquals(3, payload.get("endpoints").size());
+            assertEquals("#/$defs/Order", payload.get("endpoints").findValue("requestBody").get("$ref").asText());
+            JsonNode definitions = payload.get("$defs");
+            assertEquals(4, definitions.size());
+            assertTrue(definitions.has("Order"));
+            assertTrue(definitions.has("PageOfOrder"));
+            // Each type is defined once and referenced from everywhere else
+            assertEquals(1, countOccurrences(batches.get(0).bodyAsString(), "Human readable order number"));
+        }
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,132 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class LazySchemaTest {
+
+    @EnableAutogentMcp(key = "lazy-app", description = "Lazy schema app")
+    static class LazyApplication {
+    }
+
+    public static class Invoice {
+        private String id;
+        private long amountCents;
+    }
+
+    public static class InvoiceTools {
+        @AutogentTool(name = "createInvoice", uri = "/invoices", method = "POST", description = "Create an invoice")
+        public Invoice create(@RequestBody Invoice invoice) {
+            return invoice;
+        }
+
+        @AutogentTool(name = "getInvoice", uri = "/invoices/{id}", method = "GET")
+        public Invoice get(@PathVariable("id") String id) {
+            return null;
+        }
+    }
+
+    private static AutogentMcpAutoConfiguration start(String registryUrl, String schemaFormat) {
+        Map<String, Object> props = McpTestContexts.properties(registryUrl);
+        props.put("autogentmcp.schema.lazy.enabled", "true");
+        props.put("autogentmcp.schema.lazy.base-url", "http://invoices.internal:8080/");
+        props.put("autogentmcp.schema.format", schemaFormat);
+        props.put("autogentmcp.registration.retry.enabled", "false");
+        GenericApplicationContext context = McpTestContexts.newContext(props);
+        context.registerBean("application", LazyApplication.class);
+        context.registerBean("invoiceTools", InvoiceTools.class);
+        try {
+            context.refresh();
+            return context.getBean(AutogentMcpAutoConfiguration.class);
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    public void testRegistrationSendsStubsOnly() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            AutogentMcpAutoConfiguration config = start(registry.baseUrl(), "legacy");
+
+            JsonNode payload = RegistryJson.mapper().readTree(
+                    registry.requests("POST", "/register/endpoints").get(0).bodyAsString());
+            assertEquals(2, payload.get("endpoints").size());
+            for (JsonNode stub : payload.get("endpoints")) {
+                assertFalse(stub.has("requestBody"));
+                assertFalse(stub.has("responseBody"));
+                assertFalse(stub.has("pathParams"));
+                assertEquals(64, stub.get("schemaHash").asText().length());
+                assertEquals("http://invoices.internal:8080/autogentmcp/schemas/" + stub.get("name").asText(),
+                        stub.get("schemaUrl").asText());
+            }
+            // Nothing was deduced during startup
+            ToolSchemaCatalog catalog = config.getToolSchemas();
+            assertFalse(catalog.isResolved("createInvoice"));
+            assertFalse(catalog.isResolved("getInvoice"));
+            assertEquals(2, catalog.getSchemaHashes().size());
+        }
+    }
+
+    @Test
+    public void testSchemaEndpointResolvesOnFirstUse() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            AutogentMcpAutoConfiguration config = start(registry.baseUrl(), "legacy");
+            MockMvc mvc = MockMvcBuilders.standaloneSetup(new ToolSchemaController(config)).build();
+
+            mvc.perform(get("/autogentmcp/schemas"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.createInvoice").value(config.getToolSchemas().getSchemaHashes().get("createInvoice")));
+
+            MvcResult result = mvc.perform(get("/autogentmcp/schemas/createInvoice"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.requestBody.properties.amountCents.type").value("long"))
+                    .andExpect(jsonPath("$.description").value("Create an invoice"))
+                    .andExpect(header().exists("Cache-Control"))
+                    .andReturn();
+            assertTrue(config.getToolSchemas().isResolved("createInvoice"));
+            assertFalse(config.getToolSchemas().isResolved("getInvoice"));
+
+            String etag = result.getResponse().getHeader("ETag");
+            assertNotNull(etag);
+            mvc.perform(get("/autogentmcp/schemas/createInvoice").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+            mvc.perform(get("/autogentmcp/schemas/unknownTool"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    public void testJsonSchemaDescriptionsCarryTheirDefinitions() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            AutogentMcpAutoConfiguration config = start(registry.baseUrl(), "json-schema");
+            JsonNode payload = RegistryJson.mapper().readTree(
+                    registry.requests("POST", "/register/endpoints").get(0).bodyAsString());
+            assertFalse(payload.has("$defs"));
+
+            MockMvc mvc = MockMvcBuilders.standaloneSetup(new ToolSchemaController(config)).build();
+            mvc.perform(get("/autogentmcp/schemas/getInvoice"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.responseBody.$ref").value("#/$defs/Invoice"))
+                    .andExpect(jsonPath("$.pathParams.id.type").value("string"))
+                    .andExpect(jsonPath("$.$defs.Invoice.properties.amountCents.format").value("int64"));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.StubRegistryServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MainAppResolutionTest {
+
+    @EnableAutogentMcp(key = "resolved-app", description = "Resolved app")
+    static class ResolvedApplication {
+    }
+
+    static class ExpensiveLazyBean {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        ExpensiveLazyBean() {
+            CREATED.incrementAndGet();
+        }
+    }
+
+    static class ExpensivePrototypeBean {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        ExpensivePrototypeBean() {
+            CREATED.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testAnnotationResolvedWithoutInstantiatingOtherBeans() throws Exception {
+        ExpensiveLazyBean.CREATED.set(0);
+        ExpensivePrototypeBean.CREATED.set(0);
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            GenericApplicationContext context = McpTestContexts.newContext(McpTestContexts.properties(registry.baseUrl()));
+            context.registerBean("expensiveLazyBean", ExpensiveLazyBean.class, bd -> bd.setLazyInit(true));
+            context.registerBean("expensivePrototypeBean", ExpensivePrototypeBean.class,
+                    bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+            context.registerBean("resolvedApplication", ResolvedApplication.class);
+            try {
+                context.refresh();
+
+                AutogentMcpAutoConfiguration config = context.getBean(AutogentMcpAutoConfiguration.class);
+                assertEquals("resolved-app", config.appKey);
+                assertEquals(1, registry.requests("PUT", "/applications/resolved-app").size());
+                assertEquals(0, ExpensiveLazyBean.CREATED.get());
+                assertEquals(0, ExpensivePrototypeBean.CREATED.get());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testNoAnnotationLeavesAppUnregistered() {
+        GenericApplicationContext context = McpTestContexts.newContext(McpTestContexts.properties("http://127.0.0.1:1"));
+        context.registerBean("expensiveLazyBean", ExpensiveLazyBean.class, bd -> bd.setLazyInit(true));
+        try {
+            context.refresh();
+            AutogentMcpAutoConfiguration config = context.getBean(AutogentMcpAutoConfiguration.class);
+            assertNull(config.findEnableAutogentMcp());
+            assertNull(config.appKey);
+        } finally {
+            context.close();
+        }
+    }
+}
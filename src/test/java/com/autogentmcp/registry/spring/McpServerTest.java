@@ -0,0 +1,242 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class McpServerTest {
+
+    @EnableAutogentMcp(key = "inventory", description = "Inventory")
+    static class InventoryApplication {
+    }
+
+    public static class Item {
+        public String sku;
+        public int quantity;
+    }
+
+    public static class InventoryTools {
+        @AutogentTool(name = "getItem", uri = "/items/{sku}", method = "GET", isPublic = true, description = "Look up an item")
+        public Item get(@PathVariable("sku") String sku, @RequestParam(value = "warehouse", defaultValue = "main") String warehouse) {
+            Item item = new Item();
+            item.sku = sku + "@" + warehouse;
+            item.quantity = 3;
+            return item;
+        }
+
+        @AutogentTool(name = "restock", uri = "/items", method = "POST", isPublic = true)
+        public int restock(@RequestBody Item item) {
+            return item.quantity * 2;
+        }
+
+        @AutogentTool(name = "fail", uri = "/fail", method = "POST", isPublic = true)
+        public String fail() {
+            throw new IllegalStateException("warehouse offline");
+        }
+    }
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    public static class GreeterTools implements Greeter {
+        @Override
+        @AutogentTool(name = "greet", uri = "/greet", method = "GET", isPublic = true)
+        public String greet(@RequestParam("name") String name) {
+            return "hello " + name;
+        }
+
+        @AutogentTool(name = "wave", uri = "/wave", method = "GET", isPublic = true)
+        public String wave() {
+            return "wave";
+        }
+    }
+
+    public static class AdminTools {
+        @AutogentTool(name = "purge", uri = "/admin/purge", method = "POST")
+        public String purge() {
+            return "purged";
+        }
+    }
+
+    private static AutogentMcpAutoConfiguration start(StubRegistryServer registry) {
+        Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+        props.put("autogentmcp.mcp-server.enabled", "true");
+        props.put("autogentmcp.registration.retry.enabled", "false");
+        GenericApplicationContext context = McpTestContexts.newContext(props);
+        context.registerBean("application", InventoryApplication.class);
+        context.registerBean("inventoryTools", InventoryTools.class);
+        try {
+            context.refresh();
+            return context.getBean(AutogentMcpAutoConfiguration.class);
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    public void testInProcessClientListsAndCallsTools() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            McpInProcessClient client = new McpInProcessClient(start(registry).getMcpServer());
+            JsonNode init = client.initialize();
+            assertEquals(McpToolServer.LATEST_PROTOCOL_VERSION, init.get("protocolVersion").asText());
+            assertEquals("inventory", init.get("serverInfo").get("name").asText());
+
+            JsonNode tools = client.listTools();
+            assertEquals(3, tools.size());
+            JsonNode getItem = tools.get(1);
+            assertEquals("getItem", getItem.get("name").asText());
+            assertEquals("Look up an item", getItem.get("description").asText());
+            assertEquals("sku", getItem.get("inputSchema").get("required").get(0).asText());
+            assertEquals("main", getItem.get("inputSchema").get("properties").get("warehouse").get("default").asText());
+            assertTrue(getItem.get("annotations").get("readOnlyHint").asBoolean());
+            JsonNode restock = tools.get(2);
+            assertEquals("#/$defs/Item", restock.get("inputSchema").get("properties").get("body").get("$ref").asText());
+            assertTrue(restock.get("inputSchema").get("$defs").has("Item"));
+
+            JsonNode item = client.callTool("getItem", Collections.singletonMap("sku", "A-1"));
+            assertFalse(item.get("isError").asBoolean());
+            assertEquals("A-1@main", item.get("structuredContent").get("sku").asText());
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("sku", "A-1");
+            body.put("quantity", 5);
+            JsonNode restocked = client.callTool("restock", Collections.singletonMap("body", body));
+            assertEquals("10", restocked.get("content").get(0).get("text").asText());
+
+            JsonNode failed = client.callTool("fail", null);
+            assertTrue(failed.get("isError").asBoolean());
+            assertEquals("warehouse offline", failed.get("content").get(0).get("text").asText());
+
+            McpInProcessClient.McpException missing = assertThrows(McpInProcessClient.McpException.class,
+                    () -> client.callTool("getItem", Collections.<String, Object>emptyMap()));
+            assertEquals(McpToolServer.INVALID_PARAMS, missing.getCode());
+            assertEquals(McpToolServer.INVALID_PARAMS, assertThrows(McpInProcessClient.McpException.class,
+                    () -> client.callTool("unknown", null)).getCode());
+            assertEquals(McpToolServer.METHOD_NOT_FOUND, assertThrows(McpInProcessClient.McpException.class,
+                    () -> client.request("resources/list", null)).getCode());
+        }
+    }
+
+    @Test
+    public void testProxiedToolBeans() throws Exception {
+        ProxyFactory factory = new ProxyFactory(new GreeterTools());
+        factory.addAdvice((MethodInterceptor) invocation -> invocation.proceed() + "!");
+        Object proxy = factory.getProxy();
+        McpToolServer server = new McpToolServer("greeter", "1.0.0");
+        for (Method method : ToolMetadataResolver.toolMethodsFor(proxy)) {
+            if (method.getName().equals("greet")) {
+                server.register(proxy, method);
+            } else {
+                // Not on the proxied interface, so it can never reach the target
+                IllegalStateException e = assertThrows(IllegalStateException.class, () -> server.register(proxy, method));
+                assertTrue(e.getMessage().contains("wave"), e.getMessage());
+            }
+        }
+
+        JsonNode result = new McpInProcessClient(server).callTool("greet", Collections.<String, Object>singletonMap("name", "ada"));
+        assertFalse(result.get("isError").asBoolean(), result.toString());
+        assertEquals("hello ada!", result.get("content").get(0).get("text").asText());
+    }
+
+    @Test
+    public void testNonPublicToolsAreOnlyServedWhenExposed() throws Exception {
+        Method purge = AdminTools.class.getMethod("purge");
+        McpToolServer server = new McpToolServer("admin", "1.0.0");
+        server.register(new AdminTools(), purge);
+        assertEquals(0, server.getToolCount());
+        assertEquals(McpToolServer.INVALID_PARAMS, assertThrows(McpInProcessClient.McpException.class,
+                () -> new McpInProcessClient(server).callTool("purge", null)).getCode());
+
+        server.setExposeNonPublic(true);
+        server.register(new AdminTools(), purge);
+        assertEquals("purged", new McpInProcessClient(server).callTool("purge", null).get("content").get(0).get("text").asText());
+    }
+
+    @Test
+    public void testStreamableHttpTransport() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            MockMvc mvc = MockMvcBuilders.standaloneSetup(new McpServerController(start(registry))).build();
+
+            mvc.perform(post("/mcp").contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)
+                            .content("{\"jsonrpc\":\"2.0\",\"id\":7,\"method\":\"tools/call\","
+                                    + "\"params\":{\"name\":\"getItem\",\"arguments\":{\"sku\":\"B\",\"warehouse\":\"east\"}}}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(7))
+                    .andExpect(jsonPath("$.result.structuredContent.sku").value("B@east"));
+
+            mvc.perform(post("/mcp").contentType(MediaType.APPLICATION_JSON).accept(MediaType.TEXT_EVENT_STREAM)
+                            .content("{\"jsonrpc\":\"2.0\",\"id\":\"a\",\"method\":\"ping\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(content().string("event: message\ndata: {\"jsonrpc\":\"2.0\",\"id\":\"a\",\"result\":{}}\n\n"));
+
+            mvc.perform(post("/mcp").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}"))
+                    .andExpect(status().isAccepted());
+            mvc.perform(post("/mcp").contentType(MediaType.APPLICATION_JSON).content("{not json"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.error.code").value(McpToolServer.PARSE_ERROR));
+            mvc.perform(post("/mcp").contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"},{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/list\"}]"))
+                    .andExpect(jsonPath("$[1].result.tools.length()").value(3));
+            mvc.perform(get("/mcp")).andExpect(status().isMethodNotAllowed());
+        }
+    }
+
+    @Test
+    public void testStdioTransport() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            McpToolServer server = start(registry).getMcpServer();
+            PipedOutputStream agentOut = new PipedOutputStream();
+            PipedInputStream serverIn = new PipedInputStream(agentOut);
+            PipedOutputStream serverOut = new PipedOutputStream();
+            PipedInputStream agentIn = new PipedInputStream(serverOut);
+            try (McpStdioServer stdio = new McpStdioServer(server, serverIn, serverOut)) {
+                stdio.start();
+                BufferedReader responses = new BufferedReader(new InputStreamReader(agentIn, StandardCharsets.UTF_8));
+                OutputStream requests = agentOut;
+                requests.write(("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}\n"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/call\",\"params\":{\"name\":\"getItem\",\"arguments\":{\"sku\":\"C\"}}}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                requests.flush();
+
+                JsonNode response = RegistryJson.mapper().readTree(responses.readLine());
+                assertEquals(1, response.get("id").asInt());
+                assertEquals("C@main", response.get("result").get("structuredContent").get("sku").asText());
+                agentOut.close();
+            }
+        }
+    }
+}
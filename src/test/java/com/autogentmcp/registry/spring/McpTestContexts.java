@@ -0,0 +1,44 @@
+package com.autogentmcp.registry.spring;
+
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds lightweight application contexts around {@link AutogentMcpAutoConfiguration}
+ * without component scanning, so tests control exactly which beans exist.
+ */
+final class McpTestContexts {
+
+    private McpTestContexts() {
+    }
+
+    static Map<String, Object> properties(String registryUrl) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("autogentmcp.app-healthcheck-endpoint", "/health");
+        props.put("autogentmcp.registry-url", registryUrl);
+        props.put("autogentmcp.api-key", "test-key");
+        props.put("autogentmcp.environment", "test");
+        props.put("autogentmcp.http.connect-timeout", "1000");
+        props.put("autogentmcp.http.socket-timeout", "5000");
+        return props;
+    }
+
+    /**
+     * Creates an unrefreshed context with annotation processing and the MCP auto-configuration registered.
+     */
+    static GenericApplicationContext newContext(Map<String, Object> properties) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+        // Keep @Value/@PostConstruct support but skip @Import/@ComponentScan processing
+        context.removeBeanDefinition(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME);
+        context.registerBean(PropertySourcesPlaceholderConfigurer.class);
+        context.registerBean("autogentMcpAutoConfiguration", AutogentMcpAutoConfiguration.class);
+        return context;
+    }
+}
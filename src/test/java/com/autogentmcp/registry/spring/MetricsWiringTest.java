@@ -0,0 +1,77 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.StubRegistryServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsWiringTest {
+
+    @EnableAutogentMcp(key = "metrics-app", description = "Metrics app")
+    static class MetricsApplication {
+    }
+
+    static class ToolBean {
+        @AutogentTool(name = "ping", uri = "/ping", method = "GET")
+        public String ping() {
+            return "pong";
+        }
+    }
+
+    private static GenericApplicationContext context(String registryUrl, Map<String, Object> overrides) {
+        Map<String, Object> props = McpTestContexts.properties(registryUrl);
+        props.putAll(overrides);
+        GenericApplicationContext context = McpTestContexts.newContext(props);
+        context.registerBean("application", MetricsApplication.class);
+        context.registerBean("toolBean", ToolBean.class);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        return context;
+    }
+
+    @Test
+    public void testStartupPhasesAndCallsArePublished() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            GenericApplicationContext context = context(registry.baseUrl(), new HashMap<>());
+            try {
+                context.refresh();
+                MeterRegistry meters = context.getBean(MeterRegistry.class);
+
+                for (String phase : new String[]{"manifest-load", "bean-scan", "schema-deduction",
+                        "application-update", "endpoint-registration"}) {
+                    assertEquals(1, meters.get("autogentmcp.startup").tag("phase", phase).timer().count(), phase);
+                }
+                // The application update ran before the meter registry was looked up
+                assertEquals(1, meters.get("autogentmcp.registry.requests")
+                        .tag("operation", "registerEndpointsBatch").timer().count());
+                assertEquals(20.0, meters.get("autogentmcp.registry.pool.max").gauge().value());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testMetricsCanBeDisabled() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = new HashMap<>();
+            props.put("autogentmcp.metrics.enabled", "false");
+            GenericApplicationContext context = context(registry.baseUrl(), props);
+            try {
+                context.refresh();
+                MeterRegistry meters = context.getBean(MeterRegistry.class);
+                assertNull(meters.find("autogentmcp.registry.requests").timer());
+                assertNull(meters.find("autogentmcp.startup").timer());
+            } finally {
+                context.close();
+            }
+        }
+    }
+}
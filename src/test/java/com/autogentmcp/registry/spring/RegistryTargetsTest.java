@@ -0,0 +1,205 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistrationStatus;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistryTargetsTest {
+
+    @EnableAutogentMcp(key = "orders", description = "Orders")
+    static class OrdersApplication {
+    }
+
+    static class OrderTools {
+        @AutogentTool(name = "listOrders", uri = "/orders", method = "GET")
+        public String list() {
+            return "[]";
+        }
+
+        @AutogentTool(name = "cancelOrder", uri = "/orders/cancel", method = "POST")
+        public String cancel(String id) {
+            return id;
+        }
+    }
+
+    private static GenericApplicationContext start(Map<String, Object> props) {
+        GenericApplicationContext context = McpTestContexts.newContext(props);
+        context.registerBean("application", OrdersApplication.class);
+        context.registerBean("orderTools", OrderTools.class);
+        context.refresh();
+        return context;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static JsonNode batch(StubRegistryServer registry) throws Exception {
+        return RegistryJson.mapper().readTree(registry.requests("POST", "/register/endpoints").get(0).bodyAsString());
+    }
+
+    @Test
+    public void testCatalogIsSentToEveryTarget() throws Exception {
+        try (StubRegistryServer primary = new StubRegistryServer();
+             StubRegistryServer dr = new StubRegistryServer();
+             StubRegistryServer partner = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties(primary.baseUrl());
+            props.put("autogentmcp.targets[0].name", "dr");
+            props.put("autogentmcp.targets[0].registry-url", dr.baseUrl());
+            props.put("autogentmcp.targets[1].name", "partner");
+            props.put("autogentmcp.targets[1].registry-url", partner.baseUrl());
+            props.put("autogentmcp.targets[1].api-key", "partner-key");
+            props.put("autogentmcp.targets[1].app-key", "partner-orders");
+            props.put("autogentmcp.targets[1].environment", "staging");
+            GenericApplicationContext context = start(props);
+            try {
+                AutogentMcpAutoConfiguration config = context.getBean(AutogentMcpAutoConfiguration.class);
+                await(() -> config.getTargetStatuses().values().stream().allMatch(RegistrationStatus::isRegistered));
+                assertTrue(config.getRegistrationStatus().isRegistered());
+                assertEquals(2, config.getTargetStatuses().size());
+
+                assertEquals(1, dr.requests("PUT", "/applications/orders").size());
+                assertEquals("test-key", dr.requests("PUT", "/applications/orders").get(0).header("X-API-Key"));
+                assertEquals(1, partner.requests("PUT", "/applications/partner-orders").size());
+                assertEquals("partner-key", partner.requests("POST", "/register/endpoints").get(0).header("X-API-Key"));
+
+                JsonNode primaryBatch = batch(primary);
+                JsonNode drBatch = batch(dr);
+                JsonNode partnerBatch = batch(partner);
+                assertEquals(primaryBatch, drBatch);
+                assertEquals("partner-orders", partnerBatch.get("app_key").asText());
+                assertEquals("staging", partnerBatch.get("environment").asText());
+                assertEquals(primaryBatch.get("endpoints"), partnerBatch.get("endpoints"));
+                assertEquals(2, partnerBatch.get("endpoints").size());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testFailingTargetIsRetriedOnItsOwn() throws Exception {
+        try (StubRegistryServer primary = new StubRegistryServer();
+             StubRegistryServer healthy = new StubRegistryServer();
+             StubRegistryServer flaky = new StubRegistryServer()) {
+            flaky.route("POST /register/endpoints", r -> new StubRegistryServer.StubResponse(503, ""));
+            Map<String, Object> props = McpTestContexts.properties(primary.baseUrl());
+            props.put("autogentmcp.http.retry.max-attempts", "1");
+            props.put("autogentmcp.registration.retry.initial-delay", "50");
+            props.put("autogentmcp.registration.retry.max-delay", "100");
+            props.put("autogentmcp.targets[0].name", "healthy");
+            props.put("autogentmcp.targets[0].registry-url", healthy.baseUrl());
+            props.put("autogentmcp.targets[1].name", "flaky");
+            props.put("autogentmcp.targets[1].registry-url", flaky.baseUrl());
+            GenericApplicationContext context = start(props);
+            try {
+                AutogentMcpAutoConfiguration config = context.getBean(AutogentMcpAutoConfiguration.class);
+                await(() -> config.getTargetStatuses().get("healthy").isRegistered());
+                await(() -> flaky.requests("POST", "/register/endpoints").size() >= 2);
+                assertEquals(RegistrationStatus.State.FAILED, config.getTargetStatuses().get("flaky").getState());
+                assertTrue(config.getRegistrationStatus().isRegistered());
+                // The application update succeeded and is not repeated by the retries
+                assertEquals(1, flaky.requests("PUT", "/applications/orders").size());
+
+                flaky.route("POST /register/endpoints", r -> new StubRegistryServer.StubResponse(200, "{}"));
+                await(() -> config.getTargetStatuses().get("flaky").isRegistered());
+                assertEquals(1, healthy.requests("POST", "/register/endpoints").size());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testLowestLatencyRegionalTargetIsSelected() throws Exception {
+        try (StubRegistryServer primary = new StubRegistryServer();
+             StubRegistryServer near = new StubRegistryServer();
+             StubRegistryServer far = new StubRegistryServer()) {
+            near.route("HEAD /", r -> new StubRegistryServer.StubResponse(200, ""));
+            far.route("HEAD /", r -> {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new StubRegistryServer.StubResponse(200, "");
+            });
+            Map<String, Object> props = McpTestContexts.properties(primary.baseUrl());
+            props.put("autogentmcp.regional-selection", "lowest-latency");
+            props.put("autogentmcp.targets[0].name", "eu");
+            props.put("autogentmcp.targets[0].registry-url", far.baseUrl());
+            props.put("autogentmcp.targets[0].region", "eu-west-1");
+            props.put("autogentmcp.targets[1].name", "us");
+            props.put("autogentmcp.targets[1].registry-url", near.baseUrl());
+            props.put("autogentmcp.targets[1].region", "us-east-1");
+            GenericApplicationContext context = start(props);
+            try {
+                AutogentMcpAutoConfiguration config = context.getBean(AutogentMcpAutoConfiguration.class);
+                await(() -> config.getTargetStatuses().get("us").isRegistered());
+                assertEquals(RegistrationStatus.State.NOT_STARTED, config.getTargetStatuses().get("eu").getState());
+                assertEquals(1, far.requests("HEAD", "/").size());
+                assertTrue(far.requests("PUT", "/applications/orders").isEmpty());
+                assertTrue(far.requests("POST", "/register/endpoints").isEmpty());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testStandbyTakesOverWhenSelectedRegionalTargetFails() throws Exception {
+        try (StubRegistryServer primary = new StubRegistryServer();
+             StubRegistryServer near = new StubRegistryServer();
+             StubRegistryServer far = new StubRegistryServer()) {
+            near.route("HEAD /", r -> new StubRegistryServer.StubResponse(200, ""));
+            near.route("PUT /applications/orders", r -> new StubRegistryServer.StubResponse(503, ""));
+            far.route("HEAD /", r -> {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new StubRegistryServer.StubResponse(200, "");
+            });
+            Map<String, Object> props = McpTestContexts.properties(primary.baseUrl());
+            props.put("autogentmcp.regional-selection", "lowest-latency");
+            props.put("autogentmcp.http.retry.max-attempts", "1");
+            props.put("autogentmcp.registration.retry.initial-delay", "50");
+            props.put("autogentmcp.registration.retry.max-delay", "100");
+            props.put("autogentmcp.targets[0].name", "eu");
+            props.put("autogentmcp.targets[0].registry-url", far.baseUrl());
+            props.put("autogentmcp.targets[0].region", "eu-west-1");
+            props.put("autogentmcp.targets[1].name", "us");
+            props.put("autogentmcp.targets[1].registry-url", near.baseUrl());
+            props.put("autogentmcp.targets[1].region", "us-east-1");
+            GenericApplicationContext context = start(props);
+            try {
+                AutogentMcpAutoConfiguration config = context.getBean(AutogentMcpAutoConfiguration.class);
+                await(() -> config.getTargetStatuses().get("eu").isRegistered());
+                assertEquals(RegistrationStatus.State.FAILED, config.getTargetStatuses().get("us").getState());
+                assertEquals(1, far.requests("POST", "/register/endpoints").size());
+
+                // The failed target is on standby now and no longer retried
+                Thread.sleep(300);
+                assertEquals(1, near.requests("PUT", "/applications/orders").size());
+                assertTrue(near.requests("POST", "/register/endpoints").isEmpty());
+            } finally {
+                context.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.RegistryScheduler;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuntimeToolUpdatesTest {
+
+    @EnableAutogentMcp(key = "runtime-app", description = "Runtime app")
+    static class RuntimeApplication {
+    }
+
+    static class CoreTools {
+        @AutogentTool(name = "ping", uri = "/ping", method = "GET")
+        public String ping() {
+            return "pong";
+        }
+    }
+
+    static class PluginTools {
+        @AutogentTool(name = "echo", uri = "/echo", method = "POST")
+        public String echo(String value) {
+            return value;
+        }
+    }
+
+    // The same tool as loaded again by a new plugin class loader: another class, another Method
+    static class ReloadedPluginTools {
+        @AutogentTool(name = "echo", uri = "/echo", method = "POST")
+        public String echo(String value) {
+            return value + "!";
+        }
+    }
+
+    private static GenericApplicationContext start(StubRegistryServer registry, long debounce) {
+        return start(registry, debounce, McpTestContexts.properties(registry.baseUrl()));
+    }
+
+    private static GenericApplicationContext start(StubRegistryServer registry, long debounce, Map<String, Object> props) {
+        props.put("autogentmcp.registration.runtime-updates.enabled", "true");
+        props.put("autogentmcp.registration.runtime-updates.debounce", String.valueOf(debounce));
+        props.put("autogentmcp.registration.retry.enabled", "false");
+        GenericApplicationContext context = McpTestContexts.newContext(props);
+        context.registerBean("application", RuntimeApplication.class);
+        context.registerBean("coreTools", CoreTools.class);
+        context.refresh();
+        return context;
+    }
+
+    private static List<StubRegistryServer.RecordedRequest> awaitDeltas(StubRegistryServer registry, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<StubRegistryServer.RecordedRequest> deltas = registry.requests("POST", "/register/endpoints/delta");
+        while (deltas.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            deltas = registry.requests("POST", "/register/endpoints/delta");
+        }
+        assertEquals(count, deltas.size());
+        return deltas;
+    }
+
+    private static JsonNode json(StubRegistryServer.RecordedRequest request) throws Exception {
+        return RegistryJson.mapper().readTree(request.bodyAsString());
+    }
+
+    @Test
+    public void testRuntimeBeansArePublishedAsDeltas() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            GenericApplicationContext context = start(registry, 20);
+            try {
+                assertEquals(1, registry.requests("POST", "/register/endpoints").size());
+
+                context.registerBean("pluginTools", PluginTools.class);
+                context.getBean("pluginTools");
+                JsonNode added = json(awaitDeltas(registry, 1).get(0));
+                assertEquals(1, added.get("added").size());
+                assertEquals("echo", added.get("added").get(0).get("name").asText());
+                assertEquals(0, added.get("removed").size());
+                assertFalse(added.has("base_fingerprint"));
+
+                context.getDefaultListableBeanFactory().destroySingleton("pluginTools");
+                JsonNode removed = json(awaitDeltas(registry, 2).get(1));
+                assertEquals(0, removed.get("added").size());
+                assertEquals("POST /echo echo", removed.get("removed").get(0).asText());
+            } finally {
+                context.close();
+            }
+            // Closing the context is not published as removal of its tools
+            Thread.sleep(100);
+            assertEquals(2, registry.requests("POST", "/register/endpoints/delta").size());
+            assertEquals(1, registry.requests("POST", "/register/endpoints").size());
+        }
+    }
+
+    @Test
+    public void testRemovedToolLeavesTheLazySchemaCatalog() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.schema.lazy.enabled", "true");
+            GenericApplicationContext context = start(registry, 20, props);
+            try {
+                ToolSchemaCatalog catalog = context.getBean(AutogentMcpAutoConfiguration.class).getToolSchemas();
+                context.registerBean("pluginTools", PluginTools.class);
+                context.getBean("pluginTools");
+                awaitDeltas(registry, 1);
+                String firstHash = catalog.getSchemaHashes().get("echo");
+                assertNotNull(catalog.get("echo"));
+
+                context.getDefaultListableBeanFactory().destroySingleton("pluginTools");
+                awaitDeltas(registry, 2);
+                assertNull(catalog.get("echo"));
+                assertFalse(catalog.getSchemaHashes().containsKey("echo"));
+
+                context.registerBean("reloadedPluginTools", ReloadedPluginTools.class);
+                context.getBean("reloadedPluginTools");
+                JsonNode readded = json(awaitDeltas(registry, 3).get(2));
+                assertEquals("echo", readded.get("added").get(0).get("name").asText());
+                assertNotEquals(firstHash, catalog.getSchemaHashes().get("echo"));
+                assertEquals(readded.get("added").get(0).get("schemaHash").asText(), catalog.getSchemaHashes().get("echo"));
+                assertNotNull(catalog.get("echo"));
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testSlowDeltaDoesNotHoldUpTheSharedScheduler() throws Exception {
+        CountDownLatch inDelta = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            registry.route("POST /register/endpoints/delta", r -> {
+                inDelta.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new StubRegistryServer.StubResponse(200, "{}");
+            });
+            GenericApplicationContext context = start(registry, 0);
+            try {
+                context.registerBean("pluginTools", PluginTools.class);
+                context.getBean("pluginTools");
+                assertTrue(inDelta.await(5, TimeUnit.SECONDS));
+                // Heartbeats and batch timeouts of every context share this thread
+                RegistryScheduler.shared().schedule(() -> { }, 0, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+            } finally {
+                release.countDown();
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testChangesWithinDebounceWindowCoalesce() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            GenericApplicationContext context = start(registry, 200);
+            try {
+                context.registerBean("pluginTools", PluginTools.class);
+                context.getBean("pluginTools");
+                context.getDefaultListableBeanFactory().destroySingleton("pluginTools");
+                Thread.sleep(400);
+                assertTrue(registry.requests("POST", "/register/endpoints/delta").isEmpty());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testChildContextToolsFollowItsLifecycle() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            GenericApplicationContext context = start(registry, 20);
+            try {
+                GenericApplicationContext child = new GenericApplicationContext();
+                child.setParent(context);
+                child.registerBean("pluginTools", PluginTools.class);
+                child.refresh();
+                JsonNode added = json(awaitDeltas(registry, 1).get(0));
+                assertEquals("echo", added.get("added").get(0).get("name").asText());
+
+                child.close();
+                JsonNode removed = json(awaitDeltas(registry, 2).get(1));
+                assertEquals("POST /echo echo", removed.get("removed").get(0).asText());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testRegistryWithoutDeltaRouteGetsFullBatch() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            registry.route("POST /register/endpoints/delta", r -> new StubRegistryServer.StubResponse(404, "{}"));
+            GenericApplicationContext context = start(registry, 20);
+            try {
+                context.registerBean("pluginTools", PluginTools.class);
+                context.getBean("pluginTools");
+                awaitDeltas(registry, 1);
+                long deadline = System.currentTimeMillis() + 5000;
+                while (registry.requests("POST", "/register/endpoints").size() < 2 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                List<StubRegistryServer.RecordedRequest> batches = registry.requests("POST", "/register/endpoints");
+                assertEquals(2, batches.size());
+                assertEquals(2, json(batches.get(1)).get("endpoints").size());
+            } finally {
+                context.close();
+            }
+        }
+    }
+}
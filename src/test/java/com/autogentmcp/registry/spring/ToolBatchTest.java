@@ -0,0 +1,164 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.RegistryScheduler;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ToolBatchTest {
+
+    @EnableAutogentMcp(key = "quotes", description = "Quotes")
+    static class QuotesApplication {
+    }
+
+    public static class QuoteTools {
+        static final AtomicInteger running = new AtomicInteger();
+        static final AtomicInteger peak = new AtomicInteger();
+
+        @AutogentTool(name = "quote", uri = "/quotes", method = "GET", isPublic = true)
+        public String quote(@RequestParam("sku") String sku, @RequestParam(value = "delay", defaultValue = "0") long delay)
+                throws InterruptedException {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delay);
+                return sku;
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    private static GenericApplicationContext start(StubRegistryServer registry) {
+        Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+        props.put("autogentmcp.mcp-server.enabled", "true");
+        props.put("autogentmcp.mcp-server.batch.max-calls", "6");
+        props.put("autogentmcp.mcp-server.batch.max-concurrency", "3");
+        props.put("autogentmcp.mcp-server.batch.timeout", "2000");
+        props.put("autogentmcp.registration.retry.enabled", "false");
+        GenericApplicationContext context = McpTestContexts.newContext(props);
+        context.registerBean("application", QuotesApplication.class);
+        context.registerBean("quoteTools", QuoteTools.class);
+        context.refresh();
+        return context;
+    }
+
+    private static String call(String id, String sku, long delay, String extra) {
+        return "{\"id\":\"" + id + "\",\"name\":\"quote\",\"arguments\":{\"sku\":\"" + sku + "\",\"delay\":" + delay + "}" + extra + "}";
+    }
+
+    @Test
+    public void testResultsStreamAsCallsComplete() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             GenericApplicationContext context = start(registry)) {
+            MockMvc mvc = MockMvcBuilders.standaloneSetup(
+                    new McpServerController(context.getBean(AutogentMcpAutoConfiguration.class))).build();
+            String batch = "[" + call("slow", "A", 600, "") + "," + call("fast", "B", 0, "") + ","
+                    + call("stuck", "C", 5000, ",\"timeout\":200") + ",{\"name\":\"missing\"},42]";
+            MvcResult started = mvc.perform(post("/mcp/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertEquals(5, lines.length);
+            Map<String, JsonNode> byId = new HashMap<>();
+            Map<String, Integer> position = new HashMap<>();
+            for (int i = 0; i < lines.length; i++) {
+                JsonNode response = RegistryJson.mapper().readTree(lines[i]);
+                byId.put(response.get("id").asText(), response);
+                position.put(response.get("id").asText(), i);
+            }
+            assertEquals("A", byId.get("slow").get("result").get("content").get(0).get("text").asText());
+            assertEquals("B", byId.get("fast").get("result").get("content").get(0).get("text").asText());
+            assertEquals(McpToolServer.REQUEST_TIMEOUT, byId.get("stuck").get("error").get("code").asInt());
+            // Calls without an id are answered under their position in the batch
+            assertEquals(McpToolServer.INVALID_PARAMS, byId.get("3").get("error").get("code").asInt());
+            assertEquals(McpToolServer.INVALID_REQUEST, byId.get("4").get("error").get("code").asInt());
+            assertTrue(position.get("fast") < position.get("stuck"));
+            assertTrue(position.get("stuck") < position.get("slow"));
+        }
+    }
+
+    @Test
+    public void testFanOutIsCapped() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer();
+             GenericApplicationContext context = start(registry)) {
+            ToolBatchExecutor executor = context.getBean(AutogentMcpAutoConfiguration.class).getToolBatchExecutor();
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = 0; i < 6; i++) {
+                batch.append(i > 0 ? "," : "").append(call("q" + i, "S" + i, 100, ""));
+            }
+            QuoteTools.peak.set(0);
+            AtomicInteger answered = new AtomicInteger();
+            executor.execute(RegistryJson.mapper().readTree(batch.append("]").toString()), response -> {
+                assertFalse(response.get("result").get("isError").asBoolean());
+                answered.incrementAndGet();
+            });
+            assertEquals(6, answered.get());
+            assertTrue(QuoteTools.peak.get() <= 3, "peak concurrency " + QuoteTools.peak.get());
+
+            MockMvc mvc = MockMvcBuilders.standaloneSetup(
+                    new McpServerController(context.getBean(AutogentMcpAutoConfiguration.class))).build();
+            MvcResult oversized = mvc.perform(post("/mcp/batch").contentType(MediaType.APPLICATION_JSON)
+                            .content(batch.insert(batch.length() - 1, "," + call("q6", "S6", 0, "")).toString()))
+                    .andExpect(status().isBadRequest())
+                    .andReturn();
+            mvc.perform(asyncDispatch(oversized))
+                    .andExpect(jsonPath("$.error.code").value(McpToolServer.INVALID_REQUEST))
+                    .andExpect(jsonPath("$.error.message").value("Batch of 7 tool calls exceeds the limit of 6"));
+            mvc.perform(post("/mcp/batch").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"quote\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    public void testTimeoutsDoNotWaitForTheSharedScheduler() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (StubRegistryServer registry = new StubRegistryServer();
+             GenericApplicationContext context = start(registry)) {
+            ToolBatchExecutor executor = context.getBean(AutogentMcpAutoConfiguration.class).getToolBatchExecutor();
+            // Stands in for a heartbeat stuck on a slow registry
+            RegistryScheduler.shared().execute(() -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            long start = System.nanoTime();
+            AtomicInteger timedOut = new AtomicInteger();
+            executor.execute(RegistryJson.mapper().readTree("[" + call("stuck", "C", 5000, ",\"timeout\":100") + "]"),
+                    response -> timedOut.addAndGet(response.path("error").path("code").asInt() == McpToolServer.REQUEST_TIMEOUT ? 1 : 0));
+            assertEquals(1, timedOut.get());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3), "timeout fired late");
+        } finally {
+            release.countDown();
+        }
+    }
+}
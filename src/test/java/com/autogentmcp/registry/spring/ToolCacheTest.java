@@ -0,0 +1,234 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistryJson;
+import com.autogentmcp.registry.RegistryMetrics;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolCacheTest {
+
+    @EnableAutogentMcp(key = "catalog", description = "Catalog")
+    static class CatalogApplication {
+    }
+
+    public static class CatalogTools {
+        static final AtomicInteger lookups = new AtomicInteger();
+
+        @AutogentTool(name = "product", uri = "/products/{sku}", method = "GET", isPublic = true, cacheTtl = 60000, cacheKey = "sku")
+        public String product(@PathVariable("sku") String sku, @RequestParam(value = "trace", required = false) String trace) {
+            return sku + "#" + lookups.incrementAndGet();
+        }
+
+        @AutogentTool(name = "stock", uri = "/stock/{sku}", method = "GET", isPublic = true)
+        public int stock(@PathVariable("sku") String sku) {
+            return 1;
+        }
+    }
+
+    @RestController
+    public static class PriceController {
+        static final AtomicInteger lookups = new AtomicInteger();
+
+        @AutogentTool(name = "price", uri = "/prices/{sku}", method = "GET", isPublic = true, cacheTtl = 60000, cacheKey = "sku")
+        @GetMapping("/prices/{sku}")
+        public ResponseEntity<String> price(@PathVariable("sku") String sku,
+                                            @RequestParam(value = "trace", required = false) String trace) {
+            int lookup = lookups.incrementAndGet();
+            return sku.equals("missing") ? ResponseEntity.notFound().build() : ResponseEntity.ok(sku + "#" + lookup);
+        }
+    }
+
+    private static MockHttpServletResponse getPrice(ToolCachingHandlerAdapter adapter, HandlerMethod handler,
+                                               String sku, String trace) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/prices/" + sku);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Collections.singletonMap("sku", sku));
+        if (trace != null) {
+            request.setParameter("trace", trace);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        adapter.handle(request, response, handler);
+        return response;
+    }
+
+    private static List<JsonNode> key(int value) {
+        return Collections.<JsonNode>singletonList(IntNode.valueOf(value));
+    }
+
+    private static ObjectNode result(String text, boolean error) {
+        ObjectNode result = RegistryJson.mapper().createObjectNode();
+        result.put("text", text);
+        result.put("isError", error);
+        return result;
+    }
+
+    @Test
+    public void testCachedToolsRunOncePerKeyAndAdvertiseTheirPolicy() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.mcp-server.enabled", "true");
+            props.put("autogentmcp.registration.retry.enabled", "false");
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", CatalogApplication.class);
+            context.registerBean("catalogTools", CatalogTools.class);
+            McpToolServer server;
+            try {
+                context.refresh();
+                server = context.getBean(AutogentMcpAutoConfiguration.class).getMcpServer();
+            } finally {
+                context.close();
+            }
+
+            Map<String, Integer> recorded = new HashMap<>();
+            server.setMetrics(new RegistryMetrics() {
+                @Override
+                public void recordToolCache(String tool, boolean hit) {
+                    recorded.merge(tool + (hit ? ":hit" : ":miss"), 1, Integer::sum);
+                }
+            });
+            McpInProcessClient client = new McpInProcessClient(server);
+            String first = client.callTool("product", Collections.singletonMap("sku", "A")).get("content").get(0).get("text").asText();
+            Map<String, Object> traced = new HashMap<>();
+            traced.put("sku", "A");
+            traced.put("trace", "t-1");
+            // trace is not part of the key
+            assertEquals(first, client.callTool("product", traced).get("content").get(0).get("text").asText());
+            assertNotEquals(first, client.callTool("product", Collections.singletonMap("sku", "B")).get("content").get(0).get("text").asText());
+            client.callTool("stock", Collections.singletonMap("sku", "A"));
+            assertEquals(Integer.valueOf(1), recorded.get("product:hit"));
+            assertEquals(Integer.valueOf(2), recorded.get("product:miss"));
+            assertFalse(recorded.containsKey("stock:miss"));
+
+            JsonNode endpoints = RegistryJson.mapper().readTree(
+                    registry.requests("POST", "/register/endpoints").get(0).bodyAsString()).get("endpoints");
+            for (JsonNode endpoint : endpoints) {
+                if (endpoint.get("name").asText().equals("product")) {
+                    assertEquals(60000, endpoint.get("cache").get("ttl").asLong());
+                    assertEquals("sku", endpoint.get("cache").get("keyParams").get(0).asText());
+                } else {
+                    assertFalse(endpoint.has("cache"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHttpCallsOfCachedToolsRunOncePerKey() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.registration.retry.enabled", "false");
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", CatalogApplication.class);
+            context.registerBean("priceController", PriceController.class);
+            try {
+                context.refresh();
+                HttpToolResultCaches caches = context.getBean(AutogentMcpAutoConfiguration.class).getHttpToolResultCaches();
+                Map<String, Integer> recorded = new HashMap<>();
+                caches.setMetrics(new RegistryMetrics() {
+                    @Override
+                    public void recordToolCache(String tool, boolean hit) {
+                        recorded.merge(tool + (hit ? ":hit" : ":miss"), 1, Integer::sum);
+                    }
+                });
+                ToolCachingHandlerAdapter adapter = new ToolCachingHandlerAdapter(context.getBean(AutogentMcpAutoConfiguration.class));
+                adapter.setApplicationContext(context);
+                adapter.afterPropertiesSet();
+                HandlerMethod handler = new HandlerMethod(context.getBean(PriceController.class),
+                        PriceController.class.getMethod("price", String.class, String.class));
+
+                String first = getPrice(adapter, handler, "A", null).getContentAsString();
+                // trace is not part of the key
+                assertEquals(first, getPrice(adapter, handler, "A", "t-1").getContentAsString());
+                assertNotEquals(first, getPrice(adapter, handler, "B", null).getContentAsString());
+                // Non-2xx answers are not stored
+                assertEquals(404, getPrice(adapter, handler, "missing", null).getStatus());
+                assertEquals(404, getPrice(adapter, handler, "missing", null).getStatus());
+                assertEquals(4, PriceController.lookups.get());
+                assertEquals(Integer.valueOf(1), recorded.get("price:hit"));
+                assertEquals(Integer.valueOf(4), recorded.get("price:miss"));
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    public void testEvictionExpiryAndCoalescing() throws Exception {
+        AtomicLong now = new AtomicLong();
+        ToolResultCache<ObjectNode> cache = new ToolResultCache<>("t", 200, 2, McpToolServer.SUCCESSFUL_RESULT,
+                () -> RegistryMetrics.NOOP, now::get);
+        cache.get(key(1), () -> result("one", false));
+        cache.get(key(2), () -> result("two", false));
+        cache.get(key(1), () -> result("ignored", false));
+        // 2 is now the least recently used entry
+        cache.get(key(3), () -> result("three", false));
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get(key(1), () -> result("again", false)).get("text").asText());
+        assertEquals("two again", cache.get(key(2), () -> result("two again", false)).get("text").asText());
+
+        // Errors are not stored
+        cache.get(key(4), () -> result("failed", true));
+        assertEquals("ok", cache.get(key(4), () -> result("ok", false)).get("text").asText());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(199));
+        assertEquals("ok", cache.get(key(4), () -> result("stale", false)).get("text").asText());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals("fresh", cache.get(key(4), () -> result("fresh", false)).get("text").asText());
+
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ObjectNode>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get(key(9), () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return result("shared", false);
+                })));
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+            for (Future<ObjectNode> result : results) {
+                assertEquals("shared", result.get(5, TimeUnit.SECONDS).get("text").asText());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(8, cache.misses());
+    }
+}
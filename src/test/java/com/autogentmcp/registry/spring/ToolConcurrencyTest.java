@@ -0,0 +1,162 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistryMetrics;
+import com.autogentmcp.registry.StubRegistryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ToolConcurrencyTest {
+
+    @EnableAutogentMcp(key = "reports", description = "Reports")
+    static class ReportsApplication {
+    }
+
+    @RestController
+    public static class ReportTools {
+        static volatile CountDownLatch release = new CountDownLatch(0);
+        static final CountDownLatch started = new CountDownLatch(1);
+
+        // The property limit of 1 overrides the declared 5
+        @AutogentTool(name = "report", uri = "/report", method = "GET", isPublic = true, maxConcurrency = 5)
+        @GetMapping("/report")
+        public String report() throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        }
+
+        @AutogentTool(name = "status", uri = "/status", method = "GET", isPublic = true)
+        @GetMapping("/status")
+        public String status() {
+            return "ok";
+        }
+    }
+
+    @Test
+    public void testBulkheadRejectsAndAdaptiveLimitFollowsLatency() {
+        ToolConcurrencyLimiter bulkhead = new ToolConcurrencyLimiter("t", 2, null);
+        assertEquals(ToolConcurrencyLimiter.ADMITTED, bulkhead.tryAcquire());
+        assertEquals(ToolConcurrencyLimiter.ADMITTED, bulkhead.tryAcquire());
+        assertEquals(ToolConcurrencyLimiter.BULKHEAD_FULL, bulkhead.tryAcquire());
+        bulkhead.release(System.nanoTime(), true);
+        // Failures do not move a fixed limit
+        assertEquals(2, bulkhead.getLimit());
+        assertEquals(ToolConcurrencyLimiter.ADMITTED, bulkhead.tryAcquire());
+        assertEquals(1, bulkhead.getBulkheadRejections());
+
+        ToolConcurrencyLimits.Adaptive settings = new ToolConcurrencyLimits.Adaptive();
+        settings.initialLimit = 4;
+        settings.minLimit = 2;
+        settings.maxLimit = 6;
+        settings.backoffRatio = 0.5;
+        ToolConcurrencyLimiter adaptive = new ToolConcurrencyLimiter("t", 0, settings);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(ToolConcurrencyLimiter.ADMITTED, adaptive.tryAcquire());
+        }
+        assertEquals(ToolConcurrencyLimiter.SHED, adaptive.tryAcquire());
+        assertEquals(1, adaptive.getShedRejections());
+
+        // Steady successful calls under load raise the limit, up to its maximum
+        for (int i = 0; i < 4; i++) {
+            adaptive.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(1), false);
+            adaptive.tryAcquire();
+        }
+        long now = System.nanoTime();
+        assertEquals(6, adaptive.getLimit());
+        // A failure halves it, never below the minimum
+        adaptive.release(now, true);
+        assertEquals(3, adaptive.getLimit());
+        adaptive.release(now, true);
+        adaptive.release(now, true);
+        assertEquals(2, adaptive.getLimit());
+    }
+
+    @Test
+    public void testLimitsApplyToHttpAndMcpCallsAndReachTheHeartbeat() throws Exception {
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = McpTestContexts.properties(registry.baseUrl());
+            props.put("autogentmcp.mcp-server.enabled", "true");
+            props.put("autogentmcp.registration.retry.enabled", "false");
+            props.put("autogentmcp.heartbeat.enabled", "true");
+            props.put("autogentmcp.heartbeat.interval", "20");
+            props.put("autogentmcp.concurrency.limits.report", "1");
+            GenericApplicationContext context = McpTestContexts.newContext(props);
+            context.registerBean("application", ReportsApplication.class);
+            context.registerBean("reportTools", ReportTools.class);
+            try {
+                context.refresh();
+                AutogentMcpAutoConfiguration autoConfiguration = context.getBean(AutogentMcpAutoConfiguration.class);
+                ToolConcurrencyLimits limits = autoConfiguration.getToolConcurrencyLimits();
+                List<String> rejected = new CopyOnWriteArrayList<>();
+                limits.setMetrics(new RegistryMetrics() {
+                    @Override
+                    public void recordToolRejected(String tool, String reason) {
+                        rejected.add(tool + ":" + reason);
+                    }
+                });
+                McpInProcessClient client = new McpInProcessClient(autoConfiguration.getMcpServer());
+                MockMvc mvc = MockMvcBuilders.standaloneSetup(context.getBean(ReportTools.class))
+                        .addInterceptors(new ToolConcurrencyInterceptor(autoConfiguration, 1))
+                        .build();
+
+                ReportTools.release = new CountDownLatch(1);
+                Future<JsonNode> running = caller.submit(() -> client.callTool("report", Collections.<String, Object>emptyMap()));
+                assertTrue(ReportTools.started.await(5, TimeUnit.SECONDS));
+
+                JsonNode overLimit = client.callTool("report", Collections.<String, Object>emptyMap());
+                assertTrue(overLimit.get("isError").asBoolean());
+                assertTrue(overLimit.get("content").get(0).get("text").asText().contains("concurrency limit"));
+                mvc.perform(get("/report"))
+                        .andExpect(status().isTooManyRequests())
+                        .andExpect(header().string("Retry-After", "1"));
+                // Tools without a limit are not held back
+                mvc.perform(get("/status")).andExpect(status().isOk());
+
+                ReportTools.release.countDown();
+                assertFalse(running.get(5, TimeUnit.SECONDS).get("isError").asBoolean());
+                mvc.perform(get("/report")).andExpect(status().isOk());
+                assertEquals(Collections.nCopies(2, "report:bulkhead"), rejected);
+
+                long deadline = System.currentTimeMillis() + 10000;
+                String beat = null;
+                while (beat == null && System.currentTimeMillis() < deadline) {
+                    for (StubRegistryServer.RecordedRequest request : registry.requests("POST", "/applications/reports/heartbeat")) {
+                        if (request.bodyAsString().contains("\"inFlight\":0,\"rejectedBulkhead\":2")) {
+                            beat = request.bodyAsString();
+                        }
+                    }
+                    Thread.sleep(10);
+                }
+                assertNotNull(beat, "no heartbeat reported the rejections");
+                assertTrue(beat.contains("\"tools\":{\"report\":{\"limit\":1,\"maxConcurrency\":1,\"adaptive\":false"), beat);
+            } finally {
+                context.close();
+            }
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+}
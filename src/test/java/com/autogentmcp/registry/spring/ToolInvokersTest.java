@@ -0,0 +1,147 @@
+package com.autogentmcp.registry.spring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolInvokersTest {
+
+    public static class PricingTools {
+        private final int markup;
+
+        public PricingTools(int markup) {
+            this.markup = markup;
+        }
+
+        public long price(int quantity, double unitPrice, String currency) {
+            return Math.round(quantity * unitPrice) + markup;
+        }
+
+        public String label() {
+            return "pricing-" + markup;
+        }
+
+        public String fail(String reason) throws Exception {
+            throw new Exception(reason);
+        }
+
+        public void ignore(String value) {
+        }
+
+        public int sum(int a, int b, int c, int d) {
+            return a + b + c + d;
+        }
+
+        int hidden(List<String> values) {
+            return values.size() + markup;
+        }
+
+        public static String describe(String value) {
+            return "static-" + value;
+        }
+    }
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    public static class GreeterImpl implements Greeter {
+        private final String greeting;
+
+        public GreeterImpl(String greeting) {
+            this.greeting = greeting;
+        }
+
+        @Override
+        public String greet(String name) {
+            return greeting + " " + name;
+        }
+
+        public String farewell(String name) {
+            return "bye " + name + " from " + greeting;
+        }
+
+        String nickname(String name) {
+            return greeting + "-" + name;
+        }
+
+        private String secret() {
+            return greeting;
+        }
+    }
+
+    private static Object proxy(Object target, boolean proxyTargetClass) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(proxyTargetClass);
+        factory.addAdvice((MethodInterceptor) invocation -> "[" + invocation.proceed() + "]");
+        return factory.getProxy();
+    }
+
+    private static Method method(String name) {
+        return method(PricingTools.class, name);
+    }
+
+    private static Method method(Class<?> type, String name) {
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Test
+    public void testPublicMethodsUseGeneratedCallers() throws Throwable {
+        ToolInvoker price = ToolInvokers.compile(new PricingTools(5), method("price"));
+        assertEquals(35L, price.invoke(new Object[]{3, 10.0, "EUR"}));
+        assertEquals("pricing-1", ToolInvokers.compile(new PricingTools(1), method("label")).invoke(new Object[0]));
+        assertTrue(ToolInvokers.isGenerated(method("price")));
+        assertTrue(ToolInvokers.isGenerated(method("label")));
+
+        // Compiled once per method, bound per bean
+        assertEquals("pricing-2", ToolInvokers.compile(new PricingTools(2), method("label")).invoke(new Object[0]));
+
+        // Tool exceptions are not wrapped
+        ToolInvoker fail = ToolInvokers.compile(new PricingTools(0), method("fail"));
+        Exception thrown = assertThrows(Exception.class, () -> fail.invoke(new Object[]{"out of stock"}));
+        assertEquals(Exception.class, thrown.getClass());
+        assertEquals("out of stock", thrown.getMessage());
+    }
+
+    @Test
+    public void testOtherMethodsUseMethodHandles() throws Throwable {
+        PricingTools tools = new PricingTools(4);
+        assertNull(ToolInvokers.compile(tools, method("ignore")).invoke(new Object[]{"x"}));
+        assertEquals(10, ToolInvokers.compile(tools, method("sum")).invoke(new Object[]{1, 2, 3, 4}));
+        assertEquals(6, ToolInvokers.compile(tools, method("hidden")).invoke(new Object[]{Arrays.asList("a", "b")}));
+        assertEquals("static-y", ToolInvokers.compile(tools, method("describe")).invoke(new Object[]{"y"}));
+        assertFalse(ToolInvokers.isGenerated(method("ignore")));
+        assertFalse(ToolInvokers.isGenerated(method("sum")));
+        assertFalse(ToolInvokers.isGenerated(method("hidden")));
+        assertFalse(ToolInvokers.isGenerated(method("describe")));
+    }
+
+    @Test
+    public void testProxiedBeansAreCalledThroughTheProxy() throws Throwable {
+        // Tool methods are found on the user class; the advice proves the call went through the proxy to the target
+        Object jdkProxy = proxy(new GreeterImpl("hello"), false);
+        assertEquals("[hello ada]", ToolInvokers.compile(jdkProxy, method(GreeterImpl.class, "greet")).invoke(new Object[]{"ada"}));
+        IllegalStateException notOnInterface = assertThrows(IllegalStateException.class,
+                () -> ToolInvokers.compile(jdkProxy, method(GreeterImpl.class, "farewell")));
+        assertTrue(notOnInterface.getMessage().contains("farewell"), notOnInterface.getMessage());
+
+        Object cglibProxy = proxy(new GreeterImpl("hi"), true);
+        assertEquals("[hi ada]", ToolInvokers.compile(cglibProxy, method(GreeterImpl.class, "greet")).invoke(new Object[]{"ada"}));
+        assertEquals("[bye ada from hi]", ToolInvokers.compile(cglibProxy, method(GreeterImpl.class, "farewell")).invoke(new Object[]{"ada"}));
+        assertEquals("[hi-ada]", ToolInvokers.compile(cglibProxy, method(GreeterImpl.class, "nickname")).invoke(new Object[]{"ada"}));
+        // A private method would run against the proxy's own, empty fields
+        assertThrows(IllegalStateException.class, () -> ToolInvokers.compile(cglibProxy, method(GreeterImpl.class, "secret")));
+        assertEquals("hey", ToolInvokers.compile(new GreeterImpl("hey"), method(GreeterImpl.class, "secret")).invoke(new Object[0]));
+    }
+}
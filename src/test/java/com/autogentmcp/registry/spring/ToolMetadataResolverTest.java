@@ -0,0 +1,124 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolMetadataResolverTest {
+
+    public static class OrderDto {
+        private String id;
+        private int quantity;
+        private static final String IGNORED = "static";
+    }
+
+    public static class OrderController {
+        @AutogentTool(name = "createOrder", uri = "/orders", description = "Create")
+        @PostMapping(value = "/orders", consumes = "application/json")
+        public OrderDto create(@RequestBody OrderDto order) {
+            return order;
+        }
+
+        @AutogentTool(name = "updateOrder", uri = "/orders/{id}", method = "PUT")
+        public OrderDto update(@PathVariable("id") String id, @RequestParam(value = "force", defaultValue = "false") boolean force,
+                               @RequestBody OrderDto order) {
+            return order;
+        }
+
+        @AutogentTool(name = "countOrders", uri = "/orders/count")
+        @GetMapping("/orders/count")
+        public int count(@RequestParam("status") String status) {
+            return 0;
+        }
+
+        public void notATool() {
+        }
+    }
+
+    public static class PlainBean {
+        public void doWork() {
+        }
+    }
+
+    @Test
+    public void testEndpointsAreDeducedOncePerClass() {
+        List<Map<String, Object>> first = ToolMetadataResolver.endpointsFor(new OrderController());
+        List<Map<String, Object>> second = ToolMetadataResolver.endpointsFor(new OrderController());
+        assertSame(first, second);
+        assertEquals(3, first.size());
+
+        Map<String, Object> create = find(first, "createOrder");
+        assertEquals("POST", create.get("method"));
+        assertEquals("application/json", create.get("contentType"));
+
+        Map<String, Object> count = find(first, "countOrders");
+        assertEquals("GET", count.get("method"));
+        Map<?, ?> status = (Map<?, ?>) ((Map<?, ?>) count.get("queryParams")).get("status");
+        assertEquals("String", status.get("type"));
+        assertFalse(status.containsKey("defaultValue"));
+        assertEquals(Map.class.cast(count.get("responseBody")).get("type"), "int");
+
+        Map<String, Object> update = find(first, "updateOrder");
+        Map<?, ?> force = (Map<?, ?>) ((Map<?, ?>) update.get("queryParams")).get("force");
+        assertEquals("false", force.get("defaultValue"));
+        assertTrue(((Map<?, ?>) update.get("pathParams")).containsKey("id"));
+    }
+
+    @Test
+    public void testSharedDtoSchemaIsBuiltOnce() {
+        List<Map<String, Object>> endpoints = ToolMetadataResolver.endpointsFor(OrderController.class);
+        Map<String, Object> create = find(endpoints, "createOrder");
+        Map<String, Object> update = find(endpoints, "updateOrder");
+        assertSame(create.get("requestBody"), update.get("requestBody"));
+        assertSame(create.get("responseBody"), update.get("responseBody"));
+
+        Map<?, ?> properties = (Map<?, ?>) ((Map<?, ?>) create.get("requestBody")).get("properties");
+        assertEquals(2, properties.size());
+        assertEquals(true, ((Map<?, ?>) properties.get("id")).get("required"));
+        Map<?, ?> responseProperties = (Map<?, ?>) ((Map<?, ?>) create.get("responseBody")).get("properties");
+        assertFalse(((Map<?, ?>) responseProperties.get("id")).containsKey("required"));
+    }
+
+    @Test
+    public void testProxiesResolveToTheUserClass() {
+        ProxyFactory factory = new ProxyFactory(new OrderController());
+        factory.setProxyTargetClass(true);
+        Object proxy = factory.getProxy();
+        assertNotSame(OrderController.class, proxy.getClass());
+        assertEquals(OrderController.class, ToolMetadataResolver.userClass(proxy));
+        assertSame(ToolMetadataResolver.endpointsFor(OrderController.class), ToolMetadataResolver.endpointsFor(proxy));
+    }
+
+    @Test
+    public void testClassesWithoutToolsAreRememberedAsEmpty() {
+        List<Map<String, Object>> endpoints = ToolMetadataResolver.endpointsFor(new PlainBean());
+        assertTrue(endpoints.isEmpty());
+        assertSame(endpoints, ToolMetadataResolver.endpointsFor(new PlainBean()));
+    }
+
+    @Test
+    public void testCachedMetadataIsImmutable() {
+        List<Map<String, Object>> endpoints = ToolMetadataResolver.endpointsFor(OrderController.class);
+        assertThrows(UnsupportedOperationException.class, () -> endpoints.get(0).put("name", "changed"));
+        assertThrows(UnsupportedOperationException.class, () -> endpoints.clear());
+    }
+
+    private static Map<String, Object> find(List<Map<String, Object>> endpoints, String name) {
+        for (Map<String, Object> endpoint : endpoints) {
+            if (name.equals(endpoint.get("name"))) {
+                return endpoint;
+            }
+        }
+        throw new AssertionError("No endpoint named " + name);
+    }
+}
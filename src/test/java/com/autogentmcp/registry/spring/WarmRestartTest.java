@@ -0,0 +1,108 @@
+package com.autogentmcp.registry.spring;
+
+import com.autogentmcp.registry.AutogentTool;
+import com.autogentmcp.registry.EnableAutogentMcp;
+import com.autogentmcp.registry.RegistrationStatus;
+import com.autogentmcp.registry.StubRegistryServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WarmRestartTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @EnableAutogentMcp(key = "cached-app", description = "Cached app")
+    static class CachedApplication {
+    }
+
+    static class ToolBean {
+        @AutogentTool(name = "ping", uri = "/ping", method = "GET")
+        public String ping() {
+            return "pong";
+        }
+    }
+
+    static class ExtraToolBean {
+        @AutogentTool(name = "echo", uri = "/echo", method = "POST")
+        public String echo(String value) {
+            return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RegistrationStatus start(String registryUrl, Map<String, Object> extraProps, Class<?>... toolBeans) {
+        Map<String, Object> props = McpTestContexts.properties(registryUrl);
+        props.put("autogentmcp.registration.cache.enabled", "true");
+        props.put("autogentmcp.registration.cache.directory", cacheDirectory.toString());
+        props.put("autogentmcp.registration.retry.enabled", "false");
+        props.putAll(extraProps);
+        GenericApplicationContext context = McpTestContexts.newContext(props);
+        context.registerBean("application", CachedApplication.class);
+        for (Class<?> toolBean : toolBeans) {
+            context.registerBean(toolBean.getSimpleName(), (Class<Object>) toolBean);
+        }
+        try {
+            context.refresh();
+            return context.getBean(AutogentMcpAutoConfiguration.class).getRegistrationStatus();
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    public void testUnchangedRestartSkipsRegistry() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            RegistrationStatus first = start(registry.baseUrl(), new HashMap<>(), ToolBean.class);
+            assertEquals(RegistrationStatus.State.REGISTERED, first.getState());
+            assertFalse(first.isFromCache());
+            assertEquals(2, registry.requests().size());
+
+            RegistrationStatus second = start(registry.baseUrl(), new HashMap<>(), ToolBean.class);
+            assertEquals(RegistrationStatus.State.REGISTERED, second.getState());
+            assertTrue(second.isFromCache());
+            assertEquals(2, registry.requests().size());
+
+            // A new tool re-sends the endpoints, the unchanged application is not updated again
+            RegistrationStatus third = start(registry.baseUrl(), new HashMap<>(), ToolBean.class, ExtraToolBean.class);
+            assertFalse(third.isFromCache());
+            assertEquals(1, registry.requests("PUT", "/applications/cached-app").size());
+            assertEquals(2, registry.requests("POST", "/register/endpoints").size());
+        }
+    }
+
+    @Test
+    public void testCachedRegistrationSurvivesRegistryOutage() throws Exception {
+        String url;
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            url = registry.baseUrl();
+            start(url, new HashMap<>(), ToolBean.class);
+        }
+        // Same URL, nothing listening any more
+        RegistrationStatus status = start(url, new HashMap<>(), ToolBean.class);
+        assertEquals(RegistrationStatus.State.REGISTERED, status.getState());
+        assertTrue(status.isFromCache());
+    }
+
+    @Test
+    public void testExpiredEntryIsSentAgain() throws Exception {
+        try (StubRegistryServer registry = new StubRegistryServer()) {
+            Map<String, Object> props = new HashMap<>();
+            props.put("autogentmcp.registration.cache.max-age", "0");
+            start(registry.baseUrl(), props, ToolBean.class);
+            Thread.sleep(5);
+            RegistrationStatus status = start(registry.baseUrl(), props, ToolBean.class);
+
+            assertFalse(status.isFromCache());
+            assertEquals(2, registry.requests("PUT", "/applications/cached-app").size());
+            assertEquals(2, registry.requests("POST", "/register/endpoints").size());
+        }
+    }
+}